@@ -1,8 +1,10 @@
 package com.irfan.ecommerce.api.clients;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irfan.ecommerce.api.transport.ApiResponse;
+import com.irfan.ecommerce.api.transport.AsyncHttpTransport;
 import com.irfan.ecommerce.util.PropertyReader;
-import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
 import io.restassured.http.ContentType;
@@ -12,7 +14,10 @@ import io.restassured.specification.ResponseSpecification;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static io.restassured.RestAssured.baseURI;
 import static org.hamcrest.Matchers.lessThan;
@@ -29,26 +34,43 @@ public abstract class BaseApiClient {
     protected static ResponseSpecification responseSpec;
     protected static final ObjectMapper mapper = new ObjectMapper();
     private final String projectPrefix;
+    private String baseUri;
+    private EnvironmentHealthGate healthGate;
+    // Built once per client for the async transport instead of a new spec per call
+    private String[] asyncHeaders;
 
     /**
      * CONSTRUCTOR: Dynamic Project Initialization
      * @param projectPrefix The key used in properties (e.g., "demoblaze" or "booker")
      */
     public BaseApiClient(String projectPrefix) {
+        this(projectPrefix, PropertyReader.getProperty(projectPrefix + ".api.base.uri"));
+    }
+
+    /**
+     * Points a client at an explicit base URI (local stubs, ephemeral environments).
+     */
+    protected BaseApiClient(String projectPrefix, String baseUri) {
         this.projectPrefix = projectPrefix;
-        initializeFramework();
+        initializeFramework(baseUri);
     }
 
-    private void initializeFramework() {
-        String baseUri = PropertyReader.getProperty(projectPrefix + ".api.base.uri");
-        
+    private void initializeFramework(String baseUri) {
         if (baseUri == null) {
             throw new RuntimeException("🛑 CONFIG_ERROR: base.uri missing for project: " + projectPrefix);
         }
 
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+
         // 🛡️ THE CIRCUIT BREAKER (Health Check)
-        // SITUATION: Protects CI budget by killing the run if the environment is 500-ing.
-        performHealthCheck(baseUri);
+        // SITUATION: Protects CI budget when the environment is 500-ing. One shared, TTL-cached
+        // state per base URI; an open breaker skips tests at request time instead of exiting the JVM.
+        this.healthGate = EnvironmentHealthGate.forUri(this.baseUri);
+        logger.info("📡 CIRCUIT BREAKER: {} is {}", projectPrefix, healthGate.check());
+        this.asyncHeaders = new String[] {
+                "Content-Type", "application/json",
+                "Accept", "application/json",
+                "X-Project-Context", projectPrefix};
 
         // 🏗️ REQUEST SPECIFICATION
         this.requestSpec = new RequestSpecBuilder()
@@ -64,41 +86,81 @@ public abstract class BaseApiClient {
         logger.info("✅ {} INFRASTRUCTURE READY: {}", projectPrefix.toUpperCase(), baseUri);
     }
 
-    private void performHealthCheck(String baseUri) {
-        try {
-            logger.info("📡 CIRCUIT BREAKER: Checking health of {}...", projectPrefix);
-            int status = RestAssured.get(baseUri).getStatusCode();
-            if (status >= 500) {
-                logger.fatal("🛑 CIRCUIT BREAKER TRIGGERED: {} returned {}. Aborting run.", baseUri, status);
-                System.exit(1);
-            }
-        } catch (Exception e) {
-            logger.fatal("🚨 ENVIRONMENT UNREACHABLE: {} is down.", baseUri);
-            System.exit(1);
+    /**
+     * 🛡️ handleApiFailure: The "CSI Evidence Collector"
+     */
+    protected void handleApiFailure(Response response, String endpoint) {
+        int statusCode = response.getStatusCode();
+        recordHealth(statusCode);
+        if (statusCode >= 400) {
+            reportFailure(endpoint, statusCode, response.getHeader("X-Request-ID"), response.getBody().asPrettyString());
         }
     }
 
     /**
-     * 🛡️ handleApiFailure: The "CSI Evidence Collector"
+     * Same evidence collection for the async transport.
      */
-    protected void handleApiFailure(Response response, String endpoint) {
+    protected void handleApiFailure(ApiResponse response, String endpoint) {
         int statusCode = response.getStatusCode();
+        recordHealth(statusCode);
         if (statusCode >= 400) {
-            String requestId = response.getHeader("X-Request-ID");
-            logger.error("🚨 API FAILURE | Endpoint: {} | Status: {}", endpoint, statusCode);
-            logger.error("🆔 Correlation ID: {}", (requestId != null ? requestId : "N/A"));
-            logger.error("📦 Evidence Body: \n{}", response.getBody().asPrettyString());
+            reportFailure(endpoint, statusCode, response.getHeader("X-Request-ID"), response.asString());
+        }
+    }
+
+    private void recordHealth(int statusCode) {
+        if (statusCode >= 500) {
+            healthGate.recordFailure(statusCode);
+        } else {
+            healthGate.recordSuccess();
+        }
+    }
 
-            if (statusCode >= 500) {
-                throw new RuntimeException("🛑 SERVER_CRASH at " + endpoint);
+    private void reportFailure(String endpoint, int statusCode, String requestId, String body) {
+        logger.error("🚨 API FAILURE | Endpoint: {} | Status: {}", endpoint, statusCode);
+        logger.error("🆔 Correlation ID: {}", (requestId != null ? requestId : "N/A"));
+        logger.error("📦 Evidence Body: \n{}", body);
+
+        if (statusCode >= 500) {
+            throw new RuntimeException("🛑 SERVER_CRASH at " + endpoint);
+        }
+    }
+
+    /**
+     * ⚡ sendAsync: Non-blocking twin of given().spec(getRequestSpec())...
+     * Same headers (plus a fresh X-Request-ID), same failure handling, but the
+     * calling thread is free as soon as the request is on the wire.
+     *
+     * @param extraHeaders name/value pairs, e.g. "Cookie", "token=abc"
+     */
+    protected CompletableFuture<ApiResponse> sendAsync(String method, String endpoint, Object payload,
+                                                       String... extraHeaders) {
+        healthGate.ensureAvailable();
+        byte[] body = null;
+        if (payload != null) {
+            try {
+                body = mapper.writeValueAsBytes(payload);
+            } catch (JsonProcessingException e) {
+                return CompletableFuture.failedFuture(e);
             }
         }
+        String[] headers = Arrays.copyOf(asyncHeaders, asyncHeaders.length + 2 + extraHeaders.length);
+        headers[asyncHeaders.length] = "X-Request-ID";
+        headers[asyncHeaders.length + 1] = UUID.randomUUID().toString();
+        System.arraycopy(extraHeaders, 0, headers, asyncHeaders.length + 2, extraHeaders.length);
+
+        return AsyncHttpTransport.send(method, URI.create(baseUri + endpoint), headers, body)
+                .thenApply(response -> {
+                    handleApiFailure(response, endpoint);
+                    return response;
+                });
     }
 
     /**
      * 🆔 getRequestSpec: The "Traceability Injector"
      */
     protected RequestSpecification getRequestSpec(String requestId) {
+        healthGate.ensureAvailable();
         return new RequestSpecBuilder()
                 .setBaseUri(baseURI)
                 .addHeader("Content-Type", "application/json")
@@ -125,7 +187,7 @@ protected String getProperty(String keyTail) {
     protected void logPayload(Object payload, String description) {
         try {
             String json = mapper.writerWithDefaultPrettyPrinter().writeValueAsString(payload);
-            logger.info("📦 PAYLOAD [{}]: \n{}", description, json);
+            logger.debug("📦 PAYLOAD [{}]: \n{}", description, json);
         } catch (Exception e) {
             logger.error("❌ SERIALIZATION_ERROR for [{}].", description);
         }
@@ -0,0 +1,192 @@
+package com.irfan.ecommerce.api.clients;
+
+import com.irfan.ecommerce.api.transport.ApiResponse;
+import com.irfan.ecommerce.api.transport.AsyncHttpTransport;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.SkipException;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EnvironmentHealthGate: One circuit breaker per base URI, shared by every
+ * client in the JVM.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every BookingClient/AuthClient constructor fired its own GET
+ *   at the base URI (dozens per run, since tests hold clients as fields), and
+ *   a bad answer called System.exit(1) in the middle of the run - no report,
+ *   no cleanup, no idea which tests would have passed.
+ * - WHAT I DID: Health is cached per base URI for a TTL, and concurrent
+ *   callers share a single in-flight probe. A failed probe (or a streak of
+ *   5xx responses from real calls) OPENS the breaker; after a cooldown one
+ *   HALF_OPEN probe decides whether to close it again.
+ * - THE RESULT: A handful of probes per run instead of dozens. Tests that
+ *   reach an open breaker are SKIPPED with the reason, and the JVM keeps
+ *   running so the report still gets written.
+ */
+public class EnvironmentHealthGate {
+    private static final Logger logger = LogManager.getLogger(EnvironmentHealthGate.class);
+    private static final Map<String, EnvironmentHealthGate> gates = new ConcurrentHashMap<>();
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                gates.values().forEach(gate -> logger.info("📊 HEALTH_GATE: {}", gate.metricsSummary()))));
+    }
+
+    private final String baseUri;
+    private final Duration ttl;
+    private final Duration openCooldown;
+    private final int failureThreshold;
+
+    private volatile State state = State.CLOSED;
+    private volatile long checkedAtNanos;
+    private volatile long openedAtNanos;
+    private volatile String lastReason = "not probed yet";
+    private CompletableFuture<State> inFlight;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    // 📊 Gate metrics
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder skips = new LongAdder();
+
+    public EnvironmentHealthGate(String baseUri, Duration ttl, Duration openCooldown, int failureThreshold) {
+        this.baseUri = baseUri;
+        this.ttl = ttl;
+        this.openCooldown = openCooldown;
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * The JVM-wide gate for a base URI (trailing slash ignored).
+     */
+    public static EnvironmentHealthGate forUri(String baseUri) {
+        String key = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        return gates.computeIfAbsent(key, uri -> new EnvironmentHealthGate(uri,
+                Duration.ofSeconds(Long.getLong("health.ttl.sec", 60)),
+                Duration.ofSeconds(Long.getLong("health.open.cooldown.sec", 30)),
+                Integer.getInteger("health.failure.threshold", 3)));
+    }
+
+    /**
+     * Current state, probing first if the cached answer is stale. At most one
+     * probe per base URI is ever in flight; everyone else waits for its answer.
+     */
+    public State check() {
+        long now = System.nanoTime();
+        State current = state;
+        if (current == State.OPEN) {
+            if (now - openedAtNanos < openCooldown.toNanos()) {
+                return State.OPEN;
+            }
+            state = State.HALF_OPEN;
+            logger.info("🟡 HEALTH_GATE [{}]: Cooldown over, HALF_OPEN - next probe decides", baseUri);
+        } else if (current == State.CLOSED && checkedAtNanos != 0 && now - checkedAtNanos < ttl.toNanos()) {
+            return State.CLOSED;
+        }
+        return probeOnce().join();
+    }
+
+    /**
+     * Throws SkipException when the environment is known to be down, so the
+     * test is reported as skipped (with the reason) instead of failing or
+     * taking the JVM down.
+     */
+    public void ensureAvailable() {
+        if (check() == State.OPEN) {
+            skips.increment();
+            throw new SkipException("🛑 CIRCUIT_OPEN: " + baseUri + " is unhealthy (" + lastReason
+                    + "). Skipping instead of failing.");
+        }
+    }
+
+    private synchronized CompletableFuture<State> probeOnce() {
+        if (inFlight != null) {
+            return inFlight;
+        }
+        probes.increment();
+        logger.info("📡 HEALTH_GATE [{}]: Probing ({})", baseUri, state);
+        CompletableFuture<State> probe = AsyncHttpTransport.send("GET", URI.create(baseUri), new String[0], null)
+                .orTimeout(Long.getLong("health.probe.timeout.ms", 5000), TimeUnit.MILLISECONDS)
+                .handle(this::onProbeResult);
+        inFlight = probe;
+        probe.whenComplete((result, error) -> clearInFlight());
+        return probe;
+    }
+
+    private synchronized void clearInFlight() {
+        inFlight = null;
+    }
+
+    private State onProbeResult(ApiResponse response, Throwable error) {
+        checkedAtNanos = System.nanoTime();
+        if (error == null && response.getStatusCode() < 500) {
+            close("probe returned " + response.getStatusCode());
+        } else {
+            open(error != null ? "unreachable: " + rootMessage(error) : "probe returned " + response.getStatusCode());
+        }
+        return state;
+    }
+
+    /**
+     * Passive signal from real traffic: any non-5xx answer proves the service is up.
+     */
+    public void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Passive signal from real traffic: a streak of 5xx opens the breaker
+     * without waiting for the next probe.
+     */
+    public void recordFailure(int statusCode) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state != State.OPEN) {
+            open(consecutiveFailures.get() + " consecutive " + statusCode + " responses");
+        }
+    }
+
+    private void close(String reason) {
+        consecutiveFailures.set(0);
+        lastReason = reason;
+        if (state != State.CLOSED) {
+            logger.info("🟢 HEALTH_GATE [{}]: CLOSED ({})", baseUri, reason);
+        }
+        state = State.CLOSED;
+    }
+
+    private void open(String reason) {
+        lastReason = reason;
+        openedAtNanos = System.nanoTime();
+        if (state != State.OPEN) {
+            logger.error("🔴 HEALTH_GATE [{}]: OPEN ({}). Tests using it will be skipped for the next {}s.",
+                    baseUri, reason, openCooldown.toSeconds());
+        }
+        state = State.OPEN;
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable root = error;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getClass().getSimpleName() + (root.getMessage() != null ? " - " + root.getMessage() : "");
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public String metricsSummary() {
+        return String.format("%s state=%s probes=%d skippedCalls=%d lastReason='%s'", baseUri, state, probes.sum(),
+                skips.sum(), lastReason);
+    }
+}
@@ -2,7 +2,11 @@ package com.irfan.ecommerce.api.clients.demoblaze;
 
 import com.irfan.ecommerce.api.clients.BaseApiClient;
 import com.irfan.ecommerce.api.payloads.demoblaze.LoginRequest;
+import com.irfan.ecommerce.api.transport.ApiResponse;
 import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -15,6 +19,10 @@ public class AuthClient extends BaseApiClient {
         super("demoblaze");
     }
 
+    public AuthClient(String baseUri) {
+        super("demoblaze", baseUri);
+    }
+
   public String getAuthToken(String username, String password) {
         LoginRequest payload = new LoginRequest(username, password);
         String loginEndpoint = getProperty("api.endpoint.login");
@@ -23,10 +31,60 @@ public class AuthClient extends BaseApiClient {
         String body = response.asString();
 
         if (body.contains("User does not exist") || body.isEmpty()) {
-            given().spec(getRequestSpec()).body(payload).post("/signup");
+            signUp(username, password);
             body = given().spec(getRequestSpec()).body(payload).post(loginEndpoint).asString();
         }
 
+        return extractToken(body);
+    }
+
+    /**
+     * Non-blocking version of the same login / sign-up-then-login flow.
+     */
+    public CompletableFuture<String> getAuthTokenAsync(String username, String password) {
+        LoginRequest payload = new LoginRequest(username, password);
+        String loginEndpoint = getProperty("api.endpoint.login");
+
+        return sendAsync("POST", loginEndpoint, payload)
+                .thenCompose(response -> {
+                    String body = response.asString();
+                    if (body.contains("User does not exist") || body.isEmpty()) {
+                        return signUpAsync(username, password)
+                                .thenCompose(signedUp -> sendAsync("POST", loginEndpoint, payload))
+                                .thenApply(ApiResponse::asString);
+                    }
+                    return CompletableFuture.completedFuture(body);
+                })
+                .thenApply(AuthClient::extractToken);
+    }
+
+    /**
+     * Registers an account via the API instead of the sign-up modal.
+     *
+     * @return true if the account exists afterwards (created now, or already registered)
+     */
+    public boolean signUp(String username, String password) {
+        Response response = given().spec(getRequestSpec()).body(new LoginRequest(username, password))
+                .post(signUpEndpoint());
+        return signUpAccepted(response.getStatusCode(), response.asString());
+    }
+
+    public CompletableFuture<Boolean> signUpAsync(String username, String password) {
+        return sendAsync("POST", signUpEndpoint(), new LoginRequest(username, password))
+                .thenApply(response -> signUpAccepted(response.getStatusCode(), response.asString()));
+    }
+
+    private String signUpEndpoint() {
+        String endpoint = getProperty("api.endpoint.signup");
+        return endpoint != null ? endpoint : "/signup";
+    }
+
+    // Demoblaze answers 200 either way; a taken name comes back as {"errorMessage":"This user already exist."}
+    private static boolean signUpAccepted(int status, String body) {
+        return status == 200 && (!body.contains("errorMessage") || body.contains("already exist"));
+    }
+
+    private static String extractToken(String body) {
         // Nuclear Cleanup: Extract only the alphanumeric token part
         String token = body.contains("Auth_token:") ? body.split("Auth_token:")[1] : body;
         token = token.replaceAll("[^a-zA-Z0-9_-]", "").trim(); 
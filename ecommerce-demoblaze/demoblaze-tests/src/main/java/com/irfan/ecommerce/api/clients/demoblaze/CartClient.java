@@ -2,7 +2,13 @@ package com.irfan.ecommerce.api.clients.demoblaze;
 
 import com.irfan.ecommerce.api.clients.BaseApiClient;
 import com.irfan.ecommerce.api.payloads.demoblaze.*;
+import com.irfan.ecommerce.api.transport.ApiResponse;
 import io.restassured.response.Response;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -15,6 +21,10 @@ public class CartClient extends BaseApiClient {
         super("demoblaze"); // THE FIX: Bridges the child to the parent
     }
 
+    public CartClient(String baseUri) {
+        super("demoblaze", baseUri);
+    }
+
     public void addToCart(String productId, String token) {
         // 1. Fetch endpoint from config.properties (mapped via prefix in BaseApiClient)
         String endpoint = getProperty("api.endpoint.addtocart");
@@ -42,4 +52,60 @@ public class CartClient extends BaseApiClient {
         
         logger.info("✅ API_SUCCESS: Product [{}] successfully injected into session.", productId);
     }
-}
\ No newline at end of file
+
+    /**
+     * Non-blocking cart injection: fire several of these and join once.
+     */
+    public CompletableFuture<ApiResponse> addToCartAsync(String productId, String token) {
+        String endpoint = getProperty("api.endpoint.addtocart");
+        if (endpoint == null) {
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("API Endpoint not configured for Cart Injection."));
+        }
+        return sendAsync("POST", endpoint, new AddToCartRequest(productId, token, true));
+    }
+
+    /**
+     * The account's cart lines (one per added item, each with its own line id).
+     */
+    public Response viewCart(String token) {
+        String endpoint = getProperty("api.endpoint.viewcart");
+        if (endpoint == null) {
+            throw new RuntimeException("API Endpoint 'demoblaze.api.endpoint.viewcart' not configured.");
+        }
+        Response response = given()
+                .spec(getRequestSpec())
+                .body(Map.of("cookie", token, "flag", true))
+                .when()
+                .post(endpoint);
+        handleApiFailure(response, endpoint);
+        return response;
+    }
+
+    /**
+     * Removes every line from the account's cart, one /deleteitem per line
+     * like the cart page does.
+     *
+     * @return number of lines removed
+     */
+    public int emptyCart(String token) {
+        List<String> lines = viewCart(token).jsonPath().getList("Items.id", String.class);
+        if (lines == null || lines.isEmpty()) {
+            return 0;
+        }
+        String endpoint = getProperty("api.endpoint.deleteitem");
+        if (endpoint == null) {
+            throw new RuntimeException("API Endpoint 'demoblaze.api.endpoint.deleteitem' not configured.");
+        }
+        for (String line : lines) {
+            Response response = given()
+                    .spec(getRequestSpec())
+                    .body(Map.of("id", line))
+                    .when()
+                    .post(endpoint);
+            handleApiFailure(response, endpoint);
+        }
+        logger.info("🧹 CART_RESET: Removed {} line(s) from the cart.", lines.size());
+        return lines.size();
+    }
+}
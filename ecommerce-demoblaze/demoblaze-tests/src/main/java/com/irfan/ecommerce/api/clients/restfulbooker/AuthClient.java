@@ -6,6 +6,7 @@ import com.irfan.ecommerce.api.payloads.restfulbooker.AuthRequest;
 import io.restassured.response.Response;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import static io.restassured.RestAssured.given;
 
 /**
@@ -26,6 +27,10 @@ public class AuthClient extends BaseApiClient {
         super("booker"); // FIX 1: Satisfies the BaseApiClient(String) requirement
     }
 
+    public AuthClient(String baseUri) {
+        super("booker", baseUri);
+    }
+
     public String getAuthToken(String user, String pass) {
     String endpoint = getProperty("api.endpoint.auth");
     
@@ -43,4 +48,9 @@ public class AuthClient extends BaseApiClient {
     handleApiFailure(response, endpoint);
     return response.jsonPath().getString("token");
     }
-}
\ No newline at end of file
+
+    public CompletableFuture<String> getAuthTokenAsync(String user, String pass) {
+        return sendAsync("POST", getProperty("api.endpoint.auth"), new AuthRequest(user, pass))
+                .thenApply(response -> response.jsonPath().getString("token"));
+    }
+}
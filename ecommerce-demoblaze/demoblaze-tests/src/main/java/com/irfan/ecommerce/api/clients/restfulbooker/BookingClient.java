@@ -2,7 +2,11 @@ package com.irfan.ecommerce.api.clients.restfulbooker;
 
 import com.irfan.ecommerce.api.clients.BaseApiClient;
 import com.irfan.ecommerce.api.payloads.restfulbooker.BookingRequest;
+import com.irfan.ecommerce.api.transport.ApiResponse;
 import io.restassured.response.Response;
+
+import java.util.concurrent.CompletableFuture;
+
 import static io.restassured.RestAssured.given;
 
 /**
@@ -22,6 +26,10 @@ public class BookingClient extends BaseApiClient {
         super("booker");
     }
 
+    public BookingClient(String baseUri) {
+        super("booker", baseUri);
+    }
+
     public Response createBooking(BookingRequest payload) {
         String endpoint = getProperty("api.endpoint.booking");
         
@@ -66,4 +74,25 @@ public class BookingClient extends BaseApiClient {
         handleApiFailure(response, endpoint);
         return response;
     }
-}
\ No newline at end of file
+
+    // ⚡ ASYNC TRANSPORT: same routes, non-blocking (see AsyncHttpTransport)
+
+    public CompletableFuture<ApiResponse> createBookingAsync(BookingRequest payload) {
+        return sendAsync("POST", getProperty("api.endpoint.booking"), payload);
+    }
+
+    public CompletableFuture<ApiResponse> updateBookingAsync(BookingRequest payload, int bookingId, String token) {
+        return sendAsync("PUT", getProperty("api.endpoint.booking") + "/" + bookingId, payload,
+                "Cookie", "token=" + token);
+    }
+
+    public CompletableFuture<ApiResponse> patchBookingAsync(Object payload, int bookingId, String token) {
+        return sendAsync("PATCH", getProperty("api.endpoint.booking") + "/" + bookingId, payload,
+                "Cookie", "token=" + token);
+    }
+
+    public CompletableFuture<ApiResponse> deleteBookingAsync(int bookingId, String token) {
+        return sendAsync("DELETE", getProperty("api.endpoint.booking") + "/" + bookingId, null,
+                "Cookie", "token=" + token);
+    }
+}
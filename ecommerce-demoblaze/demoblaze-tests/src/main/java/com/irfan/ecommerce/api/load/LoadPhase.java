@@ -0,0 +1,57 @@
+package com.irfan.ecommerce.api.load;
+
+import java.time.Duration;
+
+/**
+ * LoadPhase: One slice of a load profile. The arrival rate moves linearly from
+ * startRate to endRate (requests per second) over the phase, so ramp-up,
+ * steady-state and ramp-down are all the same shape with different ends.
+ */
+public final class LoadPhase {
+    private final String name;
+    private final Duration duration;
+    private final double startRate;
+    private final double endRate;
+
+    public LoadPhase(String name, Duration duration, double startRate, double endRate) {
+        if (duration.isNegative() || startRate < 0 || endRate < 0) {
+            throw new IllegalArgumentException("🛑 LOAD_CONFIG: Phase '" + name + "' needs a non-negative duration and rates");
+        }
+        this.name = name;
+        this.duration = duration;
+        this.startRate = startRate;
+        this.endRate = endRate;
+    }
+
+    public static LoadPhase rampUp(Duration duration, double targetRate) {
+        return new LoadPhase("ramp-up", duration, 0, targetRate);
+    }
+
+    public static LoadPhase steady(Duration duration, double rate) {
+        return new LoadPhase("steady", duration, rate, rate);
+    }
+
+    public static LoadPhase rampDown(Duration duration, double fromRate) {
+        return new LoadPhase("ramp-down", duration, fromRate, 0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Arrival rate (req/s) at a point inside this phase.
+     */
+    double rateAt(long elapsedNanos) {
+        long total = duration.toNanos();
+        if (total == 0) {
+            return endRate;
+        }
+        double progress = Math.min(1.0, (double) elapsedNanos / total);
+        return startRate + (endRate - startRate) * progress;
+    }
+}
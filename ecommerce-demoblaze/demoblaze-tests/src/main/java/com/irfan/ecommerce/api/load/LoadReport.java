@@ -0,0 +1,163 @@
+package com.irfan.ecommerce.api.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LoadReport: What a LoadEngine run measured, per endpoint.
+ * Latencies are held in microseconds; getters return milliseconds.
+ */
+public class LoadReport {
+    private static final Logger logger = LogManager.getLogger(LoadReport.class);
+
+    private final String name;
+    private final Map<String, EndpointStats> endpoints;
+    private final long issued;
+    private final long scheduledNanos;
+    private final long elapsedNanos;
+
+    LoadReport(String name, Map<String, EndpointStats> endpoints, long issued, long scheduledNanos, long elapsedNanos) {
+        this.name = name;
+        this.endpoints = Collections.unmodifiableMap(endpoints);
+        this.issued = issued;
+        this.scheduledNanos = scheduledNanos;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public EndpointStats endpoint(String endpoint) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            throw new IllegalArgumentException("No endpoint '" + endpoint + "' in load run " + name);
+        }
+        return stats;
+    }
+
+    public Map<String, EndpointStats> getEndpoints() {
+        return endpoints;
+    }
+
+    public long getIssued() {
+        return issued;
+    }
+
+    /**
+     * Completed requests per second over the whole run (schedule + drain).
+     */
+    public double throughput(EndpointStats stats) {
+        return stats.count() / Math.max(1e-9, elapsedNanos / 1e9);
+    }
+
+    public String summary() {
+        StringBuilder table = new StringBuilder(String.format(
+                "%n%-22s %7s %7s %8s %9s %9s %9s %9s %9s %12s",
+                "ENDPOINT", "count", "err %", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms",
+                "svc p99 ms"));
+        for (EndpointStats stats : endpoints.values()) {
+            table.append(String.format("%n%-22s %7d %7.2f %8.2f %9.1f %9.1f %9.1f %9.1f %9.1f %12.1f",
+                    stats.endpoint, stats.count(), stats.errorRate() * 100, throughput(stats),
+                    stats.percentileMs(50), stats.percentileMs(95), stats.percentileMs(99),
+                    stats.percentileMs(99.9), stats.maxMs(), stats.servicePercentileMs(99)));
+        }
+        table.append(String.format("%n%d requests issued over a %.1fs schedule (latency measured from intended start)",
+                issued, scheduledNanos / 1e9));
+        return table.toString();
+    }
+
+    /**
+     * Writes one .hgrm percentile distribution per endpoint (HdrHistogram's
+     * plotter format), so runs can be compared as full curves, not just p99s.
+     */
+    public void writeHistograms(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            for (EndpointStats stats : endpoints.values()) {
+                Path file = directory.resolve(name + "-" + stats.endpoint.replaceAll("[^A-Za-z0-9._-]", "_") + ".hgrm");
+                try (PrintStream out = new PrintStream(Files.newOutputStream(file), false, "UTF-8")) {
+                    stats.latency.outputPercentileDistribution(out, 1000.0);
+                }
+            }
+            logger.info("📊 LOAD_REPORT [{}]: Histograms written to {}", name, directory.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("⚠️ LOAD_REPORT [{}]: Could not write histograms: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Per-endpoint counters. Two histograms: latency from the intended start
+     * (what a user at that arrival rate saw) and service time from the actual
+     * start (what a closed-loop tool would have reported).
+     */
+    public static final class EndpointStats {
+        private static final long MAX_TRACKABLE_US = TimeUnit.MINUTES.toMicros(10);
+
+        private final String endpoint;
+        private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_US, 3);
+        private final Histogram service = new ConcurrentHistogram(MAX_TRACKABLE_US, 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, LongAdder> errorTypes = new ConcurrentHashMap<>();
+
+        EndpointStats(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        void record(long intendedStart, long actualStart, long end, boolean ok) {
+            latency.recordValue(clamp(end - intendedStart));
+            service.recordValue(clamp(end - actualStart));
+            if (!ok) {
+                errors.increment();
+            }
+        }
+
+        void recordError(Throwable t) {
+            errorTypes.computeIfAbsent(t.getClass().getSimpleName(), key -> new LongAdder()).increment();
+        }
+
+        private static long clamp(long nanos) {
+            return Math.min(MAX_TRACKABLE_US, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public long count() {
+            return latency.getTotalCount();
+        }
+
+        public long errors() {
+            return errors.sum();
+        }
+
+        public double errorRate() {
+            return count() == 0 ? 0.0 : (double) errors() / count();
+        }
+
+        public Map<String, LongAdder> errorTypes() {
+            return Collections.unmodifiableMap(errorTypes);
+        }
+
+        public double percentileMs(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double servicePercentileMs(double percentile) {
+            return service.getValueAtPercentile(percentile) / 1000.0;
+        }
+
+        public double maxMs() {
+            return latency.getMaxValue() / 1000.0;
+        }
+    }
+}
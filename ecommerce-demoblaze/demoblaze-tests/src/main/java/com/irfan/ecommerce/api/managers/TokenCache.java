@@ -0,0 +1,217 @@
+package com.irfan.ecommerce.api.managers;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * TokenCache: Auth tokens keyed by project + credentials.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: AuthManager memoized exactly one restful-booker token with a
+ *   global lock and no expiry, and every UI test went back to demoblaze for
+ *   its own login (up to three round-trips when the user had to be signed up).
+ * - WHAT I DID: One entry per (project, user, password). A fresh entry is a
+ *   hit. A missing or expired entry is loaded by exactly one caller while the
+ *   rest wait on the same future (single-flight). Once an entry is past
+ *   'refreshAhead' of its TTL, callers still get the cached token and a
+ *   background thread fetches the next one, so nobody waits at expiry.
+ * - THE RESULT: 50 threads asking for the same login cost one network call.
+ *   Hit/miss/refresh counters show whether the TTL is sized right.
+ */
+public class TokenCache {
+    private static final Logger logger = LogManager.getLogger(TokenCache.class);
+
+    /**
+     * Fetches a token from the real auth endpoint.
+     */
+    @FunctionalInterface
+    public interface TokenLoader {
+        String load(String user, String pass);
+    }
+
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final Map<String, TokenLoader> loaders = new ConcurrentHashMap<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ExecutorService refresher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "token-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 📊 Cache metrics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+
+    /**
+     * @param ttl          how long a token is served before it must be re-fetched
+     * @param refreshAhead fraction of the TTL after which a hit triggers a
+     *                     background refresh (e.g. 0.8); 1.0 or more disables it
+     */
+    public TokenCache(Duration ttl, double refreshAhead) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Token TTL must be positive, got " + ttl);
+        }
+        this.ttlNanos = ttl.toNanos();
+        this.refreshAfterNanos = (long) (ttlNanos * Math.max(0.0, refreshAhead));
+    }
+
+    public TokenCache register(String project, TokenLoader loader) {
+        loaders.put(project, loader);
+        return this;
+    }
+
+    /**
+     * A valid token for these credentials, fetching it only if no fresh one
+     * is cached and no other thread is already fetching it.
+     */
+    public String get(String project, String user, String pass) {
+        String key = key(project, user, pass);
+        Entry entry = entries.computeIfAbsent(key, k -> new Entry(project, user, pass));
+        Token token = entry.token;
+        long age = token == null ? Long.MAX_VALUE : System.nanoTime() - token.fetchedAtNanos;
+
+        if (age < ttlNanos) {
+            hits.increment();
+            if (age >= refreshAfterNanos) {
+                load(entry, refresher, true);
+            }
+            return token.value;
+        }
+
+        misses.increment();
+        try {
+            return load(entry, Runnable::run, false).join().value;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Drops a token the server no longer accepts (e.g. after a 401); the next
+     * get() fetches a new one.
+     */
+    public void invalidate(String project, String user, String pass) {
+        Entry entry = entries.get(key(project, user, pass));
+        if (entry != null) {
+            entry.token = null;
+            logger.info("🧹 TOKEN_CACHE: Invalidated [{}:{}]", project, user);
+        }
+    }
+
+    /**
+     * Starts a fetch unless one is already in flight for this entry, in which
+     * case the caller gets that one. 'executor' decides who does the work:
+     * the calling thread on a miss, the refresher on refresh-ahead.
+     */
+    private CompletableFuture<Token> load(Entry entry, Executor executor, boolean refresh) {
+        CompletableFuture<Token> flight;
+        synchronized (entry) {
+            if (entry.inFlight != null) {
+                return entry.inFlight;
+            }
+            flight = new CompletableFuture<>();
+            entry.inFlight = flight;
+        }
+        if (refresh) {
+            refreshes.increment();
+        }
+        executor.execute(() -> fetch(entry, flight, refresh));
+        return flight;
+    }
+
+    private void fetch(Entry entry, CompletableFuture<Token> flight, boolean refresh) {
+        TokenLoader loader = loaders.get(entry.project);
+        try {
+            if (loader == null) {
+                throw new IllegalStateException("🛑 TOKEN_CACHE: No token loader registered for project '"
+                        + entry.project + "'");
+            }
+            long start = System.nanoTime();
+            String value = loader.load(entry.user, entry.pass);
+            if (value == null || value.isBlank()) {
+                // Caching it would hand every caller a useless token until the TTL runs out
+                throw new IllegalStateException("🛑 TOKEN_CACHE: Auth for [" + entry.project + ":" + entry.user
+                        + "] returned " + (value == null ? "no token" : "a blank token"));
+            }
+            Token token = new Token(value, System.nanoTime());
+            entry.token = token;
+            logger.info("🔐 TOKEN_CACHE: {} [{}:{}] in {} ms", refresh ? "Refreshed" : "Fetched", entry.project,
+                    entry.user, (token.fetchedAtNanos - start) / 1_000_000);
+            clearInFlight(entry);
+            flight.complete(token);
+        } catch (RuntimeException e) {
+            loadFailures.increment();
+            if (refresh) {
+                // The current token is still valid until its TTL runs out
+                logger.warn("⚠️ TOKEN_CACHE: Background refresh failed for [{}:{}]: {}", entry.project, entry.user,
+                        e.getMessage());
+            }
+            clearInFlight(entry);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    private static void clearInFlight(Entry entry) {
+        synchronized (entry) {
+            entry.inFlight = null;
+        }
+    }
+
+    private static String key(String project, String user, String pass) {
+        return project + '\u0000' + user + '\u0000' + pass;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getRefreshes() {
+        return refreshes.sum();
+    }
+
+    public String metricsSummary() {
+        return String.format("entries=%d hits=%d misses=%d refreshes=%d loadFailures=%d", entries.size(),
+                hits.sum(), misses.sum(), refreshes.sum(), loadFailures.sum());
+    }
+
+    private static final class Entry {
+        private final String project;
+        private final String user;
+        private final String pass;
+        private volatile Token token;
+        private CompletableFuture<Token> inFlight; // guarded by this
+
+        private Entry(String project, String user, String pass) {
+            this.project = project;
+            this.user = user;
+            this.pass = pass;
+        }
+    }
+
+    private static final class Token {
+        private final String value;
+        private final long fetchedAtNanos;
+
+        private Token(String value, long fetchedAtNanos) {
+            this.value = value;
+            this.fetchedAtNanos = fetchedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,429 @@
+package com.irfan.ecommerce.api.managers.demoblaze;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.irfan.ecommerce.api.clients.demoblaze.AuthClient;
+import com.irfan.ecommerce.api.clients.demoblaze.CartClient;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.util.PropertyReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * UserPool: Registered demoblaze accounts, handed out per test.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: A test that needed a logged-in user registered one on the
+ *   spot - through the sign-up modal (modal wait, alert wait, recursive
+ *   retry) or through AuthClient's login/sign-up/login dance. Parallel cart
+ *   tests sharing one hard-coded user also saw each other's items.
+ * - WHAT I DID: At first use the pool makes sure 'size' accounts exist,
+ *   creating the missing ones with parallel /signup calls, and remembers
+ *   them in a local file so the next run signs nobody up. Tests lease an
+ *   account SHARED (read-only flows, many tests per account) or EXCLUSIVE
+ *   (cart-mutating flows, one test per account) and hand it back in teardown.
+ *   Accounts outlive the run, so an EXCLUSIVE lease empties the server-side
+ *   cart when it is granted and again when it comes back.
+ * - THE RESULT: No UI registration in the test path, and no two cart tests
+ *   ever share a cart - or inherit one from an earlier test or run.
+ */
+public class UserPool {
+    private static final Logger logger = LogManager.getLogger(UserPool.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public enum Mode { SHARED, EXCLUSIVE }
+
+    /**
+     * Registers one account; completes with true if the account is usable.
+     */
+    @FunctionalInterface
+    public interface AccountCreator {
+        CompletableFuture<Boolean> create(String username, String password);
+    }
+
+    /**
+     * Empties one account's server-side cart; returns the number of lines removed.
+     */
+    @FunctionalInterface
+    public interface CartCleaner {
+        int empty(String username, String password) throws Exception;
+    }
+
+    private final String baseUri;
+    private final File store;
+    private final int size;
+    private final AccountCreator creator;
+    private final CartCleaner cleaner;
+    private final Duration leaseTimeout;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private final List<Account> accounts = new ArrayList<>(); // guarded by lock
+    private boolean provisioned; // guarded by lock
+    private boolean provisioning; // guarded by lock; sign-ups run without it
+
+    // 📊 Pool metrics
+    private final LongAdder created = new LongAdder();
+    private final LongAdder reused = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder waitedLeases = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAdder cartResets = new LongAdder();
+
+    public UserPool(String baseUri, File store, int size, Duration leaseTimeout, AccountCreator creator) {
+        this(baseUri, store, size, leaseTimeout, creator, (user, pass) -> 0);
+    }
+
+    public UserPool(String baseUri, File store, int size, Duration leaseTimeout, AccountCreator creator,
+                    CartCleaner cleaner) {
+        if (size < 1) {
+            throw new IllegalArgumentException("User pool size must be at least 1, got " + size);
+        }
+        this.baseUri = baseUri;
+        this.store = store;
+        this.size = size;
+        this.leaseTimeout = leaseTimeout;
+        this.creator = creator;
+        this.cleaner = cleaner;
+    }
+
+    private static final class Holder {
+        private static final UserPool INSTANCE = createDefault();
+
+        private static UserPool createDefault() {
+            String baseUri = PropertyReader.getProperty("demoblaze.api.base.uri");
+            AuthClient client = new AuthClient(baseUri);
+            CartClient cart = new CartClient(baseUri);
+            return new UserPool(baseUri,
+                    new File(System.getProperty("user.pool.file", "test-history/user-pool.json")),
+                    Integer.getInteger("user.pool.size", 5),
+                    Duration.ofSeconds(Long.getLong("user.pool.lease.timeout.sec", 120)),
+                    client::signUpAsync,
+                    (user, pass) -> cart.emptyCart(AuthManager.getToken("demoblaze", user, pass)));
+        }
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                    logger.info("📊 USER_POOL: {}", INSTANCE.metricsSummary())));
+        }
+    }
+
+    /**
+     * The JVM-wide pool for the configured demoblaze environment.
+     */
+    public static UserPool getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads remembered accounts and signs up the missing ones, all requests in
+     * flight at once. Runs once; lease() calls it if nobody did. The sign-ups
+     * run without the pool lock, so size() and the metrics never wait on the
+     * network; other callers of provision() wait for the first one to finish.
+     *
+     * @return number of accounts created by this call
+     */
+    public int provision() {
+        int missing;
+        lock.lock();
+        try {
+            while (provisioning) {
+                released.awaitUninterruptibly();
+            }
+            if (provisioned) {
+                return 0;
+            }
+            List<StoredAccount> known = read(store).getOrDefault(baseUri, List.of());
+            for (StoredAccount stored : known) {
+                if (accounts.size() < size) {
+                    accounts.add(new Account(stored.username, stored.password));
+                }
+            }
+            reused.add(accounts.size());
+            missing = size - accounts.size();
+            provisioning = true;
+        } finally {
+            lock.unlock();
+        }
+
+        List<Account> fresh = List.of();
+        try {
+            fresh = createAccounts(missing);
+        } finally {
+            lock.lock();
+            try {
+                accounts.addAll(fresh);
+                created.add(fresh.size());
+                provisioning = false;
+                provisioned = true;
+                released.signalAll();
+
+                if (!fresh.isEmpty()) {
+                    save();
+                }
+                logger.info("👥 USER_POOL: {} accounts ready for {} ({} reused, {} signed up)", accounts.size(),
+                        baseUri, accounts.size() - fresh.size(), fresh.size());
+                if (accounts.size() < size) {
+                    logger.warn("⚠️ USER_POOL: Wanted {} accounts, only {} could be registered", size,
+                            accounts.size());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return fresh.size();
+    }
+
+    private List<Account> createAccounts(int count) {
+        List<Account> candidates = new ArrayList<>();
+        List<CompletableFuture<Boolean>> signUps = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String token = UUID.randomUUID().toString().replace("-", "");
+            Account account = new Account("qa_pool_" + token.substring(0, 10), "Pw_" + token.substring(10, 22));
+            candidates.add(account);
+            signUps.add(creator.create(account.username, account.password)
+                    .exceptionally(error -> {
+                        logger.warn("⚠️ USER_POOL: Sign-up failed for [{}]: {}", account.username, error.getMessage());
+                        return false;
+                    }));
+        }
+
+        List<Account> registered = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (signUps.get(i).join()) {
+                registered.add(candidates.get(i));
+            }
+        }
+        return registered;
+    }
+
+    public Lease lease(Mode mode) {
+        return lease(mode, leaseTimeout);
+    }
+
+    /**
+     * Blocks until an account is free for this mode. SHARED leases pile onto
+     * an account that is already shared, so the rest stay free for EXCLUSIVE.
+     * An EXCLUSIVE lease starts with an empty cart.
+     */
+    public Lease lease(Mode mode, Duration timeout) {
+        provision();
+        long start = System.nanoTime();
+        long remaining = timeout.toNanos();
+        Account account;
+        lock.lock();
+        try {
+            if (accounts.isEmpty()) {
+                throw new IllegalStateException("🛑 USER_POOL: No demoblaze accounts could be registered at "
+                        + baseUri);
+            }
+            boolean waited = false;
+            while ((account = pick(mode)) == null) {
+                if (remaining <= 0) {
+                    throw new IllegalStateException("🛑 USER_POOL: No account free for a " + mode + " lease after "
+                            + timeout.toSeconds() + "s. Raise -Duser.pool.size (currently " + accounts.size() + ").");
+                }
+                waited = true;
+                remaining = released.awaitNanos(remaining);
+            }
+            if (mode == Mode.EXCLUSIVE) {
+                account.exclusive = true;
+            } else {
+                account.shared++;
+            }
+
+            long waitNanos = System.nanoTime() - start;
+            leases.increment();
+            if (waited) {
+                waitedLeases.increment();
+                leaseWaitNanos.add(waitNanos);
+            }
+            logger.info("👤 USER_POOL: Leased [{}] {} (waited {} ms)", account.username, mode,
+                    TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("🛑 USER_POOL: Interrupted while waiting for a " + mode + " lease", e);
+        } finally {
+            lock.unlock();
+        }
+        // The account is already ours, so the network calls stay outside the lock
+        if (mode == Mode.EXCLUSIVE) {
+            emptyCart(account, "lease");
+        }
+        return new Lease(account, mode);
+    }
+
+    // A cart we could not empty is logged, not fatal: the test still gets its account
+    private void emptyCart(Account account, String when) {
+        try {
+            int removed = cleaner.empty(account.username, account.password);
+            if (removed > 0) {
+                cartResets.increment();
+                logger.info("🧹 USER_POOL: Emptied {} cart line(s) of [{}] on {}", removed, account.username, when);
+            }
+        } catch (Exception e) {
+            logger.warn("⚠️ USER_POOL: Could not empty the cart of [{}] on {}: {}", account.username, when,
+                    e.getMessage());
+        }
+    }
+
+    private Account pick(Mode mode) {
+        Account best = null;
+        for (Account account : accounts) {
+            if (account.exclusive) {
+                continue;
+            }
+            if (mode == Mode.EXCLUSIVE) {
+                if (account.shared == 0) {
+                    return account;
+                }
+            } else if (best == null || account.shared > best.shared) {
+                best = account;
+            }
+        }
+        return best;
+    }
+
+    private void release(Account account, Mode mode) {
+        if (mode == Mode.EXCLUSIVE) {
+            emptyCart(account, "release");
+        }
+        lock.lock();
+        try {
+            if (mode == Mode.EXCLUSIVE) {
+                account.exclusive = false;
+            } else {
+                account.shared--;
+            }
+            released.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Merges with the file on disk (other environments, other JVMs) and writes
+     * it back. Our accounts for this base URI win.
+     */
+    private void save() {
+        try {
+            Map<String, List<StoredAccount>> merged = read(store);
+            List<StoredAccount> ours = new ArrayList<>();
+            for (Account account : accounts) {
+                ours.add(new StoredAccount(account.username, account.password));
+            }
+            merged.put(baseUri, ours);
+            File parent = store.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            mapper.writeValue(store, merged);
+        } catch (IOException e) {
+            logger.warn("⚠️ USER_POOL: Could not save {}: {}", store, e.getMessage());
+        }
+    }
+
+    private static Map<String, List<StoredAccount>> read(File file) {
+        if (!file.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return mapper.readValue(file, new TypeReference<TreeMap<String, List<StoredAccount>>>() {});
+        } catch (IOException e) {
+            logger.warn("⚠️ USER_POOL: Ignoring unreadable {}: {}", file, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return accounts.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public String metricsSummary() {
+        return String.format("accounts=%d created=%d reused=%d leases=%d waitedLeases=%d avgWaitMs=%d cartResets=%d",
+                size(), created.sum(), reused.sum(), leases.sum(), waitedLeases.sum(),
+                waitedLeases.sum() == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(leaseWaitNanos.sum() / waitedLeases.sum()),
+                cartResets.sum());
+    }
+
+    /**
+     * One test's hold on an account. Close it (BaseTest does) to hand the
+     * account back; closing twice is harmless.
+     */
+    public final class Lease implements AutoCloseable {
+        private final Account account;
+        private final Mode mode;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Lease(Account account, Mode mode) {
+            this.account = account;
+            this.mode = mode;
+        }
+
+        public String getUsername() {
+            return account.username;
+        }
+
+        public String getPassword() {
+            return account.password;
+        }
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(account, mode);
+            }
+        }
+    }
+
+    private static final class Account {
+        private final String username;
+        private final String password;
+        private int shared; // guarded by lock
+        private boolean exclusive; // guarded by lock
+
+        private Account(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StoredAccount {
+        public String username;
+        public String password;
+
+        public StoredAccount() {}
+
+        StoredAccount(String username, String password) {
+            this.username = username;
+            this.password = password;
+        }
+    }
+}
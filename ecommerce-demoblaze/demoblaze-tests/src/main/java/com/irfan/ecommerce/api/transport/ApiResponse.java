@@ -0,0 +1,56 @@
+package com.irfan.ecommerce.api.transport;
+
+import io.restassured.path.json.JsonPath;
+
+import java.net.http.HttpHeaders;
+
+/**
+ * ApiResponse: What the async transport hands back. Mirrors the parts of
+ * RestAssured's Response our tests actually use (status, headers, body,
+ * jsonPath), so switching a test to the async client is a one-line change.
+ */
+public final class ApiResponse {
+    private final int statusCode;
+    private final HttpHeaders headers;
+    private final String body;
+    private final long timeMs;
+    private volatile JsonPath jsonPath;
+
+    public ApiResponse(int statusCode, HttpHeaders headers, String body, long timeMs) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body == null ? "" : body;
+        this.timeMs = timeMs;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getHeader(String name) {
+        return headers.firstValue(name).orElse(null);
+    }
+
+    public String asString() {
+        return body;
+    }
+
+    /**
+     * Round-trip time in ms, from send to fully read body.
+     */
+    public long getTime() {
+        return timeMs;
+    }
+
+    /**
+     * Parsed lazily and once: most callers only look at the status code.
+     */
+    public JsonPath jsonPath() {
+        JsonPath parsed = jsonPath;
+        if (parsed == null) {
+            parsed = new JsonPath(body);
+            jsonPath = parsed;
+        }
+        return parsed;
+    }
+}
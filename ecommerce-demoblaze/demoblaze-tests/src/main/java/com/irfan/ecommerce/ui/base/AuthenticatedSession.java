@@ -0,0 +1,23 @@
+package com.irfan.ecommerce.ui.base;
+
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a UI test (or a whole test class) that starts logged in. BaseTest
+ * leases a pooled user and restores its cached session before the first
+ * navigation, so the test's first page is already authenticated.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AuthenticatedSession {
+
+    /**
+     * EXCLUSIVE for anything that changes the cart.
+     */
+    UserPool.Mode value() default UserPool.Mode.SHARED;
+}
@@ -1,19 +1,27 @@
 package com.irfan.ecommerce.ui.base;
 
+import com.irfan.ecommerce.util.DomWait;
 import com.irfan.ecommerce.util.GenericActions;
+import com.irfan.ecommerce.util.TableSnapshot;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 
 public abstract class BasePage {
+    protected static final Duration TIMEOUT = Duration.ofSeconds(10);
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    private final Map<String, TableSnapshot> snapshots = new HashMap<>();
 
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WebDriverWait(driver, TIMEOUT);
     }
 
     /**
@@ -21,6 +29,10 @@ public abstract class BasePage {
      * It uses your GenericActions logic to find the 'Best' working locator.
      */
     protected void waitForVisibilityOfElement(String[] locatorArray, String... replacements) {
+        if (DomWait.isEnabled()) {
+            DomWait.visible(driver, TIMEOUT, locatorArray, replacements);
+            return;
+        }
         By bestBy = GenericActions.getBestLocator(locatorArray, replacements);
         wait.until(ExpectedConditions.visibilityOfElementLocated(bestBy));
     }
@@ -30,7 +42,52 @@ public abstract class BasePage {
      * Fixes the "locators cannot be resolved" error.
      */
     protected void waitForVisibilityOfElement(By locator) {
+        String spec = DomWait.locatorOf(locator);
+        if (DomWait.isEnabled() && spec != null) {
+            DomWait.visible(driver, TIMEOUT, new String[] {spec});
+            return;
+        }
         // ✅ FIX: Use 'locator' (the variable name you defined)
         wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
     }
+
+    /**
+     * 👻 GONE WAIT: Modals, spinners and backdrops that have to clear before the
+     * next step.
+     */
+    protected void waitForInvisibilityOfElement(String[] locatorArray, String... replacements) {
+        if (DomWait.isEnabled()) {
+            DomWait.gone(driver, TIMEOUT, locatorArray, replacements);
+            return;
+        }
+        wait.until(ExpectedConditions.invisibilityOfElementLocated(
+                GenericActions.getBestLocator(locatorArray, replacements)));
+    }
+
+    /**
+     * 📋 TABLE SNAPSHOT: The whole table in one call. Asking again returns the
+     * same snapshot while the table's DOM is unchanged (still one call to
+     * check), or a fresh one if anything below it mutated.
+     */
+    protected TableSnapshot snapshotTable(String[] locatorArray, String... replacements) {
+        String key = "table:" + String.join("|", locatorArray) + Arrays.toString(replacements);
+        TableSnapshot snapshot = snapshots.get(key);
+        snapshot = snapshot == null ? TableSnapshot.ofTable(driver, locatorArray, replacements)
+                : snapshot.refresh(driver);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * 📋 LIST SNAPSHOT: Same for card lists - one row per 'itemSelector', one
+     * cell per field selector.
+     */
+    protected TableSnapshot snapshotList(String[] locatorArray, String itemSelector, String... fieldSelectors) {
+        String key = "list:" + String.join("|", locatorArray) + itemSelector + Arrays.toString(fieldSelectors);
+        TableSnapshot snapshot = snapshots.get(key);
+        snapshot = snapshot == null ? TableSnapshot.ofList(driver, locatorArray, itemSelector, fieldSelectors)
+                : snapshot.refresh(driver);
+        snapshots.put(key, snapshot);
+        return snapshot;
+    }
 }
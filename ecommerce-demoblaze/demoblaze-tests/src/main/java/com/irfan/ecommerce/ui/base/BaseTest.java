@@ -1,21 +1,19 @@
 package com.irfan.ecommerce.ui.base;
 
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.devtools.DevTools;
-import org.openqa.selenium.devtools.v129.network.Network;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 
-import com.irfan.ecommerce.util.GenericActions;
 import com.irfan.ecommerce.util.PropertyReader;
-import com.irfan.ecommerce.api.clients.demoblaze.AuthClient;
+import com.irfan.ecommerce.util.ScreenshotPipeline;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
 import com.irfan.ecommerce.ui.pages.HomePage;
 import com.irfan.ecommerce.ui.pages.LoginPage;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Cookie;
-import java.util.Optional;
+import java.lang.reflect.Method;
 
 /**
  * BaseTest: The "Orchestrator" for all test classes.
@@ -31,21 +29,22 @@ import java.util.Optional;
 public class BaseTest {
     public WebDriver driver;
     protected static final Logger logger = LogManager.getLogger(BaseTest.class);
-    private AuthClient authClient = new AuthClient();
+    private static final ThreadLocal<UserPool.Lease> userLease = new ThreadLocal<>();
     protected LoginPage loginPage;
     protected HomePage homePage;
 
     @BeforeMethod
-    public void setup() {
+    public void setup(Method method) {
         logger.info("🚀 Thread [{}] BaseTest.setup()", Thread.currentThread().getId());
+        ScreenshotPipeline.getInstance().forgetFailureCapture();
+        if (CommandTimings.isEnabled()) {
+            CommandTimings.beginTest(getClass().getSimpleName() + "." + method.getName());
+        }
 
         driver = DriverFactory.initDriver("chrome");
 
-        try {
-            GenericActions.startNetworkSniffer();
-        } catch (Throwable t) {
-            System.err.println("🚨 BYPASS: CDP Sniffer failed to load, but moving to UI tests: " + t.getMessage());
-        }
+        // Per-session: parallel tests each get their own tracker (null without CDP, never an exception)
+        NetworkTracker.attach(driver);
 
         loginPage = new LoginPage(driver);
         homePage = new HomePage(driver);
@@ -55,41 +54,71 @@ public class BaseTest {
         }
 
         driver.manage().window().maximize();
-        String baseUrl = PropertyReader.getProperty("url");
-        if (baseUrl == null) {
-            baseUrl = "https://www.demoblaze.com";
+        String baseUrl = baseUrl();
+        AuthenticatedSession authenticated = method.getAnnotation(AuthenticatedSession.class) != null
+                ? method.getAnnotation(AuthenticatedSession.class)
+                : method.getDeclaringClass().getAnnotation(AuthenticatedSession.class);
+        if (authenticated != null) {
+            // The session is in place before the first navigation, so this is the only page load
+            UserPool.Lease user = leaseUser(authenticated.value());
+            openAuthenticated(baseUrl, user.getUsername(), user.getPassword());
+        } else {
+            driver.get(baseUrl);
+        }
+        logger.info("✅ Thread [{}] DEMOBLAZE LOADED with per-session network tracker", Thread.currentThread().getId());
+    }
+
+    public void loginViaApi(String user, String pass) {
+        SessionStateCache cache = SessionStateCache.getInstance();
+        SessionStateCache.SessionState state = cache.lookup(user);
+        cache.reload(driver, baseUrl(), user, state != null ? state : tokenState(user, pass));
+        if (state == null) {
+            cache.capture(driver, user, () -> AuthManager.invalidate("demoblaze", user, pass));
         }
-        driver.get(baseUrl);
-        logger.info("✅ Thread [{}] DEMOBLAZE LOADED with Active CDP Sniffer", Thread.currentThread().getId());
+        logger.info("🚀 TELEPORT SUCCESS: Browser session authenticated via API: [{}]", user);
     }
 
     /**
-     * 🛰️ CDP INTERCEPTOR: Monitoring the 'Pulse' of the Network.
+     * Loads the site already logged in as 'user': the cached browser state if
+     * we have one, otherwise just the API token cookie (and the full state is
+     * captured for next time).
      */
-    private void startNetworkInterceptor() {
-        if (driver instanceof ChromeDriver) {
-            DevTools devTools = ((ChromeDriver) driver).getDevTools();
-            devTools.createSession();
-            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
-
-            // Listen for failed requests (4xx and 5xx)
-            devTools.addListener(Network.responseReceived(), response -> {
-                int status = response.getResponse().getStatus();
-                if (status >= 400) {
-                    String url = response.getResponse().getUrl();
-                    reportLog("🚨 NETWORK_LEAK: URL [" + url + "] returned status: " + status);
-                    logger.error("🛑 BACKEND_ERROR: {} | Status: {}", url, status);
-                }
-            });
+    protected void openAuthenticated(String url, String user, String pass) {
+        SessionStateCache cache = SessionStateCache.getInstance();
+        SessionStateCache.SessionState state = cache.lookup(user);
+        cache.open(driver, url, user, state != null ? state : tokenState(user, pass));
+        if (state == null) {
+            cache.capture(driver, user, () -> AuthManager.invalidate("demoblaze", user, pass));
         }
+        logger.info("🚀 TELEPORT SUCCESS: First page load already authenticated as [{}]", user);
     }
 
-    public void loginViaApi(String user, String pass) {
-        String token = authClient.getAuthToken(user, pass);
-        Cookie sessionCookie = new Cookie("tokenp_", token);
-        driver.manage().addCookie(sessionCookie);
-        driver.navigate().refresh();
-        logger.info("🚀 TELEPORT SUCCESS: Browser session authenticated via API: [{}]", user);
+    // Cached per user: the login (and sign-up) round-trips happen once per TTL, not once per test
+    private static SessionStateCache.SessionState tokenState(String user, String pass) {
+        return SessionStateCache.SessionState.ofCookies(
+                new Cookie("tokenp_", AuthManager.getToken("demoblaze", user, pass)));
+    }
+
+    private static String baseUrl() {
+        String baseUrl = PropertyReader.getProperty("url");
+        return baseUrl != null ? baseUrl : "https://www.demoblaze.com";
+    }
+
+    /**
+     * A pre-registered demoblaze account for this test, handed back in teardown.
+     * Use EXCLUSIVE for anything that changes the cart.
+     */
+    protected UserPool.Lease leaseUser(UserPool.Mode mode) {
+        UserPool.Lease lease = UserPool.getInstance().lease(mode);
+        userLease.set(lease);
+        return lease;
+    }
+
+    /**
+     * The user leased for this test (by @AuthenticatedSession or leaseUser), or null.
+     */
+    protected UserPool.Lease leasedUser() {
+        return userLease.get();
     }
 
     public WebDriver getDriver() {
@@ -100,11 +129,12 @@ public class BaseTest {
         logger.info(message);
         try {
             Class<?> listenerClass = Class.forName("com.irfan.ecommerce.util.Listeners");
-            java.lang.reflect.Method getTest = listenerClass.getMethod("getExtentTest");
-            Object extentTest = getTest.invoke(null);
+            java.lang.reflect.Method getTest = listenerClass.getMethod("getReportEntry");
+            Object reportEntry = getTest.invoke(null);
 
-            if (extentTest != null) {
-                extentTest.getClass().getMethod("info", String.class).invoke(extentTest, "🔍 " + message);
+            if (reportEntry != null) {
+                // Looked up on the declared interface: the entry classes themselves aren't public
+                getTest.getReturnType().getMethod("info", String.class).invoke(reportEntry, "🔍 " + message);
             }
         } catch (Exception e) {
             // Log locally if reporting bridge fails
@@ -114,7 +144,15 @@ public class BaseTest {
     @AfterMethod(alwaysRun = true)
     public void teardown() {
         logger.info("🧹 Thread [{}] teardown", Thread.currentThread().getId());
-        GenericActions.stopNetworkSniffer();
+        UserPool.Lease lease = userLease.get();
+        if (lease != null) {
+            lease.close();
+            userLease.remove();
+        }
+        if (driver != null) {
+            SessionStateCache.getInstance().detach(driver);
+        }
+        NetworkTracker.detach(driver);
         DriverFactory.quitDriver();
     }
 
@@ -0,0 +1,267 @@
+package com.irfan.ecommerce.ui.base;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.chrome.ChromeDriverService;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * ChromeServicePool: One chromedriver binary lookup per JVM, a handful of
+ * long-lived chromedriver processes for the whole run.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every session called WebDriverManager (version lookup, cache
+ *   check) and then spawned its own chromedriver process. At 20 threads both
+ *   showed up as a wall of startup time in the profiler.
+ * - WHAT I DID: The binary is resolved once and its path and version are
+ *   written to an offline cache file, so later JVMs skip WebDriverManager
+ *   entirely - unless the binary or the installed Chrome has moved to another
+ *   version since, in which case the marker is stale and resolved again. A small
+ *   ring of ChromeDriverService processes is started once and every new session
+ *   is multiplexed onto one of them (chromedriver handles many sessions).
+ * - THE RESULT: Session startup is just "ask chromedriver for a new Chrome".
+ */
+public final class ChromeServicePool {
+    private static final Logger logger = LogManager.getLogger(ChromeServicePool.class);
+    private static final String PATH_MARKER = "chromedriver.properties";
+    private static final Pattern VERSION = Pattern.compile("(\\d+)(\\.\\d+)+");
+
+    private static final int SERVICE_COUNT = Math.max(1, Integer.getInteger("driver.service.count", 2));
+    private static final List<SharedChromeDriverService> services = new ArrayList<>();
+    private static final AtomicInteger cursor = new AtomicInteger();
+
+    private ChromeServicePool() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    /**
+     * Lazy holder: the JVM guarantees this runs exactly once, on first use.
+     */
+    private static final class BinaryHolder {
+        private static final File BINARY = resolveDriverBinary();
+    }
+
+    public static File getDriverBinary() {
+        return BinaryHolder.BINARY;
+    }
+
+    /**
+     * Round-robins new sessions across the shared chromedriver processes.
+     */
+    public static ChromeDriverService next() {
+        synchronized (services) {
+            if (services.isEmpty()) {
+                for (int i = 0; i < SERVICE_COUNT; i++) {
+                    services.add(startService(i));
+                }
+            }
+            return services.get(Math.floorMod(cursor.getAndIncrement(), services.size()));
+        }
+    }
+
+    public static void shutdownAll() {
+        synchronized (services) {
+            for (SharedChromeDriverService service : services) {
+                service.shutdown();
+            }
+            if (!services.isEmpty()) {
+                logger.info("🧹 DRIVER_SERVICE: Stopped {} shared chromedriver process(es).", services.size());
+            }
+            services.clear();
+        }
+    }
+
+    private static SharedChromeDriverService startService(int index) {
+        long start = System.nanoTime();
+        SharedChromeDriverService service = (SharedChromeDriverService) new SharedServiceBuilder()
+                .usingDriverExecutable(getDriverBinary())
+                .usingAnyFreePort()
+                .build();
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start shared chromedriver #" + index, e);
+        }
+        logger.info("🚀 DRIVER_SERVICE #{} up at {} in {} ms", index, service.getUrl(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return service;
+    }
+
+    /**
+     * Resolution order: explicit -Dwebdriver.chrome.driver, then the offline
+     * marker left by a previous JVM, then a single WebDriverManager lookup.
+     */
+    private static File resolveDriverBinary() {
+        long start = System.nanoTime();
+        String explicit = System.getProperty(ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY);
+        if (explicit != null && new File(explicit).canExecute()) {
+            logger.info("📌 DRIVER_BINARY: Using -D{}={}", ChromeDriverService.CHROME_DRIVER_EXE_PROPERTY, explicit);
+            return new File(explicit);
+        }
+
+        Path cacheDir = Paths.get(System.getProperty("driver.cache.dir", "target/driver-cache"));
+        Path marker = cacheDir.resolve(PATH_MARKER);
+        String browserVersion = detectBrowserVersion();
+        File cached = cachedBinary(marker, browserVersion);
+        if (cached != null) {
+            logger.info("📦 DRIVER_BINARY: Offline cache hit {} ({} ms)", cached,
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+            return cached;
+        }
+
+        WebDriverManager wdm = WebDriverManager.chromedriver().cachePath(cacheDir.toString());
+        wdm.setup();
+        File resolved = new File(wdm.getDownloadedDriverPath());
+        // Recorded as the binary itself reports it, since that is what the next JVM compares against
+        String version = versionOf(resolved);
+        if (version != null) {
+            rememberBinary(marker, resolved, version);
+        }
+        logger.info("🔎 DRIVER_BINARY: Resolved {} {} via WebDriverManager ({} ms)", resolved, version,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+        return resolved;
+    }
+
+    /**
+     * The binary a previous JVM resolved, or null when the marker is missing,
+     * from an older format, or stale: the file now reports another version than
+     * was recorded (upgraded in place), or its major version no longer matches
+     * the installed Chrome (browserVersion; null skips that check).
+     */
+    public static File cachedBinary(Path marker, String browserVersion) {
+        if (!Files.exists(marker)) {
+            return null;
+        }
+        Properties recorded = new Properties();
+        try (Reader in = Files.newBufferedReader(marker, StandardCharsets.UTF_8)) {
+            recorded.load(in);
+        } catch (IOException e) {
+            logger.warn("⚠️ DRIVER_BINARY: Ignoring unreadable marker {}: {}", marker, e.getMessage());
+            return null;
+        }
+        String path = recorded.getProperty("path");
+        String version = recorded.getProperty("driverVersion");
+        if (path == null || version == null || !new File(path).canExecute()) {
+            return null;
+        }
+        String actual = versionOf(new File(path));
+        if (!version.equals(actual)) {
+            logger.info("♻️ DRIVER_BINARY: {} is now {} (marker says {}); resolving again", path, actual, version);
+            return null;
+        }
+        if (browserVersion != null && !major(browserVersion).equals(major(version))) {
+            logger.info("♻️ DRIVER_BINARY: Chrome {} no longer matches chromedriver {}; resolving again",
+                    browserVersion, version);
+            return null;
+        }
+        return new File(path);
+    }
+
+    public static void rememberBinary(Path marker, File binary, String driverVersion) {
+        Properties recorded = new Properties();
+        recorded.setProperty("path", binary.getAbsolutePath());
+        recorded.setProperty("driverVersion", driverVersion);
+        try {
+            Files.createDirectories(marker.toAbsolutePath().getParent());
+            try (Writer out = Files.newBufferedWriter(marker, StandardCharsets.UTF_8)) {
+                recorded.store(out, "Resolved chromedriver; stale once either version moves");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write driver cache marker " + marker, e);
+        }
+    }
+
+    // chromedriver --version prints "ChromeDriver 129.0.6668.70 (...)"; google-chrome --version "Google Chrome 129.0..."
+    private static String versionOf(File executable) {
+        try {
+            Process process = new ProcessBuilder(executable.getAbsolutePath(), "--version")
+                    .redirectErrorStream(true).start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+                return null;
+            }
+            Matcher matcher = VERSION.matcher(output);
+            return matcher.find() ? matcher.group() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private static String detectBrowserVersion() {
+        try {
+            Optional<Path> browser = WebDriverManager.chromedriver().getBrowserPath();
+            return browser.map(path -> versionOf(path.toFile())).orElse(null);
+        } catch (Exception e) {
+            logger.debug("Chrome version not detectable: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String major(String version) {
+        int dot = version.indexOf('.');
+        return dot < 0 ? version : version.substring(0, dot);
+    }
+
+    /**
+     * ChromeDriver stops its service when a session quits. For a shared
+     * service that would kill every other session on it, so stop() is a no-op
+     * and only shutdown() really ends the process.
+     */
+    static final class SharedChromeDriverService extends ChromeDriverService {
+
+        SharedChromeDriverService(File executable, int port, Duration timeout,
+                                  List<String> args, Map<String, String> environment) throws IOException {
+            super(executable, port, timeout, args, environment);
+        }
+
+        @Override
+        public void stop() {
+            // Intentionally ignored: the service outlives individual sessions
+        }
+
+        @Override
+        public void close() {
+            // Same as stop(): only shutdown() may end a shared service
+        }
+
+        void shutdown() {
+            super.stop();
+        }
+    }
+
+    private static final class SharedServiceBuilder extends ChromeDriverService.Builder {
+        @Override
+        protected ChromeDriverService createDriverService(File exe, int port, Duration timeout,
+                                                          List<String> args, Map<String, String> environment) {
+            try {
+                return new SharedChromeDriverService(exe, port, timeout, args, environment);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package com.irfan.ecommerce.ui.base;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.decorators.Decorated;
+import org.openqa.selenium.support.decorators.WebDriverDecorator;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * CommandTimings: Where UI test time actually goes, one WebDriver command at a time.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: A UI test took 40 seconds and nobody could say whether that
+ *   was page loads, locator fallbacks, screenshots or waits.
+ * - WHAT I DID: -Ddriver.metrics=true wraps every driver DriverFactory builds
+ *   in a WebDriverDecorator. Each command (findElement, click, executeScript,
+ *   get, getScreenshotAs, ...) is timed and attributed to the test and to the
+ *   outermost GenericActions / BasePage method on the stack. Each test gets its
+ *   breakdown attached to its Extent entry; at shutdown the log gets a top-N
+ *   table of the most expensive command + action pairs.
+ * - THE RESULT: "click() spent 9 s in findElement" instead of a guess. The
+ *   cost is two nanoTime calls, a short stack walk and a histogram record per
+ *   command - microseconds against commands that take milliseconds - so it
+ *   can stay on in CI.
+ */
+public final class CommandTimings {
+    private static final Logger logger = LogManager.getLogger(CommandTimings.class);
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("driver.metrics", "false"));
+    private static final long MAX_TRACKABLE_US = TimeUnit.MINUTES.toMicros(10);
+    private static final int STACK_DEPTH = 64;
+    private static final Set<String> ATTRIBUTED = Set.of(
+            "com.irfan.ecommerce.util.GenericActions", "com.irfan.ecommerce.ui.base.BasePage");
+    // Local calls that only hand out another decorated object
+    private static final Set<String> UNTIMED = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "getWrappedDriver", "getWrappedElement",
+            "getDevTools", "toString", "hashCode", "equals");
+    private static final String DIRECT = "(direct)";
+
+    private static final StackWalker walker = StackWalker.getInstance();
+    private static final Map<String, CommandStat> run = new ConcurrentHashMap<>();
+    private static final ThreadLocal<TestBreakdown> currentTest = new ThreadLocal<>();
+    private static final ThreadLocal<Deque<long[]>> started = ThreadLocal.withInitial(ArrayDeque::new);
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                List<String> lines = report(Integer.getInteger("driver.metrics.top", 15));
+                if (!lines.isEmpty()) {
+                    logger.info("📊 DRIVER_COMMANDS: Slowest command/action pairs by total time:");
+                    lines.forEach(line -> logger.info("   {}", line));
+                }
+            }));
+        }
+    }
+
+    private CommandTimings() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The driver itself when metrics are off, otherwise a timing decorator around it.
+     */
+    public static WebDriver instrument(WebDriver driver) {
+        return ENABLED ? decorate(driver) : driver;
+    }
+
+    /**
+     * A timing decorator around 'driver', whatever the switch says.
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        return new TimingDecorator().decorate(driver);
+    }
+
+    /**
+     * Starts a fresh per-test breakdown on this thread.
+     */
+    public static void beginTest(String testName) {
+        currentTest.set(new TestBreakdown(testName));
+    }
+
+    /**
+     * This thread's breakdown if it belongs to 'testName', else null (API
+     * tests on a pooled thread must not pick up the last UI test's numbers).
+     */
+    public static TestBreakdown breakdownFor(String testName) {
+        TestBreakdown breakdown = currentTest.get();
+        return breakdown != null && breakdown.testName.equals(testName) ? breakdown : null;
+    }
+
+    /**
+     * Records one command. Public so the framework suite can feed it without a browser.
+     */
+    public static void record(String command, String action, long nanos) {
+        run.computeIfAbsent(command + " | " + action, key -> new CommandStat(command, action)).add(nanos);
+        TestBreakdown breakdown = currentTest.get();
+        if (breakdown != null) {
+            breakdown.add(command, action, nanos);
+        }
+    }
+
+    /**
+     * Command + action pairs with the most total time, most first.
+     */
+    public static List<String> report(int top) {
+        List<String> lines = new ArrayList<>();
+        List<CommandStat> stats = run.values().stream()
+                .sorted(Comparator.comparingLong(CommandStat::totalNanos).reversed())
+                .limit(top)
+                .collect(Collectors.toList());
+        if (stats.isEmpty()) {
+            return lines;
+        }
+        lines.add(String.format("%-26s %-44s %7s %10s %8s %8s %8s", "COMMAND", "ACTION", "CALLS", "TOTAL ms",
+                "AVG ms", "P95 ms", "MAX ms"));
+        for (CommandStat stat : stats) {
+            Histogram histogram = stat.latency;
+            long calls = histogram.getTotalCount();
+            lines.add(String.format("%-26s %-44s %7d %10.0f %8.1f %8.1f %8.1f", stat.command, stat.action,
+                    calls, stat.totalNanos() / 1e6, stat.totalNanos() / 1e6 / Math.max(1, calls),
+                    histogram.getValueAtPercentile(95) / 1e3, histogram.getMaxValue() / 1e3));
+        }
+        return lines;
+    }
+
+    private static String commandOf(Object target, Method method) {
+        String prefix;
+        if (target instanceof WebDriver) {
+            return method.getName();
+        } else if (target instanceof WebElement) {
+            prefix = "element.";
+        } else if (target instanceof WebDriver.Navigation) {
+            prefix = "navigate.";
+        } else if (target instanceof WebDriver.TargetLocator) {
+            prefix = "switchTo.";
+        } else if (target instanceof Alert) {
+            prefix = "alert.";
+        } else {
+            prefix = "manage.";
+        }
+        return prefix + method.getName();
+    }
+
+    // Outermost GenericActions/BasePage frame: click() -> findElementSmartly() counts as click()
+    private static String actionOfCaller() {
+        return walker.walk(frames -> frames.limit(STACK_DEPTH)
+                .filter(frame -> ATTRIBUTED.contains(frame.getClassName()))
+                .reduce((inner, outer) -> outer)
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1)
+                        + "." + frame.getMethodName())
+                .orElse(DIRECT));
+    }
+
+    private static final class TimingDecorator extends WebDriverDecorator<WebDriver> {
+
+        @Override
+        public void beforeCall(Decorated<?> target, Method method, Object[] args) {
+            if (!UNTIMED.contains(method.getName())) {
+                started.get().push(new long[] {System.nanoTime()});
+            }
+        }
+
+        @Override
+        public void afterCall(Decorated<?> target, Method method, Object[] args, Object result) {
+            finish(target, method);
+        }
+
+        @Override
+        public Object onError(Decorated<?> target, Method method, Object[] args, InvocationTargetException e)
+                throws Throwable {
+            finish(target, method);
+            return super.onError(target, method, args, e);
+        }
+
+        private static void finish(Decorated<?> target, Method method) {
+            if (UNTIMED.contains(method.getName())) {
+                return;
+            }
+            long[] start = started.get().poll();
+            if (start != null) {
+                record(commandOf(target.getOriginal(), method), actionOfCaller(), System.nanoTime() - start[0]);
+            }
+        }
+    }
+
+    private static final class CommandStat {
+        private final String command;
+        private final String action;
+        private final Histogram latency = new ConcurrentHistogram(MAX_TRACKABLE_US, 2);
+        private final LongAdder totalNanos = new LongAdder();
+
+        private CommandStat(String command, String action) {
+            this.command = command;
+            this.action = action;
+        }
+
+        private void add(long nanos) {
+            totalNanos.add(nanos);
+            latency.recordValue(Math.min(MAX_TRACKABLE_US, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        }
+
+        private long totalNanos() {
+            return totalNanos.sum();
+        }
+    }
+
+    /**
+     * One test's commands, by command and by framework action. Only its own
+     * thread writes to it.
+     */
+    public static final class TestBreakdown {
+        private final String testName;
+        private final Map<String, long[]> byCommand = new HashMap<>();
+        private final Map<String, long[]> byAction = new HashMap<>();
+
+        private TestBreakdown(String testName) {
+            this.testName = testName;
+        }
+
+        private void add(String command, String action, long nanos) {
+            accumulate(byCommand, command, nanos);
+            accumulate(byAction, action, nanos);
+        }
+
+        // {calls, total nanos, max nanos}
+        private static void accumulate(Map<String, long[]> into, String key, long nanos) {
+            long[] stat = into.computeIfAbsent(key, k -> new long[3]);
+            stat[0]++;
+            stat[1] += nanos;
+            stat[2] = Math.max(stat[2], nanos);
+        }
+
+        public long commandCount() {
+            return byCommand.values().stream().mapToLong(stat -> stat[0]).sum();
+        }
+
+        public long totalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(byCommand.values().stream().mapToLong(stat -> stat[1]).sum());
+        }
+
+        /**
+         * Rows for a report table: header, then the 'top' most expensive
+         * commands, then the 'top' most expensive actions.
+         */
+        public String[][] toTable(int top) {
+            List<String[]> rows = new ArrayList<>();
+            rows.add(new String[] {"", "Calls", "Total ms", "Max ms"});
+            rows(rows, "cmd ", byCommand, top);
+            rows(rows, "via ", byAction, top);
+            return rows.toArray(new String[0][]);
+        }
+
+        private static void rows(List<String[]> out, String prefix, Map<String, long[]> stats, int top) {
+            stats.entrySet().stream()
+                    .sorted(Comparator.comparingLong((Map.Entry<String, long[]> entry) -> entry.getValue()[1]).reversed())
+                    .limit(top)
+                    .forEach(entry -> out.add(new String[] {prefix + entry.getKey(),
+                            String.valueOf(entry.getValue()[0]),
+                            String.valueOf(TimeUnit.NANOSECONDS.toMillis(entry.getValue()[1])),
+                            String.valueOf(TimeUnit.NANOSECONDS.toMillis(entry.getValue()[2]))}));
+        }
+    }
+}
@@ -4,10 +4,18 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.Proxy;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
 import io.github.bonigarcia.wdm.WebDriverManager;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,8 +24,29 @@ public class DriverFactory {
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
     private static final Set<WebDriver> allDrivers = Collections.synchronizedSet(new HashSet<>());
 
+    // ♻️ WARM SESSION POOL: -Dsession.pool.size=N turns it on (0 = legacy quit/relaunch per test)
+    private static final int POOL_SIZE = Integer.getInteger("session.pool.size", 0);
+    private static volatile SessionPool sessionPool;
+
+    // 🔌 DRIVER SERVICE MODE: 'per-session' (WebDriverManager + own chromedriver) or 'shared'
+    private static final String SERVICE_MODE = System.getProperty("driver.service.mode", "per-session");
+    private static final LongAdder startups = new LongAdder();
+    private static final LongAdder startupNanos = new LongAdder();
+
+    // 🌐 GRID: -Dexecution_env=remote routes sessions to the hub from docker-compose.yml
+    private static final String GRID_URL = System.getProperty("grid.url", "http://localhost:4444");
+    private static volatile GridSlotScheduler gridScheduler;
+
+    // 🚦 BROWSER PERMITS: caps real browsers when the test executor runs far more threads than that
+    private static final int MAX_BROWSER_SESSIONS = Integer.getInteger("browser.max.sessions", 0);
+    private static final Semaphore browserPermits = new Semaphore(Math.max(1, MAX_BROWSER_SESSIONS), true);
+    private static final ThreadLocal<Boolean> tlHoldsPermit = new ThreadLocal<>();
+
     static {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (sessionPool != null) {
+                logger.info("📊 SESSION_POOL: {}", sessionPool.metricsSummary());
+            }
             logger.warn("🚨 JVM Shutdown: Commencing 100% Resource Cleanup for {} active drivers...", allDrivers.size());
             synchronized (allDrivers) {
                 for (WebDriver driver : allDrivers) {
@@ -31,6 +60,14 @@ public class DriverFactory {
                 }
                 allDrivers.clear();
             }
+            if (gridScheduler != null) {
+                logger.info("📊 GRID_SCHEDULER: {}", gridScheduler.metricsSummary());
+            }
+            if (startups.sum() > 0) {
+                logger.info("📊 DRIVER_STARTUP [{}]: {} sessions, avg {} ms", SERVICE_MODE, startups.sum(),
+                        TimeUnit.NANOSECONDS.toMillis(startupNanos.sum() / startups.sum()));
+            }
+            ChromeServicePool.shutdownAll();
         }));
     }
 
@@ -39,7 +76,54 @@ public class DriverFactory {
         logger.info("🔧 Thread [{}] Environment: {} | Browser: {}", Thread.currentThread().getId(), env, browserName);
 
         quitDriver();
-        
+
+        acquireBrowserPermit();
+        try {
+            WebDriver driver = isPoolEnabled() ? getSessionPool().lease() : createDriver(browserName);
+            tlDriver.set(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            releaseBrowserPermit();
+            throw e;
+        }
+    }
+
+    /**
+     * Blocks until a browser slot is free when -Dbrowser.max.sessions is set.
+     * API tests never get here, so they can run hundreds wide while browsers
+     * stay at the limit.
+     */
+    private static void acquireBrowserPermit() {
+        if (MAX_BROWSER_SESSIONS <= 0 || Boolean.TRUE.equals(tlHoldsPermit.get())) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            browserPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session permit", e);
+        }
+        tlHoldsPermit.set(Boolean.TRUE);
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (waitedMs > 100) {
+            logger.info("🚦 Thread [{}] waited {} ms for one of {} browser permits", Thread.currentThread().getId(),
+                    waitedMs, MAX_BROWSER_SESSIONS);
+        }
+    }
+
+    private static void releaseBrowserPermit() {
+        if (Boolean.TRUE.equals(tlHoldsPermit.get())) {
+            tlHoldsPermit.remove();
+            browserPermits.release();
+        }
+    }
+
+    /**
+     * Builds a brand-new browser session. Used directly in legacy mode and as
+     * the launcher behind the SessionPool.
+     */
+    static WebDriver createDriver(String browserName) {
         ChromeOptions options = new ChromeOptions();
         options.addArguments("--remote-allow-origins=*");
 
@@ -70,10 +154,33 @@ public class DriverFactory {
             options.addArguments("--disable-dev-shm-usage");
         }
 
+        // --- 🪶 LEAN PROFILE: minimal-startup flags on top of the options above ---
+        if (LeanProfile.isEnabled()) {
+            LeanProfile.applyStartupFlags(options);
+        }
+
         try {
-            WebDriverManager.chromedriver().setup();
-            WebDriver driver = new ChromeDriver(options);
-            tlDriver.set(driver);
+            long start = System.nanoTime();
+            WebDriver driver;
+            if (isRemote()) {
+                driver = createRemoteDriver(browserName, options);
+            } else if (isSharedServiceMode()) {
+                // ⚡ Multiplexed onto a long-lived chromedriver, binary resolved once per JVM
+                driver = new ChromeDriver(ChromeServicePool.next(), options);
+            } else {
+                WebDriverManager.chromedriver().setup();
+                driver = new ChromeDriver(options);
+            }
+            long tookNanos = System.nanoTime() - start;
+            startups.increment();
+            startupNanos.add(tookNanos);
+            logger.info("⏱️ DRIVER_STARTUP [{}]: {} ms", isRemote() ? "remote" : SERVICE_MODE,
+                    TimeUnit.NANOSECONDS.toMillis(tookNanos));
+            if (LeanProfile.isEnabled()) {
+                LeanProfile.applyBlocking(driver);
+            }
+            // ⏱️ Wrapped after setup, so only the test's own commands are timed
+            driver = CommandTimings.instrument(driver);
             allDrivers.add(driver);
             return driver;
         } catch (Exception e) {
@@ -82,6 +189,64 @@ public class DriverFactory {
         }
     }
 
+    /**
+     * 🌐 REMOTE MODE: Queues for a free Grid slot, then opens the session on the hub.
+     * The Augmenter restores CDP access (HasDevTools) through the Grid's se:cdp endpoint.
+     */
+    private static WebDriver createRemoteDriver(String browserName, ChromeOptions options) throws MalformedURLException {
+        try (GridSlotScheduler.SlotReservation ignored = getGridScheduler().acquire(browserName)) {
+            RemoteWebDriver remote = new RemoteWebDriver(new URL(GRID_URL), options);
+            return new Augmenter().augment(remote);
+        }
+    }
+
+    public static GridSlotScheduler getGridScheduler() {
+        if (gridScheduler == null) {
+            synchronized (DriverFactory.class) {
+                if (gridScheduler == null) {
+                    gridScheduler = new GridSlotScheduler(GRID_URL,
+                            Duration.ofMillis(Long.getLong("grid.poll.ms", 1000L)),
+                            Duration.ofSeconds(Long.getLong("grid.queue.timeout.sec", 600L)));
+                }
+            }
+        }
+        return gridScheduler;
+    }
+
+    private static boolean isRemote() {
+        return "remote".equalsIgnoreCase(System.getProperty("execution_env", "local"));
+    }
+
+    private static boolean isSharedServiceMode() {
+        return "shared".equalsIgnoreCase(SERVICE_MODE);
+    }
+
+    public static boolean isPoolEnabled() {
+        return POOL_SIZE > 0;
+    }
+
+    private static SessionPool getSessionPool() {
+        if (sessionPool == null) {
+            synchronized (DriverFactory.class) {
+                if (sessionPool == null) {
+                    int maxUses = Integer.getInteger("session.pool.maxUses", 20);
+                    long leaseTimeoutMs = Long.getLong("session.pool.leaseTimeoutMs", 120_000L);
+                    SessionPool pool = new SessionPool(POOL_SIZE, maxUses, leaseTimeoutMs,
+                            () -> createDriver(System.getProperty("browser", "chrome")),
+                            DriverFactory::disposeDriver);
+                    pool.prewarm(Integer.getInteger("session.pool.prewarm", POOL_SIZE));
+                    sessionPool = pool;
+                }
+            }
+        }
+        return sessionPool;
+    }
+
+    private static void disposeDriver(WebDriver driver) {
+        allDrivers.remove(driver);
+        driver.quit();
+    }
+
     public static WebDriver getDriver() {
         WebDriver driver = tlDriver.get();
         if (driver == null) {
@@ -92,11 +257,20 @@ public class DriverFactory {
 
     public static void quitDriver() {
         WebDriver driver = tlDriver.get();
-        if (driver != null) {
-            allDrivers.remove(driver);
-            driver.quit();
-            tlDriver.remove();
-            logger.info("🧹 Thread [{}] driver quit + ThreadLocal cleared", Thread.currentThread().getId());
+        try {
+            if (driver != null) {
+                tlDriver.remove();
+                if (isPoolEnabled()) {
+                    getSessionPool().release(driver);
+                    logger.info("♻️ Thread [{}] driver returned to pool + ThreadLocal cleared", Thread.currentThread().getId());
+                } else {
+                    disposeDriver(driver);
+                    logger.info("🧹 Thread [{}] driver quit + ThreadLocal cleared", Thread.currentThread().getId());
+                }
+            }
+        } finally {
+            // Even a crashed quit must hand the permit back, or the run slowly loses browser slots
+            releaseBrowserPermit();
         }
     }
-}
\ No newline at end of file
+}
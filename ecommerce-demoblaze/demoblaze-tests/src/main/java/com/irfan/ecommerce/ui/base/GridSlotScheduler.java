@@ -0,0 +1,309 @@
+package com.irfan.ecommerce.ui.base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * GridSlotScheduler: Queue for a Grid slot instead of timing out on one.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Throw 20 threads at a 4-slot Grid and 16 of them sit in the
+ *   hub's new-session queue until they die with SessionNotCreatedException.
+ *   The failures look like test bugs, and retries make the pile-up worse.
+ * - WHAT I DID: Before asking for a session, a test takes a ticket here. The
+ *   scheduler reads the Grid's /status endpoint (one shared poll, not one per
+ *   thread), counts free slots for the browser, subtracts sessions that are
+ *   already being created, and lets waiters through in FIFO order.
+ * - THE RESULT: Tests wait politely for capacity. Queue depth and slot
+ *   utilisation are tracked so we know when the Grid needs more nodes.
+ */
+public class GridSlotScheduler {
+    private static final Logger logger = LogManager.getLogger(GridSlotScheduler.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final URI statusUri;
+    private final Duration pollInterval;
+    private final Duration acquireTimeout;
+    private final HttpClient http;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition slotMayBeFree = lock.newCondition();
+    private long nextTicket;
+    private long nowServing;
+    private int reserved;
+    private final Set<Long> abandoned = new HashSet<>();
+    // Guarded by 'lock'; the /status call itself runs without it
+    private boolean polling;
+    private long statusGeneration;
+
+    private volatile GridSnapshot lastSnapshot = GridSnapshot.EMPTY;
+    private volatile long lastPollNanos;
+
+    // 📊 Capacity metrics
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+
+    public GridSlotScheduler(String gridUrl, Duration pollInterval, Duration acquireTimeout) {
+        String base = gridUrl.endsWith("/") ? gridUrl.substring(0, gridUrl.length() - 1) : gridUrl;
+        this.statusUri = URI.create(base + "/status");
+        this.pollInterval = pollInterval;
+        this.acquireTimeout = acquireTimeout;
+        this.http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    }
+
+    /**
+     * Blocks until the Grid reports a free slot for this browser and it's this
+     * caller's turn. Close the returned reservation once the session exists (or
+     * creation failed) so the slot accounting goes back to the Grid's own view.
+     */
+    public SlotReservation acquire(String browserName) {
+        long start = System.nanoTime();
+        long deadline = start + acquireTimeout.toNanos();
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+
+        lock.lock();
+        long ticket = nextTicket++;
+        try {
+            while (true) {
+                if (ticket == nowServing) {
+                    // Null: a release landed while /status was in flight, so re-read before granting
+                    GridSnapshot snapshot = snapshot();
+                    if (snapshot != null && snapshot.freeSlots(browserName) - reserved > 0) {
+                        reserved++;
+                        nowServing++;
+                        slotMayBeFree.signalAll();
+                        long waited = System.nanoTime() - start;
+                        acquisitions.increment();
+                        waitNanos.add(waited);
+                        maxWaitNanos.accumulateAndGet(waited, Math::max);
+                        if (waited > pollInterval.toNanos()) {
+                            logger.info("🎟️ GRID_SLOT: Acquired {} slot after {} ms in queue", browserName,
+                                    TimeUnit.NANOSECONDS.toMillis(waited));
+                        }
+                        return new SlotReservation(this);
+                    }
+                }
+
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeouts.increment();
+                    // Give up our place so the queue behind us keeps moving
+                    abandoned.add(ticket);
+                    skipAbandonedTickets();
+                    slotMayBeFree.signalAll();
+                    throw new TimeoutException("🛑 GRID_QUEUE_TIMEOUT: No free " + browserName + " slot on "
+                            + statusUri + " within " + acquireTimeout.toSeconds() + "s ("
+                            + lastSnapshot.busySlots() + "/" + lastSnapshot.totalSlots() + " slots busy)");
+                }
+                slotMayBeFree.awaitNanos(Math.min(remaining, pollInterval.toNanos()));
+                skipAbandonedTickets();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandoned.add(ticket);
+            skipAbandonedTickets();
+            throw new IllegalStateException("Interrupted while queued for a Grid slot", e);
+        } finally {
+            queueDepth.decrementAndGet();
+            lock.unlock();
+        }
+    }
+
+    private void skipAbandonedTickets() {
+        while (abandoned.remove(nowServing)) {
+            nowServing++;
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            reserved = Math.max(0, reserved - 1);
+            // The new session (if any) now shows up as busy in /status, so force a fresh read
+            lastPollNanos = 0;
+            statusGeneration++;
+            slotMayBeFree.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached /status view, refreshing it at most once per poll interval.
+     * Called with the lock held; the lock is dropped for the HTTP call so release()
+     * and the queue behind us never wait on the hub. Null means a release() came in
+     * during the call and the answer should not be trusted.
+     */
+    private GridSnapshot snapshot() {
+        long now = System.nanoTime();
+        if (polling || (lastPollNanos != 0 && now - lastPollNanos < pollInterval.toNanos())) {
+            return lastSnapshot;
+        }
+        polling = true;
+        long generation = statusGeneration;
+        GridSnapshot fetched;
+        lock.unlock();
+        try {
+            fetched = fetchStatus();
+        } finally {
+            lock.lock();
+            polling = false;
+        }
+        if (generation != statusGeneration) {
+            return null;
+        }
+        lastSnapshot = fetched;
+        lastPollNanos = now;
+        return fetched;
+    }
+
+    private GridSnapshot fetchStatus() {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(statusUri)
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                logger.warn("⚠️ GRID_STATUS: {} returned HTTP {}", statusUri, response.statusCode());
+                return GridSnapshot.EMPTY;
+            }
+            return GridSnapshot.parse(mapper.readTree(response.body()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return GridSnapshot.EMPTY;
+        } catch (Exception e) {
+            logger.warn("⚠️ GRID_STATUS: Could not read {}: {}", statusUri, e.getMessage());
+            return GridSnapshot.EMPTY;
+        }
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Busy slots / total slots from the most recent /status poll (0.0 - 1.0).
+     */
+    public double getSlotUtilization() {
+        GridSnapshot snapshot = lastSnapshot;
+        return snapshot.totalSlots() == 0 ? 0.0 : (double) snapshot.busySlots() / snapshot.totalSlots();
+    }
+
+    public String metricsSummary() {
+        long count = Math.max(1, acquisitions.sum());
+        return String.format(
+                "acquired=%d timeouts=%d avgQueueWait=%.1fms maxQueueWait=%.1fms | queueDepth=%d maxQueueDepth=%d"
+                        + " | slotUtilization=%.0f%% (%d/%d busy)",
+                acquisitions.sum(), timeouts.sum(), waitNanos.sum() / 1e6 / count, maxWaitNanos.get() / 1e6,
+                queueDepth.get(), maxQueueDepth.get(), getSlotUtilization() * 100,
+                lastSnapshot.busySlots(), lastSnapshot.totalSlots());
+    }
+
+    /**
+     * Held by a thread between "slot granted" and "session created".
+     */
+    public static final class SlotReservation implements AutoCloseable {
+        private final GridSlotScheduler owner;
+        private boolean released;
+
+        private SlotReservation(GridSlotScheduler owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                owner.release();
+            }
+        }
+    }
+
+    /**
+     * Immutable digest of one Grid /status response.
+     */
+    static final class GridSnapshot {
+        static final GridSnapshot EMPTY = new GridSnapshot(false, null);
+
+        private final boolean ready;
+        private final JsonNode nodes;
+
+        private GridSnapshot(boolean ready, JsonNode nodes) {
+            this.ready = ready;
+            this.nodes = nodes;
+        }
+
+        static GridSnapshot parse(JsonNode root) {
+            JsonNode value = root.path("value");
+            return new GridSnapshot(value.path("ready").asBoolean(false), value.path("nodes"));
+        }
+
+        int freeSlots(String browserName) {
+            if (!ready || nodes == null) {
+                return 0;
+            }
+            int free = 0;
+            for (JsonNode node : nodes) {
+                // A node that doesn't report availability counts as UP
+                JsonNode availability = node.path("availability");
+                if (availability.isTextual() && !"UP".equalsIgnoreCase(availability.asText())) {
+                    continue;
+                }
+                for (JsonNode slot : node.path("slots")) {
+                    boolean idle = slot.path("session").isMissingNode() || slot.path("session").isNull();
+                    String stereotype = slot.path("stereotype").path("browserName").textValue();
+                    if (idle && stereotype != null && stereotype.equalsIgnoreCase(browserName)) {
+                        free++;
+                    }
+                }
+            }
+            return free;
+        }
+
+        int totalSlots() {
+            int total = 0;
+            if (nodes != null) {
+                for (JsonNode node : nodes) {
+                    total += node.path("slots").size();
+                }
+            }
+            return total;
+        }
+
+        int busySlots() {
+            int busy = 0;
+            if (nodes != null) {
+                for (JsonNode node : nodes) {
+                    for (JsonNode slot : node.path("slots")) {
+                        if (!slot.path("session").isMissingNode() && !slot.path("session").isNull()) {
+                            busy++;
+                        }
+                    }
+                }
+            }
+            return busy;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.irfan.ecommerce.ui.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v129.network.Network;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * LeanProfile: Only download what the functional checks actually look at.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every HomePage.open() pulled product images, web fonts and
+ *   third-party analytics, none of which our assertions ever touch.
+ * - WHAT I DID: -Dbrowser.profile=lean blocks configurable URL patterns and
+ *   resource types through CDP Network.setBlockedURLs, and layers a curated
+ *   set of "quiet startup" Chrome flags on top of the normal/headless options.
+ * - THE RESULT: Smaller, faster page loads. PageLoadStats reports the
+ *   per-page difference against the last standard-profile run.
+ */
+public final class LeanProfile {
+    private static final Logger logger = LogManager.getLogger(LeanProfile.class);
+
+    private static final List<String> DEFAULT_BLOCKED_URLS = List.of(
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*",
+            "*facebook.net*", "*hotjar.com*", "*fonts.googleapis.com*", "*fonts.gstatic.com*");
+
+    // File extensions per resource type; each becomes "*.ext" and "*.ext?*" (cache-busted assets like foo.png?v=3)
+    private static final Map<String, List<String>> RESOURCE_TYPE_EXTENSIONS = Map.of(
+            "image", List.of("png", "jpg", "jpeg", "gif", "webp", "svg", "ico"),
+            "font", List.of("woff", "woff2", "ttf", "otf", "eot"),
+            "media", List.of("mp4", "webm", "mp3", "ogg"));
+
+    // Background services Chrome starts that no test depends on
+    private static final List<String> MINIMAL_STARTUP_FLAGS = List.of(
+            "--no-first-run",
+            "--no-default-browser-check",
+            "--disable-extensions",
+            "--disable-default-apps",
+            "--disable-sync",
+            "--disable-background-networking",
+            "--disable-component-update",
+            "--disable-client-side-phishing-detection",
+            "--disable-domain-reliability",
+            "--metrics-recording-only",
+            "--mute-audio",
+            "--disable-features=Translate,MediaRouter,OptimizationHints,AutofillServerCommunication");
+
+    private LeanProfile() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static String activeProfile() {
+        return System.getProperty("browser.profile", "standard").toLowerCase();
+    }
+
+    public static boolean isEnabled() {
+        return "lean".equals(activeProfile());
+    }
+
+    /**
+     * Adds the minimal-startup flags. Applied after the headless/proxy options
+     * so it only ever adds to them.
+     */
+    public static void applyStartupFlags(ChromeOptions options) {
+        options.addArguments(MINIMAL_STARTUP_FLAGS);
+        if (blockedResourceTypes().contains("image")) {
+            // Belt and braces: images that slip past the URL patterns are never decoded either
+            options.addArguments("--blink-settings=imagesEnabled=false");
+        }
+        logger.info("🪶 LEAN_PROFILE: {} startup flags applied", MINIMAL_STARTUP_FLAGS.size());
+    }
+
+    /**
+     * Installs the URL block list on the session's CDP connection. Pooled
+     * sessions keep it across leases, so this runs once per browser.
+     */
+    public static void applyBlocking(WebDriver driver) {
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("⚠️ LEAN_PROFILE: Driver has no CDP access, URL blocking skipped.");
+            return;
+        }
+        List<String> patterns = blockedUrlPatterns();
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            devTools.send(Network.setBlockedURLs(patterns));
+            logger.info("🚫 LEAN_PROFILE: Blocking {} URL patterns (types: {})", patterns.size(), blockedResourceTypes());
+        } catch (Throwable t) {
+            // Same policy as the network sniffer: a CDP mismatch must never stop the UI run
+            logger.warn("⚠️ LEAN_PROFILE: CDP blocking unavailable ({}). Continuing unblocked.", t.getMessage());
+        }
+    }
+
+    /**
+     * The CDP block list for the current -Dlean.block.urls / -Dlean.block.types.
+     */
+    public static List<String> blockedUrlPatterns() {
+        Set<String> patterns = new LinkedHashSet<>(splitProperty("lean.block.urls", DEFAULT_BLOCKED_URLS, false));
+        for (String type : blockedResourceTypes()) {
+            List<String> extensions = RESOURCE_TYPE_EXTENSIONS.get(type);
+            if (extensions == null) {
+                logger.warn("⚠️ LEAN_PROFILE: Unknown resource type '{}' (known: {})", type,
+                        RESOURCE_TYPE_EXTENSIONS.keySet());
+                continue;
+            }
+            for (String extension : extensions) {
+                patterns.add("*." + extension);
+                patterns.add("*." + extension + "?*");
+            }
+        }
+        return new ArrayList<>(patterns);
+    }
+
+    public static List<String> blockedResourceTypes() {
+        return splitProperty("lean.block.types", List.of("image", "font", "media"), true);
+    }
+
+    private static List<String> splitProperty(String key, List<String> defaults, boolean lowerCase) {
+        String raw = System.getProperty(key);
+        if (raw == null) {
+            return defaults;
+        }
+        List<String> values = new ArrayList<>();
+        for (String value : Arrays.asList(raw.split(","))) {
+            if (!value.isBlank()) {
+                values.add(lowerCase ? value.trim().toLowerCase() : value.trim());
+            }
+        }
+        return values;
+    }
+}
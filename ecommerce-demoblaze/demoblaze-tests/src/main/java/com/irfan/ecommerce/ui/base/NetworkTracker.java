@@ -0,0 +1,222 @@
+package com.irfan.ecommerce.ui.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v129.network.Network;
+import org.openqa.selenium.devtools.v129.network.model.ResourceType;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * NetworkTracker: One browser session's in-flight XHR/fetch requests.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: The network sniffer was one static NetworkInterceptor for the
+ *   whole JVM, so parallel tests replaced each other's hook, and it could only
+ *   log failures. Pages that fill themselves in over XHR (product grid, cart
+ *   table) were "ready" on document.readyState long before their data was.
+ * - WHAT I DID: A tracker per driver, fed by CDP Network events. It counts
+ *   XHR/fetch requests in flight, logs 4xx/5xx responses, and reports 401s to
+ *   the SessionStateCache like the sniffer did. waitForIdle(quiet, timeout)
+ *   blocks until nothing has been in flight for the quiet period, counted
+ *   from no earlier than the call itself, so a wait issued right after a
+ *   click still catches the XHR that click is about to send. Finishing
+ *   requests wake it up, and it sends no WebDriver commands at all.
+ * - THE RESULT: Page objects wait exactly as long as the page is still
+ *   talking to the backend, instead of for a fixed sleep or a DOM poll.
+ */
+public class NetworkTracker {
+    private static final Logger logger = LogManager.getLogger(NetworkTracker.class);
+
+    private static final Map<WebDriver, NetworkTracker> trackers = new ConcurrentHashMap<>();
+    // Browsers whose CDP session already carries our listeners (there is no per-listener removal); weak so quit ones drop out
+    private static final Set<WebDriver> listening = Collections.synchronizedSet(
+            Collections.newSetFromMap(new WeakHashMap<>()));
+    // Long-polls and requests whose end event got lost must not block every wait forever
+    private static final Duration IGNORE_AFTER = Duration.ofMillis(Long.getLong("network.idle.ignore.after.ms", 10_000));
+
+    private static final LongAdder idleWaits = new LongAdder();
+    private static final LongAdder idleTimeouts = new LongAdder();
+    private static final LongAdder idleWaitNanos = new LongAdder();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (idleWaits.sum() > 0) {
+                logger.info("📊 NETWORK_IDLE: {}", metricsSummary());
+            }
+        }));
+    }
+
+    private final WebDriver driver;
+    private final Duration ignoreAfter;
+    private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+    private final Object monitor = new Object();
+    private volatile long lastActivityNanos = System.nanoTime();
+
+    public NetworkTracker(WebDriver driver, Duration ignoreAfter) {
+        this.driver = driver;
+        this.ignoreAfter = ignoreAfter;
+    }
+
+    /**
+     * Starts tracking this browser. Returns null (and the run carries on
+     * without network waits) when the driver has no usable CDP connection.
+     */
+    public static NetworkTracker attach(WebDriver driver) {
+        detach(driver);
+        if (!(driver instanceof HasDevTools)) {
+            logger.warn("⚠️ NETWORK_TRACKER_OFF: {} has no DevTools. Network idle waits fall back to readyState.",
+                    driver.getClass().getSimpleName());
+            return null;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            NetworkTracker tracker = new NetworkTracker(driver, IGNORE_AFTER);
+            devTools.send(Network.enable(Optional.empty(), Optional.empty(), Optional.empty()));
+            // Registered once per browser and routed to whichever tracker is attached, so a pooled
+            // session never piles up listeners and detach() never has to clear anyone else's
+            if (!listening.contains(driver)) {
+                devTools.addListener(Network.requestWillBeSent(), event -> {
+                    if (isApiCall(event.getType().orElse(null))) {
+                        route(driver, current -> current.onRequestStarted(event.getRequestId().toString()));
+                    }
+                });
+                devTools.addListener(Network.responseReceived(), event -> route(driver, current ->
+                        current.onResponse(event.getResponse().getStatus(), event.getResponse().getUrl())));
+                devTools.addListener(Network.loadingFinished(), event ->
+                        route(driver, current -> current.onRequestFinished(event.getRequestId().toString())));
+                devTools.addListener(Network.loadingFailed(), event ->
+                        route(driver, current -> current.onRequestFinished(event.getRequestId().toString())));
+                listening.add(driver);
+            }
+            trackers.put(driver, tracker);
+            logger.info("✅ NETWORK: Tracker active for this session.");
+            return tracker;
+        } catch (Throwable t) {
+            // We catch THROWABLE so a CDP version mismatch never reaches TestNG
+            logger.warn("⚠️ NETWORK_TRACKER_OFF: DevTools unavailable ({}). Proceeding to UI tests only.",
+                    t.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The tracker attached to this browser, or null.
+     */
+    public static NetworkTracker of(WebDriver driver) {
+        return driver == null ? null : trackers.get(driver);
+    }
+
+    private static void route(WebDriver driver, Consumer<NetworkTracker> action) {
+        NetworkTracker current = trackers.get(driver);
+        if (current != null) {
+            action.accept(current);
+        }
+    }
+
+    /**
+     * Stops tracking. Safe to call for a browser that was never attached; a
+     * pooled session goes back clean for the next test. Our CDP listeners go
+     * quiet rather than away, and the Network domain stays enabled: other CDP
+     * users of the session (LeanProfile's URL blocking, SessionStateCache's
+     * cookies) rely on both.
+     */
+    public static void detach(WebDriver driver) {
+        if (driver != null && trackers.remove(driver) != null) {
+            logger.info("🛑 NETWORK: Tracker detached.");
+        }
+    }
+
+    private static boolean isApiCall(ResourceType type) {
+        return type == ResourceType.XHR || type == ResourceType.FETCH;
+    }
+
+    public void onRequestStarted(String requestId) {
+        inFlight.put(requestId, System.nanoTime());
+        lastActivityNanos = System.nanoTime();
+    }
+
+    public void onRequestFinished(String requestId) {
+        if (inFlight.remove(requestId) != null) {
+            lastActivityNanos = System.nanoTime();
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    public void onResponse(int status, String url) {
+        if (status >= 400) {
+            logger.error("🚨 API_FAILURE: {} | Status: {}", url, status);
+        }
+        if (status == 401) {
+            SessionStateCache.getInstance().onUnauthorized(driver);
+        }
+    }
+
+    /**
+     * Requests currently in flight, not counting the ones past the ignore limit.
+     */
+    public int inFlight() {
+        long now = System.nanoTime();
+        return (int) inFlight.values().stream().filter(started -> now - started < ignoreAfter.toNanos()).count();
+    }
+
+    /**
+     * Blocks until no XHR/fetch has been in flight for 'quietPeriod'. Returns
+     * false if the page was still busy when 'timeout' ran out. The quiet period
+     * starts no earlier than this call: right after a click or get() the first
+     * request may not have been sent yet, and an old quiet spell must not count.
+     */
+    public boolean waitForIdle(Duration quietPeriod, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        idleWaits.increment();
+        try {
+            synchronized (monitor) {
+                while (true) {
+                    long now = System.nanoTime();
+                    long quietFor = now - Math.max(lastActivityNanos, start);
+                    if (inFlight() == 0 && quietFor >= quietPeriod.toNanos()) {
+                        return true;
+                    }
+                    if (now >= deadline) {
+                        idleTimeouts.increment();
+                        logger.warn("⏳ NETWORK_IDLE: Still {} requests in flight after {} ms.", inFlight(),
+                                timeout.toMillis());
+                        return false;
+                    }
+                    // Sleep until the quiet period would end, or a request finishing wakes us up
+                    // (re-checked every 100 ms while busy, so requests aging past the ignore limit count)
+                    long waitNanos = inFlight() == 0
+                            ? quietPeriod.toNanos() - quietFor : TimeUnit.MILLISECONDS.toNanos(100);
+                    TimeUnit.NANOSECONDS.timedWait(monitor, Math.max(1, Math.min(waitNanos, deadline - now)));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            idleWaitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public static String metricsSummary() {
+        long waits = idleWaits.sum();
+        return String.format("%d waits, %d timeouts, avg %d ms", waits, idleTimeouts.sum(),
+                waits == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(idleWaitNanos.sum() / waits));
+    }
+}
@@ -0,0 +1,311 @@
+package com.irfan.ecommerce.ui.base;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * SessionPool: Warm browsers instead of cold starts.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every @BeforeMethod killed Chrome and launched a fresh one.
+ *   Around 40% of UI suite wall-clock was spent starting and stopping browsers.
+ * - WHAT I DID: A bounded pool of pre-warmed sessions. A test leases one, and on
+ *   release the session is wiped (cookies, storage, extra windows, alerts) in a
+ *   few milliseconds and handed to the next test. Sessions are recycled after
+ *   'maxUses' leases, or immediately if the reset shows the browser has crashed.
+ *   One permit per slot gates the leases, so a waiter wakes up as soon as a
+ *   slot frees, whether its session came back to 'idle' or was retired.
+ * - THE RESULT: Browser launch cost is paid once per slot, not once per test.
+ *   Lease-wait and reset-time metrics tell us if the pool is sized right.
+ */
+public class SessionPool {
+    private static final Logger logger = LogManager.getLogger(SessionPool.class);
+
+    private final int maxSize;
+    private final int maxUses;
+    private final long leaseTimeoutMs;
+    private final Supplier<WebDriver> factory;
+    private final Consumer<WebDriver> disposer;
+
+    private final BlockingQueue<WebDriver> idle = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Integer> useCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private final Semaphore slots;
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+
+    // 📊 Sizing metrics
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder resetNanos = new LongAdder();
+    private final AtomicLong maxResetNanos = new AtomicLong();
+    private final LongAdder recycled = new LongAdder();
+    private final LongAdder crashed = new LongAdder();
+
+    public SessionPool(int maxSize, int maxUses, long leaseTimeoutMs,
+                       Supplier<WebDriver> factory, Consumer<WebDriver> disposer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Session pool size must be at least 1, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.maxUses = Math.max(1, maxUses);
+        this.leaseTimeoutMs = leaseTimeoutMs;
+        this.factory = factory;
+        this.disposer = disposer;
+        this.slots = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Launches up to 'count' browsers in parallel so the first tests don't pay
+     * the cold-start cost serially.
+     */
+    public void prewarm(int count) {
+        int target = Math.min(count, maxSize);
+        if (target <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        ExecutorService launcher = Executors.newFixedThreadPool(target);
+        try {
+            List<Future<?>> launches = new ArrayList<>();
+            for (int i = 0; i < target; i++) {
+                launches.add(launcher.submit(() -> {
+                    WebDriver driver = tryCreate();
+                    if (driver != null) {
+                        idle.offer(driver);
+                    }
+                }));
+            }
+            for (Future<?> launch : launches) {
+                try {
+                    launch.get();
+                } catch (Exception e) {
+                    logger.warn("⚠️ POOL: Pre-warm launch failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            launcher.shutdown();
+        }
+        logger.info("🔥 POOL: Pre-warmed {} session(s) in {} ms", idle.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Waits for a free slot, then hands out an idle session or launches a new
+     * one into the slot.
+     */
+    public WebDriver lease() {
+        long start = System.nanoTime();
+        try {
+            if (!slots.tryAcquire(leaseTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("🛑 POOL_EXHAUSTED: No browser session free after "
+                        + leaseTimeoutMs + " ms (pool size " + maxSize + ")");
+            }
+            WebDriver driver;
+            try {
+                driver = takeOrCreate(start);
+            } catch (RuntimeException | InterruptedException e) {
+                slots.release();
+                throw e;
+            }
+            useCounts.merge(driver, 1, Integer::sum);
+            leased.add(driver);
+            return driver;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        } finally {
+            long waited = System.nanoTime() - start;
+            leases.increment();
+            leaseWaitNanos.add(waited);
+            maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+        }
+    }
+
+    /**
+     * Returns a session to the pool. Worn-out or crashed sessions are quit and
+     * their slot is freed for a fresh launch.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (!leased.remove(driver)) {
+            logger.warn("⚠️ POOL: Ignoring release of a session this pool did not lease.");
+            return;
+        }
+        try {
+            retireOrReset(driver);
+        } finally {
+            slots.release();
+        }
+    }
+
+    private void retireOrReset(WebDriver driver) {
+        int uses = useCounts.getOrDefault(driver, 0);
+        if (uses >= maxUses) {
+            recycled.increment();
+            logger.info("♻️ POOL: Session reached {} uses, recycling.", uses);
+            discard(driver);
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean healthy = reset(driver);
+        long took = System.nanoTime() - start;
+        resets.increment();
+        resetNanos.add(took);
+        maxResetNanos.accumulateAndGet(took, Math::max);
+
+        if (healthy) {
+            idle.offer(driver);
+        } else {
+            crashed.increment();
+            logger.warn("💥 POOL: Session failed reset (crashed or hung), replacing it.");
+            discard(driver);
+        }
+    }
+
+    /**
+     * Quits every idle session. Leased sessions are left to the DriverFactory
+     * shutdown hook.
+     */
+    public void shutdown() {
+        WebDriver driver;
+        while ((driver = idle.poll()) != null) {
+            discard(driver);
+        }
+    }
+
+    // Holding a slot means at most maxSize - 1 other sessions are out, so a session is idle or the
+    // launch cap has room; a pre-warm launch still in flight is the only reason to wait for 'idle'
+    private WebDriver takeOrCreate(long start) throws InterruptedException {
+        WebDriver driver = idle.poll();
+        if (driver == null) {
+            driver = tryCreate();
+        }
+        if (driver == null) {
+            long left = leaseTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            driver = idle.poll(Math.max(0, left), TimeUnit.MILLISECONDS);
+        }
+        if (driver == null) {
+            throw new IllegalStateException("🛑 POOL_EXHAUSTED: No browser session free after "
+                    + leaseTimeoutMs + " ms (pool size " + maxSize + ")");
+        }
+        return driver;
+    }
+
+    private WebDriver tryCreate() {
+        int current;
+        do {
+            current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+        } while (!created.compareAndSet(current, current + 1));
+
+        try {
+            WebDriver driver = factory.get();
+            useCounts.put(driver, 0);
+            return driver;
+        } catch (RuntimeException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        useCounts.remove(driver);
+        created.decrementAndGet();
+        try {
+            disposer.accept(driver);
+        } catch (Exception e) {
+            logger.error("❌ POOL: Failed to quit a retired session: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wipes everything a test can leave behind. Any WebDriver error here means
+     * the browser is not safe to reuse.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            dismissAlerts(driver);
+
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String keep = handles.get(0);
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                driver.close();
+            }
+            driver.switchTo().window(keep);
+
+            // Storage is origin-scoped, so clear it before leaving the page under test
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); } catch (e) {}"
+                            + "try { window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            logger.debug("POOL: Reset failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void dismissAlerts(WebDriver driver) {
+        // A test can leave a chain of alerts behind; cap it so a bad page can't loop us
+        for (int i = 0; i < 5; i++) {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return created.get();
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    public int leasedCount() {
+        return leased.size();
+    }
+
+    public String metricsSummary() {
+        long leaseCount = Math.max(1, leases.sum());
+        long resetCount = Math.max(1, resets.sum());
+        return String.format(
+                "leases=%d avgLeaseWait=%.1fms maxLeaseWait=%.1fms | resets=%d avgReset=%.1fms maxReset=%.1fms"
+                        + " | recycled=%d crashed=%d | size=%d/%d idle=%d",
+                leases.sum(), leaseWaitNanos.sum() / 1e6 / leaseCount, maxLeaseWaitNanos.get() / 1e6,
+                resets.sum(), resetNanos.sum() / 1e6 / resetCount, maxResetNanos.get() / 1e6,
+                recycled.sum(), crashed.sum(), created.get(), maxSize, idle.size());
+    }
+}
@@ -0,0 +1,332 @@
+package com.irfan.ecommerce.ui.base;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v129.network.Network;
+import org.openqa.selenium.devtools.v129.network.model.CookieParam;
+import org.openqa.selenium.devtools.v129.network.model.TimeSinceEpoch;
+import org.openqa.selenium.devtools.v129.page.Page;
+import org.openqa.selenium.devtools.v129.page.model.ScriptIdentifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SessionStateCache: Log in once per user, not once per test.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: loginViaApi loaded the page, added the tokenp_ cookie and
+ *   refreshed - two full page loads before the test did anything, for every
+ *   authenticated test, every time.
+ * - WHAT I DID: After a user's first authenticated page load the cookies plus
+ *   localStorage/sessionStorage are captured. Later sessions for that user
+ *   get them pushed in through CDP (Network.setCookies and a one-shot
+ *   Page.addScriptToEvaluateOnNewDocument) BEFORE the first navigation, so
+ *   the first driver.get already lands logged in. Entries expire after a TTL
+ *   and are dropped as soon as the app answers 401.
+ * - THE RESULT: One page load per authenticated test. Without CDP (e.g.
+ *   Firefox) it falls back to the old cookie-then-refresh path.
+ */
+public class SessionStateCache {
+    private static final Logger logger = LogManager.getLogger(SessionStateCache.class);
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final String RESTORED_MARKER = "__qa_state_restored";
+
+    private static final String CAPTURE_SCRIPT =
+            "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i);"
+                    + " if (k !== '" + RESTORED_MARKER + "') { o[k] = s.getItem(k); } } return o; }"
+                    + "return [dump(window.localStorage), dump(window.sessionStorage)];";
+
+    private static final SessionStateCache INSTANCE = new SessionStateCache(
+            Duration.ofSeconds(Long.getLong("session.state.ttl.sec", 900)));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() ->
+                logger.info("📊 SESSION_STATE: {}", INSTANCE.metricsSummary())));
+    }
+
+    private final long ttlNanos;
+    private final Map<String, SessionState> states = new ConcurrentHashMap<>();
+    // Which user each live browser is authenticated as, and the restore script still installed in it
+    private final Map<WebDriver, String> activeUsers = new ConcurrentHashMap<>();
+    private final Map<WebDriver, ScriptIdentifier> installedScripts = new ConcurrentHashMap<>();
+
+    // 📊 Cache metrics
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder cdpRestores = new LongAdder();
+    private final LongAdder fallbackRestores = new LongAdder();
+
+    public SessionStateCache(Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    public static SessionStateCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * The cached state for a user, or null if there is none or it has expired.
+     */
+    public SessionState lookup(String user) {
+        SessionState state = states.get(user);
+        if (state != null && System.nanoTime() - state.capturedAtNanos >= ttlNanos) {
+            states.remove(user, state);
+            state = null;
+        }
+        if (state == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return state;
+    }
+
+    public void store(String user, SessionState state) {
+        states.put(user, state);
+    }
+
+    /**
+     * Drops the user's state (and runs the onInvalidate hook given at capture,
+     * e.g. to forget the API token that produced it).
+     */
+    public void invalidate(String user) {
+        SessionState removed = states.remove(user);
+        if (removed != null) {
+            invalidations.increment();
+            logger.info("🧹 SESSION_STATE: Invalidated [{}]", user);
+            if (removed.onInvalidate != null) {
+                removed.onInvalidate.run();
+            }
+        }
+    }
+
+    /**
+     * Network hook: the app rejected this browser's session.
+     */
+    public void onUnauthorized(WebDriver driver) {
+        String user = activeUsers.get(driver);
+        if (user != null) {
+            logger.warn("⚠️ SESSION_STATE: 401 seen for [{}], cached session discarded", user);
+            invalidate(user);
+        }
+    }
+
+    /**
+     * Loads 'url' with the given state in place. With CDP the state is
+     * injected first and the page loads once; otherwise the page is loaded,
+     * the state applied, and the page reloaded.
+     */
+    public void open(WebDriver driver, String url, String user, SessionState state) {
+        activeUsers.put(driver, user);
+        if (injectBeforeNavigation(driver, url, state)) {
+            cdpRestores.increment();
+            driver.get(url);
+        } else {
+            fallbackRestores.increment();
+            driver.get(url);
+            applyAfterNavigation(driver, state);
+            driver.navigate().refresh();
+        }
+    }
+
+    /**
+     * Same as open() for a browser that is already on the page: injects and
+     * reloads once.
+     */
+    public void reload(WebDriver driver, String url, String user, SessionState state) {
+        activeUsers.put(driver, user);
+        if (injectBeforeNavigation(driver, url, state)) {
+            cdpRestores.increment();
+        } else {
+            fallbackRestores.increment();
+            applyAfterNavigation(driver, state);
+        }
+        driver.navigate().refresh();
+    }
+
+    /**
+     * Reads cookies and both storages from the current page and caches them
+     * for the user.
+     */
+    @SuppressWarnings("unchecked")
+    public SessionState capture(WebDriver driver, String user, Runnable onInvalidate) {
+        Map<String, String> local = Collections.emptyMap();
+        Map<String, String> session = Collections.emptyMap();
+        try {
+            List<Object> storages = (List<Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+            local = (Map<String, String>) storages.get(0);
+            session = (Map<String, String>) storages.get(1);
+        } catch (RuntimeException e) {
+            logger.warn("⚠️ SESSION_STATE: Storage not readable, caching cookies only: {}", e.getMessage());
+        }
+        SessionState state = new SessionState(new ArrayList<>(driver.manage().getCookies()), local, session,
+                System.nanoTime(), onInvalidate);
+        store(user, state);
+        activeUsers.put(driver, user);
+        logger.info("📸 SESSION_STATE: Captured [{}] ({} cookies, {} localStorage, {} sessionStorage keys)", user,
+                state.cookies.size(), local.size(), session.size());
+        return state;
+    }
+
+    /**
+     * Forgets the browser: removes the restore script so a pooled session
+     * handed to the next test doesn't re-apply this user's storage.
+     */
+    public void detach(WebDriver driver) {
+        activeUsers.remove(driver);
+        ScriptIdentifier script = installedScripts.remove(driver);
+        if (script != null && driver instanceof HasDevTools) {
+            try {
+                ((HasDevTools) driver).getDevTools().send(Page.removeScriptToEvaluateOnNewDocument(script));
+            } catch (Throwable t) {
+                logger.debug("Restore script already gone: {}", t.getMessage());
+            }
+        }
+    }
+
+    private boolean injectBeforeNavigation(WebDriver driver, String url, SessionState state) {
+        if (!(driver instanceof HasDevTools)) {
+            return false;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            List<CookieParam> cookies = new ArrayList<>();
+            for (Cookie cookie : state.cookies) {
+                cookies.add(toCookieParam(cookie, url));
+            }
+            if (!cookies.isEmpty()) {
+                devTools.send(Network.setCookies(cookies));
+            }
+            ScriptIdentifier previous = installedScripts.remove(driver);
+            if (previous != null) {
+                devTools.send(Page.removeScriptToEvaluateOnNewDocument(previous));
+            }
+            if (!state.localStorage.isEmpty() || !state.sessionStorage.isEmpty()) {
+                installedScripts.put(driver, devTools.send(Page.addScriptToEvaluateOnNewDocument(
+                        restoreScript(originOf(url), state), Optional.empty(), Optional.empty(), Optional.empty())));
+            }
+            return true;
+        } catch (Throwable t) {
+            // Same policy as the network sniffer: a CDP mismatch must never stop the UI run
+            logger.warn("⚠️ SESSION_STATE: CDP injection unavailable ({}). Falling back to cookie + refresh.",
+                    t.getMessage());
+            return false;
+        }
+    }
+
+    private static void applyAfterNavigation(WebDriver driver, SessionState state) {
+        for (Cookie cookie : state.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(restoreScript(null, state));
+    }
+
+    private static CookieParam toCookieParam(Cookie cookie, String url) {
+        return new CookieParam(cookie.getName(), cookie.getValue(),
+                Optional.of(url),
+                Optional.ofNullable(cookie.getDomain()),
+                Optional.ofNullable(cookie.getPath()),
+                Optional.of(cookie.isSecure()),
+                Optional.of(cookie.isHttpOnly()),
+                Optional.empty(),
+                Optional.ofNullable(cookie.getExpiry()).map(expiry -> new TimeSinceEpoch(expiry.getTime() / 1000)),
+                Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty(), Optional.empty());
+    }
+
+    /**
+     * Storage restore that runs at most once per tab (the marker lives in
+     * sessionStorage) and only on the captured origin. A null origin applies
+     * unconditionally, for the fallback path on an already-loaded page.
+     */
+    public static String restoreScript(String origin, SessionState state) {
+        try {
+            return "(function () {"
+                    + (origin == null ? "" : "if (location.origin !== " + mapper.writeValueAsString(origin) + ") { return; }")
+                    + "try {"
+                    + "if (sessionStorage.getItem('" + RESTORED_MARKER + "')) { return; }"
+                    + "var local = " + mapper.writeValueAsString(state.localStorage) + ";"
+                    + "var session = " + mapper.writeValueAsString(state.sessionStorage) + ";"
+                    + "Object.keys(local).forEach(function (k) { localStorage.setItem(k, local[k]); });"
+                    + "Object.keys(session).forEach(function (k) { sessionStorage.setItem(k, session[k]); });"
+                    + "sessionStorage.setItem('" + RESTORED_MARKER + "', '1');"
+                    + "} catch (e) { }"
+                    + "})();";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Session storage is not serializable", e);
+        }
+    }
+
+    static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+    }
+
+    public String metricsSummary() {
+        return String.format("users=%d hits=%d misses=%d invalidations=%d cdpRestores=%d fallbackRestores=%d",
+                states.size(), hits.sum(), misses.sum(), invalidations.sum(), cdpRestores.sum(),
+                fallbackRestores.sum());
+    }
+
+    /**
+     * One user's browser state. Immutable apart from being dropped from the cache.
+     */
+    public static final class SessionState {
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+        private final Map<String, String> sessionStorage;
+        private final long capturedAtNanos;
+        private final Runnable onInvalidate;
+
+        SessionState(List<Cookie> cookies, Map<String, String> localStorage, Map<String, String> sessionStorage,
+                     long capturedAtNanos, Runnable onInvalidate) {
+            this.cookies = List.copyOf(cookies);
+            this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+            this.sessionStorage = Collections.unmodifiableMap(new LinkedHashMap<>(sessionStorage));
+            this.capturedAtNanos = capturedAtNanos;
+            this.onInvalidate = onInvalidate;
+        }
+
+        /**
+         * The minimal state for a user we have never seen in a browser: just
+         * the auth cookie. The full state is captured after the first load.
+         */
+        public static SessionState ofCookies(Cookie... cookies) {
+            return new SessionState(List.of(cookies), Map.of(), Map.of(), System.nanoTime(), null);
+        }
+
+        public static SessionState of(List<Cookie> cookies, Map<String, String> localStorage,
+                                      Map<String, String> sessionStorage, Runnable onInvalidate) {
+            return new SessionState(cookies, localStorage, sessionStorage, System.nanoTime(), onInvalidate);
+        }
+
+        public List<Cookie> getCookies() {
+            return cookies;
+        }
+
+        public Map<String, String> getLocalStorage() {
+            return localStorage;
+        }
+
+        public Map<String, String> getSessionStorage() {
+            return sessionStorage;
+        }
+    }
+}
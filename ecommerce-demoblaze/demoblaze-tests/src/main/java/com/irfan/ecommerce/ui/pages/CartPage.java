@@ -3,12 +3,15 @@ package com.irfan.ecommerce.ui.pages;
 import com.irfan.ecommerce.ui.base.BasePage;
 import com.irfan.ecommerce.util.GenericActions;
 import com.irfan.ecommerce.util.ObjectRepo;
+import com.irfan.ecommerce.util.TableSnapshot;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import java.util.List;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
 
 /**
  * CartPage: The "Transactional Validation" Layer.
@@ -21,6 +24,8 @@ import java.util.List;
  */
 public class CartPage extends BasePage {
     private static final Logger log = LogManager.getLogger(CartPage.class);
+    // DemoBlaze Cart Table: Name is in the 2nd column
+    private static final int TITLE_COLUMN = 1;
 
     public CartPage(WebDriver driver) {
        super(driver);
@@ -28,35 +33,77 @@ public class CartPage extends BasePage {
 
     /**
      * SITUATION: We need to verify the EXACT product name from a specific table row.
-     * ACTION: 1. Wait for visibility -> 2. Find all rows -> 3. Extract text from index.
+     * ACTION: 1. Wait for the cart data -> 2. Snapshot the table once -> 3. Read the row.
      * 📊 DORA IMPACT: Slashed MTTR by providing precise row-level failure data.
      */
     public String getProductName(int rowIndex) {
         // SITUATION: Dynamic tables load headers before data (Walmart Problem #1).
-        // ACTION: Wait for at least one row in the Cart Table to be visible.
+        // ACTION: Wait for the cart XHRs to settle, then for at least one visible row.
+        waitForCartData();
         waitForVisibilityOfElement(By.cssSelector("#tbodyid tr"));
-        
-        List<WebElement> rows = driver.findElements(By.cssSelector("#tbodyid tr"));
-        
-        if (rows.size() >= rowIndex) {
-            // DemoBlaze Cart Table: Name is usually in the 2nd column (td[2])
-            WebElement row = rows.get(rowIndex - 1);
-            String text = row.findElement(By.xpath("./td[2]")).getText().trim();
+
+        TableSnapshot cart = getCartSnapshot();
+        if (cart.rowCount() >= rowIndex) {
+            String text = cart.row(rowIndex - 1).cell(TITLE_COLUMN);
             log.info("🛒 CART: Row [{}] contains product [{}].", rowIndex, text);
             return text;
         }
-        
-        log.error("❌ ERROR: Expected row [{}] but table only has [{}] rows.", rowIndex, rows.size());
+
+        log.error("❌ ERROR: Expected row [{}] but table only has [{}] rows.", rowIndex, cart.rowCount());
         return "EMPTY_OR_NOT_FOUND";
     }
 
     public boolean isProductInCart(String productName) {
+        return isProductInCart(productName, TIMEOUT);
+    }
+
+    /**
+     * Same check with its own budget: a short one for flows that expect the
+     * product may legitimately be missing.
+     */
+    public boolean isProductInCart(String productName, Duration timeout) {
         log.info("CART: Verifying if [{}] exists in the checkout table.", productName);
-        String text = GenericActions.getText(ObjectRepo.CART_PRODUCT_NAME, productName);
-        return text.equalsIgnoreCase(productName);
+        waitForCartData();
+        // Network idle can land before the first row does: re-read the table (one cheap check while it's
+        // unchanged) until the product shows up; a missing table counts as "not yet" too
+        try {
+            return new WebDriverWait(driver, timeout)
+                    .until(d -> getCartSnapshot().findRow(TITLE_COLUMN, productName).isPresent());
+        } catch (TimeoutException e) {
+            log.error("❌ CART: [{}] never showed up in the checkout table.", productName);
+            return false;
+        }
+    }
+
+    /**
+     * Negative check (e.g. after a delete): one snapshot once the cart XHRs
+     * have settled, instead of waiting out the full timeout for a row that
+     * should not come.
+     */
+    public boolean isProductAbsent(String productName) {
+        waitForCartData();
+        boolean absent = getCartSnapshot().findRow(TITLE_COLUMN, productName).isEmpty();
+        log.info("CART: [{}] is {} the checkout table.", productName, absent ? "not in" : "still in");
+        return absent;
+    }
+
+    /**
+     * The whole cart table (Pic | Title | Price | x) for tests that assert on
+     * several rows: query it as often as needed, it never goes back to the browser.
+     */
+    public TableSnapshot getCartSnapshot() {
+        return snapshotTable(ObjectRepo.CART_TABLE);
+    }
+
+    /**
+     * The cart is one /viewcart call plus one /view call per item; rows show up
+     * one by one until the last of them returns.
+     */
+    private void waitForCartData() {
+        GenericActions.waitForNetworkIdle();
     }
 
     public void proceedToCheckout() {
-        GenericActions.click(ObjectRepo.PLACE_ORDER_BTN);
+        GenericActions.clickWhenReady(ObjectRepo.PLACE_ORDER_BTN);
     }
 }
@@ -4,9 +4,11 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import com.irfan.ecommerce.ui.base.BasePage;
+import com.irfan.ecommerce.ui.base.PageLoadStats;
 import com.irfan.ecommerce.util.GenericActions;
 import com.irfan.ecommerce.util.ObjectRepo;
 import com.irfan.ecommerce.util.PropertyReader;
+import com.irfan.ecommerce.util.TableSnapshot;
 
 /**
  * HomePage: The "First Impression" of the Automation Suite.
@@ -35,6 +37,9 @@ public class HomePage extends BasePage {
             baseUrl = "https://www.demoblaze.com";
 
         driver.get(baseUrl);
+        PageLoadStats.record(driver);
+        // The product grid arrives over XHR after the load event
+        GenericActions.waitForNetworkIdle();
 
         // SELF-HEALING: Uses String[] from ObjectRepo via GenericActions
         waitForVisibilityOfElement(ObjectRepo.NAV_HOME);
@@ -74,6 +79,14 @@ public class HomePage extends BasePage {
         }
     }
 
+    /**
+     * The product card grid (name, price, description per card) in one call.
+     */
+    public TableSnapshot getProductListing() {
+        GenericActions.waitForNetworkIdle();
+        return snapshotList(ObjectRepo.PRODUCT_LIST, ".card", ".card-title", "h5", ".card-text");
+    }
+
     /**
      * 🚀 EMIRATES-SCALE ADDITION: Category Validation
      */
@@ -6,29 +6,37 @@ import com.irfan.ecommerce.util.ObjectRepo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
-import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LoginPage extends BasePage {
     private static final Logger log = LogManager.getLogger(LoginPage.class);
 
+    private boolean nativeInput;
+
     public LoginPage(WebDriver driver) {
         super(driver);
     }
 
+    /**
+     * Types and clicks through real WebDriver input events instead of the
+     * one-call composite actions, for tests that need genuine key events.
+     */
+    public LoginPage withNativeInput() {
+        this.nativeInput = true;
+        return this;
+    }
+
    public LoginPage performLogin(String username, String password, boolean isRegistrationRequired) {
     log.info("🚀 LOGIN ATTEMPT: User [{}]", username);
     try {
-        // Sync before clicking
-        new WebDriverWait(driver, Duration.ofSeconds(10))
-            .until(ExpectedConditions.elementToBeClickable(GenericActions.getBestLocator(ObjectRepo.NAV_LOGIN)));
-
-        GenericActions.click(ObjectRepo.NAV_LOGIN);
-        waitForVisibilityOfElement(ObjectRepo.LOGIN_USER);
-        GenericActions.sendKeys(ObjectRepo.LOGIN_USER, username);
-        GenericActions.sendKeys(ObjectRepo.LOGIN_PASS, password);
-        GenericActions.click(ObjectRepo.LOGIN_BTN);
+        // ⚡ Three calls: open the modal, fill both fields, submit (each waits for readiness itself)
+        click(ObjectRepo.NAV_LOGIN);
+        Map<String[], String> form = new LinkedHashMap<>();
+        form.put(ObjectRepo.LOGIN_USER, username);
+        form.put(ObjectRepo.LOGIN_PASS, password);
+        GenericActions.fillForm(form, nativeInput);
+        click(ObjectRepo.LOGIN_BTN);
 
         // Handle the Alert immediately
         String alertMessage = GenericActions.getAlertTextAndAccept();
@@ -53,24 +61,21 @@ public class LoginPage extends BasePage {
     public void registerUserIfNew(String username, String password) {
         try {
             log.info("🛠️ REGISTRATION: Creating account for [{}]", username);
-            GenericActions.click(ObjectRepo.NAV_SIGNUP);
-
-            waitForVisibilityOfElement(ObjectRepo.SIGNUP_USERNAME);
-            GenericActions.sendKeys(ObjectRepo.SIGNUP_USERNAME, username);
-            GenericActions.sendKeys(ObjectRepo.SIGNUP_PASSWORD, password);
-            GenericActions.click(ObjectRepo.SIGNUP_BUTTON);
+            click(ObjectRepo.NAV_SIGNUP);
+            Map<String[], String> form = new LinkedHashMap<>();
+            form.put(ObjectRepo.SIGNUP_USERNAME, username);
+            form.put(ObjectRepo.SIGNUP_PASSWORD, password);
+            GenericActions.fillForm(form, nativeInput);
+            click(ObjectRepo.SIGNUP_BUTTON);
 
             // Clear the "Sign up successful" alert
             GenericActions.getAlertTextAndAccept();
 
             // SYNC: Ensure modals are closed before returning control
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                    GenericActions.getBestLocator(ObjectRepo.SIGNUP_USERNAME)));
+            waitForInvisibilityOfElement(ObjectRepo.SIGNUP_USERNAME);
 
             try {
-                wait.until(ExpectedConditions.invisibilityOfElementLocated(
-                        GenericActions.getBestLocator(ObjectRepo.MODAL_BACKDROP)));
+                waitForInvisibilityOfElement(ObjectRepo.MODAL_BACKDROP);
             } catch (Exception e) {
                 log.debug("Backdrop already gone.");
             }
@@ -81,4 +86,12 @@ public class LoginPage extends BasePage {
             throw new RuntimeException("Registration failed, stopping recursive login.");
         }
     }
-}
\ No newline at end of file
+
+    private void click(String[] locators) {
+        if (nativeInput) {
+            GenericActions.click(locators);
+        } else {
+            GenericActions.clickWhenReady(locators);
+        }
+    }
+}
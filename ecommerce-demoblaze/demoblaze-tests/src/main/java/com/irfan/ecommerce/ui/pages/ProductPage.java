@@ -5,6 +5,8 @@ import com.irfan.ecommerce.util.GenericActions;
 import com.irfan.ecommerce.util.ObjectRepo;
 import org.openqa.selenium.WebDriver;
 
+import java.util.List;
+
 public class ProductPage extends BasePage {
 
     public ProductPage(WebDriver driver) {
@@ -21,6 +23,16 @@ public class ProductPage extends BasePage {
         return GenericActions.getText(ObjectRepo.PRODUCT_PRICE);
     }
 
+    /**
+     * ⚡ Title and price in one browser call, for checks that need both.
+     *
+     * @return [name, price]; either is "" if it never showed up
+     */
+    public List<String> getNameAndPrice() {
+        waitForVisibilityOfElement(ObjectRepo.PRODUCT_TITLE);
+        return GenericActions.getTexts(ObjectRepo.PRODUCT_TITLE, ObjectRepo.PRODUCT_PRICE);
+    }
+
     public void addToCart() {
         GenericActions.click(ObjectRepo.ADD_TO_CART_BTN);
     }
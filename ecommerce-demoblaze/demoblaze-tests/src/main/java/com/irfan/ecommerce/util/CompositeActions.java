@@ -0,0 +1,206 @@
+package com.irfan.ecommerce.util;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * CompositeActions: Whole interactions as one browser round-trip.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: GenericActions.click is a visibility wait, a clickable wait
+ *   and a click; sendKeys is a find, clear() and sendKeys(). A login is about a
+ *   dozen WebDriver commands, each a full HTTP round-trip to the Grid.
+ * - WHAT I DID: fill(), clickWhenReady() and texts() do the whole thing inside
+ *   one executeScript per attempt: resolve every locator array (same rules as
+ *   ScriptLocatorResolver), check readiness, act, and report which candidate
+ *   won so the LocatorRanker keeps learning. Java only polls until the page is
+ *   ready or the timeout passes.
+ * - THE RESULT: A login form is one command instead of six. The trade-off is
+ *   that values are set the way a framework would (value setter + input/change
+ *   events), not typed key by key - GenericActions falls back to native
+ *   WebDriver input when a test needs real key events.
+ */
+public final class CompositeActions {
+
+    // arguments[0] = [[[strategy, value], ...] per field], arguments[1] = [value per field]
+    private static final String FILL_SCRIPT = ScriptLocatorResolver.FINDER_JS
+            + "var fields = arguments[0], values = arguments[1], hits = [], missing = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var hit = first(fields[i], true);"
+            + "  if (!hit || hit[1].disabled || hit[1].readOnly) { missing.push(i); } else { hits.push(hit); }"
+            + "}"
+            + "if (missing.length > 0) { return {missing: missing}; }"
+            // All or nothing: a half-filled form is worse than a retry
+            + "var won = [];"
+            + "for (var j = 0; j < hits.length; j++) {"
+            + "  var el = hits[j][1];"
+            + "  el.focus();"
+            + "  var proto = Object.getPrototypeOf(el), setter = Object.getOwnPropertyDescriptor(proto, 'value');"
+            + "  if (setter && setter.set) { setter.set.call(el, values[j]); } else { el.value = values[j]; }"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  el.blur();"
+            + "  won.push(hits[j][0]);"
+            + "}"
+            + "return {won: won};";
+
+    // arguments[0] = [[strategy, value], ...]; returns the winning position once the element can take a click
+    private static final String CLICK_SCRIPT = ScriptLocatorResolver.FINDER_JS
+            + "var hit = first(arguments[0], true);"
+            + "if (!hit || hit[1].disabled) { return null; }"
+            + "var el = hit[1];"
+            + "el.scrollIntoView({block: 'center', inline: 'center'});"
+            + "var box = el.getBoundingClientRect();"
+            + "var top = document.elementFromPoint(box.left + box.width / 2, box.top + box.height / 2);"
+            // Covered by a modal backdrop or still animating in: not ready yet
+            + "if (!top || (top !== el && !el.contains(top))) { return null; }"
+            + "el.click();"
+            + "return hit[0];";
+
+    // arguments[0] = [[[strategy, value], ...] per target]; returns [[position, text] or null per target]
+    private static final String TEXTS_SCRIPT = ScriptLocatorResolver.FINDER_JS
+            + "return arguments[0].map(function (candidates) {"
+            + "  var hit = first(candidates, true);"
+            + "  return hit ? [hit[0], (hit[1].innerText || hit[1].textContent || '').trim()] : null;"
+            + "});";
+
+    private CompositeActions() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    /**
+     * Sets every field of a form in one script once all of them are visible
+     * and editable. Keys are ObjectRepo arrays, in the order to fill.
+     */
+    @SuppressWarnings("unchecked")
+    public static void fill(WebDriver driver, Map<String[], String> fields, Duration timeout) {
+        List<Target> targets = new ArrayList<>(fields.size());
+        fields.keySet().forEach(locators -> targets.add(Target.of(locators)));
+        List<List<List<String>>> candidates = candidatesOf(targets);
+        List<String> values = new ArrayList<>(fields.values());
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Map<String, List<Number>> result;
+        do {
+            result = (Map<String, List<Number>>) ((JavascriptExecutor) driver)
+                    .executeScript(FILL_SCRIPT, candidates, values);
+            if (result != null && result.containsKey("won")) {
+                List<Number> won = result.get("won");
+                for (int i = 0; i < targets.size(); i++) {
+                    targets.get(i).win(won.get(i).intValue());
+                }
+                return;
+            }
+        } while (pause(deadline));
+
+        List<String> missing = new ArrayList<>();
+        if (result != null && result.get("missing") != null) {
+            result.get("missing").forEach(i -> missing.add(String.join(" | ", targets.get(i.intValue()).locators)));
+        }
+        throw new NoSuchElementException("Form fields not visible/editable after " + timeout.toMillis() + " ms: "
+                + String.join(", ", missing));
+    }
+
+    /**
+     * Clicks the first visible candidate once it is enabled and nothing
+     * (backdrop, toast, half-open modal) is on top of it.
+     */
+    public static void clickWhenReady(WebDriver driver, Duration timeout, String[] locators, String... replacements) {
+        Target target = Target.of(locators, replacements);
+        List<List<String>> candidates = ScriptLocatorResolver.candidates(locators, target.order, replacements);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        do {
+            Object position = ((JavascriptExecutor) driver).executeScript(CLICK_SCRIPT, candidates);
+            if (position != null) {
+                target.win(((Number) position).intValue());
+                return;
+            }
+        } while (pause(deadline));
+        throw new NoSuchElementException("Not clickable after " + timeout.toMillis() + " ms: "
+                + String.join(", ", locators));
+    }
+
+    /**
+     * The visible text of every target from one script per attempt. Waits
+     * until all of them are visible; whatever is still missing at the timeout
+     * comes back as "" (the same contract as GenericActions.getText).
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> texts(WebDriver driver, Duration timeout, List<Target> targets) {
+        List<List<List<String>>> candidates = candidatesOf(targets);
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<List<Object>> result;
+        do {
+            result = (List<List<Object>>) ((JavascriptExecutor) driver).executeScript(TEXTS_SCRIPT, candidates);
+        } while (result != null && result.stream().anyMatch(Objects::isNull) && pause(deadline));
+
+        String[] texts = new String[targets.size()];
+        Arrays.fill(texts, "");
+        for (int i = 0; result != null && i < texts.length; i++) {
+            List<Object> hit = result.get(i);
+            if (hit != null) {
+                targets.get(i).win(((Number) hit.get(0)).intValue());
+                texts[i] = (String) hit.get(1);
+            }
+        }
+        return Arrays.asList(texts);
+    }
+
+    private static List<List<List<String>>> candidatesOf(List<Target> targets) {
+        List<List<List<String>>> candidates = new ArrayList<>(targets.size());
+        for (Target target : targets) {
+            candidates.add(ScriptLocatorResolver.candidates(target.locators, target.order, target.replacements));
+        }
+        return candidates;
+    }
+
+    // Sleeps one poll interval; false once the deadline has passed
+    private static boolean pause(long deadline) {
+        if (System.nanoTime() >= deadline) {
+            return false;
+        }
+        try {
+            Thread.sleep(ScriptLocatorResolver.POLL_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * A locator array plus its template arguments, in ranked candidate order.
+     */
+    public static final class Target {
+        private final String[] locators;
+        private final String[] replacements;
+        private final LocatorRanker.Ranking ranking;
+        private final int[] order;
+
+        private Target(String[] locators, String[] replacements) {
+            this.locators = locators;
+            this.replacements = replacements;
+            this.ranking = LocatorRanker.isEnabled()
+                    ? LocatorRanker.getInstance().ranking(locators, replacements) : null;
+            this.order = GenericActions.candidateOrder(ranking, locators);
+        }
+
+        public static Target of(String[] locators, String... replacements) {
+            return new Target(locators, replacements);
+        }
+
+        private void win(int position) {
+            if (ranking != null) {
+                ranking.win(order[position]);
+            }
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DomWait: Waits that end when the page changes, not on the next poll.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every wait in BasePage and GenericActions was a new
+ *   WebDriverWait polling every 500 ms. Each poll is a full WebDriver
+ *   round-trip, and a condition that became true 10 ms after a poll still
+ *   waited out the other 490 ms.
+ * - WHAT I DID: -Dwait.engine=observer blocks in one executeAsyncScript. The
+ *   script checks the condition (visible, clickable, text present, gone),
+ *   then re-checks on every DOM mutation and transition/animation end until
+ *   it holds or the timeout passes. A slow 250 ms tick covers layout-only
+ *   changes (images, fonts) that fire no mutation.
+ * - THE RESULT: A wait costs one command however long it takes, and returns
+ *   within a frame of the condition becoming true.
+ */
+public final class DomWait {
+    private static final Logger log = LogManager.getLogger(DomWait.class);
+
+    // arguments: [[strategy, value], ...], condition, text, element (instead of candidates), timeout ms, callback
+    private static final String WAIT_SCRIPT = ScriptLocatorResolver.FINDER_JS
+            + "var candidates = arguments[0], condition = arguments[1], text = arguments[2], target = arguments[3];"
+            + "var timeoutMs = arguments[4], done = arguments[arguments.length - 1];"
+            + "function clickable(el) {"
+            + "  if (el.disabled) { return false; }"
+            + "  var box = el.getBoundingClientRect(), x = box.left + box.width / 2, y = box.top + box.height / 2;"
+            // Off-screen: WebDriver scrolls before clicking, so only enabled + visible counts
+            + "  if (x < 0 || y < 0 || x > window.innerWidth || y > window.innerHeight) { return true; }"
+            + "  var top = document.elementFromPoint(x, y);"
+            + "  return !!top && (top === el || el.contains(top));"
+            + "}"
+            + "function holds(el) {"
+            + "  if (!el.isConnected || !visible(el)) { return false; }"
+            + "  if (condition === 'clickable') { return clickable(el); }"
+            + "  if (condition === 'text') { return (el.innerText || el.textContent || '').indexOf(text) >= 0; }"
+            + "  return true;"
+            + "}"
+            + "function check() {"
+            + "  if (target) { return holds(target) ? [0, target] : null; }"
+            + "  if (condition === 'gone') { return first(candidates, true) ? null : [-1, null]; }"
+            + "  for (var c = 0; c < candidates.length; c++) {"
+            + "    var found = find(candidates[c][0], candidates[c][1]);"
+            + "    for (var f = 0; f < found.length; f++) { if (holds(found[f])) { return [c, found[f]]; } }"
+            + "  }"
+            + "  return null;"
+            + "}"
+            + "var initial = check();"
+            + "if (initial) { done(initial); return; }"
+            + "var settled = false, observer, tick, timer;"
+            + "function finish(result) {"
+            + "  if (settled) { return; }"
+            + "  settled = true;"
+            + "  observer.disconnect(); clearInterval(tick); clearTimeout(timer);"
+            + "  document.removeEventListener('transitionend', recheck, true);"
+            + "  document.removeEventListener('animationend', recheck, true);"
+            + "  done(result);"
+            + "}"
+            + "function recheck() { var result = check(); if (result) { finish(result); } }"
+            + "observer = new MutationObserver(recheck);"
+            + "observer.observe(document, {subtree: true, childList: true, attributes: true, characterData: true});"
+            + "document.addEventListener('transitionend', recheck, true);"
+            + "document.addEventListener('animationend', recheck, true);"
+            + "tick = setInterval(recheck, 250);"
+            + "timer = setTimeout(function () { finish(null); }, timeoutMs);";
+
+    // W3C default script timeout; raised per driver only when a wait needs longer
+    private static final long DEFAULT_SCRIPT_TIMEOUT_MS = 30_000;
+    private static final long SCRIPT_TIMEOUT_MARGIN_MS = 5_000;
+    private static final Map<WebDriver, Long> scriptTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final LongAdder waits = new LongAdder();
+    private static final LongAdder roundTrips = new LongAdder();
+    private static final LongAdder timeouts = new LongAdder();
+    private static final LongAdder waitNanos = new LongAdder();
+
+    static {
+        if (isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (waits.sum() > 0) {
+                    log.info("📊 DOM_WAIT: {}", metricsSummary());
+                }
+            }));
+        }
+    }
+
+    public enum Condition {
+        VISIBLE("visible"), CLICKABLE("clickable"), TEXT_PRESENT("text"), GONE("gone");
+
+        private final String script;
+
+        Condition(String script) {
+            this.script = script;
+        }
+    }
+
+    private DomWait() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static boolean isEnabled() {
+        return "observer".equalsIgnoreCase(System.getProperty("wait.engine", "webdriver"));
+    }
+
+    /**
+     * The first candidate (in 'order') whose element meets the condition.
+     * GONE returns a Match with index -1 and no element once nothing visible
+     * matches any candidate. Throws TimeoutException like WebDriverWait.
+     */
+    @SuppressWarnings("unchecked")
+    public static ScriptLocatorResolver.Match until(WebDriver driver, Condition condition, Duration timeout,
+                                                    String text, String[] locators, int[] order,
+                                                    String... replacements) {
+        List<List<String>> candidates = ScriptLocatorResolver.candidates(locators, order, replacements);
+        List<Object> result = await(driver, condition, timeout, text, candidates, null);
+        if (result == null) {
+            throw new TimeoutException("Expected " + condition + " within " + timeout.toMillis() + " ms: "
+                    + String.join(", ", locators));
+        }
+        int position = ((Number) result.get(0)).intValue();
+        return position < 0 ? new ScriptLocatorResolver.Match(-1, null)
+                : new ScriptLocatorResolver.Match(order[position], (WebElement) result.get(1));
+    }
+
+    /**
+     * Visible, with the LocatorRanker's order and bookkeeping.
+     */
+    public static WebElement visible(WebDriver driver, Duration timeout, String[] locators, String... replacements) {
+        LocatorRanker.Ranking ranking = LocatorRanker.isEnabled()
+                ? LocatorRanker.getInstance().ranking(locators, replacements) : null;
+        ScriptLocatorResolver.Match match = until(driver, Condition.VISIBLE, timeout, null, locators,
+                GenericActions.candidateOrder(ranking, locators), replacements);
+        if (ranking != null) {
+            ranking.win(match.getIndex());
+        }
+        return match.getElement();
+    }
+
+    public static void gone(WebDriver driver, Duration timeout, String[] locators, String... replacements) {
+        until(driver, Condition.GONE, timeout, null, locators, GenericActions.candidateOrder(null, locators),
+                replacements);
+    }
+
+    /**
+     * An element already in hand: visible, enabled and not covered by anything.
+     */
+    public static WebElement clickable(WebDriver driver, Duration timeout, WebElement element) {
+        if (await(driver, Condition.CLICKABLE, timeout, null, List.of(), element) == null) {
+            throw new TimeoutException("Expected element to be clickable within " + timeout.toMillis() + " ms");
+        }
+        return element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> await(WebDriver driver, Condition condition, Duration timeout, String text,
+                                      List<List<String>> candidates, WebElement element) {
+        ensureScriptTimeout(driver, timeout);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        waits.increment();
+        try {
+            while (true) {
+                long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMs <= 0) {
+                    break;
+                }
+                roundTrips.increment();
+                try {
+                    List<Object> result = (List<Object>) ((JavascriptExecutor) driver).executeAsyncScript(
+                            WAIT_SCRIPT, candidates, condition.script, text, element, remainingMs);
+                    if (result != null) {
+                        return result;
+                    }
+                    break;
+                } catch (JavascriptException e) {
+                    // The page navigated mid-wait and took the observer with it: start over on the new document
+                    log.debug("🔄 DOM_WAIT: Document replaced during {} wait, re-installing observer", condition);
+                    sleepQuietly(ScriptLocatorResolver.POLL_MS);
+                }
+            }
+            timeouts.increment();
+            return null;
+        } finally {
+            waitNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static void ensureScriptTimeout(WebDriver driver, Duration timeout) {
+        long needed = timeout.toMillis() + SCRIPT_TIMEOUT_MARGIN_MS;
+        if (needed > scriptTimeouts.getOrDefault(driver, DEFAULT_SCRIPT_TIMEOUT_MS)) {
+            driver.manage().timeouts().scriptTimeout(Duration.ofMillis(needed));
+            scriptTimeouts.put(driver, needed);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A plain By as a locator string this engine understands, or null for
+     * strategies it doesn't (tagName, custom By subclasses).
+     */
+    public static String locatorOf(By by) {
+        String description = by.toString();
+        int colon = description.indexOf(": ");
+        if (!description.startsWith("By.") || colon < 0) {
+            return null;
+        }
+        String value = description.substring(colon + 2);
+        return switch (description.substring(3, colon)) {
+            case "id" -> "id:" + value;
+            case "cssSelector" -> "css:" + value;
+            case "xpath" -> "xpath:" + value;
+            case "name" -> "name:" + value;
+            case "className" -> "class:" + value;
+            case "linkText" -> "text:" + value;
+            default -> null;
+        };
+    }
+
+    public static String metricsSummary() {
+        long count = waits.sum();
+        return String.format("%d waits, %d round-trips, %d timeouts, avg %d ms", count, roundTrips.sum(),
+                timeouts.sum(), count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / count));
+    }
+}
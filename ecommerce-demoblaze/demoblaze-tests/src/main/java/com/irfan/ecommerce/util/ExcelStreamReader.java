@@ -0,0 +1,392 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * ExcelStreamReader: Test data rows straight off the sheet XML, one at a time.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: ExcelUtil.readExcelTestData builds the whole XSSFWorkbook
+ *   DOM and then copies every row into an Object[][] before the first test
+ *   runs. A data sheet with tens of thousands of rows cost hundreds of MB of
+ *   heap and a long pause, for rows TestNG hands out one by one anyway.
+ * - WHAT I DID: The sheet part is read with a pull parser through POI's
+ *   event model (XSSFReader), so this class is a lazy Iterator&lt;Object[]&gt;
+ *   TestNG can use as a data provider directly. Columns are picked by header
+ *   name, rows can come as a header-keyed Map, and each shared string is
+ *   turned into a Java String once and reused.
+ * - THE RESULT: Heap stays flat whatever the row count (only the shared
+ *   strings table is held), and the first test starts before the last row is read.
+ *
+ * Cells are formatted with DataFormatter like the DOM reader does, except
+ * formula cells, which give their cached value instead of the formula text.
+ * Rows with nothing in the selected columns are skipped. The file is closed
+ * when the last row has been read, or by close().
+ */
+public final class ExcelStreamReader implements Iterator<Object[]>, AutoCloseable {
+    private final OPCPackage pkg;
+    private final InputStream sheetData;
+    private final XMLStreamReader xml;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    // Filled on first use: uniqueCount is optional in <sst>, so the table's size can't be trusted up front
+    private final Map<Integer, String> sharedStringCache = new HashMap<>();
+    private final StylesTable styles;
+    private final Map<Integer, CellFormat> formatCache = new HashMap<>();
+    private final DataFormatter formatter = new DataFormatter();
+    private final List<String> header;
+    private final List<String> columns;
+    private final int[] slotOfColumn;
+    private final boolean asRecords;
+
+    private String[] pending;
+    private boolean closed;
+
+    private ExcelStreamReader(Path file, String sheetName, boolean asRecords, String... columns) {
+        this.asRecords = asRecords;
+        OPCPackage opened = null;
+        InputStream data = null;
+        try {
+            opened = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(opened);
+            data = findSheet(reader, sheetName, file);
+            this.pkg = opened;
+            this.sheetData = data;
+            this.sharedStrings = new ReadOnlySharedStringsTable(opened, false);
+            this.styles = reader.getStylesTable();
+            this.xml = XMLHelper.newXMLInputFactory().createXMLStreamReader(data);
+            this.header = readHeader();
+        } catch (IOException e) {
+            closeQuietly(opened, data);
+            throw new UncheckedIOException("Cannot open Excel data " + file, e);
+        } catch (RuntimeException e) {
+            closeQuietly(opened, data);
+            throw e;
+        } catch (OpenXML4JException | SAXException | XMLStreamException e) {
+            closeQuietly(opened, data);
+            throw new IllegalStateException("Cannot read Excel data " + file + " [" + sheetName + "]", e);
+        }
+        this.columns = columns.length == 0 ? nonBlank(header) : List.of(columns);
+        this.slotOfColumn = new int[header.size()];
+        Arrays.fill(slotOfColumn, -1);
+        for (int slot = 0; slot < this.columns.size(); slot++) {
+            int column = header.indexOf(this.columns.get(slot));
+            if (column < 0) {
+                close();
+                throw new IllegalArgumentException("Column '" + this.columns.get(slot) + "' not in sheet '"
+                        + sheetName + "'. Headers: " + nonBlank(header));
+            }
+            slotOfColumn[column] = slot;
+        }
+    }
+
+    /**
+     * Rows as Object[] of the given columns, in that order (all columns if none given).
+     */
+    public static ExcelStreamReader rows(Path file, String sheetName, String... columns) {
+        return new ExcelStreamReader(file, sheetName, false, columns);
+    }
+
+    /**
+     * Rows as a single Map argument, header name to cell text, for test
+     * methods that take (Map&lt;String, String&gt; row).
+     */
+    public static ExcelStreamReader records(Path file, String sheetName, String... columns) {
+        return new ExcelStreamReader(file, sheetName, true, columns);
+    }
+
+    public List<String> header() {
+        return header;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !closed) {
+            pending = readRow();
+            if (pending == null) {
+                close();
+            }
+        }
+        return pending != null;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more rows");
+        }
+        String[] row = pending;
+        pending = null;
+        if (!asRecords) {
+            return row;
+        }
+        Map<String, String> record = new LinkedHashMap<>();
+        for (int slot = 0; slot < row.length; slot++) {
+            record.put(columns.get(slot), row[slot]);
+        }
+        return new Object[]{record};
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (xml != null) {
+                xml.close();
+            }
+        } catch (XMLStreamException e) {
+            // Closing a read-only parser; nothing to recover
+        }
+        closeQuietly(pkg, sheetData);
+    }
+
+    private static InputStream findSheet(XSSFReader reader, String sheetName, Path file)
+            throws IOException, OpenXML4JException {
+        XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        List<String> names = new ArrayList<>();
+        while (sheets.hasNext()) {
+            InputStream data = sheets.next();
+            if (sheets.getSheetName().equals(sheetName)) {
+                return data;
+            }
+            names.add(sheets.getSheetName());
+            data.close();
+        }
+        throw new IllegalArgumentException("Sheet '" + sheetName + "' not in " + file + ". Sheets: " + names);
+    }
+
+    private List<String> readHeader() throws XMLStreamException {
+        List<String> names = new ArrayList<>();
+        while (names.isEmpty()) {
+            if (!nextRow(names)) {
+                throw new IllegalArgumentException("Sheet has no header row");
+            }
+            if (nonBlank(names).isEmpty()) {
+                names.clear();
+            }
+        }
+        names.replaceAll(String::trim);
+        return List.copyOf(names);
+    }
+
+    private String[] readRow() {
+        try {
+            RowBuffer row = new RowBuffer(columns.size());
+            while (nextRow(row)) {
+                if (row.filled > 0) {
+                    return row.values;
+                }
+                row = new RowBuffer(columns.size());
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            close();
+            throw new IllegalStateException("Excel data stream broke: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next &lt;row&gt; into 'into' (a header list or a row buffer).
+     * False once the sheet data is over.
+     */
+    private boolean nextRow(Object into) throws XMLStreamException {
+        int column = -1;
+        while (xml.hasNext()) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                if ("row".equals(xml.getLocalName())) {
+                    return true;
+                }
+                if ("sheetData".equals(xml.getLocalName())) {
+                    return false;
+                }
+            } else if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                String ref = xml.getAttributeValue(null, "r");
+                column = ref == null ? column + 1 : columnIndex(ref);
+                String value = readCell();
+                if (into instanceof RowBuffer) {
+                    ((RowBuffer) into).put(column < slotOfColumn.length ? slotOfColumn[column] : -1, value);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    List<String> names = (List<String>) into;
+                    while (names.size() <= column) {
+                        names.add("");
+                    }
+                    names.set(column, value);
+                }
+            }
+        }
+        return false;
+    }
+
+    // Positioned on <c>; consumes the cell up to </c> and returns its display text
+    private String readCell() throws XMLStreamException {
+        String type = xml.getAttributeValue(null, "t");
+        String style = xml.getAttributeValue(null, "s");
+        String raw = null;
+        StringBuilder inline = null;
+        int phonetic = 0;
+        while (true) {
+            int event = xml.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("v".equals(name)) {
+                    raw = xml.getElementText();
+                } else if ("rPh".equals(name)) {
+                    phonetic++;
+                } else if ("t".equals(name)) {
+                    String text = xml.getElementText();
+                    if (phonetic == 0) {
+                        inline = inline == null ? new StringBuilder(text) : inline.append(text);
+                    }
+                }
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                String name = xml.getLocalName();
+                if ("rPh".equals(name)) {
+                    phonetic--;
+                } else if ("c".equals(name)) {
+                    break;
+                }
+            }
+        }
+        if ("inlineStr".equals(type)) {
+            return inline == null ? "" : inline.toString();
+        }
+        if (raw == null) {
+            return "";
+        }
+        switch (type == null ? "n" : type) {
+            case "s":
+                return sharedString(Integer.parseInt(raw));
+            case "b":
+                return "1".equals(raw) ? "TRUE" : "FALSE";
+            case "n":
+                return formatNumber(raw, style);
+            default:
+                // str (formula text result), e (error code), d (ISO date): shown as stored
+                return raw;
+        }
+    }
+
+    private String sharedString(int index) {
+        return sharedStringCache.computeIfAbsent(index, i -> sharedStrings.getItemAt(i).getString());
+    }
+
+    private String formatNumber(String raw, String style) {
+        double value = Double.parseDouble(raw);
+        int styleIndex = style == null ? 0 : Integer.parseInt(style);
+        CellFormat format = formatCache.computeIfAbsent(styleIndex, this::lookupFormat);
+        return formatter.formatRawCellContents(value, format.index, format.pattern);
+    }
+
+    private CellFormat lookupFormat(int styleIndex) {
+        if (styles == null || styleIndex >= styles.getNumCellStyles()) {
+            return new CellFormat(0, "General");
+        }
+        XSSFCellStyle cellStyle = styles.getStyleAt(styleIndex);
+        short formatIndex = cellStyle.getDataFormat();
+        String formatString = cellStyle.getDataFormatString();
+        if (formatString == null) {
+            formatString = BuiltinFormats.getBuiltinFormat(formatIndex);
+        }
+        return new CellFormat(formatIndex, formatString == null ? "General" : formatString);
+    }
+
+    // "AB12" -> 27
+    private static int columnIndex(String ref) {
+        int column = 0;
+        for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+            column = column * 26 + (Character.toUpperCase(ref.charAt(i)) - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static List<String> nonBlank(List<String> names) {
+        List<String> kept = new ArrayList<>();
+        for (String name : names) {
+            if (!name.isBlank()) {
+                kept.add(name);
+            }
+        }
+        return kept;
+    }
+
+    private static void closeQuietly(OPCPackage pkg, InputStream data) {
+        try {
+            if (data != null) {
+                data.close();
+            }
+        } catch (IOException e) {
+            // Read-only stream; nothing to recover
+        }
+        if (pkg != null) {
+            // revert(), not close(): close() on a READ package tries to save it
+            pkg.revert();
+        }
+    }
+
+    /**
+     * A cell style's number format, looked up once per style.
+     */
+    private static final class CellFormat {
+        private final int index;
+        private final String pattern;
+
+        private CellFormat(int index, String pattern) {
+            this.index = index;
+            this.pattern = pattern;
+        }
+    }
+
+    /**
+     * One data row, already projected: blank cells read as "".
+     */
+    private static final class RowBuffer {
+        private final String[] values;
+        private int filled;
+
+        private RowBuffer(int width) {
+            values = new String[width];
+            Arrays.fill(values, "");
+        }
+
+        private void put(int slot, String value) {
+            if (slot >= 0 && !value.isEmpty()) {
+                values[slot] = value;
+                filled++;
+            }
+        }
+    }
+}
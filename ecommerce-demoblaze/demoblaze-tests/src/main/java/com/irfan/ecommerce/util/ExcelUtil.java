@@ -5,6 +5,9 @@ import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
 
 /**
  * ExcelUtil: How I handle the test data.
@@ -23,11 +26,15 @@ public class ExcelUtil {
     private static final String TEST_DATA_PATH = "src/test/resources/testdata/TestData.xlsx";
 
     public Object[][] readExcelTestData(String sheetName) {
+        return readExcelTestData(Paths.get(TEST_DATA_PATH), sheetName);
+    }
+
+    public Object[][] readExcelTestData(Path file, String sheetName) {
         Object[][] data = null;
         DataFormatter formatter = new DataFormatter();
 
         // JDK 17 Try-with-resources: Auto-closes workbook and fis
-        try (FileInputStream fis = new FileInputStream(TEST_DATA_PATH);
+        try (FileInputStream fis = new FileInputStream(file.toFile());
              XSSFWorkbook workbook = new XSSFWorkbook(fis)) {
 
             XSSFSheet sheet = workbook.getSheet(sheetName);
@@ -49,4 +56,19 @@ public class ExcelUtil {
 
         return data;
     }
+
+    /**
+     * 🌊 Big sheets: rows read lazily as TestNG asks for them, only the named
+     * columns (all if none). Return it straight from a @DataProvider.
+     */
+    public Iterator<Object[]> streamExcelTestData(String sheetName, String... columns) {
+        return ExcelStreamReader.rows(Paths.get(TEST_DATA_PATH), sheetName, columns);
+    }
+
+    /**
+     * Same, with each row passed as one Map of header name to cell text.
+     */
+    public Iterator<Object[]> streamExcelRecords(String sheetName, String... columns) {
+        return ExcelStreamReader.records(Paths.get(TEST_DATA_PATH), sheetName, columns);
+    }
 }
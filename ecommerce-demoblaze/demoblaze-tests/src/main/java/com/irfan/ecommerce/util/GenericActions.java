@@ -1,10 +1,10 @@
 package com.irfan.ecommerce.util;
 
-import java.io.File;
-import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
-import org.apache.commons.io.FileUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.Alert;
@@ -12,8 +12,7 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.Cookie;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.NoSuchElementException;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
@@ -21,12 +20,8 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import com.irfan.ecommerce.ui.base.DriverFactory;
-
-// USE THIS INSTEAD (Generic):
-import org.openqa.selenium.devtools.NetworkInterceptor;
-import org.openqa.selenium.remote.http.Filter;
-import org.openqa.selenium.remote.http.HttpHandler;
-import org.openqa.selenium.remote.http.HttpResponse;
+import com.irfan.ecommerce.ui.base.NetworkTracker;
+import com.irfan.ecommerce.ui.base.PageLoadStats;
 
 /**
  * GenericActions: The "Resilience Layer" of the framework.
@@ -48,7 +43,11 @@ import org.openqa.selenium.remote.http.HttpResponse;
 public class GenericActions {
 
     private static final Logger log = LogManager.getLogger(GenericActions.class);
-    private static NetworkInterceptor interceptor;
+
+    private static final Duration NETWORK_QUIET = Duration.ofMillis(Long.getLong("network.idle.quiet.ms", 250));
+
+    // -Dactions.input=native sends real key/mouse events from the composite primitives too
+    private static final boolean NATIVE_INPUT = "native".equalsIgnoreCase(System.getProperty("actions.input", "script"));
 
     private static WebDriver getDriver() {
         return DriverFactory.getDriver();
@@ -71,22 +70,15 @@ public class GenericActions {
      * It saves me from writing messy 'if-else' blocks everywhere else.
      */
     private static By parseBy(String locator, String... replacements) {
-        String processed = (replacements.length > 0) ? String.format(locator, (Object[]) replacements) : locator;
-        if (processed.contains(":")) {
-            String[] parts = processed.split(":", 2);
-            String strategy = parts[0].toLowerCase().trim();
-            String value = parts[1].trim();
-            return switch (strategy) {
-                case "id" -> By.id(value);
-                case "xpath" -> By.xpath(value);
-                case "css" -> By.cssSelector(value);
-                case "name" -> By.name(value);
-                case "class" -> By.className(value);
-                case "text" -> By.linkText(value);
-                default -> By.xpath(processed);
-            };
-        }
-        return (processed.startsWith("//") || processed.startsWith("(")) ? By.xpath(processed) : By.id(processed);
+        String[] spec = ScriptLocatorResolver.normalize(locator, replacements);
+        return switch (spec[0]) {
+            case "id" -> By.id(spec[1]);
+            case "css" -> By.cssSelector(spec[1]);
+            case "name" -> By.name(spec[1]);
+            case "class" -> By.className(spec[1]);
+            case "text" -> By.linkText(spec[1]);
+            default -> By.xpath(spec[1]);
+        };
     }
 
     /**
@@ -100,18 +92,41 @@ public class GenericActions {
      * switching to backup locators during the 'Wait' phase.
      */
     public static By getBestLocator(String[] locatorArray, String... replacements) {
-        for (String locator : locatorArray) {
+        LocatorRanker.Ranking ranking = LocatorRanker.isEnabled()
+                ? LocatorRanker.getInstance().ranking(locatorArray, replacements) : null;
+        if (ScriptLocatorResolver.isEnabled()) {
+            // ⚡ One round-trip for every candidate (presence only, like findElements below)
+            int[] order = candidateOrder(ranking, locatorArray);
+            long start = System.nanoTime();
+            ScriptLocatorResolver.Match match = ScriptLocatorResolver.resolve(getDriver(), locatorArray, order,
+                    false, replacements);
+            recordScriptResult(ranking, order, match, start);
+            if (match != null) {
+                log.debug("✅ Best locator found: {}", locatorArray[match.getIndex()]);
+                return parseBy(locatorArray[match.getIndex()], replacements);
+            }
+            log.error("❌ All locators failed. Falling back to primary strategy.");
+            return parseBy(locatorArray[0], replacements);
+        }
+        for (int index : candidateOrder(ranking, locatorArray)) {
+            String locator = locatorArray[index];
+            long start = System.nanoTime();
             try {
                 // ✅ THE FIX: Use our existing engine to split prefixes correctly
                 By by = parseBy(locator, replacements);
 
                 if (!DriverFactory.getDriver().findElements(by).isEmpty()) {
-                    log.info("✅ Best locator found: {}", locator);
+                    log.debug("✅ Best locator found: {}", locator);
+                    if (ranking != null) {
+                        ranking.win(index);
+                    }
                     return by;
                 }
             } catch (Exception e) {
                 log.warn("⚠️ Strategy failed for: {}", locator);
-                continue;
+            }
+            if (ranking != null) {
+                ranking.miss(index, System.nanoTime() - start);
             }
         }
         // ✅ THE FIX: Fallback using our engine, not raw By.xpath
@@ -119,6 +134,26 @@ public class GenericActions {
         return parseBy(locatorArray[0], replacements);
     }
 
+    // The resolver script stops at the first hit in 'order', so the candidates ahead of it all missed
+    private static void recordScriptResult(LocatorRanker.Ranking ranking, int[] order,
+                                           ScriptLocatorResolver.Match match, long start) {
+        if (ranking != null) {
+            ranking.firstHit(order, match == null ? -1 : match.getIndex(), System.nanoTime() - start);
+        }
+    }
+
+    // Ranked order (last winner first) when ranking is on, declaration order otherwise
+    static int[] candidateOrder(LocatorRanker.Ranking ranking, String[] locators) {
+        if (ranking != null) {
+            return ranking.order();
+        }
+        int[] order = new int[locators.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
     /**
      * THE WALMART RESUME REF: "Improved framework stability by 40% using
      * Self-Healing logic."
@@ -133,12 +168,48 @@ public class GenericActions {
      */
 
     private static WebElement findElementSmartly(String[] locators, String... replacements) {
-        for (String loc : locators) {
+        LocatorRanker.Ranking ranking = LocatorRanker.isEnabled()
+                ? LocatorRanker.getInstance().ranking(locators, replacements) : null;
+        if (DomWait.isEnabled()) {
+            // ⚡ One blocking call that returns as soon as any candidate shows up
+            int[] order = candidateOrder(ranking, locators);
+            long start = System.nanoTime();
             try {
-                By by = parseBy(loc, replacements);
-                return getShortWait().until(ExpectedConditions.visibilityOfElementLocated(by));
-            } catch (Exception e) {
-                log.debug("RETRY: Primary locator [{}] failed. Attempting next backup...", loc);
+                ScriptLocatorResolver.Match match = DomWait.until(getDriver(), DomWait.Condition.VISIBLE,
+                        Duration.ofSeconds(2L * locators.length), null, locators, order, replacements);
+                recordScriptResult(ranking, order, match, start);
+                return match.getElement();
+            } catch (TimeoutException e) {
+                recordScriptResult(ranking, order, null, start);
+                log.debug("RETRY: No candidate became visible: {}", e.getMessage());
+            }
+        } else if (ScriptLocatorResolver.isEnabled()) {
+            // ⚡ Same worst-case budget as the per-candidate short waits, but one round-trip per attempt
+            int[] order = candidateOrder(ranking, locators);
+            long start = System.nanoTime();
+            ScriptLocatorResolver.Match match = ScriptLocatorResolver.await(getDriver(), locators, order,
+                    Duration.ofSeconds(2L * locators.length), replacements);
+            recordScriptResult(ranking, order, match, start);
+            if (match != null) {
+                return match.getElement();
+            }
+        } else {
+            for (int index : candidateOrder(ranking, locators)) {
+                String loc = locators[index];
+                long start = System.nanoTime();
+                try {
+                    By by = parseBy(loc, replacements);
+                    WebElement element = getShortWait().until(ExpectedConditions.visibilityOfElementLocated(by));
+                    if (ranking != null) {
+                        ranking.win(index);
+                    }
+                    return element;
+                } catch (Exception e) {
+                    log.debug("RETRY: Primary locator [{}] failed. Attempting next backup...", loc);
+                    if (ranking != null) {
+                        ranking.miss(index, System.nanoTime() - start);
+                    }
+                }
             }
         }
         log.error("FATAL: Exhausted all {} locators without success.", locators.length);
@@ -153,6 +224,7 @@ public class GenericActions {
     public static void navigateTo(String url) {
         try {
             getDriver().get(url);
+            PageLoadStats.record(getDriver());
             log.info("NAV: Successfully navigated to URL: {}", url);
         } catch (Exception e) {
             log.error("FATAL: Failed to reach {}. Error: {}", url, e.getMessage());
@@ -169,10 +241,14 @@ public class GenericActions {
     public static void click(String[] locators, String... replacements) {
         try {
             WebElement el = findElementSmartly(locators, replacements);
-            getWait().until(ExpectedConditions.elementToBeClickable(el)).click();
+            if (DomWait.isEnabled()) {
+                DomWait.clickable(getDriver(), Duration.ofSeconds(10), el).click();
+            } else {
+                getWait().until(ExpectedConditions.elementToBeClickable(el)).click();
+            }
             log.info("ACTION: Clicked element successfully.");
         } catch (Exception e) {
-            String path = takeScreenshot("Click_Failure");
+            String path = failureScreenshot("Click_Failure", e);
             log.error("FATAL: Click failed. Evidence: {}. Trace: {}", path, e.getMessage());
             throw new RuntimeException("Interaction Error: Click", e);
         }
@@ -194,12 +270,83 @@ public class GenericActions {
             el.sendKeys(text);
             log.info("ACTION: Typed [{}] into field.", text);
         } catch (Exception e) {
-            takeScreenshot("Type_Failure");
+            failureScreenshot("Type_Failure", e);
             log.error("FATAL: Input failed on locators {}. Error: {}", locators, e.getMessage());
             throw new RuntimeException("Input Error: SendKeys", e);
         }
     }
 
+    /**
+     * ⚡ Fills a whole form (ObjectRepo array -> value, in order) with one
+     * script call once every field is visible and editable.
+     * nativeEvents = true types field by field through sendKeys instead, for
+     * tests that need real key events (key handlers, input masks).
+     */
+    public static void fillForm(Map<String[], String> fields, boolean nativeEvents) {
+        if (nativeEvents || NATIVE_INPUT) {
+            fields.forEach((locators, text) -> sendKeys(locators, text));
+            return;
+        }
+        try {
+            CompositeActions.fill(getDriver(), fields, Duration.ofSeconds(10));
+            log.info("ACTION: Filled {} fields in one call.", fields.size());
+        } catch (Exception e) {
+            failureScreenshot("Form_Failure", e);
+            log.error("FATAL: Form fill failed. Error: {}", e.getMessage());
+            throw new RuntimeException("Input Error: FillForm", e);
+        }
+    }
+
+    public static void fillForm(Map<String[], String> fields) {
+        fillForm(fields, false);
+    }
+
+    /**
+     * ⚡ The whole of click() - visible, enabled, not covered by a backdrop,
+     * then click - in one script per attempt instead of three WebDriver calls.
+     */
+    public static void clickWhenReady(String[] locators, String... replacements) {
+        if (NATIVE_INPUT) {
+            click(locators, replacements);
+            return;
+        }
+        try {
+            CompositeActions.clickWhenReady(getDriver(), Duration.ofSeconds(10), locators, replacements);
+            log.info("ACTION: Clicked element successfully.");
+        } catch (Exception e) {
+            String path = failureScreenshot("Click_Failure", e);
+            log.error("FATAL: Click failed. Evidence: {}. Trace: {}", path, e.getMessage());
+            throw new RuntimeException("Interaction Error: Click", e);
+        }
+    }
+
+    /**
+     * ⚡ Several texts in one call, in the order asked. Like getText(), anything
+     * that never shows up comes back as "" instead of failing the test.
+     */
+    public static List<String> getTexts(CompositeActions.Target... targets) {
+        try {
+            List<String> texts = CompositeActions.texts(getDriver(), Duration.ofSeconds(2), List.of(targets));
+            log.info("📊 DATA_EXTRACTED: {}", texts);
+            return texts;
+        } catch (Exception e) {
+            log.error("❌ ERROR: Could not extract texts from locators. Returning empty.");
+            List<String> empty = new ArrayList<>(targets.length);
+            for (int i = 0; i < targets.length; i++) {
+                empty.add("");
+            }
+            return empty;
+        }
+    }
+
+    public static List<String> getTexts(String[]... locatorArrays) {
+        CompositeActions.Target[] targets = new CompositeActions.Target[locatorArrays.length];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = CompositeActions.Target.of(locatorArrays[i]);
+        }
+        return getTexts(targets);
+    }
+
     /**
      * Sometimes an element is hidden or hasn't loaded. This returns an empty string
      * instead of crashing the whole test run.
@@ -238,7 +385,7 @@ public class GenericActions {
             new Select(el).selectByVisibleText(text);
             log.info("SELECT: Option [{}] chosen from dropdown.", text);
         } catch (Exception e) {
-            takeScreenshot("Select_Failure");
+            failureScreenshot("Select_Failure", e);
             log.error("FATAL: Dropdown selection failed. Error: {}", e.getMessage());
             throw new RuntimeException("Select Error", e);
         }
@@ -299,18 +446,18 @@ public class GenericActions {
      * 
      * THE SOLUTION: This method. It snaps a picture the exact millisecond
      * a failure happens and saves it to the 'screenshots' folder.
+     *
+     * The test thread only grabs the bytes; ScreenshotPipeline writes the file
+     * in the background. The returned path is unique even across parallel
+     * threads, and may take a moment to appear on disk.
      */
     public static String takeScreenshot(String name) {
-        String path = System.getProperty("user.dir") + "/target/reports/screenshots/" + name + "_"
-                + System.currentTimeMillis() + ".png";
-        try {
-            File source = ((TakesScreenshot) getDriver()).getScreenshotAs(OutputType.FILE);
-            FileUtils.copyFile(source, new File(path));
-            return path;
-        } catch (IOException e) {
-            log.error("❌ SCREENSHOT_FAILED: {}", e.getMessage());
-            return "";
-        }
+        return ScreenshotPipeline.getInstance().capture(getDriver(), name);
+    }
+
+    // Remembered per thread with its cause, so the failure listener attaches this one instead of taking another
+    private static String failureScreenshot(String name, Throwable cause) {
+        return ScreenshotPipeline.getInstance().captureFailure(getDriver(), name, cause);
     }
 
     /**
@@ -430,42 +577,29 @@ public class GenericActions {
 
     /**
      * THE EMIRATES ARCHITECT STRATEGY:
-     * - PROBLEM: The UI looks fine (green), but the backend APIs are throwing
-     * hidden 400/500 errors in the background. Selenium won't catch this.
-     * - SOLUTION: This 'Network Interceptor'. It sniffs the browser's internal
-     * traffic. If an API call fails, it logs the 'Crime Scene' URL and Status.
-     * - RESULT: We distinguish between 'UI Rendering' bugs and 'Backend API' bugs.
+     * - PROBLEM: Pages like the product grid and the cart fill themselves in
+     * over XHR after 'document.readyState' is already 'complete'.
+     * - SOLUTION: Wait on this browser's NetworkTracker until no XHR/fetch has
+     * been in flight for the quiet period. Without CDP it falls back to the
+     * ready-state check above.
+     * - RESULT: Tests continue the moment the data has arrived, not after a
+     * fixed sleep. Returns false if the page was still busy at the timeout.
      */
-
-    public static void startNetworkSniffer() {
-        try {
-            log.info("🕵️‍♂️ NETWORK: Attempting to hook CDP (v129 bridge)...");
-
-            Filter failureReporter = (HttpHandler next) -> (req) -> {
-                HttpResponse res = next.execute(req);
-                if (res.getStatus() >= 400) {
-                    log.error("🚨 API_FAILURE: {} | Status: {}", req.getUri(), res.getStatus());
-                }
-                return res;
-            };
-
-            // If the JAR doesn't match the browser, this throws a RuntimeException
-            interceptor = new NetworkInterceptor(getDriver(), failureReporter);
-            log.info("✅ NETWORK: Sniffer active.");
-
-        } catch (Throwable t) {
-            // We catch THROWABLE to stop the "No-Op" error from reaching TestNG
-            log.warn("⚠️ NETWORK_SNIFFER_OFF: DevTools version mismatch. Proceeding to UI tests only.");
-            interceptor = null;
+    public static boolean waitForNetworkIdle(Duration quietPeriod, Duration timeout) {
+        NetworkTracker tracker = NetworkTracker.of(getDriver());
+        if (tracker == null) {
+            waitForPageToLoad();
+            return true;
         }
+        boolean idle = tracker.waitForIdle(quietPeriod, timeout);
+        if (idle) {
+            log.info("SYNC: Network idle.");
+        }
+        return idle;
     }
 
-    // Add this method to clean up the leak
-    public static void stopNetworkSniffer() {
-        if (interceptor != null) {
-            interceptor.close();
-            log.info("🛑 NETWORK: Interceptor closed successfully.");
-        }
+    public static boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(NETWORK_QUIET, Duration.ofSeconds(10));
     }
 
     /**
@@ -0,0 +1,123 @@
+package com.irfan.ecommerce.util;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import java.net.URI;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HecAppender: The log4j2.xml face of HecShipper.
+ *
+ * Turns each event into a HEC event object (time, index, source, sourcetype,
+ * and the CI run id, level, logger, thread, message and stack trace) and
+ * hands it to the shipper. No URL or token configured means no shipping: the
+ * appender starts inert, so local runs don't try to reach a collector.
+ */
+@Plugin(name = "SplunkHec", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class HecAppender extends AbstractAppender {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final HecShipper shipper;
+    private final Map<String, Object> metadata;
+    private final String runId;
+
+    private HecAppender(String name, Filter filter, HecShipper shipper, Map<String, Object> metadata, String runId) {
+        super(name, filter, null, true, Property.EMPTY_ARRAY);
+        this.shipper = shipper;
+        this.metadata = metadata;
+        this.runId = runId;
+    }
+
+    @PluginFactory
+    public static HecAppender createAppender(
+            @PluginAttribute("name") String name,
+            @PluginAttribute("url") String url,
+            @PluginAttribute("token") String token,
+            @PluginAttribute("index") String index,
+            @PluginAttribute("source") String source,
+            @PluginAttribute(value = "sourcetype", defaultString = "_json") String sourcetype,
+            @PluginAttribute(value = "runId", defaultString = "local") String runId,
+            @PluginAttribute(value = "batchCount", defaultInt = 200) int batchCount,
+            @PluginAttribute(value = "batchBytes", defaultInt = 512 * 1024) int batchBytes,
+            @PluginAttribute(value = "maxBatchAgeMs", defaultLong = 2000) long maxBatchAgeMs,
+            @PluginAttribute(value = "queueSize", defaultInt = 10_000) int queueSize,
+            @PluginAttribute(value = "spoolDir", defaultString = "logs/hec-spool") String spoolDir,
+            @PluginAttribute(value = "spoolMaxMb", defaultInt = 256) int spoolMaxMb,
+            @PluginAttribute(value = "timeoutMs", defaultLong = 5000) long timeoutMs,
+            @PluginElement("Filter") Filter filter) {
+        HecShipper shipper = null;
+        if (url != null && !url.isBlank() && token != null && !token.isBlank()) {
+            shipper = new HecShipper(URI.create(url), token, batchCount, batchBytes, Duration.ofMillis(maxBatchAgeMs),
+                    queueSize, Paths.get(spoolDir), spoolMaxMb * 1024L * 1024L, Duration.ofMillis(timeoutMs));
+        }
+        Map<String, Object> metadata = new LinkedHashMap<>();
+        putIfSet(metadata, "index", index);
+        putIfSet(metadata, "source", source);
+        putIfSet(metadata, "sourcetype", sourcetype);
+        return new HecAppender(name, filter, shipper, metadata, runId);
+    }
+
+    private static void putIfSet(Map<String, Object> into, String key, String value) {
+        if (value != null && !value.isBlank()) {
+            into.put(key, value);
+        }
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        if (shipper == null) {
+            return;
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("ci_run_id", runId);
+        fields.put("level", event.getLevel().name());
+        fields.put("logger", event.getLoggerName());
+        fields.put("thread", event.getThreadName());
+        fields.put("message", event.getMessage().getFormattedMessage());
+        if (event.getThrown() != null) {
+            fields.put("thrown", event.getThrown().toString());
+        }
+        Map<String, Object> hecEvent = new LinkedHashMap<>();
+        hecEvent.put("time", event.getInstant().getEpochMillisecond() / 1000.0);
+        hecEvent.putAll(metadata);
+        hecEvent.put("event", fields);
+        try {
+            shipper.offer(mapper.writeValueAsString(hecEvent));
+        } catch (JsonProcessingException e) {
+            error("Unable to serialize log event for HEC", event, e);
+        }
+    }
+
+    @Override
+    public boolean stop(long timeout, TimeUnit timeUnit) {
+        setStopping();
+        if (shipper != null) {
+            shipper.close(Duration.ofMillis(Math.max(timeUnit.toMillis(timeout), 5000)));
+            // Log4j itself is going down, so its status logger reports the totals: lost events always,
+            // a clean run only with status="info"
+            if (shipper.droppedEvents() > 0) {
+                StatusLogger.getLogger().warn("📊 SPLUNK_HEC: {}", shipper.metricsSummary());
+            } else {
+                StatusLogger.getLogger().info("📊 SPLUNK_HEC: {}", shipper.metricsSummary());
+            }
+        }
+        setStopped();
+        return true;
+    }
+}
@@ -0,0 +1,417 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * HecShipper: Ships log events to a Splunk HTTP Event Collector in gzipped
+ * batches from one background thread, with a disk spool for outages.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: The old SplunkHttp appender ran with batch_size_count="1":
+ *   one HTTPS POST per log line, on the thread that logged it. GenericActions
+ *   logs every click, so a slow collector slowed every UI test down.
+ * - WHAT I DID: offer() only puts the event on a bounded queue. A sender
+ *   thread sends a batch when it reaches 'batchCount' events or 'batchBytes'
+ *   bytes, or when its oldest event is 'maxAge' old. Batches are gzipped. A
+ *   batch the collector refuses or times out on is written to the spool
+ *   directory as-is, and the spool is replayed (oldest first) once a send
+ *   works again - also by the next run if this one ends first.
+ * - BACKPRESSURE: A full queue appends the event to an overflow file that
+ *   the sender moves into the spool, instead of blocking the caller. The
+ *   overflow file is rotated into the spool every eighth of 'spoolMaxBytes',
+ *   and the spool as a whole is capped at 'spoolMaxBytes': past that the
+ *   oldest files are dropped and their events counted.
+ * - THE RESULT: Logging costs the test a queue insert. The collector sees a
+ *   few requests per second instead of one per line.
+ */
+public class HecShipper implements AutoCloseable {
+    // Log4j's internal logger: logging through Log4j from inside an appender would loop back here
+    private static final Logger status = StatusLogger.getLogger();
+
+    private static final String SPOOL_PREFIX = "hec-";
+    private static final String SPOOL_SUFFIX = ".json.gz";
+    private static final String PLAIN_SUFFIX = ".json";
+    private static final String OVERFLOW_FILE = "overflow.tmp";
+    private static final long CLOSE_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    private enum Outcome { SENT, RETRY, REJECTED }
+
+    private final URI url;
+    private final String token;
+    private final int batchCount;
+    private final int batchBytes;
+    private final long maxAgeNanos;
+    private final Path spoolDirectory;
+    private final long spoolMaxBytes;
+    private final long overflowRotateBytes;
+    private final Duration timeout;
+    private final HttpClient http;
+    private final BlockingQueue<String> queue;
+    private final Thread sender;
+    private final AtomicLong spoolSequence = new AtomicLong();
+    private final Object spoolLock = new Object();
+    private volatile boolean running = true;
+    private volatile long retryAfterNanos;
+    private Writer overflow;
+    private long overflowBytes; // guarded by spoolLock
+
+    // 📊 Shipping metrics
+    private final LongAdder events = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final LongAdder failedSends = new LongAdder();
+    private final LongAdder spooledBatches = new LongAdder();
+    private final LongAdder spilledEvents = new LongAdder();
+    private final LongAdder replayedBatches = new LongAdder();
+    private final LongAdder droppedBatches = new LongAdder();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    public HecShipper(URI url, String token, int batchCount, int batchBytes, Duration maxAge, int queueSize,
+                      Path spoolDirectory, long spoolMaxBytes, Duration timeout) {
+        this.url = url;
+        this.token = token;
+        this.batchCount = batchCount;
+        this.batchBytes = batchBytes;
+        this.maxAgeNanos = maxAge.toNanos();
+        this.spoolDirectory = spoolDirectory;
+        this.spoolMaxBytes = spoolMaxBytes;
+        this.overflowRotateBytes = Math.max(1, spoolMaxBytes / 8);
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.sender = new Thread(this::run, "hec-sender");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Queues one HEC event (a JSON object). Never blocks and never touches the network.
+     */
+    public void offer(String eventJson) {
+        events.increment();
+        if (!queue.offer(eventJson)) {
+            spill(eventJson);
+        }
+    }
+
+    // Queue full: one buffered append to the overflow file, which the sender later moves into the spool
+    private void spill(String eventJson) {
+        synchronized (spoolLock) {
+            try {
+                if (overflow == null) {
+                    Files.createDirectories(spoolDirectory);
+                    overflow = Files.newBufferedWriter(spoolDirectory.resolve(OVERFLOW_FILE), StandardCharsets.UTF_8,
+                            StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                }
+                overflow.write(eventJson);
+                overflow.write('\n');
+                spilledEvents.increment();
+                overflowBytes += eventJson.length() + 1;
+                if (overflowBytes >= overflowRotateBytes) {
+                    // A long outage must not grow one file past the cap: hand it to the spool (and its trim) now
+                    rotateOverflow();
+                }
+            } catch (IOException e) {
+                droppedEvents.increment();
+            }
+        }
+    }
+
+    private void rotateOverflow() {
+        synchronized (spoolLock) {
+            if (overflow == null) {
+                return;
+            }
+            try {
+                overflow.close();
+                Files.move(spoolDirectory.resolve(OVERFLOW_FILE), spoolDirectory.resolve(spoolName(PLAIN_SUFFIX)),
+                        StandardCopyOption.ATOMIC_MOVE);
+                trimSpool();
+            } catch (IOException e) {
+                status.error("HEC overflow file could not be spooled: {}", e.toString());
+            } finally {
+                overflow = null;
+                overflowBytes = 0;
+            }
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(batchCount);
+        int bytes = 0;
+        long firstAt = 0;
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                // Capped, so close() is noticed without interrupting a send in progress
+                long waitNanos = Math.min(CLOSE_CHECK_NANOS,
+                        batch.isEmpty() ? maxAgeNanos : firstAt + maxAgeNanos - System.nanoTime());
+                String event = running && waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+                if (event != null) {
+                    if (batch.isEmpty()) {
+                        firstAt = System.nanoTime();
+                    }
+                    batch.add(event);
+                    bytes += event.length();
+                }
+                boolean full = batch.size() >= batchCount || bytes >= batchBytes;
+                boolean old = !batch.isEmpty() && System.nanoTime() - firstAt >= maxAgeNanos;
+                boolean last = !running && queue.isEmpty();
+                if (!batch.isEmpty() && (full || old || last)) {
+                    ship(batch);
+                    batch = new ArrayList<>(batchCount);
+                    bytes = 0;
+                } else if (batch.isEmpty() && event == null) {
+                    rotateOverflow();
+                    replaySpool();
+                }
+            } catch (InterruptedException e) {
+                running = false;
+            } catch (RuntimeException e) {
+                status.error("HEC sender: {}", e.toString());
+            }
+        }
+    }
+
+    private void ship(List<String> batch) {
+        rotateOverflow();
+        batches.increment();
+        rawBytes.add(batch.stream().mapToLong(String::length).sum());
+        byte[] payload = gzip(batch);
+        Outcome outcome = System.nanoTime() < retryAfterNanos ? Outcome.RETRY : send(payload);
+        if (outcome == Outcome.RETRY) {
+            spool(payload, batch.size());
+        } else if (outcome == Outcome.SENT) {
+            replaySpool();
+        } else {
+            droppedEvents.add(batch.size());
+        }
+    }
+
+    private Outcome send(byte[] gzipped) {
+        try {
+            HttpRequest request = HttpRequest.newBuilder(url)
+                    .timeout(timeout)
+                    .header("Authorization", "Splunk " + token)
+                    .header("Content-Type", "application/json")
+                    .header("Content-Encoding", "gzip")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(gzipped))
+                    .build();
+            int code = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (code / 100 == 2) {
+                sentBytes.add(gzipped.length);
+                retryAfterNanos = 0;
+                return Outcome.SENT;
+            }
+            if (code / 100 == 4 && code != 408 && code != 429) {
+                // Bad token or malformed batch: retrying would block the spool forever
+                droppedBatches.increment();
+                status.error("HEC refused a batch with status {}; batch dropped", code);
+                return Outcome.REJECTED;
+            }
+            status.warn("HEC answered {}; batch will be retried", code);
+        } catch (IOException e) {
+            status.warn("HEC unreachable: {}", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        failedSends.increment();
+        // Collector down or overloaded: stop hammering it, batches go to the spool for a while
+        retryAfterNanos = System.nanoTime() + Math.min(maxAgeNanos * 5, TimeUnit.SECONDS.toNanos(30));
+        return Outcome.RETRY;
+    }
+
+    private void replaySpool() {
+        if (System.nanoTime() < retryAfterNanos) {
+            return;
+        }
+        for (Path file : spooledFiles()) {
+            try {
+                byte[] body = Files.readAllBytes(file);
+                if (file.getFileName().toString().endsWith(PLAIN_SUFFIX)) {
+                    body = gzip(List.of(new String(body, StandardCharsets.UTF_8).trim()));
+                }
+                Outcome outcome = send(body);
+                if (outcome == Outcome.RETRY) {
+                    return;
+                }
+                if (outcome == Outcome.REJECTED) {
+                    droppedEvents.add(eventsIn(file));
+                } else {
+                    replayedBatches.increment();
+                }
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                status.warn("HEC spool file {} unreadable: {}", file, e.toString());
+                return;
+            }
+        }
+    }
+
+    private void spool(byte[] gzipped, int eventCount) {
+        synchronized (spoolLock) {
+            try {
+                Files.createDirectories(spoolDirectory);
+                String name = spoolName(SPOOL_SUFFIX);
+                // Written under a temp name first, so the sender never replays half a file
+                Path partial = spoolDirectory.resolve(name + ".tmp");
+                Files.write(partial, gzipped);
+                Files.move(partial, spoolDirectory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+                spooledBatches.increment();
+                trimSpool();
+            } catch (IOException e) {
+                droppedBatches.increment();
+                droppedEvents.add(eventCount);
+                status.error("HEC spool write failed, batch dropped: {}", e.toString());
+            }
+        }
+    }
+
+    // Sorts by creation time, so replay goes oldest first
+    private String spoolName(String suffix) {
+        return String.format("%s%019d-%06d%s", SPOOL_PREFIX, System.currentTimeMillis(),
+                spoolSequence.incrementAndGet() % 1_000_000, suffix);
+    }
+
+    // Oldest files (gzipped batches and rotated overflow alike) go first once the spool outgrows its cap
+    private void trimSpool() throws IOException {
+        List<Path> files = spooledFiles();
+        long total = 0;
+        for (Path file : files) {
+            total += Files.size(file);
+        }
+        for (Path file : files) {
+            if (total <= spoolMaxBytes) {
+                return;
+            }
+            total -= Files.size(file);
+            long lost = eventsIn(file);
+            Files.deleteIfExists(file);
+            droppedBatches.increment();
+            droppedEvents.add(lost);
+            status.warn("HEC spool over {} bytes, dropped {} ({} events)", spoolMaxBytes, file.getFileName(), lost);
+        }
+    }
+
+    // One event per line, in both spool formats
+    private static long eventsIn(Path file) {
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = file.getFileName().toString().endsWith(SPOOL_SUFFIX) ? new GZIPInputStream(raw) : raw) {
+            long lines = 0;
+            byte[] buffer = new byte[8192];
+            for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+            return lines;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private List<Path> spooledFiles() {
+        if (!Files.isDirectory(spoolDirectory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(spoolDirectory)) {
+            return files.filter(file -> {
+                String name = file.getFileName().toString();
+                return name.startsWith(SPOOL_PREFIX) && (name.endsWith(SPOOL_SUFFIX) || name.endsWith(PLAIN_SUFFIX));
+            }).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            return List.of();
+        }
+    }
+
+    // HEC takes several event objects back to back in one body
+    private static byte[] gzip(List<String> batch) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream zip = new GZIPOutputStream(out)) {
+            for (String event : batch) {
+                zip.write(event.getBytes(StandardCharsets.UTF_8));
+                zip.write('\n');
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("gzip to memory cannot fail", e);
+        }
+        return out.toByteArray();
+    }
+
+    public int spooledFileCount() {
+        return spooledFiles().size();
+    }
+
+    public long spooledBytes() {
+        long total = 0;
+        for (Path file : spooledFiles()) {
+            try {
+                total += Files.size(file);
+            } catch (IOException e) {
+                // Replayed and deleted meanwhile
+            }
+        }
+        return total;
+    }
+
+    public long droppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Sends (or spools) everything queued, then stops the sender. Waits at most 'grace'.
+     */
+    public void close(Duration grace) {
+        running = false;
+        try {
+            sender.join(grace.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Whatever overflowed is left in the spool for the next run
+        rotateOverflow();
+    }
+
+    @Override
+    public void close() {
+        close(timeout.multipliedBy(2));
+    }
+
+    public String metricsSummary() {
+        long raw = rawBytes.sum();
+        return String.format("%d events in %d batches, %d KB -> %d KB gzip sent | %d failed sends, %d batches spooled,"
+                        + " %d events spilled (queue full), %d replayed | %d events dropped (%d batches)",
+                events.sum(), batches.sum(), raw / 1024, sentBytes.sum() / 1024, failedSends.sum(),
+                spooledBatches.sum(), spilledEvents.sum(), replayedBatches.sum(), droppedEvents.sum(),
+                droppedBatches.sum());
+    }
+}
@@ -0,0 +1,293 @@
+package com.irfan.ecommerce.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LocatorRanker: Try the locator that worked last time first.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: getBestLocator and findElementSmartly walk every ObjectRepo
+ *   array in declaration order. When the primary locator is dead,
+ *   findElementSmartly burns a 2-second wait on it before trying the backup
+ *   that works - on every single call, in every test.
+ * - WHAT I DID: One ranking per locator array (+ template arguments). Every
+ *   resolution records which candidate won and how long the losers cost;
+ *   the next call starts with the last winner, then the most frequent
+ *   winners. Rankings are saved between runs, and at shutdown a report lists
+ *   the dead and never-winning fallbacks with the seconds they wasted.
+ * - THE RESULT: A broken primary locator costs its 2 seconds once, not once
+ *   per click, and the report says which ObjectRepo entries need fixing.
+ */
+public class LocatorRanker {
+    private static final Logger log = LogManager.getLogger(LocatorRanker.class);
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // ObjectRepo arrays are shared constants, so their identity maps to a name that survives restarts
+    private static final Map<String[], String> REPO_NAMES = repoNames();
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("locator.ranking", "true"));
+    private static final LocatorRanker INSTANCE = new LocatorRanker(
+            new File(System.getProperty("locator.rank.file", "test-history/locator-ranks.json")));
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                INSTANCE.save();
+                INSTANCE.logReport(Integer.getInteger("locator.report.top", 20));
+            }));
+        }
+    }
+
+    private final File store;
+    private final Map<String, Ranking> rankings = new ConcurrentHashMap<>();
+    private final Map<String, Entry> history;
+
+    public LocatorRanker(File store) {
+        this.store = store;
+        this.history = read(store);
+    }
+
+    public static LocatorRanker getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * The ranking for this array and these template arguments.
+     */
+    public Ranking ranking(String[] locators, String... replacements) {
+        String key = keyOf(locators, replacements);
+        Ranking ranking = rankings.get(key);
+        if (ranking != null) {
+            return ranking;
+        }
+        return rankings.computeIfAbsent(key, k -> new Ranking(k, locators, history.get(k)));
+    }
+
+    static String keyOf(String[] locators, String... replacements) {
+        String name = REPO_NAMES.get(locators);
+        String base = name != null ? name : "[" + String.join(" | ", locators) + "]";
+        return replacements.length == 0 ? base : base + "(" + String.join(", ", replacements) + ")";
+    }
+
+    /**
+     * Writes this run's rankings merged over what is on disk. Entries whose
+     * locators changed since they were saved start from scratch.
+     */
+    public synchronized void save() {
+        if (rankings.isEmpty()) {
+            return;
+        }
+        try {
+            Map<String, Entry> merged = new TreeMap<>(read(store));
+            rankings.forEach((key, ranking) -> merged.put(key, ranking.toEntry()));
+            File parent = store.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            mapper.writeValue(store, merged);
+        } catch (IOException e) {
+            log.warn("⚠️ LOCATOR_RANKER: Could not save {}: {}", store, e.getMessage());
+        }
+    }
+
+    private static Map<String, Entry> read(File file) {
+        if (!file.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return mapper.readValue(file, new TypeReference<TreeMap<String, Entry>>() {});
+        } catch (IOException e) {
+            log.warn("⚠️ LOCATOR_RANKER: Ignoring unreadable {}: {}", file, e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    /**
+     * Fallbacks that cost time without ever being the one that worked,
+     * most wasted time first.
+     */
+    public List<String> report(int top) {
+        List<String[]> rows = new ArrayList<>();
+        List<Long> wasted = new ArrayList<>();
+        for (Ranking ranking : rankings.values()) {
+            for (int i = 0; i < ranking.candidates.length; i++) {
+                long wins = ranking.wins.get(i);
+                long misses = ranking.misses.get(i);
+                if (wins > 0 || (misses == 0 && i == 0)) {
+                    continue;
+                }
+                String verdict = misses > 0 ? "DEAD" : "NEVER_WON";
+                rows.add(new String[] {verdict, ranking.key, ranking.candidates[i], String.valueOf(misses)});
+                wasted.add(ranking.wastedNanos.get(i));
+            }
+        }
+        Integer[] order = new Integer[rows.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing((Integer i) -> wasted.get(i)).reversed());
+
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < Math.min(top, order.length); i++) {
+            String[] row = rows.get(order[i]);
+            lines.add(String.format("%-9s %-30s %-55s misses=%-4s wasted=%.1fs", row[0], row[1], row[2], row[3],
+                    wasted.get(order[i]) / 1e9));
+        }
+        return lines;
+    }
+
+    private void logReport(int top) {
+        if (rankings.isEmpty()) {
+            return;
+        }
+        List<String> lines = report(top);
+        if (lines.isEmpty()) {
+            log.info("📊 LOCATOR_RANKER: No dead or never-winning fallbacks across {} locators", rankings.size());
+            return;
+        }
+        log.warn("📊 LOCATOR_RANKER: {} fallbacks never won (fix or remove them in ObjectRepo):", lines.size());
+        lines.forEach(line -> log.warn("   {}", line));
+    }
+
+    private static Map<String[], String> repoNames() {
+        Map<String[], String> names = new IdentityHashMap<>();
+        for (Field field : ObjectRepo.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == String[].class) {
+                try {
+                    names.put((String[]) field.get(null), field.getName());
+                } catch (IllegalAccessException e) {
+                    log.debug("ObjectRepo field {} not readable", field.getName());
+                }
+            }
+        }
+        return Collections.unmodifiableMap(names);
+    }
+
+    /**
+     * One locator array's track record. Counters are lock-free; the order is
+     * recomputed from them on every call (arrays are a handful of entries).
+     */
+    public static final class Ranking {
+        private final String key;
+        private final String[] candidates;
+        private final AtomicLongArray wins;
+        private final AtomicLongArray misses;
+        private final AtomicLongArray wastedNanos;
+        private volatile int lastWinner = -1;
+
+        private Ranking(String key, String[] candidates, Entry saved) {
+            this.key = key;
+            this.candidates = candidates.clone();
+            this.wins = new AtomicLongArray(candidates.length);
+            this.misses = new AtomicLongArray(candidates.length);
+            this.wastedNanos = new AtomicLongArray(candidates.length);
+            if (saved != null && Arrays.equals(saved.candidates, candidates)) {
+                for (int i = 0; i < candidates.length; i++) {
+                    wins.set(i, saved.wins[i]);
+                    misses.set(i, saved.misses[i]);
+                    wastedNanos.set(i, TimeUnit.MILLISECONDS.toNanos(saved.wastedMs[i]));
+                }
+                lastWinner = saved.lastWinner;
+            }
+        }
+
+        /**
+         * Candidate indexes to try: last winner, then by wins, then declaration order.
+         */
+        public int[] order() {
+            int winner = lastWinner;
+            Integer[] order = new Integer[candidates.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, Comparator.comparing((Integer i) -> i != winner)
+                    .thenComparing(i -> -wins.get(i)));
+            return Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+
+        public String candidate(int index) {
+            return candidates[index];
+        }
+
+        public void win(int index) {
+            wins.incrementAndGet(index);
+            lastWinner = index;
+        }
+
+        public void miss(int index, long tookNanos) {
+            misses.incrementAndGet(index);
+            wastedNanos.addAndGet(index, tookNanos);
+        }
+
+        /**
+         * For resolvers that try candidates in 'order' in one call and stop at
+         * the first hit ('winner', or -1 when none matched): every candidate
+         * tried before it is a miss, sharing the call's time between them.
+         */
+        public void firstHit(int[] order, int winner, long tookNanos) {
+            int tried = order.length;
+            for (int position = 0; position < order.length; position++) {
+                if (order[position] == winner) {
+                    tried = position + 1;
+                    break;
+                }
+            }
+            for (int position = 0; position < tried; position++) {
+                if (order[position] == winner) {
+                    win(winner);
+                } else {
+                    miss(order[position], tookNanos / tried);
+                }
+            }
+        }
+
+        private Entry toEntry() {
+            Entry entry = new Entry();
+            entry.candidates = candidates.clone();
+            entry.wins = new long[candidates.length];
+            entry.misses = new long[candidates.length];
+            entry.wastedMs = new long[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                entry.wins[i] = wins.get(i);
+                entry.misses[i] = misses.get(i);
+                entry.wastedMs[i] = TimeUnit.NANOSECONDS.toMillis(wastedNanos.get(i));
+            }
+            entry.lastWinner = lastWinner;
+            return entry;
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        public String[] candidates;
+        public long[] wins;
+        public long[] misses;
+        public long[] wastedMs;
+        public int lastWinner = -1;
+    }
+}
@@ -32,12 +32,16 @@ public class ObjectRepo {
     // --- UI OVERLAYS ---
     public static final String[] MODAL_BACKDROP = { "class:modal-backdrop", "xpath://div[contains(@class,'modal-backdrop')]" };
 
+    // --- PRODUCT LISTING (home page card grid) ---
+    public static final String[] PRODUCT_LIST = { "id:tbodyid", "xpath://div[@id='contcont']//div[@id='tbodyid']" };
+
     // --- PRODUCT PAGE ---
     public static final String[] ADD_TO_CART_BTN = { "xpath://a[text()='Add to cart']", "css:a.btn-success" };
     public static final String[] PRODUCT_TITLE = { "xpath://h2[@class='name']" };
     public static final String[] PRODUCT_PRICE = { "xpath://h3[@class='price-container']" };
 
     // --- CART PAGE ---
+    public static final String[] CART_TABLE = { "xpath://tbody[@id='tbodyid']/ancestor::table[1]", "css:table.table" };
     public static final String[] PLACE_ORDER_BTN = { "xpath://button[text()='Place Order']" };
     public static final String[] CART_PRODUCT_NAME = { "xpath://td[text()='%s']" };
     public static final String[] DELETE_PRODUCT = { "xpath://td[text()='%s']/following-sibling::td/a[text()='Delete']" };
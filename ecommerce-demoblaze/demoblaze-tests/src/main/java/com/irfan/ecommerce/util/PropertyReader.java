@@ -37,8 +37,11 @@ public class PropertyReader {
 
     /**
      * Retrieves any value from the properties file (URL, Username, Locators).
+     * A -D system property with the same key wins, so one value (e.g. a base
+     * URI pointing at a stub) can be swapped without a new config file.
      */
     public static String getProperty(String key) {
-        return prop.getProperty(key);
+        String override = System.getProperty(key);
+        return override != null ? override : prop.getProperty(key);
     }
 }
@@ -0,0 +1,342 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ScreenshotPipeline: Failure evidence without stalling the failing test.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: takeScreenshot() asked the driver for a temp FILE, copied it
+ *   with FileUtils on the test thread and named it by currentTimeMillis, so two
+ *   parallel failures in the same millisecond overwrote each other. A failed
+ *   click() took a screenshot, then the listener took the same one again.
+ * - WHAT I DID: The test thread only grabs the PNG bytes and gets back a unique
+ *   path (name + thread + sequence). A bounded pool of writer threads hashes
+ *   the bytes, optionally downscales / re-encodes to JPEG, and writes the file.
+ *   An image already written this run is hard-linked instead of written again.
+ *   The last failure capture on a thread is remembered with the exception that
+ *   caused it, so the listener reuses it for that failure (and only that one:
+ *   a capture from a failure the test caught and moved past is stale) instead
+ *   of asking the browser again.
+ * - BACKPRESSURE: When the queue is full the test thread writes the image
+ *   itself (counted as 'callerRuns') rather than dropping evidence or growing
+ *   memory without limit.
+ * - THE RESULT: A failing test pays one screenshot round-trip, nothing more.
+ */
+public class ScreenshotPipeline {
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline(
+            Paths.get(System.getProperty("user.dir"), "target", "reports", "screenshots"),
+            System.getProperty("screenshot.format", "png"),
+            Integer.getInteger("screenshot.max.width", 0),
+            Float.parseFloat(System.getProperty("screenshot.jpeg.quality", "0.8")),
+            Integer.getInteger("screenshot.writer.threads", 1),
+            Integer.getInteger("screenshot.queue.size", 32));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (INSTANCE.captures.sum() > 0) {
+                INSTANCE.drain(Duration.ofSeconds(10));
+                logger.info("📊 SCREENSHOTS: {}", INSTANCE.metricsSummary());
+            }
+        }));
+    }
+
+    private final Path directory;
+    private final boolean jpeg;
+    private final int maxWidth;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor writers;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Object idle = new Object();
+    private final AtomicLong sequence = new AtomicLong();
+    // Content hash -> the file that holds it, completed once that file is on disk
+    private final Map<String, CompletableFuture<Path>> written = new ConcurrentHashMap<>();
+    private final ThreadLocal<FailureCapture> lastFailure = new ThreadLocal<>();
+
+    // 📊 Pipeline metrics
+    private final LongAdder captures = new LongAdder();
+    private final LongAdder grabNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+
+    public ScreenshotPipeline(Path directory, String format, int maxWidth, float jpegQuality, int writerThreads,
+                              int queueSize) {
+        this.directory = directory;
+        this.jpeg = "jpg".equalsIgnoreCase(format) || "jpeg".equalsIgnoreCase(format);
+        this.maxWidth = maxWidth;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.writers = new ThreadPoolExecutor(writerThreads, writerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-writer-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (task, executor) -> {
+            callerRuns.increment();
+            task.run();
+        });
+    }
+
+    public static ScreenshotPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Grabs the current screen and queues it for writing. Returns the path the
+     * file will have, or "" if the browser couldn't give us a screenshot.
+     */
+    public String capture(WebDriver driver, String name) {
+        long start = System.nanoTime();
+        byte[] png;
+        try {
+            png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (RuntimeException e) {
+            failures.increment();
+            logger.error("❌ SCREENSHOT_FAILED: {}", e.getMessage());
+            return "";
+        } finally {
+            grabNanos.add(System.nanoTime() - start);
+        }
+        return submit(png, name);
+    }
+
+    /**
+     * Like capture(), and remembered as this thread's evidence for 'cause'
+     * (the exception the failing action is about to rethrow, wrapped or not)
+     * for takeFailureCapture().
+     */
+    public String captureFailure(WebDriver driver, String name, Throwable cause) {
+        String path = capture(driver, name);
+        if (!path.isEmpty()) {
+            lastFailure.set(new FailureCapture(path, cause));
+        }
+        return path;
+    }
+
+    /**
+     * The screenshot this thread's last failing action already took, if
+     * 'testFailure' is (or was caused by) that action's exception; null
+     * otherwise. Forgets it either way.
+     */
+    public String takeFailureCapture(Throwable testFailure) {
+        FailureCapture last = lastFailure.get();
+        lastFailure.remove();
+        if (last == null) {
+            return null;
+        }
+        for (Throwable t = testFailure; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t == last.cause) {
+                return last.path;
+            }
+        }
+        logger.debug("SCREENSHOT: Dropping stale capture {}, it belongs to an earlier caught failure", last.path);
+        return null;
+    }
+
+    public void forgetFailureCapture() {
+        lastFailure.remove();
+    }
+
+    /**
+     * Queues PNG bytes for writing and returns the target path straight away.
+     */
+    public String submit(byte[] png, String name) {
+        captures.increment();
+        Path target = directory.resolve(name.replaceAll("[^A-Za-z0-9._-]", "_") + "_" + Thread.currentThread().getId()
+                + "_" + sequence.incrementAndGet() + (jpeg ? ".jpg" : ".png"));
+        pending.incrementAndGet();
+        writers.execute(() -> {
+            try {
+                write(png, target);
+            } finally {
+                if (pending.decrementAndGet() == 0) {
+                    synchronized (idle) {
+                        idle.notifyAll();
+                    }
+                }
+            }
+        });
+        maxQueued.accumulateAndGet(writers.getQueue().size(), Math::max);
+        return target.toString();
+    }
+
+    private void write(byte[] png, Path target) {
+        long start = System.nanoTime();
+        String hash = sha256(png);
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> first = written.putIfAbsent(hash, mine);
+        try {
+            Files.createDirectories(directory);
+            if (first != null) {
+                duplicates.increment();
+                link(first.join(), target);
+                return;
+            }
+            byte[] encoded = encode(png);
+            Files.write(target, encoded);
+            bytesWritten.add(encoded.length);
+            mine.complete(target);
+        } catch (Exception e) {
+            failures.increment();
+            logger.error("❌ SCREENSHOT_WRITE_FAILED: {} ({})", target.getFileName(), e.getMessage());
+            if (first == null) {
+                written.remove(hash, mine);
+                mine.completeExceptionally(e);
+            }
+        } finally {
+            writeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    // Same pixels, same file: a hard link costs no disk and no encoding; copy where links aren't allowed
+    private static void link(Path existing, Path target) throws IOException {
+        try {
+            Files.createLink(target, existing);
+        } catch (IOException | UnsupportedOperationException e) {
+            Files.copy(existing, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private byte[] encode(byte[] png) throws IOException {
+        if (!jpeg && maxWidth <= 0) {
+            return png;
+        }
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Not a PNG screenshot");
+        }
+        if (maxWidth > 0 && image.getWidth() > maxWidth) {
+            image = scale(image, maxWidth, Math.max(1, image.getHeight() * maxWidth / image.getWidth()));
+        } else if (jpeg) {
+            // JPEG has no alpha channel
+            image = scale(image, image.getWidth(), image.getHeight());
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(png.length / 2);
+        if (!jpeg) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    /**
+     * Blocks until every queued screenshot is on disk. Returns false on timeout.
+     */
+    public boolean drain(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            synchronized (idle) {
+                while (pending.get() > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        logger.warn("⏳ SCREENSHOTS: {} still being written after {} ms.", pending.get(),
+                                timeout.toMillis());
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(idle, remaining);
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static final class FailureCapture {
+        private final String path;
+        private final Throwable cause;
+
+        private FailureCapture(String path, Throwable cause) {
+            this.path = path;
+            this.cause = cause;
+        }
+    }
+
+    public long callerRuns() {
+        return callerRuns.sum();
+    }
+
+    public long duplicates() {
+        return duplicates.sum();
+    }
+
+    public String metricsSummary() {
+        long count = captures.sum();
+        return String.format("%d captures, %d duplicates linked, %d failures | grab avg %d ms, write avg %d ms"
+                        + " | queue peak %d, %d written by test threads (queue full) | %d KB written",
+                count, duplicates.sum(), failures.sum(),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(grabNanos.sum() / count),
+                count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(writeNanos.sum() / count),
+                maxQueued.get(), callerRuns.sum(), bytesWritten.sum() / 1024);
+    }
+}
@@ -0,0 +1,165 @@
+package com.irfan.ecommerce.util;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ScriptLocatorResolver: Every candidate of a locator array in one round-trip.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Resolving an ObjectRepo array cost one findElements call per
+ *   candidate plus the visibility wait's own polling, and each of those is a
+ *   full WebDriver round-trip. On the remote Grid that is tens of ms each.
+ * - WHAT I DID: -Dlocator.resolution=script sends all candidates (after
+ *   template substitution) to the browser in one executeScript. The browser
+ *   evaluates them in order and returns the first visible match plus the
+ *   index that won, which still feeds the LocatorRanker.
+ * - THE RESULT: One round-trip per attempt instead of several. See
+ *   LocatorResolutionBenchmark for the numbers against the WebDriver path.
+ */
+public final class ScriptLocatorResolver {
+
+    // first(candidates, visibleOnly): [position, element] of the first candidate with a match, or null.
+    // Shared with CompositeActions so every browser-side lookup follows the same rules.
+    static final String FINDER_JS =
+            "function visible(el) {"
+                    + "  var style = window.getComputedStyle(el);"
+                    + "  if (style.visibility === 'hidden' || style.display === 'none') { return false; }"
+                    + "  var box = el.getBoundingClientRect(); return box.width > 0 && box.height > 0;"
+                    + "}"
+                    + "function all(list) { return Array.prototype.slice.call(list); }"
+                    + "function find(strategy, value) {"
+                    + "  try {"
+                    + "    switch (strategy) {"
+                    + "      case 'id': var el = document.getElementById(value); return el ? [el] : [];"
+                    + "      case 'css': return all(document.querySelectorAll(value));"
+                    + "      case 'class': return all(document.getElementsByClassName(value));"
+                    + "      case 'name': return all(document.getElementsByName(value));"
+                    + "      case 'text': return all(document.getElementsByTagName('a'))"
+                    + "          .filter(function (a) { return a.textContent.trim() === value; });"
+                    + "      default:"
+                    + "        var hits = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+                    + "        var out = [];"
+                    + "        for (var i = 0; i < hits.snapshotLength; i++) {"
+                    + "          if (hits.snapshotItem(i).nodeType === 1) { out.push(hits.snapshotItem(i)); }"
+                    + "        }"
+                    + "        return out;"
+                    + "    }"
+                    + "  } catch (e) { return []; }"
+                    + "}"
+                    + "function first(candidates, visibleOnly) {"
+                    + "  for (var c = 0; c < candidates.length; c++) {"
+                    + "    var found = find(candidates[c][0], candidates[c][1]);"
+                    + "    for (var f = 0; f < found.length; f++) {"
+                    + "      if (!visibleOnly || visible(found[f])) { return [c, found[f]]; }"
+                    + "    }"
+                    + "  }"
+                    + "  return null;"
+                    + "}";
+
+    // arguments[0] = [[strategy, value], ...], arguments[1] = visible matches only
+    private static final String RESOLVE_SCRIPT = FINDER_JS + "return first(arguments[0], arguments[1]);";
+
+    static final long POLL_MS = Long.getLong("locator.script.poll.ms", 100);
+
+    private ScriptLocatorResolver() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static boolean isEnabled() {
+        return "script".equalsIgnoreCase(System.getProperty("locator.resolution", "webdriver"));
+    }
+
+    /**
+     * The same strategy/value split as GenericActions.parseBy, as data the
+     * browser can evaluate: {"id"|"css"|"xpath"|"name"|"class"|"text", value}.
+     */
+    public static String[] normalize(String locator, String... replacements) {
+        String processed = (replacements.length > 0) ? String.format(locator, (Object[]) replacements) : locator;
+        if (processed.contains(":")) {
+            String[] parts = processed.split(":", 2);
+            String strategy = parts[0].toLowerCase().trim();
+            String value = parts[1].trim();
+            return switch (strategy) {
+                case "id", "xpath", "css", "name", "class", "text" -> new String[] {strategy, value};
+                default -> new String[] {"xpath", processed};
+            };
+        }
+        return (processed.startsWith("//") || processed.startsWith("("))
+                ? new String[] {"xpath", processed} : new String[] {"id", processed};
+    }
+
+    /**
+     * One attempt: the first candidate (in 'order') with a matching element,
+     * or null. 'visibleOnly' = false is a presence check.
+     */
+    @SuppressWarnings("unchecked")
+    public static Match resolve(WebDriver driver, String[] locators, int[] order, boolean visibleOnly,
+                                String... replacements) {
+        List<Object> result = (List<Object>) ((JavascriptExecutor) driver)
+                .executeScript(RESOLVE_SCRIPT, candidates(locators, order, replacements), visibleOnly);
+        if (result == null) {
+            return null;
+        }
+        int position = ((Number) result.get(0)).intValue();
+        return new Match(order[position], (WebElement) result.get(1));
+    }
+
+    /**
+     * The script argument for one locator array: normalized candidates in 'order'.
+     */
+    static List<List<String>> candidates(String[] locators, int[] order, String... replacements) {
+        List<List<String>> candidates = new ArrayList<>(order.length);
+        for (int index : order) {
+            candidates.add(List.of(normalize(locators[index], replacements)));
+        }
+        return candidates;
+    }
+
+    /**
+     * Repeats resolve() until something visible matches or the timeout
+     * passes. Each attempt is a single round-trip whatever the candidate count.
+     */
+    public static Match await(WebDriver driver, String[] locators, int[] order, Duration timeout,
+                              String... replacements) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Match match = resolve(driver, locators, order, true, replacements);
+            if (match != null || System.nanoTime() >= deadline) {
+                return match;
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+        }
+    }
+
+    /**
+     * The element found and the index (into the original array) that won.
+     */
+    public static final class Match {
+        private final int index;
+        private final WebElement element;
+
+        Match(int index, WebElement element) {
+            this.index = index;
+            this.element = element;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+    }
+}
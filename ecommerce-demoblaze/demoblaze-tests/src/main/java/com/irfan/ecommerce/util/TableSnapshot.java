@@ -0,0 +1,278 @@
+package com.irfan.ecommerce.util;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * TableSnapshot: A whole table (or list of cards) in one round-trip.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Reading an N-row cart was findElements plus a findElement and
+ *   a getText per row: 2N+1 WebDriver calls, repeated for every assertion.
+ * - WHAT I DID: One script reads headers, every row's cells (text plus
+ *   attributes) and row attributes into this immutable model. Assertions query
+ *   it without touching the browser again.
+ * - INVALIDATION RULE: The first snapshot installs a MutationObserver on the
+ *   table element that bumps a version counter on any change below it. A
+ *   snapshot is current while the same element still has the same version.
+ *   refresh() checks that in one call and only ships the table again if it
+ *   changed; a re-rendered (replaced) table always counts as changed.
+ * - THE RESULT: One call per table state instead of 2N+1 per assertion.
+ */
+public final class TableSnapshot {
+
+    // arguments[0] = {candidates, mode: 'table'|'list', itemSelector, fieldSelectors, token, version}
+    private static final String SNAPSHOT_SCRIPT = ScriptLocatorResolver.FINDER_JS
+            + "var spec = arguments[0];"
+            + "var hit = first(spec.candidates, false);"
+            + "if (!hit) { return null; }"
+            + "var el = hit[1], state = el.__qaSnapshot;"
+            + "if (!state) {"
+            + "  state = el.__qaSnapshot = {token: Date.now().toString(36) + Math.random().toString(36).slice(2), version: 0};"
+            + "  new MutationObserver(function () { state.version++; })"
+            + "      .observe(el, {subtree: true, childList: true, characterData: true, attributes: true});"
+            + "}"
+            + "if (spec.token === state.token && spec.version === state.version) {"
+            + "  return {token: state.token, version: state.version, unchanged: true};"
+            + "}"
+            + "function text(node) { return (node.innerText || node.textContent || '').trim(); }"
+            + "function attrs(node, into, prefix) {"
+            + "  for (var i = 0; i < node.attributes.length; i++) { into[prefix + node.attributes[i].name] = node.attributes[i].value; }"
+            + "  return into;"
+            + "}"
+            // A cell's own attributes, plus those of its first link/image/control as 'a.href', 'img.src', ...
+            + "function cell(node) {"
+            + "  var a = attrs(node, {}, ''), inner = node.querySelector('a, img, input, button, select');"
+            + "  if (inner) { attrs(inner, a, inner.tagName.toLowerCase() + '.'); }"
+            + "  return {text: text(node), attributes: a};"
+            + "}"
+            + "var headers = [], rows = [];"
+            + "if (spec.mode === 'table') {"
+            + "  var table = el.tagName === 'TABLE' ? el : el.closest('table');"
+            + "  if (table && table.tHead && table.tHead.rows.length) { headers = all(table.tHead.rows[0].cells).map(text); }"
+            + "  var trs = el.tagName === 'TABLE'"
+            + "      ? all(el.tBodies).reduce(function (acc, body) { return acc.concat(all(body.rows)); }, [])"
+            + "      : all(el.rows || el.querySelectorAll('tr'));"
+            + "  rows = trs.map(function (tr) { return {attributes: attrs(tr, {}, ''), cells: all(tr.cells).map(cell)}; });"
+            + "} else {"
+            + "  headers = spec.fieldSelectors;"
+            + "  rows = all(el.querySelectorAll(spec.itemSelector)).map(function (item) {"
+            + "    return {attributes: attrs(item, {}, ''), cells: spec.fieldSelectors.map(function (selector) {"
+            + "      var field = item.querySelector(selector);"
+            + "      return field ? cell(field) : {text: '', attributes: {}};"
+            + "    })};"
+            + "  });"
+            + "}"
+            + "return {token: state.token, version: state.version, index: hit[0], headers: headers, rows: rows};";
+
+    private final Map<String, Object> spec;
+    private final String[] locators;
+    private final String token;
+    private final long version;
+    private final List<String> headers;
+    private final List<Row> rows;
+
+    private TableSnapshot(Map<String, Object> spec, String[] locators, Map<String, Object> result) {
+        this.spec = spec;
+        this.locators = locators;
+        this.token = (String) result.get("token");
+        this.version = ((Number) result.get("version")).longValue();
+        this.headers = Collections.unmodifiableList(new ArrayList<>(stringList(result.get("headers"))));
+        List<Row> parsed = new ArrayList<>();
+        for (Object row : (List<?>) result.get("rows")) {
+            parsed.add(new Row((Map<?, ?>) row));
+        }
+        this.rows = Collections.unmodifiableList(parsed);
+    }
+
+    /**
+     * A &lt;table&gt; (or its &lt;tbody&gt;): header texts from the thead, one
+     * Row per body row, one Cell per td/th.
+     */
+    public static TableSnapshot ofTable(WebDriver driver, String[] locators, String... replacements) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("mode", "table");
+        return take(driver, spec, locators, replacements);
+    }
+
+    /**
+     * A list of cards: one Row per element matching 'itemSelector' (CSS)
+     * inside the container, one Cell per field selector. The field selectors
+     * double as the headers.
+     */
+    public static TableSnapshot ofList(WebDriver driver, String[] locators, String itemSelector,
+                                       String... fieldSelectors) {
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("mode", "list");
+        spec.put("itemSelector", itemSelector);
+        spec.put("fieldSelectors", List.of(fieldSelectors));
+        return take(driver, spec, locators);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TableSnapshot take(WebDriver driver, Map<String, Object> spec, String[] locators,
+                                      String... replacements) {
+        LocatorRanker.Ranking ranking = LocatorRanker.isEnabled()
+                ? LocatorRanker.getInstance().ranking(locators, replacements) : null;
+        int[] order = GenericActions.candidateOrder(ranking, locators);
+        spec.put("candidates", ScriptLocatorResolver.candidates(locators, order, replacements));
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, spec);
+        if (result == null) {
+            throw new NoSuchElementException("Table not found: " + String.join(", ", locators));
+        }
+        if (ranking != null) {
+            ranking.win(order[((Number) result.get("index")).intValue()]);
+        }
+        return new TableSnapshot(spec, locators, result);
+    }
+
+    /**
+     * This snapshot if the table hasn't changed since it was taken, otherwise
+     * a new one. Either way a single round-trip.
+     */
+    @SuppressWarnings("unchecked")
+    public TableSnapshot refresh(WebDriver driver) {
+        Map<String, Object> check = new LinkedHashMap<>(spec);
+        check.put("token", token);
+        check.put("version", version);
+        Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SNAPSHOT_SCRIPT, check);
+        if (result == null) {
+            throw new NoSuchElementException("Table not found: " + String.join(", ", locators));
+        }
+        if (Boolean.TRUE.equals(result.get("unchanged"))) {
+            return this;
+        }
+        return new TableSnapshot(spec, locators, result);
+    }
+
+    public List<String> headers() {
+        return headers;
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    public List<Row> rows() {
+        return rows;
+    }
+
+    /**
+     * 0-based, like every other index in this class.
+     */
+    public Row row(int index) {
+        return rows.get(index);
+    }
+
+    public List<String> column(int index) {
+        List<String> column = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            column.add(row.cell(index));
+        }
+        return column;
+    }
+
+    public List<String> column(String header) {
+        int index = headers.indexOf(header);
+        if (index < 0) {
+            throw new IllegalArgumentException("No column [" + header + "] in " + headers);
+        }
+        return column(index);
+    }
+
+    /**
+     * The first row whose cell in 'column' equals 'text' (trimmed, ignoring case).
+     */
+    public Optional<Row> findRow(int column, String text) {
+        for (Row row : rows) {
+            if (row.cell(column).equalsIgnoreCase(text.trim())) {
+                return Optional.of(row);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public String toString() {
+        return "TableSnapshot" + headers + " x " + rows.size() + " rows (v" + version + ")";
+    }
+
+    private static List<String> stringList(Object value) {
+        List<String> strings = new ArrayList<>();
+        if (value != null) {
+            for (Object item : (List<?>) value) {
+                strings.add(Objects.toString(item, ""));
+            }
+        }
+        return strings;
+    }
+
+    private static Map<String, String> stringMap(Object value) {
+        Map<String, String> strings = new LinkedHashMap<>();
+        if (value != null) {
+            ((Map<?, ?>) value).forEach((key, item) -> strings.put(String.valueOf(key), Objects.toString(item, "")));
+        }
+        return Collections.unmodifiableMap(strings);
+    }
+
+    /**
+     * One row: its cells' texts and attributes, and the row element's own attributes.
+     */
+    public static final class Row {
+        private final Map<String, String> attributes;
+        private final List<String> texts;
+        private final List<Map<String, String>> cellAttributes;
+
+        private Row(Map<?, ?> row) {
+            this.attributes = stringMap(row.get("attributes"));
+            List<String> cellTexts = new ArrayList<>();
+            List<Map<String, String>> cellAttrs = new ArrayList<>();
+            for (Object cell : (List<?>) row.get("cells")) {
+                Map<?, ?> values = (Map<?, ?>) cell;
+                cellTexts.add(Objects.toString(values.get("text"), ""));
+                cellAttrs.add(stringMap(values.get("attributes")));
+            }
+            this.texts = Collections.unmodifiableList(cellTexts);
+            this.cellAttributes = Collections.unmodifiableList(cellAttrs);
+        }
+
+        /**
+         * Cell text, or "" past the end of a short row.
+         */
+        public String cell(int index) {
+            return index < texts.size() ? texts.get(index) : "";
+        }
+
+        public List<String> cells() {
+            return texts;
+        }
+
+        public String attribute(String name) {
+            return attributes.get(name);
+        }
+
+        /**
+         * A cell attribute; the cell's first link/image/control is reachable
+         * as "a.href", "img.src", "a.onclick", ...
+         */
+        public String cellAttribute(int index, String name) {
+            return index < cellAttributes.size() ? cellAttributes.get(index).get(name) : null;
+        }
+
+        @Override
+        public String toString() {
+            return texts.toString();
+        }
+    }
+}
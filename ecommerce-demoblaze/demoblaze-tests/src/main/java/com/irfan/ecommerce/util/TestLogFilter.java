@@ -0,0 +1,36 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+
+/**
+ * TestLogFilter: Keeps the detail of a test that TestLogRing is capturing
+ * off the shared appenders. Events below 'level' (default WARN) from such a
+ * thread are denied; everything else - warnings, errors, and any thread not
+ * inside a captured test - passes through unchanged.
+ */
+@Plugin(name = "TestLogFilter", category = Core.CATEGORY_NAME, elementType = Filter.ELEMENT_TYPE)
+public final class TestLogFilter extends AbstractFilter {
+    private final Level level;
+
+    private TestLogFilter(Level level) {
+        super(Result.DENY, Result.NEUTRAL);
+        this.level = level;
+    }
+
+    @PluginFactory
+    public static TestLogFilter createFilter(@PluginAttribute(value = "level", defaultString = "WARN") String level) {
+        return new TestLogFilter(Level.toLevel(level, Level.WARN));
+    }
+
+    @Override
+    public Result filter(LogEvent event) {
+        return TestLogRing.isActive() && event.getLevel().intLevel() > level.intLevel() ? onMatch : onMismatch;
+    }
+}
@@ -0,0 +1,150 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * TestLogRing: The last N log events of the test running on this thread,
+ * kept in memory and written out only if the test fails.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Every passing test wrote each click, each pretty-printed
+ *   payload and each locator attempt to logs/automation.log. The file grew
+ *   past 12k lines nobody read, and every parallel thread queued on the one
+ *   File appender to write them.
+ * - WHAT I DID: Listeners opens a ring per test thread (begin) and closes it
+ *   when the outcome is known (end). While it is open this appender keeps the
+ *   thread's events, DEBUG included, in a bounded ring (-Dlog.ring.size,
+ *   oldest dropped first) and TestLogFilter keeps their INFO/DEBUG lines off
+ *   the shared appenders. Events are kept as immutable snapshots; they are
+ *   only formatted if the test fails and the ring is written out.
+ * - THE RESULT: A failure gets its full DEBUG trail in the log and in its
+ *   Extent entry; a pass costs one summary line.
+ */
+@Plugin(name = "TestRing", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE)
+public final class TestLogRing extends AbstractAppender {
+    private static final int CAPACITY = Integer.getInteger("log.ring.size", 2000);
+    private static final ThreadLocal<Ring> current = new ThreadLocal<>();
+    private static volatile Layout<? extends Serializable> layout = PatternLayout.newBuilder()
+            .withPattern("%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n").build();
+
+    private TestLogRing(String name, Filter filter, Layout<? extends Serializable> layout) {
+        super(name, filter, layout, true, Property.EMPTY_ARRAY);
+    }
+
+    @PluginFactory
+    public static TestLogRing createAppender(@PluginAttribute("name") String name,
+                                             @PluginElement("Layout") Layout<? extends Serializable> layout,
+                                             @PluginElement("Filter") Filter filter) {
+        if (layout != null) {
+            TestLogRing.layout = layout;
+        }
+        return new TestLogRing(name, filter, layout);
+    }
+
+    public static boolean isEnabled() {
+        return CAPACITY > 0;
+    }
+
+    /**
+     * Starts capturing this thread's log events for 'testName'.
+     */
+    public static void begin(String testName) {
+        if (isEnabled()) {
+            current.set(new Ring(testName));
+        }
+    }
+
+    /**
+     * True while this thread is inside a test that is being captured.
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Stops capturing and hands over what was captured, or null if nothing was.
+     */
+    public static Capture end() {
+        Ring ring = current.get();
+        current.remove();
+        return ring == null ? null : new Capture(ring);
+    }
+
+    @Override
+    public void append(LogEvent event) {
+        Ring ring = current.get();
+        if (ring != null) {
+            ring.add(event.toImmutable());
+        }
+    }
+
+    private static final class Ring {
+        private final String testName;
+        private final Deque<LogEvent> events = new ArrayDeque<>();
+        private int total;
+
+        private Ring(String testName) {
+            this.testName = testName;
+        }
+
+        private void add(LogEvent event) {
+            total++;
+            if (events.size() == CAPACITY) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    /**
+     * One test's captured events. Formatting happens here, on demand.
+     */
+    public static final class Capture {
+        private final Ring ring;
+
+        private Capture(Ring ring) {
+            this.ring = ring;
+        }
+
+        public String testName() {
+            return ring.testName;
+        }
+
+        /**
+         * Events logged during the test, including ones that fell out of the ring.
+         */
+        public int total() {
+            return ring.total;
+        }
+
+        public int kept() {
+            return ring.events.size();
+        }
+
+        public String text() {
+            StringBuilder text = new StringBuilder();
+            if (ring.total > ring.events.size()) {
+                text.append("... ").append(ring.total - ring.events.size()).append(" earlier lines dropped\n");
+            }
+            for (LogEvent event : ring.events) {
+                text.append(layout.toSerializable(event));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.irfan.ecommerce.api.tests.demoblaze;
+
+import com.irfan.ecommerce.api.clients.demoblaze.CartClient;
+import com.irfan.ecommerce.api.load.LoadEngine;
+import com.irfan.ecommerce.api.load.LoadPhase;
+import com.irfan.ecommerce.api.load.LoadReport;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CartLoadTest: The same open-model profile as BookingLoadTest, against the
+ * demoblaze cart API - add-to-cart writes mixed with cart reads on one
+ * pooled account (EXCLUSIVE, so no UI test shares the cart meanwhile).
+ *
+ * Same gentle defaults and the same -Dload.* switches; only runs in the
+ * opt-in -Pload suite.
+ */
+public class CartLoadTest {
+    private static final String[] PRODUCT_IDS = {"1", "2", "3", "4", "5", "6", "7", "8", "9"};
+
+    private final CartClient client = new CartClient();
+
+    @Test(groups = "load", description = "Cart API holds its latency SLA and error budget at the configured arrival rate")
+    public void cartApiUnderSteadyLoad() throws InterruptedException {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "2"));
+        Duration ramp = Duration.ofSeconds(Long.getLong("load.ramp.sec", 5));
+        Duration steady = Duration.ofSeconds(Long.getLong("load.steady.sec", 20));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max.error.rate", "0.01"));
+        double p99SlaMs = Double.parseDouble(System.getProperty("load.p99.sla.ms", "5000"));
+
+        LoadReport report;
+        try (UserPool.Lease user = UserPool.getInstance().lease(UserPool.Mode.EXCLUSIVE)) {
+            String token = AuthManager.getToken("demoblaze", user.getUsername(), user.getPassword());
+            AtomicInteger next = new AtomicInteger();
+
+            report = new LoadEngine("cart",
+                    List.of(LoadPhase.rampUp(ramp, rate), LoadPhase.steady(steady, rate), LoadPhase.rampDown(ramp, rate)),
+                    Integer.getInteger("load.workers", 10))
+                    .addOperation("POST /addtocart", 2, () -> client
+                            .addToCartAsync(PRODUCT_IDS[Math.floorMod(next.getAndIncrement(), PRODUCT_IDS.length)], token)
+                            .get(30, TimeUnit.SECONDS).getStatusCode())
+                    .addOperation("POST /viewcart", 1, () -> client.viewCart(token).getStatusCode())
+                    .run();
+        }
+        report.writeHistograms(Paths.get(System.getProperty("perf.dir", "target/perf"), "load"));
+
+        for (LoadReport.EndpointStats endpoint : report.getEndpoints().values()) {
+            Assert.assertTrue(endpoint.count() > 0, "No requests completed for " + endpoint.getEndpoint());
+            Assert.assertTrue(endpoint.errorRate() <= maxErrorRate, String.format(
+                    "%s error rate %.2f%% exceeds budget %.2f%% (%s)", endpoint.getEndpoint(),
+                    endpoint.errorRate() * 100, maxErrorRate * 100, endpoint.errorTypes()));
+            Assert.assertTrue(endpoint.percentileMs(99) <= p99SlaMs, String.format(
+                    "%s p99 %.1f ms breaches the %.0f ms SLA", endpoint.getEndpoint(), endpoint.percentileMs(99),
+                    p99SlaMs));
+        }
+    }
+}
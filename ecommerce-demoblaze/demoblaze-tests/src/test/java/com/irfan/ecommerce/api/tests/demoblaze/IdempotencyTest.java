@@ -1,6 +1,7 @@
 package com.irfan.ecommerce.api.tests.demoblaze;
 
-import com.irfan.ecommerce.api.clients.demoblaze.AuthClient;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
 import com.irfan.ecommerce.api.payloads.demoblaze.AddToCartRequest;
 import com.irfan.ecommerce.ui.base.BaseTest;
 import com.irfan.ecommerce.util.PropertyReader;
@@ -17,10 +18,9 @@ public class IdempotencyTest extends BaseTest {
         // 🚀 Now 'logger' is inherited from BaseTest (no red lines)
         logger.info("🛡️ IDEMPOTENCY: Commencing double-tap validation.");
         
-        AuthClient authClient = new AuthClient();
-        String user = PropertyReader.getProperty("test.username");
-        String pass = PropertyReader.getProperty("test.password");
-        String token = authClient.getAuthToken(user, pass);
+        // Cart-mutating: nobody else may use this account's cart while we double-tap it
+        UserPool.Lease user = leaseUser(UserPool.Mode.EXCLUSIVE);
+        String token = AuthManager.getToken("demoblaze", user.getUsername(), user.getPassword());
         
         String idempotencyKey = UUID.randomUUID().toString();
         AddToCartRequest payload = new AddToCartRequest("1", token, true);
@@ -0,0 +1,62 @@
+package com.irfan.ecommerce.api.tests.restfulbooker;
+
+import com.irfan.ecommerce.api.clients.restfulbooker.BookingClient;
+import com.irfan.ecommerce.api.load.LoadEngine;
+import com.irfan.ecommerce.api.load.LoadPhase;
+import com.irfan.ecommerce.api.load.LoadReport;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.util.DataGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BookingLoadTest: Open-model load against the booking API with real numbers.
+ *
+ * Defaults are deliberately gentle (2 req/s) because restful-booker is a
+ * public sandbox; point -Dbooker.api.base.uri at an internal environment and
+ * raise -Dload.rate for a real capacity run. BookingConcurrencyTest still
+ * covers the race-condition angle; this one answers "how fast, how often
+ * does it fail".
+ */
+public class BookingLoadTest {
+    private final BookingClient client = new BookingClient();
+
+    @Test(groups = "load", description = "Booking API holds its latency SLA and error budget at the configured arrival rate")
+    public void bookingApiUnderSteadyLoad() throws InterruptedException {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "2"));
+        Duration ramp = Duration.ofSeconds(Long.getLong("load.ramp.sec", 5));
+        Duration steady = Duration.ofSeconds(Long.getLong("load.steady.sec", 20));
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max.error.rate", "0.01"));
+        double p99SlaMs = Double.parseDouble(System.getProperty("load.p99.sla.ms", "5000"));
+
+        String token = AuthManager.getToken();
+        int bookingId = client.createBooking(DataGenerator.createFakeBooking()).jsonPath().getInt("bookingid");
+
+        LoadReport report = new LoadEngine("booking",
+                List.of(LoadPhase.rampUp(ramp, rate), LoadPhase.steady(steady, rate), LoadPhase.rampDown(ramp, rate)),
+                Integer.getInteger("load.workers", 10))
+                .addOperation("POST /booking", 2,
+                        () -> client.createBooking(DataGenerator.createFakeBooking()).getStatusCode())
+                .addOperation("PATCH /booking/{id}", 1,
+                        () -> client.patchBooking(Map.of("additionalneeds", "Load Probe"), bookingId, token)
+                                .getStatusCode())
+                .run();
+        report.writeHistograms(Paths.get(System.getProperty("perf.dir", "target/perf"), "load"));
+        client.deleteBooking(bookingId, token);
+
+        for (LoadReport.EndpointStats endpoint : report.getEndpoints().values()) {
+            Assert.assertTrue(endpoint.count() > 0, "No requests completed for " + endpoint.getEndpoint());
+            Assert.assertTrue(endpoint.errorRate() <= maxErrorRate, String.format(
+                    "%s error rate %.2f%% exceeds budget %.2f%% (%s)", endpoint.getEndpoint(),
+                    endpoint.errorRate() * 100, maxErrorRate * 100, endpoint.errorTypes()));
+            Assert.assertTrue(endpoint.percentileMs(99) <= p99SlaMs, String.format(
+                    "%s p99 %.1f ms breaches the %.0f ms SLA", endpoint.getEndpoint(), endpoint.percentileMs(99),
+                    p99SlaMs));
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.irfan.ecommerce.api.tests.restfulbooker;
 
 import com.irfan.ecommerce.api.clients.restfulbooker.BookingClient;
-import com.irfan.ecommerce.api.managers.restfulbooker.AuthManager;
+import com.irfan.ecommerce.api.managers.AuthManager;
 import com.irfan.ecommerce.api.payloads.restfulbooker.BookingRequest;
 import com.irfan.ecommerce.util.DataGenerator;
 import io.restassured.response.Response;
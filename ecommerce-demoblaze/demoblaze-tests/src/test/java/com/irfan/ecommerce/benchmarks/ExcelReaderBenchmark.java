@@ -0,0 +1,162 @@
+package com.irfan.ecommerce.benchmarks;
+
+import com.irfan.ecommerce.util.ExcelStreamReader;
+import com.irfan.ecommerce.util.ExcelUtil;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+
+/**
+ * ExcelReaderBenchmark: ExcelUtil.readExcelTestData (XSSFWorkbook DOM into an
+ * Object[][]) vs ExcelStreamReader, on generated sheets of growing size.
+ *
+ * Each row reads the whole sheet the way TestNG would consume it and reports
+ * wall time, then, in separate passes, the live heap (used after a GC) each
+ * reader holds at its widest point. Two sizes show how each scales; about
+ * a megabyte either way is GC noise.
+ *
+ *   mvn test -Pbenchmark -Dbench.excel.rows=50000
+ */
+public class ExcelReaderBenchmark {
+    private static final int ROWS = Integer.getInteger("bench.excel.rows", 20000);
+    private static final String[] HEADER = {"id", "username", "password", "product", "price", "qty", "active", "note"};
+    private static final String[] PRODUCTS = {"Samsung galaxy s6", "Nokia lumia 1520", "Sony vaio i5", "Apple monitor 24"};
+
+    @Test(description = "ms and live heap MB per reader, at a tenth of the rows and at all of them")
+    public void domVsStream() throws Exception {
+        System.out.printf("%n📊 EXCEL_BENCHMARK: %d columns%n", HEADER.length);
+        System.out.printf("%-8s %10s %10s %12s %12s%n", "ROWS", "dom ms", "stream ms", "dom live MB", "stream MB");
+        for (int rows : new int[]{Math.max(1, ROWS / 10), ROWS}) {
+            Path file = generate(rows);
+            try {
+                row(rows, file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static void row(int rows, Path file) throws Exception {
+        ExcelUtil excel = new ExcelUtil();
+        // Warm-up: class loading and JIT for both paths
+        excel.readExcelTestData(file, "Data");
+        count(ExcelStreamReader.rows(file, "Data"));
+
+        long start = System.nanoTime();
+        Object[][] dom = excel.readExcelTestData(file, "Data");
+        double domMs = (System.nanoTime() - start) / 1e6;
+        start = System.nanoTime();
+        int read = count(ExcelStreamReader.rows(file, "Data"));
+        double streamMs = (System.nanoTime() - start) / 1e6;
+        Assert.assertEquals(dom.length, rows);
+        Assert.assertEquals(read, rows);
+        Object[] lastDomRow = dom[dom.length - 1];
+        dom = null;
+
+        // Live heap, separate from the timed passes; each in its own frame so nothing of the other lingers
+        long domLive = domLiveBytes(excel, file);
+        long streamLive = streamLiveBytes(file, rows, lastDomRow);
+
+        System.out.printf("%-8d %10.0f %10.0f %12.1f %12.1f%n", rows, domMs, streamMs, mb(domLive), mb(streamLive));
+    }
+
+    // The DOM reader at its widest: the whole workbook open, then the finished Object[][]
+    private static long domLiveBytes(ExcelUtil excel, Path file) throws Exception {
+        long baseline = liveBytes();
+        long live;
+        try (XSSFWorkbook book = new XSSFWorkbook(file.toFile())) {
+            live = liveBytes() - baseline;
+        }
+        Object[][] dom = excel.readExcelTestData(file, "Data");
+        live = Math.max(live, liveBytes() - baseline);
+        Assert.assertNotNull(dom);
+        return live;
+    }
+
+    // The stream reader sampled four times along the sheet
+    private static long streamLiveBytes(Path file, int rows, Object[] expectedLast) {
+        long baseline = liveBytes();
+        long live = Long.MIN_VALUE;
+        Object[] last = null;
+        int seen = 0;
+        ExcelStreamReader stream = ExcelStreamReader.rows(file, "Data");
+        while (stream.hasNext()) {
+            last = stream.next();
+            if (++seen % Math.max(1, rows / 4) == 0) {
+                live = Math.max(live, liveBytes() - baseline);
+            }
+        }
+        Assert.assertEquals(last, expectedLast, "Both readers agree on the data");
+        return live;
+    }
+
+    private static int count(Iterator<Object[]> rows) {
+        int count = 0;
+        while (rows.hasNext()) {
+            rows.next();
+            count++;
+        }
+        return count;
+    }
+
+    // Written with SXSSF so generating the big sheet doesn't skew the heap we measure
+    private static Path generate(int rows) throws Exception {
+        Path file = Files.createTempFile("excel-bench", ".xlsx");
+        SXSSFWorkbook book = new SXSSFWorkbook(null, 200, true, true);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            Sheet sheet = book.createSheet("Data");
+            CellStyle money = book.createCellStyle();
+            money.setDataFormat(book.createDataFormat().getFormat("0.00"));
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADER.length; i++) {
+                header.createCell(i).setCellValue(HEADER[i]);
+            }
+            for (int r = 1; r <= rows; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue(r);
+                row.createCell(1).setCellValue("user" + r);
+                row.createCell(2).setCellValue("Pass@" + (r % 97));
+                row.createCell(3).setCellValue(PRODUCTS[r % PRODUCTS.length]);
+                row.createCell(4).setCellValue(100 + (r % 900) + 0.99);
+                row.getCell(4).setCellStyle(money);
+                row.createCell(5).setCellValue(1 + r % 5);
+                row.createCell(6).setCellValue(r % 7 != 0);
+                row.createCell(7).setCellValue("order note " + (r % 50));
+            }
+            book.write(out);
+        } finally {
+            book.dispose();
+            book.close();
+        }
+        return file;
+    }
+
+    // Twice: the first collection can leave the previous pass's garbage in old regions
+    private static long liveBytes() {
+        System.gc();
+        System.gc();
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static double mb(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.irfan.ecommerce.benchmarks;
+
+import com.irfan.ecommerce.ui.base.DriverFactory;
+import com.irfan.ecommerce.util.GenericActions;
+import com.irfan.ecommerce.util.ObjectRepo;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * LocatorResolutionBenchmark: WebDriver findElements per candidate vs one
+ * executeScript for the whole array (-Dlocator.resolution=script).
+ *
+ * Runs GenericActions.getText on real ObjectRepo arrays against a static page
+ * that mimics the demoblaze navbar: NAV_HOME resolves on its primary, NAV_CART
+ * only on its fallback (the primary id is missing), CATEGORY_DYNAMIC is a
+ * templated xpath. Needs a browser (local Chrome or -Dexecution_env=remote);
+ * without one the benchmark is skipped.
+ *
+ *   mvn test -Pbenchmark -Dbench.lookups=200 -Dexecution_env=remote -Dlocator.ranking=false
+ *
+ * With ranking on, the dead NAV_CART primary is only paid for once, which
+ * hides most of the difference on the fallback row.
+ */
+public class LocatorResolutionBenchmark {
+    private static final int LOOKUPS = Integer.getInteger("bench.lookups", 100);
+    private static final String PAGE = "<html><body>"
+            + "<a id='nava' href='#'>Home</a>"
+            + "<a id='cart-moved' href='#'>Cart</a>"
+            + "<div id='contcont'><a href='#'>Phones</a><a href='#'>Laptops</a><a href='#'>Monitors</a></div>"
+            + "</body></html>";
+
+    private WebDriver driver;
+
+    @BeforeClass
+    public void openPage() {
+        try {
+            driver = DriverFactory.initDriver(System.getProperty("browser", "chrome"));
+        } catch (RuntimeException e) {
+            throw new SkipException("No browser available for the locator benchmark: " + e.getMessage());
+        }
+        driver.get("data:text/html;charset=utf-8," + URLEncoder.encode(PAGE, StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void closeBrowser() {
+        System.clearProperty("locator.resolution");
+        if (driver != null) {
+            DriverFactory.quitDriver();
+        }
+    }
+
+    @Test(description = "ms per lookup, WebDriver path vs single-script path")
+    public void webDriverVsScript() {
+        String previous = System.getProperty("locator.resolution");
+        try {
+            System.out.printf("%n📊 LOCATOR_BENCHMARK: %d lookups per row%n", LOOKUPS);
+            System.out.printf("%-28s %12s %12s%n", "LOCATOR", "webdriver ms", "script ms");
+            row("NAV_HOME (primary)", ObjectRepo.NAV_HOME, "Home");
+            row("NAV_CART (fallback)", ObjectRepo.NAV_CART, "Cart");
+            row("CATEGORY_DYNAMIC(Phones)", ObjectRepo.CATEGORY_DYNAMIC, "Phones", "Phones");
+        } finally {
+            if (previous == null) {
+                System.clearProperty("locator.resolution");
+            } else {
+                System.setProperty("locator.resolution", previous);
+            }
+        }
+    }
+
+    private static void row(String label, String[] locators, String expected, String... replacements) {
+        double webDriverMs = msPerLookup("webdriver", locators, expected, replacements);
+        double scriptMs = msPerLookup("script", locators, expected, replacements);
+        System.out.printf("%-28s %12.2f %12.2f%n", label, webDriverMs, scriptMs);
+    }
+
+    private static double msPerLookup(String mode, String[] locators, String expected, String... replacements) {
+        System.setProperty("locator.resolution", mode);
+        // Warm-up: JIT, the browser's style/layout caches, the ranking
+        Assert.assertEquals(GenericActions.getText(locators, replacements), expected);
+        long start = System.nanoTime();
+        for (int i = 0; i < LOOKUPS; i++) {
+            GenericActions.getText(locators, replacements);
+        }
+        return (System.nanoTime() - start) / 1e6 / LOOKUPS;
+    }
+}
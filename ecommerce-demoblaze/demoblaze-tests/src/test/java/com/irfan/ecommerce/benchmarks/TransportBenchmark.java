@@ -0,0 +1,129 @@
+package com.irfan.ecommerce.benchmarks;
+
+import com.irfan.ecommerce.api.clients.restfulbooker.BookingClient;
+import com.irfan.ecommerce.api.payloads.restfulbooker.BookingRequest;
+import com.irfan.ecommerce.api.transport.ApiResponse;
+import com.irfan.ecommerce.framework.support.StubServer;
+import com.irfan.ecommerce.util.DataGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TransportBenchmark: RestAssured (blocking) vs AsyncHttpTransport against the
+ * same local stub, with the same number of requests in flight.
+ *
+ * Reports throughput and bytes allocated per request (summed over every live
+ * JVM thread, so the async client's own worker threads are included). The
+ * numbers are for comparison on one machine, not absolute truths.
+ *
+ *   mvn test -Pbenchmark -Dbench.requests=5000 -Dbench.concurrency=64
+ */
+public class TransportBenchmark {
+    private static final int REQUESTS = Integer.getInteger("bench.requests", 2000);
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 32);
+    private static final int WARMUP = Math.max(100, REQUESTS / 10);
+
+    @Test(description = "Blocking RestAssured path vs non-blocking HTTP client path")
+    public void restAssuredVsAsync() throws Exception {
+        try (StubServer stub = new StubServer()
+                .on("GET", "/", 200, "ok")
+                .on("POST", "/booking", 200, "{\"bookingid\":42,\"booking\":{\"firstname\":\"Ada\"}}")
+                .delay(Duration.ofMillis(Long.getLong("bench.server.delay.ms", 5)))) {
+            BookingClient client = new BookingClient(stub.baseUrl());
+            BookingRequest payload = DataGenerator.createFakeBooking();
+
+            ExecutorService blockingPool = Executors.newFixedThreadPool(CONCURRENCY);
+            try {
+                runBlocking(client, payload, blockingPool, WARMUP);
+                Result blocking = measure(() -> runBlocking(client, payload, blockingPool, REQUESTS));
+
+                runAsync(client, payload, WARMUP);
+                Result async = measure(() -> runAsync(client, payload, REQUESTS));
+
+                System.out.printf("%n📊 TRANSPORT_BENCHMARK: %d requests, %d in flight, %d ms server delay%n",
+                        REQUESTS, CONCURRENCY, Long.getLong("bench.server.delay.ms", 5));
+                System.out.printf("%-14s %10s %14s%n", "TRANSPORT", "req/s", "KB alloc/req");
+                System.out.printf("%-14s %10.0f %14.1f%n", "rest-assured", blocking.throughput(), blocking.kbPerRequest());
+                System.out.printf("%-14s %10.0f %14.1f%n", "async-http", async.throughput(), async.kbPerRequest());
+
+                Assert.assertEquals(stub.hits("POST", "/booking"), 2 * (WARMUP + REQUESTS));
+            } finally {
+                blockingPool.shutdownNow();
+            }
+        }
+    }
+
+    private static void runBlocking(BookingClient client, BookingRequest payload, ExecutorService pool, int count)
+            throws Exception {
+        List<Future<?>> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            calls.add(pool.submit(() -> client.createBooking(payload).getStatusCode()));
+        }
+        for (Future<?> call : calls) {
+            call.get(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static void runAsync(BookingClient client, BookingRequest payload, int count) throws Exception {
+        // Same in-flight window as the blocking pool, so only the transport differs
+        Semaphore window = new Semaphore(CONCURRENCY);
+        List<CompletableFuture<ApiResponse>> calls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            window.acquire();
+            calls.add(client.createBookingAsync(payload).whenComplete((response, error) -> window.release()));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(1, TimeUnit.MINUTES);
+    }
+
+    private static Result measure(Workload workload) throws Exception {
+        long bytesBefore = allocatedBytes();
+        long start = System.nanoTime();
+        workload.run();
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed, allocatedBytes() - bytesBefore);
+    }
+
+    private static long allocatedBytes() {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            total += Math.max(0, bytes);
+        }
+        return total;
+    }
+
+    @FunctionalInterface
+    private interface Workload {
+        void run() throws Exception;
+    }
+
+    private static final class Result {
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+
+        Result(long elapsedNanos, long allocatedBytes) {
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        double throughput() {
+            return REQUESTS / (elapsedNanos / 1e9);
+        }
+
+        double kbPerRequest() {
+            return allocatedBytes / 1024.0 / REQUESTS;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.irfan.ecommerce.framework.samples;
+
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sample class driven by a nested TestNG run in VirtualThreadExecutorTest:
+ * twelve methods that only "wait on I/O", recording how many overlap.
+ */
+public class BlockingSample {
+    public static final AtomicInteger running = new AtomicInteger();
+    public static final AtomicInteger peak = new AtomicInteger();
+
+    @Test
+    public void call01() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call02() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call03() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call04() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call05() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call06() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call07() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call08() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call09() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call10() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call11() throws InterruptedException {
+        waitOnIo();
+    }
+
+    @Test
+    public void call12() throws InterruptedException {
+        waitOnIo();
+    }
+
+    private static void waitOnIo() throws InterruptedException {
+        peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(200);
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+}
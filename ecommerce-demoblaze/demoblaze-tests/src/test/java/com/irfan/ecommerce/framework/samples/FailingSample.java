@@ -0,0 +1,31 @@
+package com.irfan.ecommerce.framework.samples;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sample class driven by a nested TestNG run in TestOrderInterceptorTest:
+ * the first method fails, the rest should be skipped under fail-fast.
+ */
+public class FailingSample {
+    public static final List<String> ran = new CopyOnWriteArrayList<>();
+
+    @Test(priority = 1)
+    public void first() {
+        ran.add("first");
+        Assert.fail("Intentional failure to trip fail-fast");
+    }
+
+    @Test(priority = 2)
+    public void second() {
+        ran.add("second");
+    }
+
+    @Test(priority = 3)
+    public void third() {
+        ran.add("third");
+    }
+}
@@ -0,0 +1,29 @@
+package com.irfan.ecommerce.framework.samples;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Sample class driven by a nested TestNG run in TestOrderInterceptorTest.
+ * Lives outside framework.tests so the framework suite never runs it directly.
+ */
+public class OrderedSample {
+    public static final List<String> ran = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void quick() {
+        ran.add("quick");
+    }
+
+    @Test
+    public void medium() {
+        ran.add("medium");
+    }
+
+    @Test
+    public void slow() {
+        ran.add("slow");
+    }
+}
@@ -0,0 +1,154 @@
+package com.irfan.ecommerce.framework.support;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * FakeDriver: A WebDriver + JavascriptExecutor with no browser behind it, so
+ * framework code that talks to a driver can run in the framework suite.
+ * Every call is recorded ("get", "refresh", "addCookie", "executeScript", ...)
+ * and scripts are answered by a pluggable function.
+ */
+public final class FakeDriver {
+    private final List<String> commands = new CopyOnWriteArrayList<>();
+    private final Set<Cookie> cookies = Collections.synchronizedSet(new LinkedHashSet<>());
+    private volatile BiFunction<String, Object[], Object> scripts = (script, args) -> null;
+    private volatile String currentUrl = "data:,";
+    private final WebDriver driver;
+
+    public FakeDriver() {
+        driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, JavascriptExecutor.class}, handler());
+    }
+
+    public WebDriver driver() {
+        return driver;
+    }
+
+    /**
+     * Answers executeScript/executeAsyncScript with whatever the function returns for the script source.
+     */
+    public FakeDriver onScript(Function<String, Object> responder) {
+        this.scripts = (script, args) -> responder.apply(script);
+        return this;
+    }
+
+    /**
+     * Same, with the script arguments.
+     */
+    public FakeDriver onScript(BiFunction<String, Object[], Object> responder) {
+        this.scripts = responder;
+        return this;
+    }
+
+    public FakeDriver withCookie(Cookie cookie) {
+        cookies.add(cookie);
+        return this;
+    }
+
+    public List<String> commands() {
+        return new ArrayList<>(commands);
+    }
+
+    public long count(String command) {
+        return commands.stream().filter(command::equals).count();
+    }
+
+    private InvocationHandler handler() {
+        return (proxy, method, args) -> {
+            String name = method.getName();
+            switch (name) {
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "equals":
+                    return proxy == args[0];
+                case "toString":
+                    return "FakeDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+                case "get":
+                    commands.add("get");
+                    currentUrl = (String) args[0];
+                    return null;
+                case "getCurrentUrl":
+                    return currentUrl;
+                case "executeScript":
+                case "executeAsyncScript":
+                    commands.add(name);
+                    return scripts.apply((String) args[0], (Object[]) args[1]);
+                case "getWindowHandles":
+                    return new LinkedHashSet<>(List.of("main"));
+                case "getWindowHandle":
+                    return "main";
+                case "switchTo":
+                    return targetLocatorProxy();
+                case "manage":
+                    return optionsProxy();
+                case "navigate":
+                    return navigationProxy();
+                case "quit":
+                case "close":
+                    commands.add(name);
+                    return null;
+                default:
+                    throw new UnsupportedOperationException("FakeDriver does not support " + name);
+            }
+        };
+    }
+
+    private WebDriver.Options optionsProxy() {
+        return (WebDriver.Options) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.Options.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "addCookie":
+                            commands.add("addCookie");
+                            cookies.add((Cookie) args[0]);
+                            return null;
+                        case "getCookies":
+                            commands.add("getCookies");
+                            return new LinkedHashSet<>(cookies);
+                        case "deleteAllCookies":
+                            commands.add("deleteAllCookies");
+                            cookies.clear();
+                            return null;
+                        default:
+                            throw new UnsupportedOperationException("FakeDriver does not support " + method.getName());
+                    }
+                });
+    }
+
+    // One window, never an alert
+    private WebDriver.TargetLocator targetLocatorProxy() {
+        return (WebDriver.TargetLocator) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.TargetLocator.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "window":
+                        case "defaultContent":
+                            return driver;
+                        case "alert":
+                            throw new NoAlertPresentException();
+                        default:
+                            throw new UnsupportedOperationException("FakeDriver does not support " + method.getName());
+                    }
+                });
+    }
+
+    private WebDriver.Navigation navigationProxy() {
+        return (WebDriver.Navigation) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.Navigation.class}, (proxy, method, args) -> {
+                    commands.add(method.getName());
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,135 @@
+package com.irfan.ecommerce.framework.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StubServer: A local stand-in for the APIs under test, so framework
+ * internals (clients, caches, breakers) can be exercised without the public
+ * sandboxes. Routes match on method plus the longest path prefix; responses
+ * can be changed mid-test and every route counts its hits.
+ *
+ * Each test should own its server (surefire runs methods in parallel).
+ */
+public final class StubServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "stub-server");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final AtomicInteger totalHits = new AtomicInteger();
+    private volatile Duration delay = Duration.ZERO;
+
+    public StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Adds or replaces a route. Method "ANY" matches every verb.
+     */
+    public StubServer on(String method, String pathPrefix, int status, String body) {
+        routes.compute(key(method, pathPrefix), (key, existing) -> {
+            Route route = existing == null ? new Route() : existing;
+            route.status = status;
+            route.body = body;
+            return route;
+        });
+        return this;
+    }
+
+    /**
+     * Artificial server think-time applied to every response.
+     */
+    public StubServer delay(Duration delay) {
+        this.delay = delay;
+        return this;
+    }
+
+    public int hits(String method, String pathPrefix) {
+        Route route = routes.get(key(method, pathPrefix));
+        return route == null ? 0 : route.hits.get();
+    }
+
+    public int totalHits() {
+        return totalHits.get();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        totalHits.incrementAndGet();
+        try (InputStream in = exchange.getRequestBody()) {
+            in.readAllBytes();
+        }
+        Route route = match(exchange.getRequestMethod(), exchange.getRequestURI().getPath());
+        int status = 404;
+        byte[] body = "Not Found".getBytes(StandardCharsets.UTF_8);
+        if (route != null) {
+            route.hits.incrementAndGet();
+            status = route.status;
+            body = route.body.getBytes(StandardCharsets.UTF_8);
+        }
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        exchange.getResponseHeaders().add("Content-Type", body.length > 0 && body[0] == '{'
+                ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private Route match(String method, String path) {
+        Route best = null;
+        int bestLength = -1;
+        for (Map.Entry<String, Route> entry : routes.entrySet()) {
+            String[] parts = entry.getKey().split(" ", 2);
+            boolean methodMatches = parts[0].equals("ANY") || parts[0].equalsIgnoreCase(method);
+            if (methodMatches && path.startsWith(parts[1]) && parts[1].length() > bestLength) {
+                best = entry.getValue();
+                bestLength = parts[1].length();
+            }
+        }
+        return best;
+    }
+
+    private static String key(String method, String pathPrefix) {
+        return method.toUpperCase() + " " + pathPrefix;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static final class Route {
+        private volatile int status;
+        private volatile String body;
+        private final AtomicInteger hits = new AtomicInteger();
+    }
+}
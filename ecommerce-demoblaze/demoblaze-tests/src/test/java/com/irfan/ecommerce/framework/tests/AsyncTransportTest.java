@@ -0,0 +1,95 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.api.clients.demoblaze.CartClient;
+import com.irfan.ecommerce.api.clients.restfulbooker.AuthClient;
+import com.irfan.ecommerce.api.clients.restfulbooker.BookingClient;
+import com.irfan.ecommerce.api.transport.ApiResponse;
+import com.irfan.ecommerce.framework.support.StubServer;
+import com.irfan.ecommerce.util.DataGenerator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AsyncTransportTest: The *Async client methods against a local stub -
+ * same routes, headers and failure handling as the RestAssured path.
+ */
+public class AsyncTransportTest {
+    // The first jsonPath() loads Groovy inside the future chain; on a loaded parallel run that alone can take 10s+
+    private static final long FUTURE_TIMEOUT_S = 60;
+
+    private static StubServer bookerStub() throws IOException {
+        return new StubServer()
+                .on("GET", "/", 200, "ok")
+                .on("POST", "/auth", 200, "{\"token\":\"abc123\"}")
+                .on("POST", "/booking", 200, "{\"bookingid\":42,\"booking\":{\"firstname\":\"Ada\"}}")
+                .on("PATCH", "/booking/", 200, "{\"additionalneeds\":\"Late Checkout\"}");
+    }
+
+    @Test(description = "Async create parses like the RestAssured response")
+    public void createBookingAsync() throws Exception {
+        try (StubServer stub = bookerStub()) {
+            ApiResponse response = new BookingClient(stub.baseUrl())
+                    .createBookingAsync(DataGenerator.createFakeBooking()).get(FUTURE_TIMEOUT_S, TimeUnit.SECONDS);
+
+            Assert.assertEquals(response.getStatusCode(), 200);
+            Assert.assertEquals(response.jsonPath().getInt("bookingid"), 42);
+            Assert.assertEquals(stub.hits("POST", "/booking"), 1);
+        }
+    }
+
+    @Test(description = "Token and patch flow compose without blocking in between")
+    public void authThenPatchAsync() throws Exception {
+        try (StubServer stub = bookerStub()) {
+            BookingClient bookings = new BookingClient(stub.baseUrl());
+            ApiResponse patched = new AuthClient(stub.baseUrl()).getAuthTokenAsync("admin", "password123")
+                    .thenCompose(token -> bookings.patchBookingAsync(Map.of("additionalneeds", "Late Checkout"), 42,
+                            token))
+                    .get(FUTURE_TIMEOUT_S, TimeUnit.SECONDS);
+
+            Assert.assertEquals(patched.jsonPath().getString("additionalneeds"), "Late Checkout");
+        }
+    }
+
+    @Test(description = "Many in-flight requests don't need a thread each")
+    public void concurrentRequestsOverlap() throws Exception {
+        try (StubServer stub = bookerStub()) {
+            BookingClient client = new BookingClient(stub.baseUrl());
+            // Warm-up: the shared client's first connection and the response parsing aren't what's measured
+            client.createBookingAsync(DataGenerator.createFakeBooking()).get(FUTURE_TIMEOUT_S, TimeUnit.SECONDS)
+                    .jsonPath();
+            stub.delay(Duration.ofMillis(200));
+
+            long start = System.nanoTime();
+            List<CompletableFuture<ApiResponse>> calls = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                calls.add(client.createBookingAsync(DataGenerator.createFakeBooking()));
+            }
+            CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(30, TimeUnit.SECONDS);
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assert.assertEquals(stub.hits("POST", "/booking"), 41, "40 timed + the warm-up");
+            // 40 x 200ms back to back would be 8s
+            Assert.assertTrue(elapsedMs < 4000, "Requests did not overlap: " + elapsedMs + " ms");
+        }
+    }
+
+    @Test(description = "A 5xx completes the future exceptionally, like handleApiFailure throws")
+    public void serverErrorFailsTheFuture() throws Exception {
+        try (StubServer stub = new StubServer().on("GET", "/", 200, "ok").on("POST", "/addtocart", 503, "down")) {
+            CompletableFuture<ApiResponse> call = new CartClient(stub.baseUrl()).addToCartAsync("1", "token");
+
+            ExecutionException failure = Assert.expectThrows(ExecutionException.class,
+                    () -> call.get(FUTURE_TIMEOUT_S, TimeUnit.SECONDS));
+            Assert.assertTrue(failure.getCause().getMessage().contains("SERVER_CRASH"), failure.getMessage());
+        }
+    }
+}
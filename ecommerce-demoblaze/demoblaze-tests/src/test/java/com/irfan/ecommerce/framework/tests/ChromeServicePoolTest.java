@@ -0,0 +1,60 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.ui.base.ChromeServicePool;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * ChromeServicePoolTest: The offline driver marker is reused only while the
+ * binary and the installed Chrome still report the versions it was written
+ * for. A shell script stands in for chromedriver's --version.
+ */
+public class ChromeServicePoolTest {
+
+    private static File fakeChromedriver(Path dir, String version) throws IOException {
+        Path script = dir.resolve("chromedriver");
+        Files.writeString(script, "#!/bin/sh\necho \"ChromeDriver " + version + " (abc123-refs/branch-heads/1)\"\n",
+                StandardCharsets.UTF_8);
+        Assert.assertTrue(script.toFile().setExecutable(true));
+        return script.toFile();
+    }
+
+    @Test(description = "A marker whose versions still match is reused without WebDriverManager")
+    public void matchingMarkerIsReused() throws IOException {
+        Path dir = Files.createTempDirectory("driver-cache");
+        File binary = fakeChromedriver(dir, "129.0.6668.70");
+        Path marker = dir.resolve("chromedriver.properties");
+        ChromeServicePool.rememberBinary(marker, binary, "129.0.6668.70");
+
+        Assert.assertEquals(ChromeServicePool.cachedBinary(marker, "129.0.6668.58"), binary);
+        Assert.assertEquals(ChromeServicePool.cachedBinary(marker, null), binary, "Undetectable Chrome skips that check");
+    }
+
+    @Test(description = "A Chrome upgrade to another major version makes the marker stale")
+    public void browserUpgradeIsStale() throws IOException {
+        Path dir = Files.createTempDirectory("driver-cache");
+        Path marker = dir.resolve("chromedriver.properties");
+        ChromeServicePool.rememberBinary(marker, fakeChromedriver(dir, "129.0.6668.70"), "129.0.6668.70");
+
+        Assert.assertNull(ChromeServicePool.cachedBinary(marker, "130.0.6723.58"));
+    }
+
+    @Test(description = "A binary upgraded in place, or a marker from before versions were recorded, is stale")
+    public void driverUpgradeAndLegacyMarkerAreStale() throws IOException {
+        Path dir = Files.createTempDirectory("driver-cache");
+        Path marker = dir.resolve("chromedriver.properties");
+        File binary = fakeChromedriver(dir, "129.0.6668.70");
+        ChromeServicePool.rememberBinary(marker, binary, "128.0.6613.137");
+        Assert.assertNull(ChromeServicePool.cachedBinary(marker, null));
+
+        Files.writeString(marker, binary.getAbsolutePath(), StandardCharsets.UTF_8);
+        Assert.assertNull(ChromeServicePool.cachedBinary(marker, null));
+        Assert.assertNull(ChromeServicePool.cachedBinary(dir.resolve("missing.properties"), null));
+    }
+}
@@ -0,0 +1,101 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.ui.base.BasePage;
+import com.irfan.ecommerce.ui.base.CommandTimings;
+import com.irfan.ecommerce.util.ObjectRepo;
+import com.irfan.ecommerce.util.TableSnapshot;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CommandTimingsTest: Commands through the timing decorator are counted per
+ * test, per command and per framework action, and the run-level report
+ * ranks command/action pairs by total time.
+ */
+public class CommandTimingsTest {
+
+    private static final class ListingPage extends BasePage {
+        private ListingPage(WebDriver driver) {
+            super(driver);
+        }
+
+        private TableSnapshot listing() {
+            return snapshotList(ObjectRepo.PRODUCT_LIST, ".card", ".card-title");
+        }
+    }
+
+    private static Optional<String[]> row(String[][] table, String label) {
+        return Arrays.stream(table).filter(row -> row[0].equals(label)).findFirst();
+    }
+
+    @Test(description = "Every command is passed through and counted under the test, the command and the caller")
+    public void breakdownPerCommandAndAction() {
+        FakeDriver browser = new FakeDriver().onScript(script -> script.startsWith("return")
+                ? 1L
+                : Map.of("token", "t", "version", 0L, "index", 0L, "headers", List.of(".card-title"), "rows", List.of()));
+        WebDriver driver = CommandTimings.decorate(browser.driver());
+        String testName = "CommandTimingsTest.breakdown-" + System.nanoTime();
+        CommandTimings.beginTest(testName);
+
+        driver.get("data:,");
+        Assert.assertEquals(((JavascriptExecutor) driver).executeScript("return 1"), 1L);
+        driver.navigate().refresh();
+        Assert.assertEquals(new ListingPage(driver).listing().rowCount(), 0);
+
+        Assert.assertEquals(browser.count("executeScript"), 2);
+        CommandTimings.TestBreakdown breakdown = CommandTimings.breakdownFor(testName);
+        Assert.assertNotNull(breakdown);
+        Assert.assertEquals(breakdown.commandCount(), 4, "navigate() itself is not a wire command");
+        String[][] table = breakdown.toTable(10);
+        Assert.assertEquals(row(table, "cmd executeScript").orElseThrow()[1], "2");
+        Assert.assertEquals(row(table, "cmd navigate.refresh").orElseThrow()[1], "1");
+        Assert.assertEquals(row(table, "via BasePage.snapshotList").orElseThrow()[1], "1");
+        Assert.assertEquals(row(table, "via (direct)").orElseThrow()[1], "3");
+        Assert.assertNull(CommandTimings.breakdownFor("SomeOtherTest.method"), "No stale numbers for other tests");
+    }
+
+    @Test(description = "A failing command is still timed and its exception reaches the caller unchanged")
+    public void failedCommandsAreTimedAndRethrown() {
+        WebDriver driver = CommandTimings.decorate(new FakeDriver().driver());
+        String testName = "CommandTimingsTest.failures-" + System.nanoTime();
+        CommandTimings.beginTest(testName);
+
+        Assert.expectThrows(UnsupportedOperationException.class, driver::getTitle);
+
+        Assert.assertTrue(row(CommandTimings.breakdownFor(testName).toTable(10), "cmd getTitle").isPresent());
+    }
+
+    @Test(description = "The run-level report lists the most expensive command/action pairs first")
+    public void reportIsOrderedByTotalTime() {
+        String action = "CommandTimingsTest.report-" + System.nanoTime();
+        CommandTimings.record("findElement", action, TimeUnit.MILLISECONDS.toNanos(1));
+        CommandTimings.record("getScreenshotAs", action, TimeUnit.SECONDS.toNanos(400));
+        CommandTimings.record("getScreenshotAs", action, TimeUnit.SECONDS.toNanos(200));
+
+        List<String> report = CommandTimings.report(Integer.MAX_VALUE);
+
+        Assert.assertTrue(report.get(0).startsWith("COMMAND"));
+        int slow = indexOf(report, "getScreenshotAs", action);
+        int fast = indexOf(report, "findElement", action);
+        Assert.assertTrue(slow > 0 && slow < fast, String.join("\n", report));
+        Assert.assertTrue(report.get(slow).matches(".*\\s2\\s+600\\d{3}\\s.*"), report.get(slow));
+    }
+
+    private static int indexOf(List<String> report, String command, String action) {
+        for (int i = 0; i < report.size(); i++) {
+            if (report.get(i).startsWith(command + " ") && report.get(i).contains(action)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.util.CompositeActions;
+import com.irfan.ecommerce.util.ObjectRepo;
+import org.openqa.selenium.NoSuchElementException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * CompositeActionsTest: One script per attempt for form fills, clicks and
+ * multi-text reads, with polling until the page is ready.
+ */
+public class CompositeActionsTest {
+
+    private static Map<String[], String> loginForm() {
+        Map<String[], String> form = new LinkedHashMap<>();
+        form.put(ObjectRepo.LOGIN_USER, "ada");
+        form.put(ObjectRepo.LOGIN_PASS, "s3cret");
+        return form;
+    }
+
+    @Test(description = "A form is filled in one call once every field is ready")
+    public void fillsWholeFormInOneCall() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicReference<Object[]> sent = new AtomicReference<>();
+        FakeDriver browser = new FakeDriver().onScript((script, args) -> {
+            sent.set(args);
+            return attempts.incrementAndGet() == 1
+                    ? Map.of("missing", List.of(1L)) : Map.of("won", List.of(0L, 0L));
+        });
+
+        CompositeActions.fill(browser.driver(), loginForm(), Duration.ofSeconds(5));
+
+        Assert.assertEquals(browser.count("executeScript"), 2, "One retry while the password field was missing");
+        Assert.assertEquals(sent.get()[1], List.of("ada", "s3cret"), "Values go out in form order");
+        Assert.assertEquals(((List<?>) sent.get()[0]).size(), 2);
+    }
+
+    @Test(description = "Fields that never become editable are named in the failure")
+    public void fillTimesOutNamingMissingFields() {
+        FakeDriver browser = new FakeDriver().onScript(script -> Map.of("missing", List.of(1L)));
+
+        NoSuchElementException failure = Assert.expectThrows(NoSuchElementException.class,
+                () -> CompositeActions.fill(browser.driver(), loginForm(), Duration.ofMillis(200)));
+
+        Assert.assertTrue(failure.getMessage().contains("id:loginpassword"), failure.getMessage());
+        Assert.assertFalse(failure.getMessage().contains("id:loginusername"), failure.getMessage());
+    }
+
+    @Test(description = "clickWhenReady polls until the element can take the click")
+    public void clickPollsUntilReady() {
+        AtomicInteger attempts = new AtomicInteger();
+        FakeDriver browser = new FakeDriver().onScript(script -> attempts.incrementAndGet() < 3 ? null : 0L);
+
+        CompositeActions.clickWhenReady(browser.driver(), Duration.ofSeconds(5), ObjectRepo.LOGIN_BTN);
+
+        Assert.assertEquals(browser.count("executeScript"), 3);
+        Assert.expectThrows(NoSuchElementException.class, () -> CompositeActions.clickWhenReady(
+                new FakeDriver().driver(), Duration.ofMillis(200), ObjectRepo.LOGIN_BTN));
+    }
+
+    @Test(description = "Several texts come back from one call, in order")
+    public void readsSeveralTextsAtOnce() {
+        FakeDriver browser = new FakeDriver()
+                .onScript(script -> List.of(List.of(0L, "Samsung galaxy s6"), List.of(0L, "$360")));
+
+        List<String> texts = CompositeActions.texts(browser.driver(), Duration.ofSeconds(2), List.of(
+                CompositeActions.Target.of(ObjectRepo.PRODUCT_TITLE),
+                CompositeActions.Target.of(ObjectRepo.PRODUCT_PRICE)));
+
+        Assert.assertEquals(texts, List.of("Samsung galaxy s6", "$360"));
+        Assert.assertEquals(browser.count("executeScript"), 1);
+    }
+
+    @Test(description = "Texts still missing at the timeout come back empty")
+    public void missingTextsAreEmpty() {
+        FakeDriver browser = new FakeDriver()
+                .onScript(script -> new ArrayList<>(Arrays.asList(List.of(0L, "Nokia lumia 1520"), null)));
+
+        List<String> texts = CompositeActions.texts(browser.driver(), Duration.ofMillis(200), List.of(
+                CompositeActions.Target.of(ObjectRepo.CART_PRODUCT_NAME, "Nokia lumia 1520"),
+                CompositeActions.Target.of(ObjectRepo.CART_PRODUCT_NAME, "Sony vaio i5")));
+
+        Assert.assertEquals(texts, List.of("Nokia lumia 1520", ""));
+        Assert.assertTrue(browser.count("executeScript") > 1, "Polled while a text was missing");
+    }
+}
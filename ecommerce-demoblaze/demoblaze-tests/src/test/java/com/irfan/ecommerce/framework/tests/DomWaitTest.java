@@ -0,0 +1,87 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.util.DomWait;
+import com.irfan.ecommerce.util.ObjectRepo;
+import com.irfan.ecommerce.util.ScriptLocatorResolver;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * DomWaitTest: One blocking script per wait, index mapping, navigation
+ * retries and By translation, against a FakeDriver.
+ */
+public class DomWaitTest {
+
+    private static final WebElement ELEMENT = (WebElement) Proxy.newProxyInstance(
+            DomWaitTest.class.getClassLoader(), new Class<?>[] {WebElement.class},
+            (proxy, method, args) -> "hashCode".equals(method.getName()) ? 1 : null);
+
+    @Test(description = "A wait is a single async script carrying the condition and the remaining time")
+    public void waitIsOneAsyncScript() {
+        AtomicReference<Object[]> sent = new AtomicReference<>();
+        FakeDriver browser = new FakeDriver().onScript((script, args) -> {
+            sent.set(args);
+            return List.of(1L, ELEMENT);
+        });
+
+        ScriptLocatorResolver.Match match = DomWait.until(browser.driver(), DomWait.Condition.TEXT_PRESENT,
+                Duration.ofSeconds(5), "Cart", ObjectRepo.NAV_CART, new int[] {1, 0});
+
+        Assert.assertEquals(browser.commands(), List.of("executeAsyncScript"));
+        Assert.assertEquals(sent.get()[1], "text");
+        Assert.assertEquals(sent.get()[2], "Cart");
+        Assert.assertTrue(((Number) sent.get()[4]).longValue() > 4_000, "Remaining timeout goes to the browser");
+        Assert.assertEquals(match.getIndex(), 0, "Position 1 in order {1, 0} is array index 0");
+        Assert.assertSame(match.getElement(), ELEMENT);
+    }
+
+    @Test(description = "A timeout in the browser surfaces as TimeoutException without re-polling")
+    public void timeoutIsNotRetried() {
+        FakeDriver browser = new FakeDriver();
+
+        Assert.expectThrows(TimeoutException.class, () -> DomWait.gone(browser.driver(), Duration.ofSeconds(5),
+                ObjectRepo.MODAL_BACKDROP));
+        Assert.assertEquals(browser.count("executeAsyncScript"), 1);
+    }
+
+    @Test(description = "A navigation mid-wait re-installs the observer on the new document")
+    public void retriesAfterNavigation() {
+        AtomicInteger attempts = new AtomicInteger();
+        FakeDriver browser = new FakeDriver().onScript(script -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new JavascriptException("javascript error: document unloaded while waiting for result");
+            }
+            return List.of(-1L);
+        });
+
+        ScriptLocatorResolver.Match match = DomWait.until(browser.driver(), DomWait.Condition.GONE,
+                Duration.ofSeconds(5), null, ObjectRepo.MODAL_BACKDROP, new int[] {0, 1});
+
+        Assert.assertEquals(match.getIndex(), -1);
+        Assert.assertNull(match.getElement());
+        Assert.assertEquals(browser.count("executeAsyncScript"), 2);
+    }
+
+    @Test(description = "Plain By locators translate to the engine's locator strings")
+    public void translatesBy() {
+        Assert.assertEquals(DomWait.locatorOf(By.cssSelector("#tbodyid tr")), "css:#tbodyid tr");
+        Assert.assertEquals(DomWait.locatorOf(By.xpath("//a[text()='Cart']")), "xpath://a[text()='Cart']");
+        Assert.assertEquals(DomWait.locatorOf(By.id("nava")), "id:nava");
+        Assert.assertEquals(DomWait.locatorOf(By.className("modal-backdrop")), "class:modal-backdrop");
+        Assert.assertEquals(DomWait.locatorOf(By.linkText("Phones")), "text:Phones");
+        Assert.assertNull(DomWait.locatorOf(By.tagName("tr")));
+        Assert.assertEquals(ScriptLocatorResolver.normalize(DomWait.locatorOf(By.xpath("//a[@href='http://x']"))),
+                new String[] {"xpath", "//a[@href='http://x']"});
+    }
+}
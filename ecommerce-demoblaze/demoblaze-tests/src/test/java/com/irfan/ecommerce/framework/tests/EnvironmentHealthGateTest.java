@@ -0,0 +1,93 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.api.clients.EnvironmentHealthGate;
+import com.irfan.ecommerce.api.clients.restfulbooker.AuthClient;
+import com.irfan.ecommerce.api.clients.restfulbooker.BookingClient;
+import com.irfan.ecommerce.framework.support.StubServer;
+import com.irfan.ecommerce.util.DataGenerator;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * EnvironmentHealthGateTest: Probe de-duplication and the closed/open/half-open
+ * cycle, against a local stub whose health can be flipped mid-test.
+ */
+public class EnvironmentHealthGateTest {
+
+    @Test(description = "Many clients for one base URI share one health probe")
+    public void clientsShareOneProbe() throws IOException {
+        try (StubServer stub = new StubServer().on("GET", "/", 200, "ok")) {
+            for (int i = 0; i < 10; i++) {
+                new BookingClient(stub.baseUrl());
+                new AuthClient(stub.baseUrl());
+            }
+            Assert.assertEquals(stub.hits("GET", "/"), 1);
+        }
+    }
+
+    @Test(description = "Concurrent callers of a cold gate wait on a single in-flight probe")
+    public void singleFlightProbe() throws IOException {
+        try (StubServer stub = new StubServer().on("GET", "/", 200, "ok").delay(Duration.ofMillis(300))) {
+            EnvironmentHealthGate gate = gate(stub, Duration.ofSeconds(30));
+            List<CompletableFuture<EnvironmentHealthGate.State>> callers = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                callers.add(CompletableFuture.supplyAsync(gate::check));
+            }
+            callers.forEach(caller -> Assert.assertEquals(caller.join(), EnvironmentHealthGate.State.CLOSED));
+            Assert.assertEquals(stub.hits("GET", "/"), 1);
+        }
+    }
+
+    @Test(description = "An unhealthy environment skips the test instead of exiting the JVM")
+    public void openBreakerSkipsRequests() throws IOException {
+        try (StubServer stub = new StubServer().on("GET", "/", 503, "down").on("POST", "/booking", 200, "{}")) {
+            BookingClient client = new BookingClient(stub.baseUrl());
+
+            Assert.assertThrows(SkipException.class, () -> client.createBookingAsync(DataGenerator.createFakeBooking()));
+            Assert.assertThrows(SkipException.class, () -> client.createBooking(DataGenerator.createFakeBooking()));
+            Assert.assertEquals(stub.hits("POST", "/booking"), 0);
+            Assert.assertEquals(EnvironmentHealthGate.forUri(stub.baseUrl()).getState(), EnvironmentHealthGate.State.OPEN);
+        }
+    }
+
+    @Test(description = "After the cooldown one half-open probe closes the breaker again")
+    public void halfOpenProbeRecovers() throws Exception {
+        try (StubServer stub = new StubServer().on("GET", "/", 500, "down")) {
+            EnvironmentHealthGate gate = gate(stub, Duration.ofMillis(200));
+            Assert.assertEquals(gate.check(), EnvironmentHealthGate.State.OPEN);
+            Assert.assertEquals(gate.check(), EnvironmentHealthGate.State.OPEN, "No probe during cooldown");
+            Assert.assertEquals(stub.hits("GET", "/"), 1);
+
+            stub.on("GET", "/", 200, "ok");
+            Thread.sleep(250);
+            Assert.assertEquals(gate.check(), EnvironmentHealthGate.State.CLOSED);
+            Assert.assertEquals(stub.hits("GET", "/"), 2);
+        }
+    }
+
+    @Test(description = "A streak of 5xx from real calls opens the breaker without waiting for a probe")
+    public void failureStreakOpensBreaker() throws IOException {
+        try (StubServer stub = new StubServer().on("GET", "/", 200, "ok")) {
+            EnvironmentHealthGate gate = gate(stub, Duration.ofSeconds(30));
+            Assert.assertEquals(gate.check(), EnvironmentHealthGate.State.CLOSED);
+
+            gate.recordFailure(502);
+            gate.recordFailure(502);
+            Assert.assertEquals(gate.getState(), EnvironmentHealthGate.State.CLOSED);
+            gate.recordFailure(502);
+            Assert.assertEquals(gate.getState(), EnvironmentHealthGate.State.OPEN);
+            Assert.assertThrows(SkipException.class, gate::ensureAvailable);
+        }
+    }
+
+    private static EnvironmentHealthGate gate(StubServer stub, Duration cooldown) {
+        return new EnvironmentHealthGate(stub.baseUrl(), Duration.ofMinutes(1), cooldown, 3);
+    }
+}
@@ -0,0 +1,159 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.util.ExcelStreamReader;
+import com.irfan.ecommerce.util.ExcelUtil;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFRichTextString;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * ExcelStreamReaderTest: The streamed rows against the DOM reader's, column
+ * projection, header mapping, and the file being let go of.
+ */
+public class ExcelStreamReaderTest {
+
+    // Header + 4 rows: shared and rich strings, numbers with formats, a date, a boolean, blanks
+    private static Path workbook() throws Exception {
+        Path file = Files.createTempFile("stream-data", ".xlsx");
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            book.createSheet("Notes").createRow(0).createCell(0).setCellValue("not this one");
+            XSSFSheet sheet = book.createSheet("Login");
+            CellStyle price = book.createCellStyle();
+            price.setDataFormat(book.createDataFormat().getFormat("0.00"));
+            CellStyle date = book.createCellStyle();
+            date.setDataFormat(book.createDataFormat().getFormat("yyyy-mm-dd"));
+
+            Row header = sheet.createRow(0);
+            String[] names = {"username", "password", "price", "joined", "active", "note"};
+            for (int i = 0; i < names.length; i++) {
+                header.createCell(i).setCellValue(names[i]);
+            }
+            for (int r = 1; r <= 4; r++) {
+                Row row = sheet.createRow(r);
+                row.createCell(0).setCellValue("user" + r);
+                row.createCell(1).setCellValue(r % 2 == 0 ? "secret" : "p@ss<" + r + ">");
+                row.createCell(2).setCellValue(r * 10.5);
+                row.getCell(2).setCellStyle(price);
+                row.createCell(3).setCellValue(45000 + r);
+                row.getCell(3).setCellStyle(date);
+                row.createCell(4).setCellValue(r != 3);
+                if (r == 2) {
+                    row.createCell(5).setCellValue(new XSSFRichTextString("rich text"));
+                }
+                if (r == 4) {
+                    row.createCell(5).setCellValue(7);
+                }
+            }
+            book.write(out);
+        }
+        return file;
+    }
+
+    // Same workbook, with the optional count/uniqueCount attributes stripped from <sst> as some writers do
+    private static Path withoutUniqueCount(Path source) throws Exception {
+        Path file = Files.createTempFile("stream-data-nocount", ".xlsx");
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(source));
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                byte[] data = in.readAllBytes();
+                if (entry.getName().equals("xl/sharedStrings.xml")) {
+                    String xml = new String(data, StandardCharsets.UTF_8);
+                    String stripped = xml.replaceAll(" (count|uniqueCount)=\"\\d+\"", "");
+                    Assert.assertNotEquals(stripped, xml, "Fixture must lose its uniqueCount");
+                    data = stripped.getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private static List<Object[]> drain(ExcelStreamReader reader) {
+        List<Object[]> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    @Test(description = "Every cell reads the same as through the DOM reader")
+    public void matchesDomReader() throws Exception {
+        Path file = workbook();
+        Object[][] dom = new ExcelUtil().readExcelTestData(file, "Login");
+        List<Object[]> streamed = drain(ExcelStreamReader.rows(file, "Login"));
+
+        Assert.assertEquals(streamed.size(), dom.length);
+        for (int i = 0; i < dom.length; i++) {
+            Assert.assertEquals(streamed.get(i), dom[i], "Row " + (i + 1));
+        }
+        Assert.assertEquals(streamed.get(0)[2], "10.50");
+        Assert.assertEquals(streamed.get(2)[4], "FALSE");
+        Assert.assertEquals(streamed.get(0)[5], "", "Blank cells read as empty text");
+    }
+
+    @Test(description = "Named columns come back in the requested order, or as a header-keyed map")
+    public void projectsAndMapsByHeader() throws Exception {
+        Path file = workbook();
+        List<Object[]> rows = drain(ExcelStreamReader.rows(file, "Login", "password", "username"));
+        Assert.assertEquals(rows.get(0), new Object[]{"p@ss<1>", "user1"});
+        Assert.assertEquals(rows.size(), 4);
+
+        ExcelStreamReader records = ExcelStreamReader.records(file, "Login", "username", "note");
+        Assert.assertEquals(records.columns(), List.of("username", "note"));
+        Object[] first = records.next();
+        Assert.assertEquals(first.length, 1, "One Map argument per test invocation");
+        @SuppressWarnings("unchecked")
+        Map<String, String> record = (Map<String, String>) records.next()[0];
+        Assert.assertEquals(record, Map.of("username", "user2", "note", "rich text"));
+        records.close();
+    }
+
+    @Test(description = "Rows are read on demand and the file is released after the last one")
+    public void lazyAndClosesAtEnd() throws Exception {
+        Path file = workbook();
+        ExcelStreamReader reader = ExcelStreamReader.rows(file, "Login", "username");
+        Assert.assertEquals(reader.header().size(), 6);
+        Assert.assertEquals(reader.next(), new Object[]{"user1"});
+        drain(reader);
+        Assert.assertFalse(reader.hasNext());
+        Assert.expectThrows(NoSuchElementException.class, reader::next);
+        Files.delete(file);
+    }
+
+    @Test(description = "Unknown sheets and columns fail fast and name what is there")
+    public void unknownNamesFailFast() throws Exception {
+        Path file = workbook();
+        IllegalArgumentException column = Assert.expectThrows(IllegalArgumentException.class,
+                () -> ExcelStreamReader.rows(file, "Login", "email"));
+        Assert.assertTrue(column.getMessage().contains("username"), column.getMessage());
+        IllegalArgumentException sheet = Assert.expectThrows(IllegalArgumentException.class,
+                () -> ExcelStreamReader.rows(file, "Checkout"));
+        Assert.assertTrue(sheet.getMessage().contains("Notes"), sheet.getMessage());
+    }
+
+    @Test(description = "A shared strings table without uniqueCount still resolves every string")
+    public void sharedStringsWithoutUniqueCount() throws Exception {
+        Path file = withoutUniqueCount(workbook());
+        List<Object[]> rows = drain(ExcelStreamReader.rows(file, "Login", "username", "password", "note"));
+        Assert.assertEquals(rows.size(), 4);
+        Assert.assertEquals(rows.get(0), new Object[]{"user1", "p@ss<1>", ""});
+        Assert.assertEquals(rows.get(1), new Object[]{"user2", "secret", "rich text"});
+        Assert.assertEquals(rows.get(3), new Object[]{"user4", "secret", "7"});
+    }
+}
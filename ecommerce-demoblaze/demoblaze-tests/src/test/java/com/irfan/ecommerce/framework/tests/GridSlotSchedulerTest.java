@@ -0,0 +1,167 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.ui.base.GridSlotScheduler;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GridSlotSchedulerTest: Drives the scheduler against a local stub that
+ * serves canned Grid /status JSON, so no real hub is needed. Each test owns
+ * its stub because surefire runs these methods in parallel.
+ */
+public class GridSlotSchedulerTest {
+
+    @Test(description = "A free chrome slot is granted without queueing")
+    public void grantsFreeSlotImmediately() throws IOException {
+        try (StatusStub grid = new StatusStub(status(true, slot("chrome", false), slot("chrome", true)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofSeconds(5));
+
+            try (GridSlotScheduler.SlotReservation ignored = scheduler.acquire("chrome")) {
+                Assert.assertEquals(scheduler.getQueueDepth(), 0);
+                Assert.assertEquals(scheduler.getSlotUtilization(), 0.5, 0.001);
+            }
+        }
+    }
+
+    @Test(description = "Reservations in flight count against the free slots the Grid reports")
+    public void reservationsConsumeFreeSlots() throws Exception {
+        try (StatusStub grid = new StatusStub(status(true, slot("chrome", false)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofSeconds(5));
+
+            GridSlotScheduler.SlotReservation first = scheduler.acquire("chrome");
+            CompletableFuture<GridSlotScheduler.SlotReservation> second =
+                    CompletableFuture.supplyAsync(() -> scheduler.acquire("chrome"));
+
+            waitForQueueDepth(scheduler, 1);
+            Assert.assertFalse(second.isDone(), "Second caller must queue while the only slot is reserved");
+
+            first.close();
+            second.get(5, TimeUnit.SECONDS).close();
+        }
+    }
+
+    @Test(description = "Queued callers proceed once /status shows a slot has freed up")
+    public void queuesUntilSlotFrees() throws Exception {
+        try (StatusStub grid = new StatusStub(status(true, slot("chrome", true), slot("firefox", false)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofSeconds(5));
+
+            CompletableFuture<GridSlotScheduler.SlotReservation> waiter =
+                    CompletableFuture.supplyAsync(() -> scheduler.acquire("chrome"));
+            waitForQueueDepth(scheduler, 1);
+
+            grid.statusJson = status(true, slot("chrome", false), slot("firefox", false));
+            waiter.get(5, TimeUnit.SECONDS).close();
+            Assert.assertEquals(scheduler.getQueueDepth(), 0);
+        }
+    }
+
+    @Test(description = "A Grid that never frees up produces a clear timeout, not a hang")
+    public void timesOutWhenGridStaysFull() throws IOException {
+        try (StatusStub grid = new StatusStub(status(true, slot("chrome", true)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofMillis(300));
+
+            Assert.assertThrows(TimeoutException.class, () -> scheduler.acquire("chrome"));
+            Assert.assertEquals(scheduler.getQueueDepth(), 0);
+            Assert.assertEquals(scheduler.getSlotUtilization(), 1.0, 0.001);
+        }
+    }
+
+    @Test(description = "A hub that is not ready offers no slots")
+    public void notReadyGridOffersNothing() throws IOException {
+        try (StatusStub grid = new StatusStub(status(false, slot("chrome", false)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofMillis(300));
+
+            Assert.assertThrows(TimeoutException.class, () -> scheduler.acquire("chrome"));
+        }
+    }
+
+    @Test(description = "A slow /status call doesn't hold up release() for other threads")
+    public void releaseDoesNotWaitOnStatusCall() throws Exception {
+        try (StatusStub grid = new StatusStub(status(true, slot("chrome", false)))) {
+            GridSlotScheduler scheduler = grid.scheduler(Duration.ofSeconds(10));
+            GridSlotScheduler.SlotReservation first = scheduler.acquire("chrome");
+
+            grid.delayMs = 1500;
+            CompletableFuture<GridSlotScheduler.SlotReservation> waiter =
+                    CompletableFuture.supplyAsync(() -> scheduler.acquire("chrome"));
+            waitForQueueDepth(scheduler, 1);
+            Thread.sleep(200);
+
+            long start = System.nanoTime();
+            first.close();
+            long releaseMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue(releaseMs < 500, "release() waited " + releaseMs + " ms on the /status call");
+
+            grid.delayMs = 0;
+            waiter.get(10, TimeUnit.SECONDS).close();
+        }
+    }
+
+    private static void waitForQueueDepth(GridSlotScheduler scheduler, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (scheduler.getQueueDepth() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(scheduler.getQueueDepth(), expected);
+    }
+
+    private static String slot(String browser, boolean busy) {
+        String session = busy ? "{\"sessionId\":\"abc\"}" : "null";
+        return "{\"session\":" + session + ",\"stereotype\":{\"browserName\":\"" + browser + "\"}}";
+    }
+
+    private static String status(boolean ready, String... slots) {
+        return "{\"value\":{\"ready\":" + ready + ",\"message\":\"stub\",\"nodes\":[{\"availability\":\"UP\","
+                + "\"slots\":[" + String.join(",", slots) + "]}]}}";
+    }
+
+    /**
+     * Minimal stand-in for the hub: serves whatever JSON the test last set.
+     */
+    private static final class StatusStub implements AutoCloseable {
+        private final HttpServer server;
+        private volatile String statusJson;
+        private volatile long delayMs;
+
+        StatusStub(String initialStatus) throws IOException {
+            this.statusJson = initialStatus;
+            this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/status", exchange -> {
+                if (delayMs > 0) {
+                    try {
+                        Thread.sleep(delayMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                byte[] body = statusJson.getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+        }
+
+        GridSlotScheduler scheduler(Duration timeout) {
+            String url = "http://127.0.0.1:" + server.getAddress().getPort();
+            return new GridSlotScheduler(url, Duration.ofMillis(50), timeout);
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
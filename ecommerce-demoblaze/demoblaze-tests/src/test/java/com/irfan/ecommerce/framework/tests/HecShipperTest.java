@@ -0,0 +1,218 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irfan.ecommerce.util.HecAppender;
+import com.irfan.ecommerce.util.HecShipper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * HecShipperTest: Size and age batching, gzip, the disk spool and its replay,
+ * and the never-block guarantee, against a local HEC stand-in. Each test owns
+ * its collector because surefire runs these methods in parallel.
+ */
+public class HecShipperTest {
+
+    private static HecShipper shipper(HecStub hec, int batchCount, Duration maxAge, int queueSize, Path spool) {
+        return new HecShipper(URI.create(hec.url()), "test-token", batchCount, 1024 * 1024, maxAge, queueSize,
+                spool, 10 * 1024 * 1024, Duration.ofSeconds(2));
+    }
+
+    private static String event(int i) {
+        return "{\"event\":{\"message\":\"line " + i + "\"}}";
+    }
+
+    private static void waitUntil(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean()) {
+            Assert.assertTrue(System.nanoTime() < deadline, "Condition not met within " + timeout.toMillis() + " ms");
+            Thread.sleep(20);
+        }
+    }
+
+    @Test(description = "Full batches go out gzipped, one request per batchCount events")
+    public void batchesBySize() throws Exception {
+        try (HecStub hec = new HecStub(); HecShipper shipper = shipper(hec, 5, Duration.ofSeconds(30), 100,
+                Files.createTempDirectory("hec"))) {
+            for (int i = 0; i < 10; i++) {
+                shipper.offer(event(i));
+            }
+
+            waitUntil(() -> hec.requests.size() == 2, Duration.ofSeconds(5));
+            Assert.assertEquals(hec.requests.get(0).split("\n").length, 5);
+            Assert.assertTrue(hec.requests.get(1).contains("line 9"));
+            Assert.assertEquals(hec.authorization, "Splunk test-token");
+            Assert.assertEquals(hec.encoding, "gzip");
+        }
+    }
+
+    @Test(description = "A partial batch is sent once its oldest event reaches the max age")
+    public void batchesByAge() throws Exception {
+        try (HecStub hec = new HecStub(); HecShipper shipper = shipper(hec, 1000, Duration.ofMillis(200), 100,
+                Files.createTempDirectory("hec"))) {
+            long start = System.nanoTime();
+            shipper.offer(event(1));
+            shipper.offer(event(2));
+
+            waitUntil(() -> hec.requests.size() == 1, Duration.ofSeconds(5));
+            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Assert.assertTrue(tookMs >= 150, "Sent after " + tookMs + " ms");
+            Assert.assertEquals(hec.requests.get(0).split("\n").length, 2);
+        }
+    }
+
+    @Test(description = "Batches the collector can't take are spooled to disk and replayed once it recovers")
+    public void spoolsWhileDownAndReplays() throws Exception {
+        Path spool = Files.createTempDirectory("hec");
+        try (HecStub hec = new HecStub(); HecShipper shipper = shipper(hec, 2, Duration.ofMillis(100), 100, spool)) {
+            hec.status = 503;
+            for (int i = 0; i < 4; i++) {
+                shipper.offer(event(i));
+            }
+            waitUntil(() -> shipper.spooledFileCount() >= 2, Duration.ofSeconds(5));
+            Assert.assertTrue(hec.requests.isEmpty());
+
+            hec.status = 200;
+            waitUntil(() -> shipper.spooledFileCount() == 0, Duration.ofSeconds(10));
+            String delivered = String.join("\n", hec.requests);
+            for (int i = 0; i < 4; i++) {
+                Assert.assertTrue(delivered.contains("line " + i), "Missing line " + i + " in " + delivered);
+            }
+        }
+    }
+
+    @Test(description = "A slow collector never blocks the logging thread; overflow spills to the spool")
+    public void neverBlocksTheCaller() throws Exception {
+        try (HecStub hec = new HecStub(); HecShipper shipper = shipper(hec, 1, Duration.ofMillis(50), 2,
+                Files.createTempDirectory("hec"))) {
+            hec.delay = Duration.ofMillis(1500);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 200; i++) {
+                shipper.offer(event(i));
+            }
+            long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            Assert.assertTrue(tookMs < 1000, "200 offers took " + tookMs + " ms");
+            Assert.assertTrue(shipper.metricsSummary().matches(".* [1-9]\\d* events spilled.*"),
+                    shipper.metricsSummary());
+        }
+    }
+
+    @Test(description = "During a long outage the overflow spool stays under its cap, dropping and counting the oldest")
+    public void overflowSpoolIsCapped() throws Exception {
+        Path spool = Files.createTempDirectory("hec");
+        long cap = 4 * 1024;
+        try (HecStub hec = new HecStub(); HecShipper shipper = new HecShipper(URI.create(hec.url()), "test-token", 1,
+                1024 * 1024, Duration.ofMillis(50), 1, spool, cap, Duration.ofSeconds(2))) {
+            hec.delay = Duration.ofMillis(1500);
+
+            for (int i = 0; i < 1000; i++) {
+                shipper.offer(event(i));
+            }
+
+            Assert.assertTrue(shipper.spooledBytes() <= cap, shipper.spooledBytes() + " bytes spooled");
+            Assert.assertTrue(shipper.droppedEvents() > 0, shipper.metricsSummary());
+            Assert.assertTrue(shipper.metricsSummary().contains(shipper.droppedEvents() + " events dropped"),
+                    shipper.metricsSummary());
+        }
+    }
+
+    @Test(description = "The log4j appender ships HEC event objects with the run metadata")
+    public void appenderShipsHecEvents() throws Exception {
+        try (HecStub hec = new HecStub()) {
+            HecAppender appender = HecAppender.createAppender("Splunk", hec.url(), "test-token", "selenium_logs",
+                    "demoblaze", "_json", "run-42", 10, 1024 * 1024, 100, 100,
+                    Files.createTempDirectory("hec").toString(), 1, 2000, null);
+            appender.start();
+            appender.append(Log4jLogEvent.newBuilder().setLoggerName("GenericActions").setLevel(Level.INFO)
+                    .setMessage(new SimpleMessage("ACTION: Clicked element successfully.")).build());
+            appender.stop(2, TimeUnit.SECONDS);
+
+            Assert.assertEquals(hec.requests.size(), 1);
+            JsonNode event = new ObjectMapper().readTree(hec.requests.get(0));
+            Assert.assertEquals(event.get("index").asText(), "selenium_logs");
+            Assert.assertEquals(event.get("event").get("ci_run_id").asText(), "run-42");
+            Assert.assertEquals(event.get("event").get("message").asText(), "ACTION: Clicked element successfully.");
+        }
+    }
+
+    @Test(description = "Without a URL or token the appender is inert")
+    public void noCollectorConfigured() {
+        HecAppender appender = HecAppender.createAppender("Splunk", "", "", null, null, "_json", "local", 10, 1024,
+                100, 100, "logs/hec-spool", 1, 2000, null);
+        appender.start();
+        appender.append(Log4jLogEvent.newBuilder().setMessage(new SimpleMessage("nothing to ship")).build());
+        Assert.assertTrue(appender.stop(1, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Records every request's gunzipped body; status and think-time can change mid-test.
+     */
+    private static final class HecStub implements AutoCloseable {
+        private final HttpServer server;
+        private final List<String> requests = new CopyOnWriteArrayList<>();
+        private volatile int status = 200;
+        private volatile Duration delay = Duration.ZERO;
+        private volatile String authorization;
+        private volatile String encoding;
+
+        private HecStub() throws IOException {
+            server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+            server.createContext("/services/collector", this::handle);
+            server.setExecutor(java.util.concurrent.Executors.newCachedThreadPool());
+            server.start();
+        }
+
+        private String url() {
+            return "http://127.0.0.1:" + server.getAddress().getPort() + "/services/collector";
+        }
+
+        private void handle(HttpExchange exchange) throws IOException {
+            byte[] body;
+            try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                body = in.readAllBytes();
+            }
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int code = status;
+            if (code == 200) {
+                authorization = exchange.getRequestHeaders().getFirst("Authorization");
+                encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                requests.add(new String(body, StandardCharsets.UTF_8).trim());
+            }
+            byte[] answer = "{\"text\":\"Success\",\"code\":0}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, answer.length);
+            exchange.getResponseBody().write(answer);
+            exchange.close();
+        }
+
+        @Override
+        public void close() {
+            server.stop(0);
+        }
+    }
+}
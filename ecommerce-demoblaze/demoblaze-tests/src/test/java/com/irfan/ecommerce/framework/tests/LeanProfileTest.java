@@ -0,0 +1,75 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.ui.base.LeanProfile;
+import com.irfan.ecommerce.ui.base.PageLoadStats;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * LeanProfileTest: The lean block list catches cache-busted assets without
+ * touching the API, and PageLoadStats turns recorded timings into a report
+ * compared against the other profile's file. Chrome's "*" wildcard is
+ * emulated with a regex; no browser is involved.
+ */
+public class LeanProfileTest {
+
+    private static boolean blocked(String url) {
+        for (String pattern : LeanProfile.blockedUrlPatterns()) {
+            String regex = ("\\Q" + pattern + "\\E").replace("*", "\\E.*\\Q");
+            if (Pattern.matches(regex, url)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test(description = "Images, fonts and media are blocked with or without a query string; API calls are not")
+    public void defaultTypesMatchQueryStrings() {
+        Assert.assertTrue(blocked("https://hls.demoblaze.com/imgs/galaxy_s6.jpg"));
+        Assert.assertTrue(blocked("https://hls.demoblaze.com/imgs/galaxy_s6.jpg?v=3"));
+        Assert.assertTrue(blocked("https://www.demoblaze.com/fonts/glyphicons.woff2?ver=1.2"));
+        Assert.assertFalse(blocked("https://api.demoblaze.com/entries"));
+        Assert.assertFalse(blocked("https://api.demoblaze.com/view?id=1"));
+    }
+
+    @Test(description = "A driver without CDP skips blocking instead of failing the session")
+    public void driverWithoutDevToolsIsSkipped() {
+        FakeDriver fake = new FakeDriver();
+        LeanProfile.applyBlocking(fake.driver());
+        Assert.assertEquals(fake.commands().size(), 0);
+    }
+
+    @Test(description = "Recorded loads are averaged per page, compared with the other profile and saved")
+    public void reportComparesWithOtherProfile() throws IOException {
+        Path perfDir = Files.createTempDirectory("perf");
+        Files.writeString(perfDir.resolve("page-load-lean.properties"), "stats.demoblaze.test/cart.html.ms=700\n",
+                StandardCharsets.UTF_8);
+
+        FakeDriver fake = new FakeDriver().onScript(script -> List.of(1200L, 204800L));
+        fake.driver().get("https://stats.demoblaze.test/cart.html?user=1");
+        PageLoadStats.record(fake.driver());
+        fake.onScript(script -> List.of(800L, 102400L));
+        PageLoadStats.record(fake.driver());
+
+        String table = PageLoadStats.report(perfDir);
+        Assert.assertTrue(table.matches("(?s).*stats\\.demoblaze\\.test/cart\\.html\\s+2\\s+1000\\s+150\\s+\\+300 ms.*"),
+                table);
+
+        Properties saved = new Properties();
+        try (Reader reader = Files.newBufferedReader(perfDir.resolve("page-load-standard.properties"))) {
+            saved.load(reader);
+        }
+        Assert.assertEquals(saved.getProperty("stats.demoblaze.test/cart.html.ms"), "1000");
+        Assert.assertEquals(saved.getProperty("stats.demoblaze.test/cart.html.kb"), "150");
+    }
+}
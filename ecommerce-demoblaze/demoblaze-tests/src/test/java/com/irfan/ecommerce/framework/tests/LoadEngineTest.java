@@ -0,0 +1,75 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.api.load.LoadEngine;
+import com.irfan.ecommerce.api.load.LoadPhase;
+import com.irfan.ecommerce.api.load.LoadReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LoadEngineTest: Checks the arrival schedule, the request mix and the
+ * coordinated-omission correction with in-memory operations (no network).
+ */
+public class LoadEngineTest {
+
+    @Test(description = "A steady phase issues rate x duration requests")
+    public void steadyRateIssuesExpectedCount() throws InterruptedException {
+        LoadReport report = new LoadEngine("steady", List.of(LoadPhase.steady(Duration.ofSeconds(1), 100)), 4)
+                .addOperation("ok", 1, () -> 200)
+                .run();
+
+        Assert.assertEquals(report.getIssued(), 100L, 2L);
+        Assert.assertEquals(report.endpoint("ok").count(), report.getIssued());
+        Assert.assertEquals(report.endpoint("ok").errorRate(), 0.0);
+    }
+
+    @Test(description = "Ramp-up and ramp-down each deliver half of the steady volume")
+    public void rampsFollowTheProfile() throws InterruptedException {
+        LoadReport report = new LoadEngine("ramps", List.of(
+                LoadPhase.rampUp(Duration.ofMillis(1000), 100),
+                LoadPhase.steady(Duration.ofMillis(1000), 100),
+                LoadPhase.rampDown(Duration.ofMillis(1000), 100)), 4)
+                .addOperation("ok", 1, () -> 200)
+                .run();
+
+        Assert.assertEquals(report.getIssued(), 200L, 3L);
+    }
+
+    @Test(description = "Weights set the mix; 4xx and exceptions count as errors")
+    public void mixAndErrors() throws InterruptedException {
+        LoadReport report = new LoadEngine("mix", List.of(LoadPhase.steady(Duration.ofMillis(500), 80)), 4)
+                .addOperation("read", 3, () -> 200)
+                .addOperation("write", 1, () -> {
+                    throw new IllegalStateException("boom");
+                })
+                .run();
+
+        LoadReport.EndpointStats reads = report.endpoint("read");
+        LoadReport.EndpointStats writes = report.endpoint("write");
+        Assert.assertEquals((double) reads.count() / writes.count(), 3.0, 0.3);
+        Assert.assertEquals(reads.errorRate(), 0.0);
+        Assert.assertEquals(writes.errorRate(), 1.0);
+        Assert.assertTrue(writes.errorTypes().containsKey("IllegalStateException"));
+    }
+
+    @Test(description = "A stall shows up in latency from intended start, not just in the one slow call")
+    public void correctsForCoordinatedOmission() throws InterruptedException {
+        AtomicBoolean stalled = new AtomicBoolean();
+        LoadReport report = new LoadEngine("stall", List.of(LoadPhase.steady(Duration.ofSeconds(1), 50)), 1)
+                .addOperation("api", 1, () -> {
+                    Thread.sleep(stalled.compareAndSet(false, true) ? 500 : 1);
+                    return 200;
+                })
+                .run();
+
+        LoadReport.EndpointStats api = report.endpoint("api");
+        Assert.assertTrue(api.servicePercentileMs(90) < 100,
+                "Service time hides the stall: p90 was " + api.servicePercentileMs(90));
+        Assert.assertTrue(api.percentileMs(90) > 200,
+                "Requests queued behind the stall must report it: p90 was " + api.percentileMs(90));
+    }
+}
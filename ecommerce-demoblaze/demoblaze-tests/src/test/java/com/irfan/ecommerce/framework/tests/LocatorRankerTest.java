@@ -0,0 +1,115 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.util.LocatorRanker;
+import com.irfan.ecommerce.util.ObjectRepo;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LocatorRankerTest: Winner-first ordering, persistence between runs and the
+ * dead-fallback report.
+ */
+public class LocatorRankerTest {
+
+    @Test(description = "The last winner is tried first, then the most frequent winners")
+    public void winnerFirstOrdering() throws IOException {
+        LocatorRanker ranker = new LocatorRanker(tempStore());
+        String[] locators = {"id:gone", "css:.backup", "xpath://a[@class='backup']"};
+        LocatorRanker.Ranking ranking = ranker.ranking(locators);
+
+        Assert.assertEquals(ranking.order(), new int[] {0, 1, 2});
+        ranking.win(2);
+        ranking.win(2);
+        ranking.win(2);
+        ranking.win(1);
+        Assert.assertEquals(ranking.order(), new int[] {1, 2, 0});
+        Assert.assertSame(ranker.ranking(locators), ranking, "Same array, same ranking");
+    }
+
+    @Test(description = "Template arguments get their own ranking")
+    public void templateArgumentsAreKeyedSeparately() throws IOException {
+        LocatorRanker ranker = new LocatorRanker(tempStore());
+        ranker.ranking(ObjectRepo.CATEGORY_DYNAMIC, "Phones").win(0);
+
+        Assert.assertNotSame(ranker.ranking(ObjectRepo.CATEGORY_DYNAMIC, "Laptops"),
+                ranker.ranking(ObjectRepo.CATEGORY_DYNAMIC, "Phones"));
+    }
+
+    @Test(description = "Rankings survive a restart")
+    public void rankingsPersistBetweenRuns() throws IOException {
+        File store = tempStore();
+        LocatorRanker firstRun = new LocatorRanker(store);
+        LocatorRanker.Ranking ranking = firstRun.ranking(ObjectRepo.NAV_LOGIN);
+        ranking.miss(0, TimeUnit.SECONDS.toNanos(2));
+        ranking.win(1);
+        firstRun.save();
+
+        LocatorRanker nextRun = new LocatorRanker(store);
+        Assert.assertEquals(nextRun.ranking(ObjectRepo.NAV_LOGIN).order(), new int[] {1, 0});
+        Assert.assertEquals(nextRun.ranking(ObjectRepo.NAV_HOME).order(), new int[] {0, 1});
+    }
+
+    @Test(description = "Locators that changed since they were saved start from scratch")
+    public void changedLocatorsResetTheirRanking() throws IOException {
+        File store = tempStore();
+        LocatorRanker firstRun = new LocatorRanker(store);
+        firstRun.ranking(new String[] {"id:a", "id:b"}).win(1);
+        firstRun.save();
+
+        LocatorRanker nextRun = new LocatorRanker(store);
+        Assert.assertEquals(nextRun.ranking(new String[] {"id:a", "id:b"}).order(), new int[] {1, 0});
+        Assert.assertEquals(nextRun.ranking(new String[] {"id:a", "id:c"}).order(), new int[] {0, 1});
+    }
+
+    @Test(description = "The report lists fallbacks that cost time and never won, worst first")
+    public void reportsDeadFallbacks() throws IOException {
+        LocatorRanker ranker = new LocatorRanker(tempStore());
+        LocatorRanker.Ranking cart = ranker.ranking(ObjectRepo.NAV_CART);
+        cart.miss(0, TimeUnit.SECONDS.toNanos(6));
+        cart.win(1);
+        LocatorRanker.Ranking addToCart = ranker.ranking(ObjectRepo.ADD_TO_CART_BTN);
+        addToCart.miss(1, TimeUnit.SECONDS.toNanos(2));
+        addToCart.win(0);
+        ranker.ranking(ObjectRepo.NAV_HOME).win(0);
+
+        List<String> report = ranker.report(10);
+
+        Assert.assertEquals(report.size(), 3, String.join("\n", report));
+        Assert.assertTrue(report.get(0).startsWith("DEAD") && report.get(0).contains("NAV_CART")
+                && report.get(0).contains("id:cartur") && report.get(0).contains("wasted=6.0s"), report.get(0));
+        Assert.assertTrue(report.get(1).contains("ADD_TO_CART_BTN") && report.get(1).contains("css:a.btn-success"),
+                report.get(1));
+        Assert.assertTrue(report.get(2).startsWith("NEVER_WON") && report.get(2).contains("NAV_HOME"),
+                report.get(2));
+    }
+
+    @Test(description = "A one-call resolver's hit counts every candidate it tried first as a miss")
+    public void scriptHitRecordsEarlierMisses() throws IOException {
+        LocatorRanker ranker = new LocatorRanker(tempStore());
+        String[] locators = {"id:gone", "css:.also-gone", "xpath://a[@class='backup']"};
+        LocatorRanker.Ranking ranking = ranker.ranking(locators);
+
+        ranking.firstHit(new int[] {0, 1, 2}, 2, TimeUnit.SECONDS.toNanos(3));
+        Assert.assertEquals(ranking.order(), new int[] {2, 0, 1});
+        List<String> report = ranker.report(10);
+        Assert.assertEquals(report.size(), 2, String.join("\n", report));
+        Assert.assertTrue(report.stream().allMatch(line -> line.startsWith("DEAD") && line.contains("misses=1")
+                && line.contains("wasted=1.0s")), String.join("\n", report));
+
+        ranking.firstHit(ranking.order(), -1, TimeUnit.SECONDS.toNanos(3));
+        Assert.assertTrue(ranker.report(10).stream().anyMatch(line -> line.contains("id:gone") && line.contains("misses=2")),
+                "Nothing matched, so every candidate missed");
+    }
+
+    private static File tempStore() throws IOException {
+        File dir = Files.createTempDirectory("locator-ranks").toFile();
+        dir.deleteOnExit();
+        return new File(dir, "locator-ranks.json");
+    }
+}
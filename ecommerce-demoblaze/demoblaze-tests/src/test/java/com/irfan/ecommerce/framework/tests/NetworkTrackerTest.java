@@ -0,0 +1,112 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.ui.base.NetworkTracker;
+import com.irfan.ecommerce.ui.base.SessionStateCache;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * NetworkTrackerTest: In-flight counting, event-driven idle waits, the
+ * ignore limit for hung requests and the 401 hook, fed with the same calls
+ * the CDP listeners make.
+ */
+public class NetworkTrackerTest {
+
+    private static NetworkTracker tracker(Duration ignoreAfter) {
+        return new NetworkTracker(new FakeDriver().driver(), ignoreAfter);
+    }
+
+    @Test(description = "Idle is reached once the last request finishes and the quiet period passes")
+    public void idleAfterLastRequestPlusQuietPeriod() {
+        NetworkTracker tracker = tracker(Duration.ofSeconds(10));
+        tracker.onRequestStarted("1");
+        tracker.onRequestStarted("2");
+        CompletableFuture.runAsync(() -> tracker.onRequestFinished("1"),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        CompletableFuture.runAsync(() -> tracker.onRequestFinished("2"),
+                CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        Assert.assertTrue(tracker.waitForIdle(Duration.ofMillis(100), Duration.ofSeconds(5)));
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertEquals(tracker.inFlight(), 0);
+        Assert.assertTrue(tookMs >= 400 && tookMs < 1_500, "Took " + tookMs + " ms");
+    }
+
+    @Test(description = "A page still busy at the timeout reports false")
+    public void busyPageTimesOut() {
+        NetworkTracker tracker = tracker(Duration.ofSeconds(10));
+        tracker.onRequestStarted("slow");
+
+        Assert.assertFalse(tracker.waitForIdle(Duration.ofMillis(50), Duration.ofMillis(300)));
+        Assert.assertEquals(tracker.inFlight(), 1);
+    }
+
+    @Test(description = "Requests past the ignore limit (long-polls, lost events) stop counting")
+    public void hungRequestsAreIgnoredAfterLimit() {
+        NetworkTracker tracker = tracker(Duration.ofMillis(200));
+        tracker.onRequestStarted("long-poll");
+
+        Assert.assertTrue(tracker.waitForIdle(Duration.ofMillis(50), Duration.ofSeconds(2)));
+        Assert.assertEquals(tracker.inFlight(), 0);
+    }
+
+    @Test(description = "Finish events for untracked requests (documents, images) don't reset the quiet period")
+    public void untrackedFinishesAreIgnored() {
+        NetworkTracker tracker = tracker(Duration.ofSeconds(10));
+        CompletableFuture.runAsync(() -> tracker.onRequestFinished("image-42"),
+                CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        Assert.assertTrue(tracker.waitForIdle(Duration.ofMillis(400), Duration.ofSeconds(2)));
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // A reset would have pushed idle out to 600 ms
+        Assert.assertTrue(tookMs >= 400 && tookMs < 580, "Took " + tookMs + " ms");
+    }
+
+    @Test(description = "A wait that starts before the page's first request still gives that request time to show up")
+    public void quietPeriodCountsFromTheWaitNotEarlierActivity() throws InterruptedException {
+        NetworkTracker tracker = tracker(Duration.ofSeconds(10));
+        Thread.sleep(300); // Idle long before the click
+
+        // The XHR the click triggers shows up 100 ms into the wait and takes 200 ms
+        CompletableFuture.runAsync(() -> tracker.onRequestStarted("cart"),
+                CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS));
+        CompletableFuture.runAsync(() -> tracker.onRequestFinished("cart"),
+                CompletableFuture.delayedExecutor(300, TimeUnit.MILLISECONDS));
+
+        long start = System.nanoTime();
+        Assert.assertTrue(tracker.waitForIdle(Duration.ofMillis(200), Duration.ofSeconds(5)));
+        long tookMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Assert.assertTrue(tookMs >= 500 && tookMs < 1_500, "Returned before the request finished: " + tookMs + " ms");
+    }
+
+    @Test(description = "A 401 drops the browser's cached session state, like the old sniffer did")
+    public void unauthorizedInvalidatesSessionState() {
+        FakeDriver browser = new FakeDriver()
+                .withCookie(new Cookie("tokenp_", "abc123"))
+                .onScript(script -> List.of(Map.of(), Map.of()));
+        String user = "tracker-" + System.nanoTime();
+        AtomicInteger tokenDrops = new AtomicInteger();
+        SessionStateCache.getInstance().capture(browser.driver(), user, tokenDrops::incrementAndGet);
+        NetworkTracker tracker = new NetworkTracker(browser.driver(), Duration.ofSeconds(10));
+
+        tracker.onResponse(500, "https://api.demoblaze.com/entries");
+        Assert.assertNotNull(SessionStateCache.getInstance().lookup(user));
+
+        tracker.onResponse(401, "https://api.demoblaze.com/viewcart");
+        Assert.assertNull(SessionStateCache.getInstance().lookup(user));
+        Assert.assertEquals(tokenDrops.get(), 1);
+    }
+}
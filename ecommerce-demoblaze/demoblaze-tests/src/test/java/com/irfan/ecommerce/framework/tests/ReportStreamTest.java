@@ -0,0 +1,90 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.irfan.ecommerce.util.ReportEntry;
+import com.irfan.ecommerce.util.ReportRenderer;
+import com.irfan.ecommerce.util.ReportStream;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * ReportStreamTest: Parallel tests streamed to one event file, and the HTML
+ * rendered back from it.
+ */
+public class ReportStreamTest {
+
+    @Test(description = "Tests from many threads land in one file and render with the right outcomes")
+    public void parallelTestsRenderToHtml() throws Exception {
+        Path dir = Files.createTempDirectory("report-stream");
+        ReportStream stream = new ReportStream(dir.resolve("events.jsonl"));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                int n = i;
+                runs.add(pool.submit(() -> {
+                    ReportEntry entry = stream.createTest("Checkout : case" + n);
+                    entry.info("step <" + n + "> & done");
+                    entry.info(MarkupHelper.createCodeBlock("trace " + n));
+                    if (n % 10 == 0) {
+                        entry.fail("boom " + n);
+                        entry.addScreenCaptureFromPath("shots/case" + n + ".png");
+                        entry.finish(Status.FAIL);
+                    } else {
+                        entry.log(Status.PASS, "ok");
+                        entry.finish(Status.PASS);
+                    }
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Path html = dir.resolve("index.html");
+        ReportRenderer.Summary summary = stream.render(html);
+        stream.close(Duration.ofSeconds(5));
+
+        Assert.assertEquals(summary.started(), 40);
+        Assert.assertEquals(summary.count("PASS"), 36);
+        Assert.assertEquals(summary.count("FAIL"), 4);
+        String page = Files.readString(html, StandardCharsets.UTF_8);
+        Assert.assertTrue(page.contains("Checkout : case17"));
+        Assert.assertTrue(page.contains("step &lt;17&gt; &amp; done"), "Plain text is escaped");
+        Assert.assertTrue(page.contains("trace 17"), "Markup is kept");
+        Assert.assertTrue(page.contains("<details class=\"FAIL\" open>"), "Failures render expanded");
+        Assert.assertTrue(page.contains("shots/case20.png"));
+        Assert.assertFalse(page.contains("<b>INCOMPLETE</b>"));
+    }
+
+    @Test(description = "A test whose end never reached the file still shows up, as INCOMPLETE")
+    public void unfinishedTestRendersIncomplete() throws Exception {
+        Path dir = Files.createTempDirectory("report-stream");
+        ReportStream stream = new ReportStream(dir.resolve("events.jsonl"));
+        stream.createTest("Cart : finished").finish(Status.PASS);
+        stream.createTest("Cart : killed").info("last words");
+
+        Path html = dir.resolve("index.html");
+        ReportRenderer.Summary summary = stream.render(html);
+        stream.close(Duration.ofSeconds(5));
+
+        Assert.assertEquals(summary.started(), 2);
+        Assert.assertEquals(summary.count("PASS"), 1);
+        String page = Files.readString(html, StandardCharsets.UTF_8);
+        Assert.assertTrue(page.contains("<b>INCOMPLETE</b> Cart : killed"));
+        Assert.assertTrue(page.contains("last words"));
+    }
+}
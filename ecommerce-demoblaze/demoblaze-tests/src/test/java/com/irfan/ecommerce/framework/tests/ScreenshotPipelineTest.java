@@ -0,0 +1,102 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.util.ScreenshotPipeline;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * ScreenshotPipelineTest: Unique paths, background writes, content dedupe,
+ * JPEG/downscale encoding and failure-capture reuse, on generated PNGs.
+ */
+public class ScreenshotPipelineTest {
+
+    private static byte[] png(int width, int height, Color color) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static ScreenshotPipeline pipeline(String format, int maxWidth) throws IOException {
+        return new ScreenshotPipeline(Files.createTempDirectory("shots"), format, maxWidth, 0.8f, 2, 8);
+    }
+
+    @Test(description = "Same name twice gets two files; identical pixels are written once and linked")
+    public void identicalScreenshotsAreDeduplicated() throws IOException {
+        ScreenshotPipeline shots = pipeline("png", 0);
+        byte[] red = png(40, 20, Color.RED);
+
+        String first = shots.submit(red, "Click_Failure");
+        String second = shots.submit(red, "Click_Failure");
+        String other = shots.submit(png(40, 20, Color.BLUE), "Click Failure/2");
+
+        Assert.assertTrue(shots.drain(Duration.ofSeconds(10)));
+        Assert.assertNotEquals(first, second);
+        Assert.assertEquals(Files.readAllBytes(Paths.get(first)), red, "PNG bytes are written untouched");
+        Assert.assertEquals(Files.readAllBytes(Paths.get(second)), red);
+        Assert.assertTrue(Paths.get(other).getFileName().toString().startsWith("Click_Failure_2_"));
+        Assert.assertEquals(shots.duplicates(), 1);
+        Assert.assertTrue(shots.metricsSummary().startsWith("3 captures, 1 duplicates linked, 0 failures"),
+                shots.metricsSummary());
+    }
+
+    @Test(description = "JPEG output is re-encoded and downscaled on the writer thread")
+    public void jpegDownscale() throws IOException {
+        ScreenshotPipeline shots = pipeline("jpg", 100);
+
+        String path = shots.submit(png(400, 200, Color.GREEN), "Checkout");
+
+        Assert.assertTrue(shots.drain(Duration.ofSeconds(10)));
+        Assert.assertTrue(path.endsWith(".jpg"));
+        BufferedImage written = ImageIO.read(Paths.get(path).toFile());
+        Assert.assertEquals(written.getWidth(), 100);
+        Assert.assertEquals(written.getHeight(), 50);
+    }
+
+    @Test(description = "The listener reuses the failing action's capture once, then asks the browser again")
+    public void failureCaptureIsReusedOnce() throws IOException {
+        ScreenshotPipeline shots = pipeline("png", 0);
+        byte[] screen = png(10, 10, Color.BLACK);
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, TakesScreenshot.class}, (proxy, method, args) -> screen);
+
+        RuntimeException cause = new IllegalStateException("element not interactable");
+        String path = shots.captureFailure(driver, "Type_Failure", cause);
+
+        Assert.assertEquals(shots.takeFailureCapture(new RuntimeException("Input Error: SendKeys", cause)), path);
+        Assert.assertNull(shots.takeFailureCapture(new RuntimeException("Input Error: SendKeys", cause)));
+        Assert.assertTrue(shots.drain(Duration.ofSeconds(10)));
+        Assert.assertTrue(Files.exists(Paths.get(path)));
+    }
+
+    @Test(description = "A capture from a failure the test caught is not attached to a later, different failure")
+    public void caughtFailureCaptureIsStale() throws IOException {
+        ScreenshotPipeline shots = pipeline("png", 0);
+        WebDriver driver = (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, TakesScreenshot.class},
+                (proxy, method, args) -> png(10, 10, Color.WHITE));
+
+        shots.captureFailure(driver, "Click_Failure", new IllegalStateException("caught and retried by the test"));
+
+        Assert.assertNull(shots.takeFailureCapture(new AssertionError("Product disappeared from Cart!")));
+        Assert.assertTrue(shots.drain(Duration.ofSeconds(10)));
+    }
+}
@@ -0,0 +1,82 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.util.ObjectRepo;
+import com.irfan.ecommerce.util.ScriptLocatorResolver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ScriptLocatorResolverTest: Locator normalization, one round-trip per
+ * attempt, and the winning index mapped back through the ranked order.
+ */
+public class ScriptLocatorResolverTest {
+
+    private static final WebElement ELEMENT = (WebElement) Proxy.newProxyInstance(
+            ScriptLocatorResolverTest.class.getClassLoader(), new Class<?>[] {WebElement.class},
+            (proxy, method, args) -> "hashCode".equals(method.getName()) ? 1 : null);
+
+    @Test(description = "Locators split into the same strategies parseBy uses")
+    public void normalizesLikeParseBy() {
+        Assert.assertEquals(ScriptLocatorResolver.normalize("id:nava"), new String[] {"id", "nava"});
+        Assert.assertEquals(ScriptLocatorResolver.normalize("css: a.nav-link "), new String[] {"css", "a.nav-link"});
+        Assert.assertEquals(ScriptLocatorResolver.normalize("//a[text()='Home ']"),
+                new String[] {"xpath", "//a[text()='Home ']"});
+        Assert.assertEquals(ScriptLocatorResolver.normalize("loginusername"), new String[] {"id", "loginusername"});
+        Assert.assertEquals(ScriptLocatorResolver.normalize("text:%s", "Phones"), new String[] {"text", "Phones"});
+        Assert.assertEquals(ScriptLocatorResolver.normalize("//a[contains(@href,'http://x')]"),
+                new String[] {"xpath", "//a[contains(@href,'http://x')]"}, "An xpath containing ':' stays xpath");
+    }
+
+    @Test(description = "All candidates go out in ranked order in one script call")
+    @SuppressWarnings("unchecked")
+    public void resolvesInOneRoundTrip() {
+        AtomicReference<Object[]> sent = new AtomicReference<>();
+        FakeDriver browser = new FakeDriver().onScript((script, args) -> {
+            sent.set(args);
+            return List.of(1L, ELEMENT);
+        });
+
+        ScriptLocatorResolver.Match match = ScriptLocatorResolver.resolve(browser.driver(),
+                ObjectRepo.NAV_CART, new int[] {1, 0}, true);
+
+        Assert.assertEquals(browser.count("executeScript"), 1);
+        List<List<String>> candidates = (List<List<String>>) sent.get()[0];
+        Assert.assertEquals(candidates.get(0), List.of(ScriptLocatorResolver.normalize(ObjectRepo.NAV_CART[1])));
+        Assert.assertEquals(sent.get()[1], true);
+        Assert.assertEquals(match.getIndex(), 0, "Position 1 in order {1, 0} is array index 0");
+        Assert.assertSame(match.getElement(), ELEMENT);
+    }
+
+    @Test(description = "await polls until a candidate shows up")
+    public void awaitPollsUntilVisible() {
+        AtomicInteger attempts = new AtomicInteger();
+        FakeDriver browser = new FakeDriver()
+                .onScript(script -> attempts.incrementAndGet() < 3 ? null : List.of(0L, ELEMENT));
+
+        ScriptLocatorResolver.Match match = ScriptLocatorResolver.await(browser.driver(),
+                new String[] {"id:late"}, new int[] {0}, Duration.ofSeconds(5));
+
+        Assert.assertNotNull(match);
+        Assert.assertEquals(browser.count("executeScript"), 3);
+    }
+
+    @Test(description = "await gives up with null after the timeout")
+    public void awaitTimesOut() {
+        FakeDriver browser = new FakeDriver();
+
+        long start = System.nanoTime();
+        ScriptLocatorResolver.Match match = ScriptLocatorResolver.await(browser.driver(),
+                new String[] {"id:never"}, new int[] {0}, Duration.ofMillis(250));
+
+        Assert.assertNull(match);
+        Assert.assertTrue(System.nanoTime() - start >= Duration.ofMillis(250).toNanos());
+    }
+}
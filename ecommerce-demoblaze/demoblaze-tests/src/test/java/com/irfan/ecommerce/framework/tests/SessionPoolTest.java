@@ -0,0 +1,125 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.ui.base.SessionPool;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SessionPoolTest: Leasing, reuse, recycling, crash replacement and the lease
+ * timeout, on FakeDrivers. Each test owns its pool.
+ */
+public class SessionPoolTest {
+
+    /**
+     * A pool over FakeDrivers that remembers every driver it launched and quit.
+     */
+    private static final class Fixture {
+        private final List<FakeDriver> launched = new CopyOnWriteArrayList<>();
+        private final List<WebDriver> quit = new CopyOnWriteArrayList<>();
+        private final AtomicInteger launches = new AtomicInteger();
+        private final SessionPool pool;
+
+        private Fixture(int size, int maxUses, long leaseTimeoutMs) {
+            pool = new SessionPool(size, maxUses, leaseTimeoutMs, () -> {
+                launches.incrementAndGet();
+                FakeDriver fake = new FakeDriver();
+                launched.add(fake);
+                return fake.driver();
+            }, quit::add);
+        }
+
+        private FakeDriver fakeOf(WebDriver driver) {
+            return launched.stream().filter(fake -> fake.driver() == driver).findFirst().orElseThrow();
+        }
+    }
+
+    @Test(description = "A released session is wiped and handed to the next lease instead of a new launch")
+    public void releasedSessionIsResetAndReused() {
+        Fixture fixture = new Fixture(2, 10, 1000);
+        WebDriver first = fixture.pool.lease();
+        fixture.pool.release(first);
+        WebDriver second = fixture.pool.lease();
+
+        Assert.assertSame(second, first);
+        Assert.assertEquals(fixture.launches.get(), 1);
+        FakeDriver fake = fixture.fakeOf(first);
+        Assert.assertEquals(fake.count("deleteAllCookies"), 1);
+        Assert.assertEquals(fake.count("executeScript"), 1, "Storage cleared");
+        Assert.assertEquals(fixture.pool.leasedCount(), 1);
+    }
+
+    @Test(description = "After maxUses leases the session is quit and the next lease launches a fresh one")
+    public void wornOutSessionIsRecycled() {
+        Fixture fixture = new Fixture(1, 2, 1000);
+        WebDriver driver = fixture.pool.lease();
+        fixture.pool.release(driver);
+        Assert.assertSame(fixture.pool.lease(), driver);
+        fixture.pool.release(driver);
+
+        Assert.assertEquals(fixture.quit, List.of(driver));
+        Assert.assertEquals(fixture.pool.size(), 0);
+        Assert.assertNotSame(fixture.pool.lease(), driver);
+        Assert.assertEquals(fixture.launches.get(), 2);
+    }
+
+    @Test(description = "A session that fails its reset is discarded, not handed out again")
+    public void crashedSessionIsDiscarded() {
+        Fixture fixture = new Fixture(1, 10, 1000);
+        WebDriver driver = fixture.pool.lease();
+        fixture.fakeOf(driver).onScript(script -> {
+            throw new WebDriverException("chrome not reachable");
+        });
+        fixture.pool.release(driver);
+
+        Assert.assertEquals(fixture.quit, List.of(driver));
+        Assert.assertEquals(fixture.pool.idleCount(), 0);
+        Assert.assertTrue(fixture.pool.metricsSummary().contains("crashed=1"), fixture.pool.metricsSummary());
+    }
+
+    @Test(description = "A lease blocked on a full pool wakes as soon as a session is retired, not at the timeout")
+    public void waiterWakesWhenSlotIsFreedByDiscard() throws Exception {
+        Fixture fixture = new Fixture(1, 1, 10_000);
+        WebDriver driver = fixture.pool.lease();
+        CompletableFuture<WebDriver> waiter = CompletableFuture.supplyAsync(fixture.pool::lease);
+        Thread.sleep(100);
+        Assert.assertFalse(waiter.isDone(), "Only slot is leased");
+
+        long start = System.nanoTime();
+        fixture.pool.release(driver);
+        WebDriver next = waiter.get(2, TimeUnit.SECONDS);
+
+        Assert.assertNotSame(next, driver, "The worn-out session was replaced");
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+    }
+
+    @Test(description = "With every session leased, a lease gives up after the timeout")
+    public void leaseTimesOutWhenExhausted() {
+        Fixture fixture = new Fixture(1, 10, 200);
+        fixture.pool.lease();
+
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class, fixture.pool::lease);
+        Assert.assertTrue(error.getMessage().contains("POOL_EXHAUSTED"), error.getMessage());
+        Assert.assertEquals(fixture.launches.get(), 1);
+    }
+
+    @Test(description = "Releasing a session twice, or one from elsewhere, doesn't add capacity")
+    public void foreignReleaseIsIgnored() {
+        Fixture fixture = new Fixture(1, 10, 200);
+        WebDriver driver = fixture.pool.lease();
+        fixture.pool.release(driver);
+        fixture.pool.release(driver);
+        fixture.pool.release(new FakeDriver().driver());
+
+        fixture.pool.lease();
+        Assert.expectThrows(IllegalStateException.class, fixture.pool::lease);
+    }
+}
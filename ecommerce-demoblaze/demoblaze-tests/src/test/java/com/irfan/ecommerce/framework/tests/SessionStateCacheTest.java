@@ -0,0 +1,92 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.ui.base.SessionStateCache;
+import org.openqa.selenium.Cookie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SessionStateCacheTest: Capture, TTL and 401 invalidation, plus the
+ * no-CDP fallback path, against a FakeDriver.
+ */
+public class SessionStateCacheTest {
+
+    private static FakeDriver loggedInBrowser() {
+        return new FakeDriver()
+                .withCookie(new Cookie("tokenp_", "abc123"))
+                .onScript(script -> List.of(Map.of("cart", "[1,2]"), Map.of("tab", "home")));
+    }
+
+    @Test(description = "Capture keeps cookies and both storages for the user")
+    public void captureAndLookup() {
+        SessionStateCache cache = new SessionStateCache(Duration.ofMinutes(5));
+        cache.capture(loggedInBrowser().driver(), "ada", null);
+
+        SessionStateCache.SessionState state = cache.lookup("ada");
+        Assert.assertNotNull(state);
+        Assert.assertEquals(state.getCookies().get(0).getValue(), "abc123");
+        Assert.assertEquals(state.getLocalStorage(), Map.of("cart", "[1,2]"));
+        Assert.assertEquals(state.getSessionStorage(), Map.of("tab", "home"));
+        Assert.assertNull(cache.lookup("grace"), "Entries are per user");
+    }
+
+    @Test(description = "Entries expire after the TTL")
+    public void expiresAfterTtl() throws InterruptedException {
+        SessionStateCache cache = new SessionStateCache(Duration.ofMillis(100));
+        cache.capture(loggedInBrowser().driver(), "ada", null);
+        Assert.assertNotNull(cache.lookup("ada"));
+        Thread.sleep(150);
+        Assert.assertNull(cache.lookup("ada"));
+    }
+
+    @Test(description = "A 401 in a browser drops that browser's user and runs the invalidation hook")
+    public void unauthorizedInvalidates() {
+        SessionStateCache cache = new SessionStateCache(Duration.ofMinutes(5));
+        FakeDriver ada = loggedInBrowser();
+        FakeDriver grace = loggedInBrowser();
+        AtomicInteger tokenDrops = new AtomicInteger();
+        cache.capture(ada.driver(), "ada", tokenDrops::incrementAndGet);
+        cache.capture(grace.driver(), "grace", tokenDrops::incrementAndGet);
+
+        cache.onUnauthorized(ada.driver());
+
+        Assert.assertNull(cache.lookup("ada"));
+        Assert.assertNotNull(cache.lookup("grace"));
+        Assert.assertEquals(tokenDrops.get(), 1);
+
+        cache.detach(grace.driver());
+        cache.onUnauthorized(grace.driver());
+        Assert.assertNotNull(cache.lookup("grace"), "A detached browser no longer speaks for its user");
+    }
+
+    @Test(description = "Without CDP the state is applied after one load and the page is reloaded")
+    public void fallsBackWithoutDevTools() {
+        SessionStateCache cache = new SessionStateCache(Duration.ofMinutes(5));
+        SessionStateCache.SessionState state = SessionStateCache.SessionState.of(
+                List.of(new Cookie("tokenp_", "abc123")), Map.of("cart", "[1]"), Map.of(), null);
+        FakeDriver browser = new FakeDriver();
+
+        cache.open(browser.driver(), "https://www.demoblaze.com", "ada", state);
+
+        Assert.assertEquals(browser.commands(), List.of("get", "addCookie", "executeScript", "refresh"));
+    }
+
+    @Test(description = "The restore script is origin-bound, one-shot and safely escaped")
+    public void restoreScriptShape() {
+        SessionStateCache.SessionState state = SessionStateCache.SessionState.of(List.of(),
+                Map.of("quote", "it's \"here\"</script>"), Map.of("tab", "home"), null);
+
+        String script = SessionStateCache.restoreScript("https://www.demoblaze.com", state);
+
+        Assert.assertTrue(script.contains("location.origin !== \"https://www.demoblaze.com\""), script);
+        Assert.assertTrue(script.contains("sessionStorage.getItem('__qa_state_restored')"), script);
+        Assert.assertTrue(script.contains("\"it's \\\"here\\\"</script>\""), script);
+        Assert.assertFalse(SessionStateCache.restoreScript(null, state).contains("location.origin"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.aventstack.extentreports.Status;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.irfan.ecommerce.util.ReportStream;
+import com.irfan.ecommerce.util.ShardPlanner;
+import com.irfan.ecommerce.util.ShardReportMerger;
+import com.irfan.ecommerce.util.ShardResults;
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestClass;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ShardPlannerTest: The LPT plan must be balanced, complete and identical on
+ * every runner, because each runner computes it independently; the merger
+ * must notice when they didn't agree. Dependency chains are read from
+ * proxied TestNG methods, since only their annotations matter here.
+ */
+public class ShardPlannerTest {
+
+    @Test(description = "Every method lands on exactly one shard")
+    public void everyMethodPlannedOnce() {
+        List<String> ids = List.of("A#a", "A#b", "B#a", "B#b", "C#a");
+        List<List<String>> plan = ShardPlanner.plan(ids, Map.of("A#a", 500L, "B#b", 9000L), 3, "block");
+
+        List<String> flattened = new ArrayList<>();
+        plan.forEach(flattened::addAll);
+        Assert.assertEquals(flattened.size(), ids.size());
+        Assert.assertEquals(new HashSet<>(flattened), new HashSet<>(ids));
+    }
+
+    @Test(description = "Long tests are spread out instead of grouped by class")
+    public void balancesByDuration() {
+        Map<String, Long> history = Map.of(
+                "Ui#checkout", 60000L, "Ui#login", 30000L, "Ui#search", 30000L,
+                "Api#get", 1000L, "Api#post", 1000L, "Api#patch", 1000L);
+        List<List<String>> plan = ShardPlanner.plan(new ArrayList<>(history.keySet()), history, 2, "block");
+
+        Assert.assertEquals(load(plan.get(0), history), 62000L, 1000L);
+        Assert.assertEquals(load(plan.get(1), history), 62000L, 1000L);
+        Set<String> checkoutShard = new HashSet<>(plan.get(plan.get(0).contains("Ui#checkout") ? 0 : 1));
+        Assert.assertFalse(checkoutShard.contains("Ui#login") && checkoutShard.contains("Ui#search"),
+                "The two 30s tests should balance the 60s one, not pile onto it");
+    }
+
+    @Test(description = "The plan does not depend on the order TestNG hands methods over")
+    public void deterministicAcrossRunners() {
+        Map<String, Long> history = Map.of("X#1", 300L, "X#2", 300L, "X#3", 200L);
+        List<String> forward = List.of("X#1", "X#2", "X#3", "X#4");
+        List<String> reversed = List.of("X#4", "X#3", "X#2", "X#1");
+
+        Assert.assertEquals(ShardPlanner.plan(forward, history, 2, "API"),
+                ShardPlanner.plan(reversed, history, 2, "API"));
+    }
+
+    @Test(description = "Tests without history are treated as median-length, not zero-length")
+    public void unknownTestsUseMedian() {
+        Map<String, Long> history = Map.of("K#1", 100L, "K#2", 5000L, "K#3", 5000L);
+        List<List<String>> plan = ShardPlanner.plan(List.of("K#1", "K#2", "K#3", "New#1"), history, 2, "b");
+
+        // New#1 counts as 5000ms, so it must not share a shard with both 5000ms tests
+        for (List<String> shard : plan) {
+            Assert.assertFalse(shard.containsAll(List.of("K#2", "K#3")));
+        }
+    }
+
+    @Test(description = "Without a shared history the hash split is complete and needs no coordination")
+    public void hashSplitIsCompleteAndOrderFree() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add("Suite" + (i % 7) + "#test" + i);
+        }
+        List<List<String>> plan = ShardPlanner.hashPlan(ids, 3);
+        List<String> reversed = new ArrayList<>(ids);
+        Collections.reverse(reversed);
+
+        List<String> flattened = new ArrayList<>();
+        plan.forEach(flattened::addAll);
+        Assert.assertEquals(flattened.size(), ids.size());
+        Assert.assertEquals(new HashSet<>(flattened), new HashSet<>(ids));
+        Assert.assertEquals(ShardPlanner.hashPlan(reversed, 3), plan);
+    }
+
+    @Test(description = "A method and everything it depends on land on the same shard, with or without history")
+    public void dependencyChainsStayTogether() {
+        String api = ApiFlow.class.getName();
+        String ui = UiFlow.class.getName();
+        String login = api + "#testApiLogin";
+        String validate = api + "#testApiCartValidation";
+        String checkout = ui + "#checkout";
+        List<IMethodInstance> methods = List.of(
+                method(ApiFlow.class, "testApiLogin", new String[] {"auth"}, new String[0], new String[0]),
+                method(ApiFlow.class, "testApiCartValidation", new String[0], new String[] {api + ".testApiLogin"},
+                        new String[0]),
+                method(UiFlow.class, "checkout", new String[0], new String[0], new String[] {"auth"}),
+                method(UiFlow.class, "search", new String[0], new String[0], new String[0]),
+                method(UiFlow.class, "browse", new String[0], new String[0], new String[0]));
+        List<String> ids = List.of(login, validate, checkout, ui + "#search", ui + "#browse");
+
+        List<List<String>> units = ShardPlanner.units(ids, ShardPlanner.dependencies(methods));
+        Assert.assertEquals(units.size(), 3, units.toString());
+        Assert.assertTrue(units.contains(List.of(login, validate, checkout).stream().sorted().toList()), units.toString());
+
+        Map<String, Long> history = Map.of(login, 40000L, validate, 1000L, checkout, 1000L,
+                ui + "#search", 30000L, ui + "#browse", 30000L);
+        for (List<List<String>> plan : List.of(ShardPlanner.planUnits(units, history, 3, "API"),
+                ShardPlanner.hashPlanUnits(units, 3))) {
+            List<String> shard = plan.stream().filter(s -> s.contains(login)).findFirst().orElseThrow();
+            Assert.assertTrue(shard.containsAll(List.of(validate, checkout)), plan.toString());
+        }
+    }
+
+    @Test(description = "The merge goes red on a failure, and on shards that planned from different histories")
+    public void mergeCatchesFailuresAndDivergentPlans() throws Exception {
+        File dir = Files.createTempDirectory("shard-merge").toFile();
+        ledger(dir, 0, "lpt:1a2b", outcome("A#a", "PASS", 100));
+        ledger(dir, 1, "lpt:1a2b", outcome("B#b", "PASS", 300));
+        Assert.assertFalse(ShardReportMerger.merge(dir), "No shard report to merge must not go green");
+
+        streamedReport(dir, 0, "A : a");
+        streamedReport(dir, 1, "B : b");
+        Assert.assertTrue(ShardReportMerger.merge(dir));
+        String page = Files.readString(new File(dir, "merged/index.html").toPath(), StandardCharsets.UTF_8);
+        Assert.assertTrue(page.contains("A : a") && page.contains("B : b"), "Both streamed shards are rendered");
+        JsonNode history = new ObjectMapper().readTree(new File(dir, "merged/test-history.json"));
+        Assert.assertEquals(history.path("B#b").path("avgMs").asLong(), 300);
+
+        ledger(dir, 1, "lpt:9999", outcome("B#b", "PASS", 300));
+        Assert.assertFalse(ShardReportMerger.merge(dir), "Divergent plans must not merge green");
+
+        ledger(dir, 1, "lpt:1a2b", outcome("B#b", "FAIL", 300));
+        Assert.assertFalse(ShardReportMerger.merge(dir));
+    }
+
+    @Test(description = "A passing data-provider row doesn't hide an earlier failing one")
+    public void failingInvocationStaysFailed() {
+        ShardResults.Outcome failed = outcome("L#login", "FAIL", 100).tests.get("L#login");
+        ShardResults.Outcome passed = outcome("L#login", "PASS", 50).tests.get("L#login");
+
+        ShardResults.Outcome combined = ShardResults.Outcome.combine(failed, passed);
+        Assert.assertEquals(combined.status, "FAIL");
+        Assert.assertEquals(combined.invocations, 2);
+        Assert.assertEquals(combined.durationMs, 150);
+        Assert.assertEquals(ShardResults.Outcome.combine(passed, passed).status, "PASS");
+    }
+
+    private static IMethodInstance method(Class<?> realClass, String name, String[] groups,
+                                          String[] dependsOnMethods, String[] dependsOnGroups) {
+        ClassLoader loader = ShardPlannerTest.class.getClassLoader();
+        ITestClass testClass = (ITestClass) Proxy.newProxyInstance(loader, new Class<?>[] {ITestClass.class},
+                (proxy, m, args) -> "getRealClass".equals(m.getName()) ? realClass : null);
+        ITestNGMethod testMethod = (ITestNGMethod) Proxy.newProxyInstance(loader, new Class<?>[] {ITestNGMethod.class},
+                (proxy, m, args) -> switch (m.getName()) {
+                    case "getTestClass" -> testClass;
+                    case "getMethodName" -> name;
+                    case "getGroups" -> groups;
+                    case "getMethodsDependedUpon" -> dependsOnMethods;
+                    case "getGroupsDependedUpon" -> dependsOnGroups;
+                    default -> null;
+                });
+        return (IMethodInstance) Proxy.newProxyInstance(loader, new Class<?>[] {IMethodInstance.class},
+                (proxy, m, args) -> "getMethod".equals(m.getName()) ? testMethod : null);
+    }
+
+    private static final class ApiFlow {
+    }
+
+    private static final class UiFlow {
+    }
+
+    private static ShardResults.Summary outcome(String id, String status, long ms) {
+        ShardResults.Outcome outcome = new ShardResults.Outcome();
+        outcome.status = status;
+        outcome.durationMs = ms;
+        ShardResults.Summary summary = new ShardResults.Summary();
+        summary.tests.put(id, outcome);
+        return summary;
+    }
+
+    // What a -Dreport.mode=stream shard leaves behind
+    private static void streamedReport(File dir, int index, String test) {
+        ReportStream stream = new ReportStream(new File(dir, "report-events-shard-" + index + ".jsonl").toPath());
+        stream.createTest(test).finish(Status.PASS);
+        stream.close(Duration.ofSeconds(5));
+    }
+
+    private static void ledger(File dir, int index, String plan, ShardResults.Summary summary) throws Exception {
+        summary.shardIndex = index;
+        summary.shardTotal = 2;
+        summary.plan = plan;
+        new ObjectMapper().writeValue(new File(dir, "shard-" + index + "-results.json"), summary);
+    }
+
+    private static long load(List<String> shard, Map<String, Long> history) {
+        return shard.stream().mapToLong(history::get).sum();
+    }
+}
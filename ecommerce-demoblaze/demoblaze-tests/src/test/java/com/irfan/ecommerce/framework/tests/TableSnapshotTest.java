@@ -0,0 +1,111 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.support.FakeDriver;
+import com.irfan.ecommerce.util.ObjectRepo;
+import com.irfan.ecommerce.util.TableSnapshot;
+import org.openqa.selenium.NoSuchElementException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * TableSnapshotTest: One call per table state, the query model, and the
+ * version-based invalidation rule, against a FakeDriver.
+ */
+public class TableSnapshotTest {
+
+    private static Map<String, Object> cell(String text, Map<String, Object> attributes) {
+        return Map.of("text", text, "attributes", attributes);
+    }
+
+    private static Map<String, Object> cartRow(String title, String price, String itemId) {
+        return Map.of("attributes", Map.of("class", "success"), "cells", List.of(
+                cell("", Map.of("img.src", title + ".jpg")),
+                cell(title, Map.of()),
+                cell(price, Map.of()),
+                cell("Delete", Map.of("a.onclick", "deleteItem('" + itemId + "')"))));
+    }
+
+    private static Map<String, Object> cart(long version, List<Map<String, Object>> rows) {
+        return Map.of("token", "t1", "version", version, "index", 0L,
+                "headers", List.of("Pic", "Title", "Price", "x"), "rows", rows);
+    }
+
+    @Test(description = "The whole table comes back from one call and is queried in memory")
+    public void snapshotIsOneCall() {
+        FakeDriver browser = new FakeDriver().onScript(script -> cart(0, List.of(
+                cartRow("Samsung galaxy s6", "360", "a1"),
+                cartRow("Nokia lumia 1520", "820", "b2"))));
+
+        TableSnapshot snapshot = TableSnapshot.ofTable(browser.driver(), ObjectRepo.CART_TABLE);
+
+        Assert.assertEquals(snapshot.rowCount(), 2);
+        Assert.assertEquals(snapshot.headers(), List.of("Pic", "Title", "Price", "x"));
+        Assert.assertEquals(snapshot.column("Title"), List.of("Samsung galaxy s6", "Nokia lumia 1520"));
+        Assert.assertEquals(snapshot.row(1).cell(2), "820");
+        Assert.assertEquals(snapshot.row(1).cellAttribute(3, "a.onclick"), "deleteItem('b2')");
+        Assert.assertEquals(snapshot.row(0).attribute("class"), "success");
+        Assert.assertTrue(snapshot.findRow(1, " nokia LUMIA 1520 ").isPresent());
+        Assert.assertTrue(snapshot.findRow(1, "Sony vaio i5").isEmpty());
+        Assert.assertEquals(snapshot.row(0).cell(9), "", "Past the end of a short row is empty");
+        Assert.assertEquals(browser.count("executeScript"), 1);
+        Assert.expectThrows(UnsupportedOperationException.class, () -> snapshot.rows().clear());
+    }
+
+    @Test(description = "An unchanged table keeps its snapshot; a mutated one is read again")
+    public void refreshFollowsDomVersion() {
+        AtomicReference<Map<String, Object>> sent = new AtomicReference<>();
+        AtomicReference<Long> domVersion = new AtomicReference<>(0L);
+        FakeDriver browser = new FakeDriver().onScript((script, args) -> {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> spec = (Map<String, Object>) args[0];
+            sent.set(spec);
+            if ("t1".equals(spec.get("token")) && domVersion.get().equals(spec.get("version"))) {
+                return Map.of("token", "t1", "version", domVersion.get(), "unchanged", true);
+            }
+            return cart(domVersion.get(), domVersion.get() == 0
+                    ? List.of(cartRow("Samsung galaxy s6", "360", "a1"))
+                    : List.of());
+        });
+        TableSnapshot first = TableSnapshot.ofTable(browser.driver(), ObjectRepo.CART_TABLE);
+
+        Assert.assertSame(first.refresh(browser.driver()), first);
+        Assert.assertEquals(sent.get().get("token"), "t1");
+
+        domVersion.set(3L);
+        TableSnapshot afterDelete = first.refresh(browser.driver());
+        Assert.assertNotSame(afterDelete, first);
+        Assert.assertEquals(afterDelete.rowCount(), 0);
+        Assert.assertEquals(first.rowCount(), 1, "Snapshots are immutable");
+    }
+
+    @Test(description = "Card lists map one row per item and one cell per field selector")
+    @SuppressWarnings("unchecked")
+    public void listSnapshotSpec() {
+        AtomicReference<Map<String, Object>> sent = new AtomicReference<>();
+        FakeDriver browser = new FakeDriver().onScript((script, args) -> {
+            sent.set((Map<String, Object>) args[0]);
+            return Map.of("token", "t2", "version", 0L, "index", 0L,
+                    "headers", List.of(".card-title", "h5"),
+                    "rows", List.of(Map.of("attributes", Map.of(), "cells",
+                            List.of(cell("Samsung galaxy s6", Map.of("a.href", "prod.html?idp_=1")), cell("$360", Map.of())))));
+        });
+
+        TableSnapshot grid = TableSnapshot.ofList(browser.driver(), ObjectRepo.PRODUCT_LIST, ".card", ".card-title", "h5");
+
+        Assert.assertEquals(sent.get().get("mode"), "list");
+        Assert.assertEquals(sent.get().get("itemSelector"), ".card");
+        Assert.assertEquals(sent.get().get("fieldSelectors"), List.of(".card-title", "h5"));
+        Assert.assertEquals(grid.column("h5"), List.of("$360"));
+        Assert.assertEquals(grid.row(0).cellAttribute(0, "a.href"), "prod.html?idp_=1");
+    }
+
+    @Test(description = "A missing table is a NoSuchElementException, like any other lookup")
+    public void missingTable() {
+        Assert.expectThrows(NoSuchElementException.class,
+                () -> TableSnapshot.ofTable(new FakeDriver().driver(), ObjectRepo.CART_TABLE));
+    }
+}
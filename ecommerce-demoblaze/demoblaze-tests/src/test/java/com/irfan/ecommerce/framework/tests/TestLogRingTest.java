@@ -0,0 +1,76 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.util.TestLogFilter;
+import com.irfan.ecommerce.util.TestLogRing;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * TestLogRingTest: Per-thread capture through the real log4j2.xml, the ring
+ * bound, and the filter that keeps captured detail off the shared appenders.
+ */
+public class TestLogRingTest {
+    private static final Logger logger = LogManager.getLogger("com.irfan.ecommerce.framework.tests.TestLogRingTest");
+
+    private static LogEvent event(Level level) {
+        return Log4jLogEvent.newBuilder().setLevel(level).setMessage(new SimpleMessage("x")).build();
+    }
+
+    @Test(description = "DEBUG and INFO of the test's own thread are captured; other threads are not")
+    public void capturesOnlyThisThread() throws Exception {
+        TestLogRing.begin("TestLogRingTest : capture");
+        logger.debug("locator attempt {}", 1);
+        logger.info("clicked {}", "Login");
+        CompletableFuture.runAsync(() -> logger.info("background noise")).get();
+        TestLogRing.Capture capture = TestLogRing.end();
+
+        Assert.assertEquals(capture.testName(), "TestLogRingTest : capture");
+        Assert.assertEquals(capture.total(), 2);
+        Assert.assertTrue(capture.text().contains("DEBUG"));
+        Assert.assertTrue(capture.text().contains("locator attempt 1"));
+        Assert.assertTrue(capture.text().contains("clicked Login"));
+        Assert.assertFalse(capture.text().contains("background noise"));
+        Assert.assertNull(TestLogRing.end(), "end() hands the capture over once");
+    }
+
+    @Test(description = "The ring keeps the newest lines and says how many fell out")
+    public void ringIsBounded() {
+        int capacity = Integer.getInteger("log.ring.size", 2000);
+        TestLogRing.begin("TestLogRingTest : bounded");
+        for (int i = 0; i < capacity + 5; i++) {
+            logger.debug("line {}", i);
+        }
+        TestLogRing.Capture capture = TestLogRing.end();
+
+        Assert.assertEquals(capture.kept(), capacity);
+        Assert.assertEquals(capture.total(), capacity + 5);
+        Assert.assertTrue(capture.text().startsWith("... 5 earlier lines dropped"));
+        Assert.assertFalse(capture.text().contains("line 4\n"));
+        Assert.assertTrue(capture.text().contains("line " + (capacity + 4)));
+    }
+
+    @Test(description = "Inside a captured test only WARN and above reach the shared appenders")
+    public void filterHoldsBackDetailDuringTests() {
+        TestLogFilter filter = TestLogFilter.createFilter("WARN");
+        Assert.assertEquals(filter.filter(event(Level.INFO)), Filter.Result.NEUTRAL, "No test open");
+
+        TestLogRing.begin("TestLogRingTest : filter");
+        try {
+            Assert.assertEquals(filter.filter(event(Level.INFO)), Filter.Result.DENY);
+            Assert.assertEquals(filter.filter(event(Level.DEBUG)), Filter.Result.DENY);
+            Assert.assertEquals(filter.filter(event(Level.WARN)), Filter.Result.NEUTRAL);
+            Assert.assertEquals(filter.filter(event(Level.ERROR)), Filter.Result.NEUTRAL);
+        } finally {
+            TestLogRing.end();
+        }
+    }
+}
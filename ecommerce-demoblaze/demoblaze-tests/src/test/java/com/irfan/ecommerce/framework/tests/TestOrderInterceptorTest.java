@@ -0,0 +1,76 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.samples.FailingSample;
+import com.irfan.ecommerce.framework.samples.OrderedSample;
+import com.irfan.ecommerce.util.TestHistory;
+import com.irfan.ecommerce.util.TestOrderInterceptor;
+import org.testng.Assert;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TestOrderInterceptorTest: Runs the sample classes in a nested TestNG with a
+ * known history and checks the order (and skips) the interceptor produces.
+ * The samples share static logs, so these methods run on one thread.
+ */
+@Test(singleThreaded = true)
+public class TestOrderInterceptorTest {
+
+    @Test(description = "longest-first starts the historically slowest method first")
+    public void longestFirst() throws IOException {
+        TestHistory history = history();
+        history.record(OrderedSample.class.getName() + "#slow", 9000, "PASS");
+        history.record(OrderedSample.class.getName() + "#medium", 4000, "PASS");
+        history.record(OrderedSample.class.getName() + "#quick", 10, "PASS");
+
+        run(new TestOrderInterceptor(history, "longest-first", 0), OrderedSample.class);
+        Assert.assertEquals(new ArrayList<>(OrderedSample.ran), List.of("slow", "medium", "quick"));
+    }
+
+    @Test(description = "failed-first puts last run's failure ahead of slower passing tests")
+    public void failedFirst() throws IOException {
+        TestHistory history = history();
+        history.record(OrderedSample.class.getName() + "#slow", 9000, "PASS");
+        history.record(OrderedSample.class.getName() + "#medium", 4000, "PASS");
+        history.record(OrderedSample.class.getName() + "#quick", 10, "FAIL");
+
+        run(new TestOrderInterceptor(history, "failed-first", 0), OrderedSample.class);
+        Assert.assertEquals(new ArrayList<>(OrderedSample.ran), List.of("quick", "slow", "medium"));
+    }
+
+    @Test(description = "fail-fast skips everything scheduled after the failure limit")
+    public void failFastSkipsRemainingWork() throws IOException {
+        TestListenerAdapter results = run(new TestOrderInterceptor(history(), "declared", 1), FailingSample.class);
+
+        Assert.assertEquals(new ArrayList<>(FailingSample.ran), List.of("first"));
+        Assert.assertEquals(results.getFailedTests().size(), 1);
+        Assert.assertEquals(results.getSkippedTests().size(), 2);
+    }
+
+    private static TestHistory history() throws IOException {
+        File file = Files.createTempFile("test-history", ".json").toFile();
+        file.delete();
+        file.deleteOnExit();
+        return new TestHistory(file);
+    }
+
+    private static TestListenerAdapter run(TestOrderInterceptor interceptor, Class<?> sample) {
+        OrderedSample.ran.clear();
+        FailingSample.ran.clear();
+        TestListenerAdapter results = new TestListenerAdapter();
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[] {sample});
+        testng.addListener(interceptor);
+        testng.addListener(results);
+        testng.setVerbose(0);
+        testng.run();
+        return results;
+    }
+}
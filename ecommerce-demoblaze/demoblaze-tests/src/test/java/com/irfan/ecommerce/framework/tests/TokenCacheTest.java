@@ -0,0 +1,171 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.api.managers.TokenCache;
+import com.irfan.ecommerce.framework.support.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TokenCacheTest: Single-flight, TTL and refresh-ahead behaviour with a
+ * counting loader standing in for the auth endpoint.
+ */
+public class TokenCacheTest {
+
+    @Test(description = "50 threads asking for the same login cause one fetch")
+    public void concurrentMissesAreSingleFlight() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofMinutes(5), 0.8)
+                .register("booker", (user, pass) -> slowToken(calls, 200));
+
+        ExecutorService pool = Executors.newFixedThreadPool(50);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<String>> callers = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                callers.add(CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return cache.get("booker", "admin", "password123");
+                }, pool));
+            }
+            start.countDown();
+            for (CompletableFuture<String> caller : callers) {
+                Assert.assertEquals(caller.get(10, TimeUnit.SECONDS), "token-1");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(cache.getHits() + cache.getMisses(), 50);
+    }
+
+    @Test(description = "Entries are keyed by project and credentials")
+    public void entriesAreKeyedPerTenant() {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofMinutes(5), 0.8)
+                .register("booker", (user, pass) -> "booker-" + user + "-" + calls.incrementAndGet())
+                .register("demoblaze", (user, pass) -> "blaze-" + user + "-" + calls.incrementAndGet());
+
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "booker-admin-1");
+        Assert.assertEquals(cache.get("demoblaze", "admin", "pw"), "blaze-admin-2");
+        Assert.assertEquals(cache.get("demoblaze", "ada", "pw"), "blaze-ada-3");
+        Assert.assertEquals(cache.get("demoblaze", "ada", "other"), "blaze-ada-4");
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "booker-admin-1");
+        Assert.assertEquals(calls.get(), 4);
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertEquals(cache.getMisses(), 4);
+    }
+
+    @Test(description = "An expired entry is fetched again on the caller's thread")
+    public void expiredEntryIsReloaded() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofMillis(150), 2.0)
+                .register("booker", (user, pass) -> "token-" + calls.incrementAndGet());
+
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-1");
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-1");
+        Thread.sleep(200);
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-2");
+        Assert.assertEquals(cache.getRefreshes(), 0, "refreshAhead >= 1.0 disables background refresh");
+    }
+
+    @Test(description = "Past the refresh-ahead point callers keep the old token while a new one is fetched")
+    public void refreshAheadDoesNotBlockCallers() throws InterruptedException {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofSeconds(10), 0.01)
+                .register("booker", (user, pass) -> calls.get() == 0 ? slowToken(calls, 0) : slowToken(calls, 300));
+
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-1");
+        Thread.sleep(150);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-1");
+        }
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 250,
+                "Hits waited for the background refresh");
+        Assert.assertEquals(cache.getRefreshes(), 1, "Only one refresh may be in flight");
+
+        Thread.sleep(500);
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-2");
+        Assert.assertEquals(calls.get(), 2);
+    }
+
+    @Test(description = "A failed fetch reaches the caller and is retried on the next call")
+    public void failedLoadIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofMinutes(5), 0.8)
+                .register("booker", (user, pass) -> {
+                    if (calls.incrementAndGet() == 1) {
+                        throw new RuntimeException("🛑 AUTH_FAILURE: 503");
+                    }
+                    return "token-" + calls.get();
+                });
+
+        RuntimeException failure = Assert.expectThrows(RuntimeException.class,
+                () -> cache.get("booker", "admin", "pw"));
+        Assert.assertTrue(failure.getMessage().contains("AUTH_FAILURE"), failure.getMessage());
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-2");
+    }
+
+    @Test(description = "A null or blank token is an error for the caller, not a cache entry")
+    public void emptyTokenIsNotCached() {
+        AtomicInteger calls = new AtomicInteger();
+        TokenCache cache = new TokenCache(Duration.ofMinutes(5), 0.8)
+                .register("booker", (user, pass) -> switch (calls.incrementAndGet()) {
+                    case 1 -> null;
+                    case 2 -> "  ";
+                    default -> "token-" + calls.get();
+                });
+
+        IllegalStateException missing = Assert.expectThrows(IllegalStateException.class,
+                () -> cache.get("booker", "admin", "pw"));
+        Assert.assertTrue(missing.getMessage().contains("no token"), missing.getMessage());
+        Assert.expectThrows(IllegalStateException.class, () -> cache.get("booker", "admin", "pw"));
+        Assert.assertEquals(cache.get("booker", "admin", "pw"), "token-3");
+        Assert.assertEquals(calls.get(), 3);
+    }
+
+    @Test(description = "The restful-booker AuthClient plugs in as a loader")
+    public void realClientAsLoader() throws IOException {
+        try (StubServer stub = new StubServer()
+                .on("GET", "/", 200, "ok")
+                .on("POST", "/auth", 200, "{\"token\":\"abc123\"}")) {
+            TokenCache cache = new TokenCache(Duration.ofMinutes(5), 0.8).register("booker", (user, pass) ->
+                    new com.irfan.ecommerce.api.clients.restfulbooker.AuthClient(stub.baseUrl())
+                            .getAuthToken(user, pass));
+
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals(cache.get("booker", "admin", "password123"), "abc123");
+            }
+            Assert.assertEquals(stub.hits("POST", "/auth"), 1);
+        }
+    }
+
+    private static String slowToken(AtomicInteger calls, long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "token-" + calls.incrementAndGet();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.api.clients.demoblaze.AuthClient;
+import com.irfan.ecommerce.api.clients.demoblaze.CartClient;
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
+import com.irfan.ecommerce.framework.support.StubServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UserPoolTest: Parallel provisioning, persistence across runs, the
+ * shared/exclusive lease rules and cart resets, with a fake sign-up standing
+ * in for demoblaze.
+ */
+public class UserPoolTest {
+
+    @Test(description = "Missing accounts are signed up in parallel and remembered for the next run")
+    public void provisionsInParallelAndPersists() throws IOException {
+        File store = tempStore();
+        AtomicInteger signUps = new AtomicInteger();
+        // Completes 300ms later without holding a thread, like an HTTP call in flight
+        UserPool.AccountCreator slowSignUp = (user, pass) -> {
+            signUps.incrementAndGet();
+            return new CompletableFuture<Boolean>().completeOnTimeout(true, 300, TimeUnit.MILLISECONDS);
+        };
+
+        long start = System.nanoTime();
+        UserPool first = new UserPool("http://env-a", store, 8, Duration.ofSeconds(1), slowSignUp);
+        Assert.assertEquals(first.provision(), 8);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsedMs < 1500, "Sign-ups ran one after another: " + elapsedMs + " ms");
+
+        UserPool nextRun = new UserPool("http://env-a", store, 8, Duration.ofSeconds(1), slowSignUp);
+        Assert.assertEquals(nextRun.provision(), 0);
+        Assert.assertEquals(nextRun.size(), 8);
+        Assert.assertEquals(signUps.get(), 8, "Remembered accounts must not be signed up again");
+
+        UserPool otherEnv = new UserPool("http://env-b", store, 2, Duration.ofSeconds(1), slowSignUp);
+        Assert.assertEquals(otherEnv.provision(), 2, "Accounts are remembered per environment");
+    }
+
+    @Test(description = "An exclusive lease keeps everyone else off the account until it is returned")
+    public void exclusiveLeasesDoNotOverlap() throws IOException {
+        UserPool pool = new UserPool("http://env", tempStore(), 2, Duration.ofMillis(200), alwaysOk());
+
+        UserPool.Lease first = pool.lease(UserPool.Mode.EXCLUSIVE);
+        UserPool.Lease second = pool.lease(UserPool.Mode.EXCLUSIVE);
+        Assert.assertNotEquals(first.getUsername(), second.getUsername());
+
+        Assert.expectThrows(IllegalStateException.class, () -> pool.lease(UserPool.Mode.EXCLUSIVE));
+        Assert.expectThrows(IllegalStateException.class, () -> pool.lease(UserPool.Mode.SHARED));
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() ->
+                pool.lease(UserPool.Mode.EXCLUSIVE, Duration.ofSeconds(5)).getUsername());
+        sleep(100);
+        first.close();
+        first.close();
+        Assert.assertEquals(waiter.join(), first.getUsername());
+        second.close();
+    }
+
+    @Test(description = "Shared leases pile onto one account so the others stay free for exclusive use")
+    public void sharedLeasesLeaveRoomForExclusive() throws IOException {
+        UserPool pool = new UserPool("http://env", tempStore(), 2, Duration.ofMillis(200), alwaysOk());
+
+        UserPool.Lease a = pool.lease(UserPool.Mode.SHARED);
+        UserPool.Lease b = pool.lease(UserPool.Mode.SHARED);
+        UserPool.Lease c = pool.lease(UserPool.Mode.SHARED);
+        Assert.assertEquals(b.getUsername(), a.getUsername());
+        Assert.assertEquals(c.getUsername(), a.getUsername());
+
+        UserPool.Lease exclusive = pool.lease(UserPool.Mode.EXCLUSIVE);
+        Assert.assertNotEquals(exclusive.getUsername(), a.getUsername());
+        Assert.expectThrows(IllegalStateException.class, () -> pool.lease(UserPool.Mode.EXCLUSIVE));
+
+        a.close();
+        b.close();
+        c.close();
+        Assert.assertEquals(pool.lease(UserPool.Mode.EXCLUSIVE).getUsername(), a.getUsername());
+    }
+
+    @Test(description = "Failed sign-ups shrink the pool instead of failing it")
+    public void failedSignUpsAreDropped() throws IOException {
+        AtomicInteger calls = new AtomicInteger();
+        UserPool pool = new UserPool("http://env", tempStore(), 4, Duration.ofMillis(200), (user, pass) ->
+                calls.incrementAndGet() % 2 == 0
+                        ? CompletableFuture.failedFuture(new RuntimeException("SERVER_CRASH"))
+                        : CompletableFuture.completedFuture(true));
+
+        Assert.assertEquals(pool.provision(), 2);
+        Assert.assertEquals(pool.size(), 2);
+    }
+
+    @Test(description = "AuthClient.signUpAsync provisions against the real /signup route")
+    public void provisionsThroughAuthClient() throws IOException {
+        try (StubServer stub = new StubServer()
+                .on("GET", "/", 200, "ok")
+                .on("POST", "/signup", 200, "\"\"")) {
+            AuthClient client = new AuthClient(stub.baseUrl());
+            UserPool pool = new UserPool(stub.baseUrl(), tempStore(), 6, Duration.ofSeconds(1), client::signUpAsync);
+
+            Assert.assertEquals(pool.provision(), 6);
+            Assert.assertEquals(stub.hits("POST", "/signup"), 6);
+        }
+    }
+
+    @Test(description = "Sign-ups in flight don't hold the pool lock")
+    public void provisioningDoesNotBlockThePool() throws Exception {
+        UserPool pool = new UserPool("http://env", tempStore(), 2, Duration.ofSeconds(5), (user, pass) ->
+                new CompletableFuture<Boolean>().completeOnTimeout(true, 800, TimeUnit.MILLISECONDS));
+        CompletableFuture<Integer> provisioning = CompletableFuture.supplyAsync(pool::provision);
+        sleep(100);
+
+        long start = System.nanoTime();
+        Assert.assertEquals(pool.size(), 0);
+        Assert.assertTrue(pool.metricsSummary().contains("accounts=0"), pool.metricsSummary());
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 400, "size() waited on sign-ups");
+
+        Assert.assertEquals(pool.lease(UserPool.Mode.SHARED).getMode(), UserPool.Mode.SHARED, "Lease waits for them");
+        Assert.assertEquals(provisioning.get(5, TimeUnit.SECONDS).intValue(), 2);
+        Assert.assertEquals(pool.provision(), 0, "Provisioning runs once");
+    }
+
+    @Test(description = "An exclusive lease empties the cart when granted and again when returned; shared ones don't")
+    public void exclusiveLeaseResetsTheCart() throws IOException {
+        List<String> emptied = new CopyOnWriteArrayList<>();
+        UserPool pool = new UserPool("http://env", tempStore(), 2, Duration.ofMillis(200), alwaysOk(),
+                (user, pass) -> {
+                    emptied.add(user);
+                    return 1;
+                });
+
+        UserPool.Lease shared = pool.lease(UserPool.Mode.SHARED);
+        shared.close();
+        Assert.assertEquals(emptied, List.of());
+
+        UserPool.Lease exclusive = pool.lease(UserPool.Mode.EXCLUSIVE);
+        Assert.assertEquals(emptied, List.of(exclusive.getUsername()));
+        exclusive.close();
+        exclusive.close();
+        Assert.assertEquals(emptied, List.of(exclusive.getUsername(), exclusive.getUsername()));
+        Assert.assertTrue(pool.metricsSummary().contains("cartResets=2"), pool.metricsSummary());
+    }
+
+    @Test(description = "A cart that can't be emptied is logged; the lease is still granted and returned")
+    public void failedCartResetDoesNotFailTheLease() throws IOException {
+        UserPool pool = new UserPool("http://env", tempStore(), 1, Duration.ofMillis(200), alwaysOk(),
+                (user, pass) -> {
+                    throw new RuntimeException("SERVER_CRASH");
+                });
+
+        UserPool.Lease lease = pool.lease(UserPool.Mode.EXCLUSIVE);
+        lease.close();
+        Assert.assertNotNull(pool.lease(UserPool.Mode.EXCLUSIVE).getUsername());
+    }
+
+    @Test(description = "CartClient.emptyCart deletes every line /viewcart lists")
+    public void emptiesCartThroughCartClient() throws IOException {
+        try (StubServer stub = new StubServer()
+                .on("GET", "/", 200, "ok")
+                .on("POST", "/viewcart", 200, "{\"Items\":[{\"id\":\"line-1\",\"prod_id\":1},"
+                        + "{\"id\":\"line-2\",\"prod_id\":3}]}")
+                .on("POST", "/deleteitem", 200, "\"\"")) {
+            Assert.assertEquals(new CartClient(stub.baseUrl()).emptyCart("token"), 2);
+            Assert.assertEquals(stub.hits("POST", "/deleteitem"), 2);
+        }
+    }
+
+    private static UserPool.AccountCreator alwaysOk() {
+        return (user, pass) -> CompletableFuture.completedFuture(true);
+    }
+
+    private static File tempStore() throws IOException {
+        File dir = Files.createTempDirectory("user-pool").toFile();
+        dir.deleteOnExit();
+        return new File(dir, "user-pool.json");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.irfan.ecommerce.framework.tests;
+
+import com.irfan.ecommerce.framework.samples.BlockingSample;
+import com.irfan.ecommerce.util.VirtualThreadExecutor;
+import org.testng.Assert;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+/**
+ * VirtualThreadExecutorTest: A nested suite with thread-count 2 must still run
+ * its blocking methods far wider once the thread-per-test executor is on -
+ * and only then: below JDK 21, or with the listener alone, the cap holds.
+ * The sample keeps static counters, so these methods run on one thread.
+ */
+@Test(singleThreaded = true)
+public class VirtualThreadExecutorTest {
+    private static final boolean VIRTUAL_THREADS = Runtime.version().feature() >= 21;
+
+    @Test(description = "Through TestNG's factory hook blocked tests run beyond the pool size (JDK 21+)")
+    public void factoryHookRunsBeyondThreadCount() {
+        TestListenerAdapter results = run(true, false);
+
+        Assert.assertEquals(results.getPassedTests().size(), 12);
+        if (VIRTUAL_THREADS) {
+            Assert.assertTrue(BlockingSample.peak.get() > 2,
+                    "Expected more than thread-count methods in flight, peak was " + BlockingSample.peak.get());
+        } else {
+            Assert.assertTrue(BlockingSample.peak.get() <= 2, "Below JDK 21 the thread-count pool must be kept, peak was "
+                    + BlockingSample.peak.get());
+        }
+    }
+
+    @Test(description = "Without the switch TestNG's own pool size still applies")
+    public void disabledKeepsThreadCount() {
+        TestListenerAdapter results = run(false, false);
+
+        Assert.assertEquals(results.getPassedTests().size(), 12);
+        Assert.assertTrue(BlockingSample.peak.get() <= 2, "Peak was " + BlockingSample.peak.get());
+    }
+
+    @Test(description = "The listener alone never swaps the executor; it only reports the switch as inactive")
+    public void listenerAloneKeepsThreadCount() {
+        TestListenerAdapter results = run(true, true);
+
+        Assert.assertEquals(results.getPassedTests().size(), 12);
+        Assert.assertTrue(BlockingSample.peak.get() <= 2, "Peak was " + BlockingSample.peak.get());
+    }
+
+    private static TestListenerAdapter run(boolean virtual, boolean listenerOnly) {
+        TestNG testng = testng();
+        if (listenerOnly) {
+            testng.addListener(new VirtualThreadExecutor(virtual));
+        } else {
+            testng.setExecutorServiceFactory(new VirtualThreadExecutor(virtual));
+        }
+        return run(testng);
+    }
+
+    private static TestNG testng() {
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(new Class[] {BlockingSample.class});
+        testng.setParallel(XmlSuite.ParallelMode.METHODS);
+        testng.setThreadCount(2);
+        testng.setVerbose(0);
+        return testng;
+    }
+
+    private static TestListenerAdapter run(TestNG testng) {
+        BlockingSample.peak.set(0);
+        TestListenerAdapter results = new TestListenerAdapter();
+        testng.addListener(results);
+        testng.run();
+        return results;
+    }
+}
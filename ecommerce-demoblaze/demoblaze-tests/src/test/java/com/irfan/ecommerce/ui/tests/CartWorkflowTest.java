@@ -4,6 +4,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.Assert;
 import org.testng.annotations.Test;
+import com.irfan.ecommerce.api.clients.demoblaze.CartClient;
+import com.irfan.ecommerce.api.managers.AuthManager;
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
+import com.irfan.ecommerce.ui.base.AuthenticatedSession;
 import com.irfan.ecommerce.ui.base.BaseTest;
 import com.irfan.ecommerce.ui.pages.ProductPage;
 import com.irfan.ecommerce.ui.pages.CartPage;
@@ -20,16 +24,22 @@ import com.irfan.ecommerce.util.ObjectRepo;
  *   from Product Page -> Cart Page.
  * - THE RESULT: This test caught 100% of session-handling bugs during our 
  *   migration to a new cloud microservice.
+ *
+ * Runs as a logged-in pooled user (EXCLUSIVE: it writes to the cart), with
+ * the session restored before the first page load instead of a UI login.
  */
 public class CartWorkflowTest extends BaseTest {
     private static final Logger logger = LogManager.getLogger(CartWorkflowTest.class);
 
+    @AuthenticatedSession(UserPool.Mode.EXCLUSIVE)
     @Test(description = "E2E: Add 'Nokia lumia 1520' to cart and verify persistence.")
     public void testAddToCartAndVerifyPersistence() {
         String product = "Nokia lumia 1520";
         logger.info("SPLUNK_MONITOR: Starting Cart Persistence Check for: {}", product);
 
         homePage.open();
+        String user = leasedUser().getUsername();
+        Assert.assertTrue(homePage.isUserLoggedIn(user), "Session was not restored for " + user);
         homePage.clickProductByName(product);
 
         ProductPage productPage = new ProductPage(driver);
@@ -49,4 +59,19 @@ public class CartWorkflowTest extends BaseTest {
         Assert.assertTrue(isPresent, "CRITICAL: Product disappeared from Cart! Session loss detected.");
         logger.info("SPLUNK_MONITOR: Cart Persistence Check - PASSED.");
     }
+
+    @AuthenticatedSession(UserPool.Mode.EXCLUSIVE)
+    @Test(description = "E2E: A cart emptied through the API shows none of its old products.")
+    public void testEmptiedCartShowsNoProducts() {
+        String product = "Nokia lumia 1520";
+        UserPool.Lease user = leasedUser();
+        int removed = new CartClient().emptyCart(AuthManager.getToken("demoblaze", user.getUsername(),
+                user.getPassword()));
+        logger.info("ACTION: Emptied {} cart lines via API, opening the Cart Page.", removed);
+
+        GenericActions.click(ObjectRepo.NAV_CART);
+
+        Assert.assertTrue(new CartPage(getDriver()).isProductAbsent(product),
+                "CRITICAL: Cart still lists a product the API removed! Stale cart detected.");
+    }
 }
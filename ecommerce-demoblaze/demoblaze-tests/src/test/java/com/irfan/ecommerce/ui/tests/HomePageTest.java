@@ -2,6 +2,7 @@ package com.irfan.ecommerce.ui.tests;
 
 import com.irfan.ecommerce.ui.base.BaseTest;
 import com.irfan.ecommerce.ui.pages.HomePage;
+import com.irfan.ecommerce.util.TableSnapshot;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
@@ -21,6 +22,12 @@ public class HomePageTest extends BaseTest {
         
         String phoneCategory = homePage.getPhonesCategoryText();
         Assert.assertEquals(phoneCategory, "Phones", "Category sidebar not loaded!");
+
+        // One snapshot of the whole product grid (name, price, description per card)
+        TableSnapshot listing = homePage.getProductListing();
+        Assert.assertTrue(listing.rowCount() > 0, "Product grid is empty!");
+        Assert.assertTrue(listing.findRow(0, "Samsung galaxy s6").isPresent(), "Catalog is missing a known product: "
+                + listing.column(0));
     }
 
     @Test(description = "Verify user can navigate to a specific product")
@@ -1,5 +1,6 @@
 package com.irfan.ecommerce.ui.tests;
 
+import com.irfan.ecommerce.api.managers.demoblaze.UserPool;
 import com.irfan.ecommerce.ui.base.BaseTest;
 import com.irfan.ecommerce.util.JsonDataReader;
 import org.testng.Assert;
@@ -32,7 +33,15 @@ public class LoginTest extends BaseTest {
         // PASS THE FLAG: true only if we expect "success"
         boolean shouldAttemptRegistration = expected.equalsIgnoreCase("success");
 
-        loginPage.performLogin(username, password, shouldAttemptRegistration);
+        if (shouldAttemptRegistration) {
+            // Positive rows need *a* registered user, not that particular one: take an
+            // already-registered pooled account instead of signing up through the modal
+            UserPool.Lease user = leaseUser(UserPool.Mode.SHARED);
+            username = user.getUsername();
+            password = user.getPassword();
+        }
+
+        loginPage.performLogin(username, password, false);
 
         // Final Validation
         if (shouldAttemptRegistration) {
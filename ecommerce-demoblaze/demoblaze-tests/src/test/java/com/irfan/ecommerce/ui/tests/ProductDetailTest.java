@@ -8,6 +8,8 @@ import org.testng.annotations.Test;
 import com.irfan.ecommerce.ui.base.BaseTest;  
 import com.irfan.ecommerce.ui.pages.ProductPage; 
 
+import java.util.List;
+
 /**
  * ProductDetailTest: Validates dynamic content and pricing integrity.
  */
@@ -27,16 +29,19 @@ public class ProductDetailTest extends BaseTest {
         // 2. Initialize ProductPage (Now utilizing GenericActions/ObjectRepo internally)
         ProductPage productPage = new ProductPage(driver);
         
-        // 3. Validate Price (Walmart-scale logic: handles microservice latency/formatting)
-        String actualPrice = productPage.getProductPrice();
+        // 3. Read name and price together (one browser round trip)
+        List<String> nameAndPrice = productPage.getNameAndPrice();
+
+        // 4. Validate Price (Walmart-scale logic: handles microservice latency/formatting)
+        String actualPrice = nameAndPrice.get(1);
         logger.info("VALIDATION: Actual Price found in UI: {}", actualPrice);
         
         
         Assert.assertTrue(actualPrice.contains("$360"), 
          "REVENUE RISK: Price mismatch! Expected $360 but found: " + actualPrice);
             
-        // 4. Validate Product Header
-        String actualName = productPage.getProductName();
+        // 5. Validate Product Header
+        String actualName = nameAndPrice.get(0);
         Assert.assertEquals(actualName, "Samsung galaxy s6", "UI ERROR: Product name mismatch!");
         
         logger.info("SPLUNK_MONITOR: PDP Integrity Check - PASSED.");
@@ -2,6 +2,7 @@ package com.irfan.ecommerce.util;
 
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import java.io.File;
 
 /**
@@ -57,6 +58,13 @@ public class ExtentManager {
         ExtentReports extent = new ExtentReports();
         extent.attachReporter(latestReporter, timestampedReporter);
 
+        // Sharded runs also leave a JSON archive that ShardReportMerger replays into one report
+        if (ShardPlanner.isSharded()) {
+            extent.attachReporter(new JsonFormatter(new File(directory,
+                    "extent-shard-" + ShardPlanner.shardIndex() + ".json").getAbsolutePath()));
+            extent.setSystemInfo("Shard", ShardPlanner.shardIndex() + " of " + ShardPlanner.shardTotal());
+        }
+
         String runId = System.getProperty("run.id", "LOCAL_RUN");
         String env = System.getProperty("execution_env", "local");
 
@@ -3,7 +3,15 @@ package com.irfan.ecommerce.util;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.irfan.ecommerce.ui.base.CommandTimings;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
@@ -23,9 +31,10 @@ import org.testng.ITestResult;
  * @author Irfan Muneer (Quality Architect)
  */
 public class Listeners implements ITestListener {
-    // Ensuring we use the Thread-Safe Instance from our ExtentManager
-    private static ExtentReports extent = ExtentManager.getInstance();
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    // Ensuring we use the Thread-Safe Instance from our ExtentManager (not created at all when streaming)
+    private static ExtentReports extent = ReportStream.isEnabled() ? null : ExtentManager.getInstance();
+    private static ThreadLocal<ReportEntry> test = new ThreadLocal<>();
+    private static final Logger logger = LogManager.getLogger(Listeners.class);
 
      /**
      * 🛰️ THREAD-SAFE REPORT BRIDGE
@@ -36,6 +45,14 @@ public class Listeners implements ITestListener {
      * RESULT: Enabled real-time 'Forensic Logging' directly from the Test Logic.
      */
     public static ExtentTest getExtentTest() {
+        ReportEntry entry = test.get();
+        return entry == null ? null : entry.extentTest();
+    }
+
+    /**
+     * The current thread's report entry in either report mode (Spark or -Dreport.mode=stream).
+     */
+    public static ReportEntry getReportEntry() {
         return test.get();
     }
 
@@ -43,12 +60,77 @@ public class Listeners implements ITestListener {
         // Highlighting the specific test class for better dashboard categorization
         String testName = result.getTestClass().getRealClass().getSimpleName() + " : "
                 + result.getMethod().getMethodName();
-        ExtentTest extentTest = extent.createTest(testName);
-        test.set(extentTest);
+        // 🌊 Streamed: no shared report object to queue on, just an id and an event
+        test.set(ReportStream.isEnabled()
+                ? ReportStream.getInstance().createTest(testName) : ReportEntry.of(extent.createTest(testName)));
+        TestLogRing.begin(testName);
+        // Nothing a previous test on this thread captured belongs to this one
+        ScreenshotPipeline.getInstance().forgetFailureCapture();
     }
 
     public void onTestSuccess(ITestResult result) {
         test.get().log(Status.PASS, "Validation Successful: Component behaving as expected.");
+        recordOutcome(result);
+    }
+
+    public void onTestSkipped(ITestResult result) {
+        recordOutcome(result);
+    }
+
+    // Feeds the shard planner's duration history and this shard's pass/fail ledger, then closes and lets go
+    // of the thread's report entry: onFinish runs on a different thread, so it can't clear it for us
+    private static void recordOutcome(ITestResult result) {
+        TestHistory.getInstance().record(result);
+        ShardResults.record(result);
+        attachCommandTimings(result);
+        ScreenshotPipeline.getInstance().forgetFailureCapture();
+        summarizeTestLog(result);
+        ReportEntry entry = test.get();
+        if (entry != null) {
+            entry.finish(result.getStatus() == ITestResult.SUCCESS ? Status.PASS
+                    : result.getStatus() == ITestResult.SKIP ? Status.SKIP : Status.FAIL);
+        }
+        test.remove();
+    }
+
+    // 📜 A failed test's captured DEBUG trail, into the log file and its Extent entry
+    private static void flushTestLog(ReportEntry entry) {
+        TestLogRing.Capture capture = TestLogRing.end();
+        if (capture == null || capture.kept() == 0) {
+            return;
+        }
+        String text = capture.text();
+        logger.error("📜 TEST_LOG [{}]: last {} of {} lines\n{}", capture.testName(), capture.kept(),
+                capture.total(), text);
+        if (entry != null) {
+            entry.info(MarkupHelper.createCodeBlock(text));
+        }
+    }
+
+    // Passed and skipped tests leave one line; their captured detail is discarded
+    private static void summarizeTestLog(ITestResult result) {
+        TestLogRing.Capture capture = TestLogRing.end();
+        if (capture == null) {
+            return;
+        }
+        logger.info("{} {} ({} ms, {} log lines not written)", result.getStatus() == ITestResult.SUCCESS
+                        ? "✅ PASS" : "⏭️ SKIP", capture.testName(), result.getEndMillis() - result.getStartMillis(),
+                capture.total());
+    }
+
+    // ⏱️ -Ddriver.metrics=true: where this test's browser time went, by command and by framework action
+    private static void attachCommandTimings(ITestResult result) {
+        ReportEntry entry = test.get();
+        if (entry == null || !CommandTimings.isEnabled()) {
+            return;
+        }
+        CommandTimings.TestBreakdown breakdown = CommandTimings.breakdownFor(
+                result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+        if (breakdown != null && breakdown.commandCount() > 0) {
+            entry.info("⏱️ WebDriver: " + breakdown.commandCount() + " commands, "
+                    + breakdown.totalMillis() + " ms");
+            entry.info(MarkupHelper.createTable(breakdown.toTable(10)));
+        }
     }
 
    /**
@@ -62,7 +144,7 @@ public class Listeners implements ITestListener {
        Memory Safety:  still have test.remove() in onFinish, ensuring that every thread's ExtentTest reference is cleared from the JVM.
      */
     public void onTestFailure(ITestResult result) {
-        ExtentTest currentTest = test.get();
+        ReportEntry currentTest = test.get();
         
         // 💡 SMART RETRY DETECTION
         IRetryAnalyzer retryAnalyzer = result.getMethod().getRetryAnalyzer(result);
@@ -76,18 +158,37 @@ public class Listeners implements ITestListener {
             currentTest.log(Status.FAIL, "Root Cause Stack Trace: " + result.getThrowable());
 
             try {
-                String screenshotPath = GenericActions.takeScreenshot(result.getName());
+                // The failing action usually captured the screen already; don't ask the browser twice
+                String screenshotPath = ScreenshotPipeline.getInstance().takeFailureCapture(result.getThrowable());
+                if (screenshotPath == null) {
+                    screenshotPath = GenericActions.takeScreenshot(result.getName());
+                }
                 currentTest.addScreenCaptureFromPath(screenshotPath);
             } catch (Exception e) {
                 currentTest.warning("System was unable to capture forensic screenshot: " + e.getMessage());
             }
         }
+        flushTestLog(currentTest);
+        recordOutcome(result);
     }
 
     public void onFinish(ITestContext context) {
+        // Screenshots the report links to must be on disk before it is published
+        ScreenshotPipeline.getInstance().drain(Duration.ofSeconds(30));
        if (extent != null) {
             extent.flush();
         }
+        if (ReportStream.isEnabled()) {
+            try {
+                ReportRenderer.Summary summary = ReportStream.getInstance().render(
+                        Paths.get(System.getProperty("report.dir", "target/reports"), "index.html"));
+                logger.info("📊 REPORT_STREAM: {} rendered from {}", summary, ReportStream.getInstance().file());
+            } catch (IOException e) {
+                logger.error("❌ REPORT_STREAM: Rendering failed: {}", e.getMessage());
+            }
+        }
+        TestHistory.getInstance().save();
+        ShardResults.save();
         test.remove();
     }
 
@@ -0,0 +1,75 @@
+package com.irfan.ecommerce.util;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+
+/**
+ * ReportEntry: One test's entry in the run report, whichever sink holds it.
+ * The methods mirror the ExtentTest calls Listeners already made, so the
+ * listener reads the same in Spark mode and in -Dreport.mode=stream.
+ */
+public interface ReportEntry {
+
+    ReportEntry log(Status status, String details);
+
+    ReportEntry log(Status status, Markup markup);
+
+    ReportEntry addScreenCaptureFromPath(String path);
+
+    /**
+     * The test is over. Spark works the status out from the logs; a stream records it.
+     */
+    default void finish(Status status) {
+    }
+
+    default ReportEntry info(String details) {
+        return log(Status.INFO, details);
+    }
+
+    default ReportEntry info(Markup markup) {
+        return log(Status.INFO, markup);
+    }
+
+    default ReportEntry warning(String details) {
+        return log(Status.WARNING, details);
+    }
+
+    default ReportEntry fail(String details) {
+        return log(Status.FAIL, details);
+    }
+
+    /**
+     * The ExtentTest behind this entry, or null when the run is streamed.
+     */
+    default ExtentTest extentTest() {
+        return null;
+    }
+
+    static ReportEntry of(ExtentTest test) {
+        return new ReportEntry() {
+            @Override
+            public ReportEntry log(Status status, String details) {
+                test.log(status, details);
+                return this;
+            }
+
+            @Override
+            public ReportEntry log(Status status, Markup markup) {
+                test.log(status, markup);
+                return this;
+            }
+
+            @Override
+            public ReportEntry addScreenCaptureFromPath(String path) {
+                test.addScreenCaptureFromPath(path);
+                return this;
+            }
+
+            @Override
+            public ExtentTest extentTest() {
+                return test;
+            }
+        };
+    }
+}
@@ -0,0 +1,222 @@
+package com.irfan.ecommerce.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReportRenderer: Turns ReportStream event files into one self-contained
+ * HTML report, reading them line by line.
+ *
+ * Pass one only counts outcomes for the summary. Pass two writes each test
+ * as soon as its 'end' event is read, so the only tests held in memory are
+ * the ones still open at that point in the file - about as many as ran in
+ * parallel, never the whole run. Several files (one per shard) render into
+ * one report.
+ *
+ * On demand, e.g. while a long run is still going:
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.irfan.ecommerce.util.ReportRenderer \
+ *     -Dexec.args="target/reports/index.html target/reports/report-events.jsonl"
+ */
+public final class ReportRenderer {
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private ReportRenderer() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: ReportRenderer <output.html> <events.jsonl>...");
+            System.exit(2);
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+        Summary summary = render(inputs, Paths.get(args[0]));
+        System.out.println("📊 REPORT: " + summary + " -> " + Paths.get(args[0]).toAbsolutePath());
+    }
+
+    public static Summary render(List<Path> inputs, Path html) throws IOException {
+        Summary summary = count(inputs);
+        if (html.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(html.toAbsolutePath().getParent());
+        }
+        try (BufferedWriter out = Files.newBufferedWriter(html, StandardCharsets.UTF_8)) {
+            writeHeader(out, summary);
+            for (int source = 0; source < inputs.size(); source++) {
+                Map<Long, TestBlock> open = new HashMap<>();
+                try (BufferedReader in = Files.newBufferedReader(inputs.get(source), StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        if (!line.isBlank()) {
+                            apply(mapper.readTree(line), open, out);
+                        }
+                    }
+                }
+                // A test whose end never made it to disk (killed run) is still shown
+                for (TestBlock block : open.values()) {
+                    block.write(out, "INCOMPLETE", block.startedAt);
+                }
+            }
+            out.write("</main></body></html>\n");
+        }
+        return summary;
+    }
+
+    private static void apply(JsonNode event, Map<Long, TestBlock> open, Writer out) throws IOException {
+        long id = event.path("id").asLong();
+        switch (event.path("type").asText()) {
+            case "start":
+                open.put(id, new TestBlock(event.path("name").asText(), event.path("thread").asText(),
+                        event.path("ts").asLong()));
+                break;
+            case "log": {
+                TestBlock block = open.get(id);
+                if (block != null) {
+                    String body = event.has("html") ? event.path("html").asText() : escape(event.path("text").asText());
+                    block.row(event.path("status").asText(), event.path("ts").asLong(), body);
+                }
+                break;
+            }
+            case "media": {
+                TestBlock block = open.get(id);
+                if (block != null) {
+                    String path = escape(event.path("path").asText());
+                    block.row("INFO", event.path("ts").asLong(),
+                            "<a href=\"" + path + "\"><img class=\"shot\" src=\"" + path + "\"></a>");
+                }
+                break;
+            }
+            case "end": {
+                TestBlock block = open.remove(id);
+                if (block != null) {
+                    block.write(out, event.path("status").asText(), event.path("ts").asLong());
+                }
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static Summary count(List<Path> inputs) throws IOException {
+        Summary summary = new Summary();
+        for (Path input : inputs) {
+            try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    // Cheap pre-check: only start/end events matter for the counts
+                    if (line.startsWith("{\"type\":\"start\"")) {
+                        summary.started++;
+                    } else if (line.startsWith("{\"type\":\"end\"")) {
+                        summary.outcomes.merge(mapper.readTree(line).path("status").asText(), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return summary;
+    }
+
+    private static void writeHeader(Writer out, Summary summary) throws IOException {
+        out.write("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Execution Report</title><style>"
+                + "body{font-family:sans-serif;margin:0;background:#f5f6f8}"
+                + "header{background:#263238;color:#fff;padding:16px 24px}"
+                + "header span{margin-right:18px}main{padding:16px 24px}"
+                + "details{background:#fff;margin:6px 0;border-left:6px solid #90a4ae;padding:6px 12px}"
+                + "details.PASS{border-color:#43a047}details.FAIL{border-color:#e53935}"
+                + "details.SKIP,details.WARNING{border-color:#fb8c00}details.INCOMPLETE{border-color:#6d4c41}"
+                + "summary{cursor:pointer}table{border-collapse:collapse;width:100%;font-size:13px}"
+                + "td{border-top:1px solid #eee;padding:4px;vertical-align:top}"
+                + "td pre,td textarea{white-space:pre-wrap;margin:0}.shot{max-width:480px}"
+                + ".meta{color:#78909c;font-size:12px;margin-left:8px}</style></head><body><header>"
+                + "<h2>Execution Report</h2>");
+        out.write("<span>CI Run ID: " + escape(System.getProperty("run.id", "LOCAL_RUN")) + "</span>");
+        out.write("<span>Tests: " + summary.started + "</span>");
+        for (Map.Entry<String, Integer> outcome : summary.outcomes.entrySet()) {
+            out.write("<span>" + escape(outcome.getKey()) + ": " + outcome.getValue() + "</span>");
+        }
+        out.write("<span>Rendered: " + Instant.now() + "</span></header><main>\n");
+    }
+
+    private static String escape(String text) {
+        StringBuilder escaped = new StringBuilder(text.length() + 16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<': escaped.append("&lt;"); break;
+                case '>': escaped.append("&gt;"); break;
+                case '&': escaped.append("&amp;"); break;
+                case '"': escaped.append("&quot;"); break;
+                default: escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * A test whose end hasn't been read yet: its rows, already rendered.
+     */
+    private static final class TestBlock {
+        private final String name;
+        private final String thread;
+        private final long startedAt;
+        private final StringBuilder rows = new StringBuilder();
+
+        private TestBlock(String name, String thread, long startedAt) {
+            this.name = name;
+            this.thread = thread;
+            this.startedAt = startedAt;
+        }
+
+        private void row(String status, long ts, String body) {
+            rows.append("<tr><td>").append(escape(status)).append("</td><td>+").append(ts - startedAt)
+                    .append(" ms</td><td>").append(body).append("</td></tr>");
+        }
+
+        private void write(Writer out, String status, long endedAt) throws IOException {
+            out.write("<details class=\"" + escape(status) + "\"" + ("FAIL".equals(status) ? " open" : "") + ">"
+                    + "<summary><b>" + escape(status) + "</b> " + escape(name) + "<span class=\"meta\">"
+                    + (endedAt - startedAt) + " ms | " + escape(thread) + "</span></summary><table>");
+            out.write(rows.toString());
+            out.write("</table></details>\n");
+        }
+    }
+
+    /**
+     * Test counts: how many started, and how many ended with each status.
+     */
+    public static final class Summary {
+        private int started;
+        private final Map<String, Integer> outcomes = new LinkedHashMap<>();
+
+        public int started() {
+            return started;
+        }
+
+        public int count(String status) {
+            return outcomes.getOrDefault(status, 0);
+        }
+
+        @Override
+        public String toString() {
+            return started + " tests " + outcomes;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.irfan.ecommerce.util;
+
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.Markup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * ReportStream: The run report as an append-only JSON-lines file.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: ExtentReports keeps every test, log line and stack trace of
+ *   the run on the heap, and each flush() rewrites both HTML files from all of
+ *   it. Long runs grew the heap and the flush time without limit, and every
+ *   parallel createTest() went through the one report instance.
+ * - WHAT I DID: -Dreport.mode=stream gives each test a ReportEntry whose calls
+ *   become small events (start, log, media, end) on a lock-free queue. One
+ *   writer thread appends them to report-events.jsonl as they happen.
+ *   ReportRenderer turns that file into HTML at the end of the run, or
+ *   whenever someone asks, without loading it all.
+ * - THE RESULT: Heap stays flat however many tests run; a finished test costs
+ *   nothing but disk.
+ */
+public final class ReportStream {
+    private static final boolean ENABLED = "stream".equalsIgnoreCase(System.getProperty("report.mode", "spark"));
+    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private static volatile ReportStream instance;
+
+    private final Path file;
+    private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean open = true;
+
+    public ReportStream(Path file) {
+        this.file = file;
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare report stream " + file, e);
+        }
+        writer = new Thread(this::drain, "report-stream-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    public static ReportStream getInstance() {
+        if (instance == null) {
+            synchronized (ReportStream.class) {
+                if (instance == null) {
+                    String name = ShardPlanner.isSharded()
+                            ? "report-events-shard-" + ShardPlanner.shardIndex() + ".jsonl" : "report-events.jsonl";
+                    instance = new ReportStream(Paths.get(System.getProperty("report.dir", "target/reports"), name));
+                    ReportStream stream = instance;
+                    Runtime.getRuntime().addShutdownHook(new Thread(() -> stream.close(Duration.ofSeconds(10))));
+                }
+            }
+        }
+        return instance;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    /**
+     * Opens a test. Safe from any number of threads at once: an id from an
+     * atomic counter and one queue insert.
+     */
+    public Entry createTest(String name) {
+        Entry entry = new Entry(ids.incrementAndGet());
+        enqueue(event("start", entry.id, "name", name, "thread", Thread.currentThread().getName()));
+        return entry;
+    }
+
+    private void enqueue(Object event) {
+        queue.add(event);
+    }
+
+    private static Map<String, Object> event(String type, long id, Object... fields) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("type", type);
+        event.put("id", id);
+        event.put("ts", System.currentTimeMillis());
+        for (int i = 0; i < fields.length; i += 2) {
+            event.put((String) fields[i], fields[i + 1]);
+        }
+        return event;
+    }
+
+    private void drain() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (open || !queue.isEmpty()) {
+                Object next = queue.poll();
+                if (next == null) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                } else if (next instanceof CountDownLatch) {
+                    out.flush();
+                    ((CountDownLatch) next).countDown();
+                } else {
+                    out.write(mapper.writeValueAsString(next));
+                    out.newLine();
+                    if (queue.isEmpty()) {
+                        out.flush();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("❌ REPORT_STREAM: Writing " + file + " failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Blocks until everything queued so far is on disk. Returns false on timeout.
+     */
+    public boolean flush(Duration timeout) {
+        CountDownLatch written = new CountDownLatch(1);
+        enqueue(written);
+        try {
+            return written.await(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Flushes and renders the HTML report next to the event file.
+     */
+    public ReportRenderer.Summary render(Path html) throws IOException {
+        flush(Duration.ofSeconds(30));
+        return ReportRenderer.render(List.of(file), html);
+    }
+
+    public void close(Duration timeout) {
+        open = false;
+        try {
+            writer.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * One streamed test. Only its own test thread writes to it.
+     */
+    public final class Entry implements ReportEntry {
+        private final long id;
+
+        private Entry(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public ReportEntry log(Status status, String details) {
+            enqueue(event("log", id, "status", status.name(), "text", String.valueOf(details)));
+            return this;
+        }
+
+        @Override
+        public ReportEntry log(Status status, Markup markup) {
+            enqueue(event("log", id, "status", status.name(), "html", markup.getMarkup()));
+            return this;
+        }
+
+        @Override
+        public ReportEntry addScreenCaptureFromPath(String path) {
+            enqueue(event("media", id, "path", path));
+            return this;
+        }
+
+        @Override
+        public void finish(Status status) {
+            enqueue(event("end", id, "status", status.name()));
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.irfan.ecommerce.util;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ShardPlanner: Splits one suite across several CI runners by how long the
+ * tests actually take.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: One JVM running testng-all.xml at thread-count 2 is as far
+ *   as the suite could scale. Splitting by class name would leave one runner
+ *   with all the slow UI flows while the others sit idle.
+ * - WHAT I DID: Each runner gets -Dshard.index (0-based) and -Dshard.total.
+ *   Every runner computes the same plan: methods sorted longest-first by their
+ *   duration in the shared history (-Dshard.history.file, the merged file
+ *   ShardReportMerger writes), each one dropped on the least-loaded shard (LPT
+ *   bin-packing). A runner then keeps only its own methods. Without a shared
+ *   history the runners can't be sure they'd agree, so they split by a hash of
+ *   the method id instead. Methods chained by dependsOnMethods/dependsOnGroups
+ *   are planned as one unit, so a test never lands on a shard without the
+ *   method it depends on.
+ * - THE RESULT: Shards finish within seconds of each other, and
+ *   ShardReportMerger stitches their Extent data and results back together.
+ */
+public class ShardPlanner implements IMethodInterceptor {
+    // Used when a test has no history yet and there is nothing to take a median from
+    static final long DEFAULT_DURATION_MS = 1000;
+
+    // Read once: the runners must all plan from the same numbers, not from what this JVM has recorded since
+    private static volatile Map<String, Long> sharedHistory;
+    private static volatile boolean sharedHistoryLoaded;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int total = shardTotal();
+        if (total <= 1 || methods.isEmpty()) {
+            return methods;
+        }
+        int index = shardIndex();
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("❌ SHARD: shard.index must be 0.." + (total - 1) + " but was " + index);
+        }
+
+        // Methods of the same id (e.g. invocationCount) stay together so history applies to the whole group
+        Set<String> ids = new LinkedHashSet<>();
+        for (IMethodInstance method : methods) {
+            ids.add(TestHistory.idOf(method.getMethod()));
+        }
+        String block = context.getCurrentXmlTest() == null ? context.getName() : context.getCurrentXmlTest().getName();
+        Map<String, Long> history = sharedHistory();
+        List<List<String>> units = units(new ArrayList<>(ids), dependencies(methods));
+        List<List<String>> plan = history == null ? hashPlanUnits(units, total)
+                : planUnits(units, history, total, block);
+        ShardResults.notePlan(history == null ? "hash" : "lpt:" + Integer.toHexString(history.hashCode()));
+        Set<String> mine = new LinkedHashSet<>(plan.get(index));
+
+        List<IMethodInstance> kept = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (mine.contains(TestHistory.idOf(method.getMethod()))) {
+                kept.add(method);
+            }
+        }
+        if (history == null) {
+            System.out.printf("🧩 SHARD %d/%d [%s]: running %d of %d methods (hash split, no -Dshard.history.file)%n",
+                    index, total, block, kept.size(), methods.size());
+        } else {
+            System.out.printf("🧩 SHARD %d/%d [%s]: running %d of %d methods (~%d ms planned)%n", index, total, block,
+                    kept.size(), methods.size(), load(plan.get(index), history, ids));
+        }
+        return kept;
+    }
+
+    /**
+     * The history every runner plans from, or null when there is no shared
+     * file. A runner's own test.history.file only holds what that runner ran,
+     * so two runners planning from their own would disagree on the plan.
+     */
+    static Map<String, Long> sharedHistory() {
+        if (!sharedHistoryLoaded) {
+            synchronized (ShardPlanner.class) {
+                if (!sharedHistoryLoaded) {
+                    String path = System.getProperty("shard.history.file");
+                    if (path != null && new File(path).isFile()) {
+                        sharedHistory = new TestHistory(new File(path)).durations();
+                    } else if (path != null) {
+                        System.err.println("⚠️ SHARD: " + path + " not found, falling back to a hash split");
+                    }
+                    sharedHistoryLoaded = true;
+                }
+            }
+        }
+        return sharedHistory;
+    }
+
+    /**
+     * Which method ids each method waits for: its dependsOnMethods, plus every
+     * method in the groups named by its dependsOnGroups.
+     */
+    public static Map<String, Set<String>> dependencies(List<IMethodInstance> methods) {
+        Map<String, Set<String>> byGroup = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            for (String group : instance.getMethod().getGroups()) {
+                byGroup.computeIfAbsent(group, key -> new LinkedHashSet<>()).add(TestHistory.idOf(instance.getMethod()));
+            }
+        }
+        Map<String, Set<String>> dependsOn = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            Set<String> targets = dependsOn.computeIfAbsent(TestHistory.idOf(method), key -> new LinkedHashSet<>());
+            for (String upstream : method.getMethodsDependedUpon()) {
+                // TestNG resolves these to "pkg.Class.method"; ids are "pkg.Class#method"
+                int dot = upstream.lastIndexOf('.');
+                targets.add(dot < 0 ? upstream : upstream.substring(0, dot) + "#" + upstream.substring(dot + 1));
+            }
+            for (String group : method.getGroupsDependedUpon()) {
+                targets.addAll(byGroup.getOrDefault(group, Set.of()));
+            }
+        }
+        return dependsOn;
+    }
+
+    /**
+     * Folds every dependency chain into one unit (union-find over the ids).
+     * Units and their members come out sorted, so every runner builds the
+     * same ones whatever order TestNG handed the methods over in.
+     */
+    public static List<List<String>> units(List<String> ids, Map<String, Set<String>> dependsOn) {
+        Map<String, String> parent = new HashMap<>();
+        for (String id : ids) {
+            parent.put(id, id);
+        }
+        for (String id : ids) {
+            for (String upstream : dependsOn.getOrDefault(id, Set.of())) {
+                if (parent.containsKey(upstream)) {
+                    parent.put(root(parent, id), root(parent, upstream));
+                }
+            }
+        }
+        Map<String, List<String>> byRoot = new HashMap<>();
+        for (String id : ids) {
+            byRoot.computeIfAbsent(root(parent, id), key -> new ArrayList<>()).add(id);
+        }
+        List<List<String>> units = new ArrayList<>(byRoot.values());
+        units.forEach(unit -> unit.sort(Comparator.naturalOrder()));
+        units.sort(Comparator.comparing(unit -> unit.get(0)));
+        return units;
+    }
+
+    private static String root(Map<String, String> parent, String id) {
+        String root = id;
+        while (!parent.get(root).equals(root)) {
+            root = parent.get(root);
+        }
+        return root;
+    }
+
+    /**
+     * Needs nothing but the ids, so every runner agrees without any history:
+     * String.hashCode is fixed by the language spec, not the JVM.
+     */
+    public static List<List<String>> hashPlan(List<String> ids, int total) {
+        return hashPlanUnits(units(ids, Map.of()), total);
+    }
+
+    /**
+     * hashPlan for units: a unit hashes by its first (smallest) id.
+     */
+    public static List<List<String>> hashPlanUnits(List<List<String>> units, int total) {
+        List<List<String>> shards = new ArrayList<>();
+        for (int i = 0; i < total; i++) {
+            shards.add(new ArrayList<>());
+        }
+        List<List<String>> ordered = new ArrayList<>(units);
+        ordered.sort(Comparator.comparing(unit -> unit.get(0)));
+        for (List<String> unit : ordered) {
+            shards.get(Math.floorMod(unit.get(0).hashCode(), total)).addAll(unit);
+        }
+        return shards;
+    }
+
+    /**
+     * Pure LPT plan: the same inputs always give the same shards, on every
+     * runner. The "block" (the XML test name) rotates which shard wins ties,
+     * so shard 0 doesn't collect the heaviest method of every test block.
+     */
+    public static List<List<String>> plan(List<String> ids, Map<String, Long> history, int total, String block) {
+        return planUnits(units(ids, Map.of()), history, total, block);
+    }
+
+    /**
+     * LPT over units: a unit weighs the sum of its methods and is placed whole.
+     */
+    public static List<List<String>> planUnits(List<List<String>> units, Map<String, Long> history, int total,
+                                               String block) {
+        List<String> ids = new ArrayList<>();
+        units.forEach(ids::addAll);
+        long fallback = fallbackDuration(ids, history);
+        Map<List<String>, Long> weights = new HashMap<>();
+        for (List<String> unit : units) {
+            weights.put(unit, unit.stream().mapToLong(id -> durationOf(id, history, fallback)).sum());
+        }
+        List<List<String>> ordered = new ArrayList<>(units);
+        ordered.sort(Comparator.<List<String>>comparingLong(weights::get).reversed()
+                .thenComparing(unit -> unit.get(0)));
+
+        int offset = Math.floorMod(block == null ? 0 : block.hashCode(), total);
+        List<List<String>> shards = new ArrayList<>();
+        long[] loads = new long[total];
+        for (int i = 0; i < total; i++) {
+            shards.add(new ArrayList<>());
+        }
+        for (List<String> unit : ordered) {
+            int target = -1;
+            for (int step = 0; step < total; step++) {
+                int shard = (offset + step) % total;
+                if (target < 0 || loads[shard] < loads[target]) {
+                    target = shard;
+                }
+            }
+            shards.get(target).addAll(unit);
+            loads[target] += weights.get(unit);
+        }
+        return shards;
+    }
+
+    private static long durationOf(String id, Map<String, Long> history, long fallback) {
+        Long known = history.get(id);
+        return known == null || known < 0 ? fallback : known;
+    }
+
+    /**
+     * New tests are assumed to be "typical": the median of the known ones.
+     */
+    private static long fallbackDuration(List<String> ids, Map<String, Long> history) {
+        List<Long> known = new ArrayList<>();
+        for (String id : ids) {
+            Long duration = history.get(id);
+            if (duration != null && duration >= 0) {
+                known.add(duration);
+            }
+        }
+        if (known.isEmpty()) {
+            return DEFAULT_DURATION_MS;
+        }
+        known.sort(Comparator.naturalOrder());
+        return known.get(known.size() / 2);
+    }
+
+    private static long load(List<String> shard, Map<String, Long> history, Set<String> ids) {
+        long fallback = fallbackDuration(new ArrayList<>(ids), history);
+        long sum = 0;
+        for (String id : shard) {
+            sum += durationOf(id, history, fallback);
+        }
+        return sum;
+    }
+
+    public static int shardIndex() {
+        return Integer.getInteger("shard.index", 0);
+    }
+
+    public static int shardTotal() {
+        return Integer.getInteger("shard.total", 1);
+    }
+
+    public static boolean isSharded() {
+        return shardTotal() > 1;
+    }
+}
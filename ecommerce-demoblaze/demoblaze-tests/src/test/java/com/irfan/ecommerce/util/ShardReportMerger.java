@@ -0,0 +1,177 @@
+package com.irfan.ecommerce.util;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * ShardReportMerger: Turns N shard reports back into one.
+ *
+ * Run it after every shard's target/reports folder has been copied into one
+ * directory (CI artifact download). It replays each extent-shard-*.json into
+ * a single Spark report at [dir]/merged/index.html - or, for shards that ran
+ * with -Dreport.mode=stream, renders their report-events-shard-*.jsonl into
+ * that page instead - adds up the
+ * shard-*-results.json ledgers, and exits non-zero when a test failed, a
+ * shard never reported, no shard left a report to merge, or the shards
+ * planned from different histories, so
+ * the merge job is the one place CI goes red.
+ *
+ * It also writes [dir]/merged/test-history.json: the -Dshard.history.file it
+ * was given (if any) updated with every shard's timings. Cache that one file
+ * and hand it to every runner of the next run as -Dshard.history.file.
+ *
+ *   mvn test-compile exec:java -Dexec.classpathScope=test \
+ *       -Dexec.mainClass=com.irfan.ecommerce.util.ShardReportMerger -Dexec.args=target/reports
+ */
+public final class ShardReportMerger {
+
+    private ShardReportMerger() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static void main(String[] args) throws IOException {
+        File directory = new File(args.length > 0 ? args[0] : System.getProperty("report.dir", "target/reports"));
+        System.exit(merge(directory) ? 0 : 1);
+    }
+
+    /**
+     * @return true when every expected shard reported and nothing failed
+     */
+    public static boolean merge(File directory) throws IOException {
+        File[] ledgers = directory.listFiles((dir, name) -> name.matches("shard-\\d+-results\\.json"));
+        if (ledgers == null || ledgers.length == 0) {
+            System.err.println("❌ SHARD_MERGE: No shard-*-results.json found in " + directory.getAbsolutePath());
+            return false;
+        }
+
+        Map<Integer, ShardResults.Summary> shards = new TreeMap<>();
+        int expected = 0;
+        for (File ledger : ledgers) {
+            ShardResults.Summary summary = ShardResults.read(ledger);
+            shards.put(summary.shardIndex, summary);
+            expected = Math.max(expected, summary.shardTotal);
+        }
+
+        File mergedDir = new File(directory, "merged");
+        mergedDir.mkdirs();
+        boolean reported = mergeReports(directory, mergedDir, expected);
+
+        ShardResults.Summary total = new ShardResults.Summary();
+        StringBuilder table = new StringBuilder(String.format("%n%-8s %6s %6s %6s %10s", "SHARD", "pass", "fail",
+                "skip", "wall ms"));
+        Set<String> plans = new TreeSet<>();
+        for (ShardResults.Summary shard : shards.values()) {
+            shard.tests.forEach((id, outcome) -> total.tests.merge(id, outcome, ShardResults.Outcome::combine));
+            plans.add(String.valueOf(shard.plan));
+            table.append(String.format("%n%-8d %6d %6d %6d %10d", shard.shardIndex, shard.count("PASS"),
+                    shard.count("FAIL"), shard.count("SKIP"), shard.totalMs()));
+        }
+        table.append(String.format("%n%-8s %6d %6d %6d", "TOTAL", total.count("PASS"), total.count("FAIL"),
+                total.count("SKIP")));
+        System.out.println("📊 SHARD_MERGE:" + table);
+
+        total.shardTotal = expected;
+        total.shardIndex = -1;
+        ShardResults.write(new File(mergedDir, "merged-results.json"), total);
+        System.out.println("📊 SHARD_MERGE: Report written to " + new File(mergedDir, "index.html").getAbsolutePath());
+        File history = writeHistory(total, new File(mergedDir, "test-history.json"));
+        System.out.println("📊 SHARD_MERGE: Next run's -Dshard.history.file: " + history.getAbsolutePath());
+
+        boolean complete = reported;
+        for (int i = 0; i < expected; i++) {
+            if (!shards.containsKey(i)) {
+                System.err.println("❌ SHARD_MERGE: Shard " + i + " of " + expected + " never reported.");
+                complete = false;
+            }
+        }
+        if (plans.size() > 1) {
+            // Different plans can drop a test on every shard, or run it twice, without anything failing
+            System.err.println("❌ SHARD_MERGE: Shards planned from different histories " + plans
+                    + "; give every runner the same -Dshard.history.file.");
+            complete = false;
+        }
+        return complete && total.count("FAIL") == 0;
+    }
+
+    /**
+     * Stream shards render through ReportRenderer, Extent shards replay their
+     * JSON archives; a run only ever uses one report.mode, so seeing both (or
+     * neither) means shards are missing from the page.
+     *
+     * @return false when there was nothing to merge or the modes were mixed
+     */
+    private static boolean mergeReports(File directory, File mergedDir, int shardTotal) throws IOException {
+        File[] streams = sortedFiles(directory, "report-events-shard-\\d+\\.jsonl");
+        File[] archives = sortedFiles(directory, "extent-shard-\\d+\\.json");
+        File index = new File(mergedDir, "index.html");
+        if (streams.length == 0 && archives.length == 0) {
+            System.err.println("❌ SHARD_MERGE: No extent-shard-*.json or report-events-shard-*.jsonl in "
+                    + directory.getAbsolutePath() + "; nothing to build the report from.");
+            return false;
+        }
+
+        if (streams.length > 0) {
+            List<Path> inputs = new ArrayList<>();
+            for (File stream : streams) {
+                inputs.add(stream.toPath());
+            }
+            ReportRenderer.Summary summary = ReportRenderer.render(inputs, index.toPath());
+            System.out.println("📊 SHARD_MERGE: " + summary + " rendered from " + streams.length + " event streams");
+        }
+        if (archives.length > 0) {
+            // Both kinds: keep the Extent shards next to the streamed page rather than overwrite it
+            File target = streams.length > 0 ? new File(mergedDir, "extent-index.html") : index;
+            ExtentReports merged = new ExtentReports();
+            merged.attachReporter(new ExtentSparkReporter(target.getAbsolutePath()));
+            merged.setSystemInfo("CI Run ID", System.getProperty("run.id", "LOCAL_RUN"));
+            merged.setSystemInfo("Shards", String.valueOf(shardTotal));
+            for (File archive : archives) {
+                merged.createDomainFromJsonArchive(archive);
+            }
+            merged.flush();
+        }
+        if (streams.length > 0 && archives.length > 0) {
+            System.err.println("❌ SHARD_MERGE: Shards ran with different report.mode (streamed and Extent);"
+                    + " each report only holds its own shards.");
+            return false;
+        }
+        return true;
+    }
+
+    private static File[] sortedFiles(File directory, String pattern) {
+        File[] files = directory.listFiles((dir, name) -> name.matches(pattern));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        return files;
+    }
+
+    private static File writeHistory(ShardResults.Summary total, File target) throws IOException {
+        String base = System.getProperty("shard.history.file");
+        if (base != null && new File(base).isFile()) {
+            Files.copy(new File(base).toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.deleteIfExists(target.toPath());
+        }
+        TestHistory history = new TestHistory(target);
+        total.tests.forEach((id, outcome) ->
+                history.record(id, outcome.durationMs / Math.max(1, outcome.invocations), outcome.status));
+        history.save();
+        return target;
+    }
+}
@@ -0,0 +1,123 @@
+package com.irfan.ecommerce.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * ShardResults: The pass/fail ledger one shard hands to the merge step.
+ * Written to [report.dir]/shard-[index]-results.json after every test block,
+ * so a runner that dies half-way still leaves what it finished.
+ *
+ * One entry per test method: data-provider rows and invocationCount runs
+ * share it, and any failing invocation makes the whole entry FAIL. Attempts
+ * TestNG retried are left out; the retry's own result is what counts.
+ */
+public final class ShardResults {
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, Outcome> outcomes = new TreeMap<>();
+    private static String plan;
+
+    private ShardResults() {
+        throw new IllegalStateException("Utility class - instantiation is not allowed.");
+    }
+
+    public static synchronized void record(ITestResult result) {
+        String status;
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS -> status = "PASS";
+            case ITestResult.FAILURE -> status = "FAIL";
+            default -> status = "SKIP";
+        }
+        if (result.wasRetried()) {
+            return;
+        }
+        Outcome outcome = new Outcome();
+        outcome.status = status;
+        outcome.durationMs = result.getEndMillis() - result.getStartMillis();
+        outcome.invocations = 1;
+        outcomes.merge(TestHistory.idOf(result.getMethod()), outcome, Outcome::combine);
+    }
+
+    /**
+     * How this shard chose its tests ("hash", or "lpt:" plus a fingerprint of the
+     * history). The merger checks every shard used the same one.
+     */
+    public static synchronized void notePlan(String how) {
+        plan = how;
+    }
+
+    public static synchronized void save() {
+        if (!ShardPlanner.isSharded()) {
+            return;
+        }
+        Summary summary = new Summary();
+        summary.shardIndex = ShardPlanner.shardIndex();
+        summary.shardTotal = ShardPlanner.shardTotal();
+        summary.plan = plan;
+        summary.tests = new TreeMap<>(outcomes);
+        File file = fileFor(new File(System.getProperty("report.dir", "target/reports")), summary.shardIndex);
+        try {
+            write(file, summary);
+        } catch (IOException e) {
+            System.err.println("❌ SHARD: Could not write " + file + ": " + e.getMessage());
+        }
+    }
+
+    static void write(File file, Summary summary) throws IOException {
+        file.getAbsoluteFile().getParentFile().mkdirs();
+        mapper.writeValue(file, summary);
+    }
+
+    static File fileFor(File directory, int shardIndex) {
+        return new File(directory, "shard-" + shardIndex + "-results.json");
+    }
+
+    static Summary read(File file) throws IOException {
+        return mapper.readValue(file, Summary.class);
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Summary {
+        public int shardIndex;
+        public int shardTotal;
+        public String plan;
+        public Map<String, Outcome> tests = new TreeMap<>();
+
+        long count(String status) {
+            return tests.values().stream().filter(outcome -> status.equals(outcome.status)).count();
+        }
+
+        long totalMs() {
+            return tests.values().stream().mapToLong(outcome -> outcome.durationMs).sum();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Outcome {
+        public String status;
+        public long durationMs;
+        public int invocations = 1;
+
+        /**
+         * Two invocations of the same method: FAIL beats PASS beats SKIP.
+         */
+        public static Outcome combine(Outcome first, Outcome second) {
+            Outcome combined = new Outcome();
+            combined.status = rank(first.status) >= rank(second.status) ? first.status : second.status;
+            combined.durationMs = first.durationMs + second.durationMs;
+            combined.invocations = first.invocations + second.invocations;
+            return combined;
+        }
+
+        private static int rank(String status) {
+            return "FAIL".equals(status) ? 2 : "PASS".equals(status) ? 1 : 0;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.irfan.ecommerce.util;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestHistory: The framework's memory of how long each test takes and how it
+ * ended last time.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Splitting or ordering a suite smartly needs numbers, and
+ *   every run threw its timings away.
+ * - WHAT I DID: Listeners feeds every result in here. Durations are smoothed
+ *   (EWMA) so one slow network day doesn't skew the plan, and the file is
+ *   merged on save so parallel <test> blocks don't overwrite each other.
+ * - THE RESULT: Shard planning and test ordering run off real history. Cache
+ *   the file between CI runs (-Dtest.history.file) to keep it warm.
+ */
+public final class TestHistory {
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final double SMOOTHING = 0.3;
+    private static final TestHistory INSTANCE = new TestHistory(
+            new File(System.getProperty("test.history.file", "test-history/test-history.json")));
+
+    private final File file;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public TestHistory(File file) {
+        this.file = file;
+        entries.putAll(read(file));
+    }
+
+    public static TestHistory getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Stable identity of a test method across runs: "fully.qualified.Class#method".
+     */
+    public static String idOf(ITestNGMethod method) {
+        return method.getTestClass().getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    public void record(ITestResult result) {
+        String status;
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS -> status = "PASS";
+            case ITestResult.FAILURE -> status = "FAIL";
+            default -> status = "SKIP";
+        }
+        record(idOf(result.getMethod()), result.getEndMillis() - result.getStartMillis(), status);
+    }
+
+    public void record(String id, long durationMs, String status) {
+        entries.compute(id, (key, previous) -> {
+            Entry entry = previous == null ? new Entry() : previous;
+            // Skipped runs say nothing about how long a test takes
+            if (!"SKIP".equals(status)) {
+                entry.avgMs = entry.runs == 0 ? durationMs
+                        : Math.round(SMOOTHING * durationMs + (1 - SMOOTHING) * entry.avgMs);
+                entry.lastMs = durationMs;
+                entry.runs++;
+            }
+            if ("FAIL".equals(status)) {
+                entry.failures++;
+            }
+            entry.lastStatus = status;
+            entry.lastRun = System.currentTimeMillis();
+            return entry;
+        });
+    }
+
+    /**
+     * Smoothed duration in ms, or -1 when the test has never completed.
+     */
+    public long averageMs(String id) {
+        Entry entry = entries.get(id);
+        return entry == null || entry.runs == 0 ? -1 : entry.avgMs;
+    }
+
+    public String lastStatus(String id) {
+        Entry entry = entries.get(id);
+        return entry == null ? null : entry.lastStatus;
+    }
+
+    public Map<String, Long> durations() {
+        Map<String, Long> durations = new TreeMap<>();
+        entries.forEach((id, entry) -> {
+            if (entry.runs > 0) {
+                durations.put(id, entry.avgMs);
+            }
+        });
+        return durations;
+    }
+
+    /**
+     * Merges with whatever is on disk (another JVM or <test> may have saved
+     * since we loaded) and writes the result. Our own results win.
+     */
+    public synchronized void save() {
+        try {
+            Map<String, Entry> merged = new TreeMap<>(read(file));
+            merged.putAll(entries);
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            mapper.writeValue(file, merged);
+        } catch (IOException e) {
+            System.err.println("⚠️ TEST_HISTORY: Could not save " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Entry> read(File file) {
+        if (!file.exists()) {
+            return new TreeMap<>();
+        }
+        try {
+            return mapper.readValue(file, new TypeReference<TreeMap<String, Entry>>() {});
+        } catch (IOException e) {
+            System.err.println("⚠️ TEST_HISTORY: Ignoring unreadable " + file + ": " + e.getMessage());
+            return new TreeMap<>();
+        }
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Entry {
+        public long avgMs;
+        public long lastMs;
+        public int runs;
+        public int failures;
+        public String lastStatus;
+        public long lastRun;
+    }
+}
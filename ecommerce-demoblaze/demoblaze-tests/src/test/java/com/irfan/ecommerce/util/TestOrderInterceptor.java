@@ -0,0 +1,97 @@
+package com.irfan.ecommerce.util;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * TestOrderInterceptor: Decides what runs first, using what TestHistory
+ * remembers from earlier runs.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: Declaration order meant CartWorkflowTest could start last
+ *   and leave one thread grinding while the rest of the pool sat idle. And
+ *   when a build was broken, the first red test could be 15 minutes in.
+ * - WHAT I DID: -Dtest.order=longest-first schedules slow tests first so the
+ *   run's tail is made of short ones. -Dtest.order=failed-first puts last
+ *   run's failures up front. -Dfailfast.max=N stops starting new tests once N
+ *   have failed (they are skipped, not lost).
+ * - THE RESULT: Shorter wall-clock under parallelism, and a broken build
+ *   shouts within the first minute.
+ */
+public class TestOrderInterceptor implements IMethodInterceptor, IInvokedMethodListener {
+    private final TestHistory history;
+    private final String order;
+    private final int failFastMax;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    public TestOrderInterceptor() {
+        this(TestHistory.getInstance(), System.getProperty("test.order", "declared"),
+                Integer.getInteger("failfast.max", 0));
+    }
+
+    public TestOrderInterceptor(TestHistory history, String order, int failFastMax) {
+        this.history = history;
+        this.order = order.toLowerCase();
+        this.failFastMax = failFastMax;
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        Comparator<IMethodInstance> comparator = comparatorFor(order, history);
+        if (comparator == null) {
+            return methods;
+        }
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+        // List.sort is stable, so ties keep their declared order
+        ordered.sort(comparator);
+        System.out.println("🔀 TEST_ORDER [" + order + "]: " + ordered.size() + " methods reordered in "
+                + context.getName());
+        return ordered;
+    }
+
+    private static Comparator<IMethodInstance> comparatorFor(String order, TestHistory history) {
+        Comparator<IMethodInstance> longestFirst = Comparator.comparingLong(
+                (IMethodInstance m) -> history.averageMs(TestHistory.idOf(m.getMethod()))).reversed();
+        switch (order) {
+            case "longest-first":
+                return longestFirst;
+            case "failed-first":
+                // Last run's failures first; among those (and among the rest) the slow ones first
+                return Comparator.comparingInt((IMethodInstance m) ->
+                        "FAIL".equals(history.lastStatus(TestHistory.idOf(m.getMethod()))) ? 0 : 1)
+                        .thenComparing(longestFirst);
+            case "declared":
+                return null;
+            default:
+                System.err.println("⚠️ TEST_ORDER: Unknown test.order '" + order
+                        + "' (use declared, longest-first or failed-first). Keeping declared order.");
+                return null;
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (failFastMax > 0 && method.isTestMethod() && failures.get() >= failFastMax) {
+            throw new SkipException("⛔ FAIL_FAST: " + failures.get() + " failures reached failfast.max=" + failFastMax
+                    + ", not starting " + method.getTestMethod().getMethodName());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        // Configuration failures already skip their dependents; only test failures count here
+        if (method.isTestMethod() && testResult.getStatus() == ITestResult.FAILURE) {
+            failures.incrementAndGet();
+        }
+    }
+}
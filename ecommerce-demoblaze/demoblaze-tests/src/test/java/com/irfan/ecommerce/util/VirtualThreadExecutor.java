@@ -0,0 +1,106 @@
+package com.irfan.ecommerce.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IExecutorServiceFactory;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VirtualThreadExecutor: One cheap thread per test method instead of a pool
+ * of five.
+ *
+ * THE HEADACHE I FIXED:
+ * - THE PROBLEM: API and remote-browser tests spend nearly all their time
+ *   waiting on HTTP, yet threadcount=5 meant at most five of them waited at
+ *   once. Raising the count means hundreds of 1 MB platform-thread stacks.
+ * - WHAT I DID: With -Dtestng.executor=virtual this factory starts every
+ *   ready test method on its own virtual thread (the thread count stops
+ *   being a cap). Real browsers are still limited separately by
+ *   -Dbrowser.max.sessions in DriverFactory.
+ * - THE RESULT: Hundreds of concurrent API tests for the price of a few.
+ *
+ * TestNG takes the factory through its public hook only: -threadpoolfactoryclass
+ * com.irfan.ecommerce.util.VirtualThreadExecutor on its CLI, or
+ * setExecutorServiceFactory where TestNG is built in code. Surefire doesn't
+ * pass that option on, so as a suite listener this class only checks that
+ * the switch took effect and says so loudly when it didn't, instead of
+ * quietly running on the old pool.
+ *
+ * Virtual threads need JDK 21+. On older JDKs the switch is refused with a
+ * warning and TestNG's own pool (capped by thread-count) is used. ThreadLocal
+ * state (DriverFactory, Listeners) is per test thread either way, and both
+ * clean up at the end of each test.
+ */
+public class VirtualThreadExecutor implements IExecutorServiceFactory, ISuiteListener {
+    private static final Logger logger = LogManager.getLogger(VirtualThreadExecutor.class);
+    private static final Method VIRTUAL_PER_TASK = lookupVirtualExecutor();
+
+    // Set by whichever instance TestNG was given through its hook; the listener instance only reads it
+    private static volatile boolean virtualInUse;
+
+    private final boolean enabled;
+
+    public VirtualThreadExecutor() {
+        this("virtual".equalsIgnoreCase(System.getProperty("testng.executor", "platform")));
+    }
+
+    public VirtualThreadExecutor(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        virtualInUse = false;
+    }
+
+    // -Dtestng.executor=virtual was asked for; a run that silently stays at threadcount must not pass for one that didn't
+    @Override
+    public void onFinish(ISuite suite) {
+        if (enabled && !virtualInUse) {
+            logger.warn("🛑 TEST_EXECUTOR: -Dtestng.executor=virtual was NOT active for suite '{}'. Tests ran on"
+                    + " TestNG's own thread pool (threadcount still caps parallelism). Install it with"
+                    + " -threadpoolfactoryclass {} or TestNG.setExecutorServiceFactory, on JDK 21+.",
+                    suite.getName(), VirtualThreadExecutor.class.getName());
+        }
+    }
+
+    @Override
+    public ExecutorService create(int corePoolSize, int maxPoolSize, long keepAliveTime, TimeUnit unit,
+                                  BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory) {
+        if (enabled && VIRTUAL_PER_TASK != null) {
+            try {
+                ExecutorService executor = (ExecutorService) VIRTUAL_PER_TASK.invoke(null);
+                if (!virtualInUse) {
+                    logger.info("🧵 TEST_EXECUTOR: virtual thread per test method");
+                }
+                virtualInUse = true;
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                logger.warn("⚠️ TEST_EXECUTOR: Virtual threads unavailable ({}), keeping the thread-count pool.",
+                        e.toString());
+            }
+        } else if (enabled) {
+            logger.warn("⚠️ TEST_EXECUTOR: -Dtestng.executor=virtual needs JDK 21+ (running {}), keeping the"
+                    + " thread-count pool.", System.getProperty("java.version"));
+        }
+        // Switch off, or refused: behave exactly like TestNG's own pool
+        return new ThreadPoolExecutor(corePoolSize, maxPoolSize, keepAliveTime, unit, workQueue, threadFactory);
+    }
+
+    private static Method lookupVirtualExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}